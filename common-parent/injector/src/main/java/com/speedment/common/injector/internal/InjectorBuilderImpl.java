@@ -39,6 +39,9 @@ import static com.speedment.common.injector.internal.util.PropertiesUtil.loadPro
 import static com.speedment.common.injector.internal.util.ReflectionUtil.newInstance;
 import static com.speedment.common.injector.internal.util.ReflectionUtil.traverseAncestors;
 import static com.speedment.common.injector.internal.util.ReflectionUtil.traverseFields;
+import static com.speedment.common.injector.internal.util.WiringUtil.wiringOf;
+import com.speedment.common.injector.wiring.ComponentWiring;
+import com.speedment.common.injector.wiring.ComponentWiring.Resolver;
 import com.speedment.common.logger.Level;
 import com.speedment.common.logger.Logger;
 import com.speedment.common.logger.LoggerManager;
@@ -46,6 +49,7 @@ import java.io.File;
 import java.lang.reflect.InvocationTargetException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collections;
 import static java.util.Collections.unmodifiableList;
 import static java.util.Collections.unmodifiableSet;
@@ -59,9 +63,14 @@ import static java.util.Objects.requireNonNull;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 import static java.util.stream.Collectors.toCollection;
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
 
 /**
@@ -74,6 +83,17 @@ public final class InjectorBuilderImpl implements InjectorBuilder {
     
     public final static Logger LOGGER = 
         LoggerManager.getLogger(InjectorBuilderImpl.class);
+    
+    /**
+     * The name of the parameter that controls how many threads that may be 
+     * used to configure components. Components that do not depend on each 
+     * other are advanced to the next state in parallel waves. The default 
+     * value is {@code 1}, which means that every component is configured in 
+     * the calling thread.
+     */
+    public final static String PARALLELISM = "injector.parallelism";
+    
+    private final static AtomicInteger THREAD_COUNTER = new AtomicInteger();
 
     private final ClassLoader classLoader;
     private final Map<String, List<Class<?>>> injectables;
@@ -185,6 +205,7 @@ public final class InjectorBuilderImpl implements InjectorBuilder {
             DependencyGraphImpl.create(injectablesSet);
 
         final LinkedList<Object> instances = new LinkedList<>();
+        final Map<Class<?>, ComponentWiring<Object>> wirings = new HashMap<>();
 
         LOGGER.debug("Creating " + injectablesSet.size() + 
             " injectable instances.");
@@ -218,7 +239,19 @@ public final class InjectorBuilderImpl implements InjectorBuilder {
                 LOGGER.debug(horizontalLine());
             }
 
-            final Object instance = newInstance(injectable, properties);
+            final Optional<? extends ComponentWiring<?>> wiring = 
+                wiringOf(injectable);
+            
+            final Object instance;
+            if (wiring.isPresent()) {
+                final ComponentWiring<Object> casted = cast(wiring.get());
+                instance = casted.newInstance();
+                casted.configure(instance, properties);
+                wirings.put(injectable, casted);
+            } else {
+                instance = newInstance(injectable, properties);
+            }
+            
             instances.addFirst(instance);
         }
 
@@ -246,8 +279,25 @@ public final class InjectorBuilderImpl implements InjectorBuilder {
             }
         };
 
-        // Set the auto-injected fields
-        instances.forEach(instance -> traverseFields(instance.getClass())
+        // Create Resolver for the generated wirings
+        final Resolver resolver = new Resolver() {
+            @Override
+            public <T> T find(Class<T> type, boolean required) {
+                return findIn(type, injector, instances, required);
+            }
+        };
+
+        // Set the auto-injected fields, using the generated wiring if there
+        // is one and reflection otherwise.
+        instances.stream()
+            .filter(instance -> wirings.containsKey(instance.getClass()))
+            .forEachOrdered(instance -> wirings.get(instance.getClass())
+                .inject(instance, resolver)
+            );
+        
+        instances.stream()
+            .filter(instance -> !wirings.containsKey(instance.getClass()))
+            .forEachOrdered(instance -> traverseFields(instance.getClass())
             .filter(f -> f.isAnnotationPresent(Inject.class))
             .distinct()
             .forEachOrdered(field -> {
@@ -287,99 +337,86 @@ public final class InjectorBuilderImpl implements InjectorBuilder {
                 node.getExecutions().add(execution);
             });
 
-        final AtomicBoolean hasAnythingChanged = new AtomicBoolean();
-        final AtomicInteger nextState = new AtomicInteger(0);
-
-        // Loop until all nodes have been started.
-        Set<DependencyNode> unfinished;
-
-        // Go through every state up and including STARTED.
-        while (nextState.get() <= State.STARTED.ordinal()) {
-
-            // Get a set of the nodes that has not yet reached that state,
-            // and operate upon it until it is empty
-            while (!(unfinished = graph.nodes()
-                .filter(n -> n.getCurrentState().ordinal() < nextState.get())
-                .collect(toSet())).isEmpty()) {
-
-                hasAnythingChanged.set(false);
-
-                unfinished.forEach(n -> {
-                    // Determine the next state of this node.
-                    final State state = State.values()[
-                        n.getCurrentState().ordinal() + 1
-                    ];
+        final int parallelism = parallelism(properties);
+        final Map<Class<?>, Long> timings = new LinkedHashMap<>();
+        final ExecutorService executor = parallelism > 1 
+            ? newFixedThreadPool(parallelism, this::newThread) : null;
+        
+        try {
+            // Go through every state up and including STARTED.
+            for (int ordinal = State.INITIALIZED.ordinal(); 
+                 ordinal <= State.STARTED.ordinal(); ordinal++) {
+
+                final State state = State.values()[ordinal];
+                
+                // Get a set of the nodes that has not yet reached that state,
+                // and operate upon it in waves until it is empty. Every node
+                // in a wave has all its dependencies satisfied, which means
+                // that the nodes in the same wave can be processed in 
+                // parallel.
+                Set<DependencyNode> unfinished;
+                while (!(unfinished = graph.nodes()
+                    .filter(n -> !n.is(state))
+                    .collect(toSet())).isEmpty()) {
+
+                    final List<DependencyNode> wave = unfinished.stream()
+                        .filter(n -> n.canBe(state))
+                        .collect(toList());
+
+                    // The set was not empty when we entered the 'while' 
+                    // clause, and yet no node can advance. This means that 
+                    // we are stuck in an infinite loop.
+                    if (wave.isEmpty()) {
+                        throw new IllegalStateException(
+                            "Injector appears to be stuck in an infinite loop."
+                        );
+                    }
 
-                    // Check if all its dependencies have been satisfied.
-                    if (n.canBe(state)) {
+                    final List<Callable<Long>> tasks = wave.stream()
+                        .map(n -> (Callable<Long>) () -> advance(
+                            n, state, injector, instances, classMapper
+                        ))
+                        .collect(toList());
 
-                        LOGGER.debug(horizontalLine());
+                    final List<Long> elapsed = 
+                        invokeAll(executor, tasks, wave.size());
 
-                        // Retreive the instance for that node
-                        final Object instance = findIn(
-                            n.getRepresentedType(), 
-                            injector, 
-                            instances, 
-                            true
+                    for (int i = 0; i < wave.size(); i++) {
+                        final DependencyNode n = wave.get(i);
+                        timings.merge(
+                            n.getRepresentedType(), elapsed.get(i), Long::sum
                         );
 
-                        // Execute all the executions for the next step.
-                        n.getExecutions().stream()
-                            .filter(e -> e.getState() == state)
-                            .map(exec -> {
-                                @SuppressWarnings("unchecked")
-                                final Execution<Object> casted = 
-                                    (Execution<Object>) exec;
-                                return casted;
-                            })
-                            .forEach(exec -> {
-                                
-                                // We might want to log exactly which steps we
-                                // have completed.
-                                if (LOGGER.getLevel()
-                                    .isEqualOrLowerThan(Level.DEBUG)) {
-                                    
-                                    LOGGER.debug(
-                                        "| -> %-76s |", 
-                                        limit(exec.toString(), 76)
-                                    );
-                                }
-                                
-                                try {
-                                    exec.invoke(instance, classMapper);
-                                } catch (final IllegalAccessException 
-                                             | IllegalArgumentException 
-                                             | InvocationTargetException ex) {
-
-                                    throw new RuntimeException(ex);
-                                }
-                            });
-
-                        // Update its state to the new state.
-                        n.setState(state);
-                        hasAnythingChanged.set(true);
-
                         LOGGER.debug(
                             "| %-66s %12s |",
                             limit(n.getRepresentedType().getSimpleName(), 66),
                             limit(state.name(), 12)
                         );
                     }
-                });
-
-                // The set was not empty when we entered the 'while' clause, 
-                // and yet nothing has changed. This means that we are stuck
-                // in an infinite loop.
-                if (!hasAnythingChanged.get()) {
-                    throw new IllegalStateException(
-                        "Injector appears to be stuck in an infinite loop."
-                    );
                 }
             }
+        } finally {
+            if (executor != null) {
+                executor.shutdown();
+            }
+        }
 
-            // Every node has reached the desired state. 
-            // Begin working with the next state.
-            nextState.incrementAndGet();
+        if (LOGGER.getLevel().isEqualOrLowerThan(Level.DEBUG)) {
+            LOGGER.debug(horizontalLine());
+            LOGGER.debug(
+                "| %-79s |",
+                "Configuration time per component (" + 
+                    parallelism + " thread" + 
+                    (parallelism == 1 ? "" : "s") + "):"
+            );
+            
+            timings.entrySet().stream()
+                .sorted(Map.Entry.<Class<?>, Long>comparingByValue().reversed())
+                .forEachOrdered(e -> LOGGER.debug(
+                    "| %-66s %12s |",
+                    limit(e.getKey().getSimpleName(), 66),
+                    limit(String.format("%.3f ms", e.getValue() / 1_000_000d), 12)
+                ));
         }
 
         LOGGER.debug(horizontalLine());
@@ -392,6 +429,146 @@ public final class InjectorBuilderImpl implements InjectorBuilder {
         return injector;
     }
 
+    /**
+     * Invokes every execution of the specified node that belongs to the 
+     * specified state and then updates the state of the node.
+     * 
+     * @param node         the node to advance
+     * @param state        the state to advance it to
+     * @param injector     the injector being built
+     * @param instances    all the created instances
+     * @param classMapper  the class mapper to use for the executions
+     * @return             the time it took in nanoseconds
+     */
+    private static long advance(
+            DependencyNode node, 
+            State state, 
+            Injector injector, 
+            List<Object> instances, 
+            ClassMapper classMapper) {
+        
+        final long start = System.nanoTime();
+
+        // Retreive the instance for that node
+        final Object instance = findIn(
+            node.getRepresentedType(), 
+            injector, 
+            instances, 
+            true
+        );
+
+        // Execute all the executions for the next step.
+        node.getExecutions().stream()
+            .filter(e -> e.getState() == state)
+            .map(exec -> {
+                @SuppressWarnings("unchecked")
+                final Execution<Object> casted = 
+                    (Execution<Object>) exec;
+                return casted;
+            })
+            .forEach(exec -> {
+
+                // We might want to log exactly which steps we
+                // have completed.
+                if (LOGGER.getLevel()
+                    .isEqualOrLowerThan(Level.DEBUG)) {
+
+                    LOGGER.debug(
+                        "| -> %-76s |", 
+                        limit(exec.toString(), 76)
+                    );
+                }
+
+                try {
+                    exec.invoke(instance, classMapper);
+                } catch (final IllegalAccessException 
+                             | IllegalArgumentException 
+                             | InvocationTargetException ex) {
+
+                    throw new RuntimeException(ex);
+                }
+            });
+
+        // Update its state to the new state.
+        node.setState(state);
+        return System.nanoTime() - start;
+    }
+    
+    /**
+     * Invokes all the specified tasks and returns their results in the same
+     * order. If no executor is specified or if there is only one task, the 
+     * tasks are invoked in the current thread.
+     * 
+     * @param executor  the executor to use, or {@code null}
+     * @param tasks     the tasks to invoke
+     * @param size      the number of tasks
+     * @return          the results
+     */
+    private static List<Long> invokeAll(
+            ExecutorService executor, 
+            List<Callable<Long>> tasks, 
+            int size) {
+        
+        final List<Long> results = new ArrayList<>(size);
+        
+        if (executor == null || size == 1) {
+            for (final Callable<Long> task : tasks) {
+                try {
+                    results.add(task.call());
+                } catch (final RuntimeException ex) {
+                    throw ex;
+                } catch (final Exception ex) {
+                    throw new RuntimeException(ex);
+                }
+            }
+        } else {
+            try {
+                for (final Future<Long> future : executor.invokeAll(tasks)) {
+                    results.add(future.get());
+                }
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(
+                    "Interrupted while configuring components.", ex
+                );
+            } catch (final ExecutionException ex) {
+                if (ex.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) ex.getCause();
+                } else {
+                    throw new RuntimeException(ex.getCause());
+                }
+            }
+        }
+        
+        return results;
+    }
+    
+    private Thread newThread(Runnable runnable) {
+        final Thread thread = new Thread(
+            runnable, "injector-" + THREAD_COUNTER.incrementAndGet()
+        );
+        thread.setDaemon(true);
+        thread.setContextClassLoader(classLoader);
+        return thread;
+    }
+    
+    private static int parallelism(Properties properties) {
+        final String value = properties.getProperty(PARALLELISM);
+        if (value == null) {
+            return 1;
+        }
+        
+        try {
+            return Math.max(1, Integer.parseInt(value.trim()));
+        } catch (final NumberFormatException ex) {
+            LOGGER.warn(
+                "Invalid value '" + value + "' for parameter '" + 
+                PARALLELISM + "'. Components will be configured sequentially."
+            );
+            return 1;
+        }
+    }
+
     private void appendInjectable(String key, Class<?> clazz, boolean overwrite) {
         final List<Class<?>> list = Optional.ofNullable(
             injectables.remove(key)
@@ -405,6 +582,11 @@ public final class InjectorBuilderImpl implements InjectorBuilder {
         injectables.put(key, list);
     }
 
+    @SuppressWarnings("unchecked")
+    private static ComponentWiring<Object> cast(ComponentWiring<?> wiring) {
+        return (ComponentWiring<Object>) wiring;
+    }
+
     private static ClassLoader defaultClassLoader() {
         return Thread.currentThread().getContextClassLoader();
     }
@@ -37,7 +37,7 @@ public final class DependencyNodeImpl implements DependencyNode {
     private final Class<?> representedType;
     private final Set<Dependency> dependencies;
     private final List<Execution<?>> executions;
-    private State currentState;
+    private volatile State currentState;
 
     public DependencyNodeImpl(Class<?> representedType) {
         this.representedType = requireNonNull(representedType);
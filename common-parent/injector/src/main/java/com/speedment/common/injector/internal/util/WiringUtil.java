@@ -0,0 +1,69 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.common.injector.internal.util;
+
+import com.speedment.common.injector.wiring.ComponentWiring;
+import java.util.Optional;
+
+/**
+ * Utility methods for locating generated {@link ComponentWiring} classes.
+ *
+ * @author Speedment
+ * @since  1.2.1
+ */
+public final class WiringUtil {
+
+    /**
+     * Returns the generated wiring for the specified type if one exists on 
+     * the classpath. If no wiring exists or if it can't be used, an empty
+     * optional is returned and the type should be wired using reflection.
+     * 
+     * @param <T>   the injectable type
+     * @param type  the injectable type
+     * @return      the wiring or empty if there is none
+     */
+    public static <T> Optional<ComponentWiring<T>> wiringOf(Class<T> type) {
+        final String name = ComponentWiring.nameOf(type.getName());
+        
+        try {
+            final Class<?> wiringClass = Class.forName(
+                name, true, type.getClassLoader()
+            );
+            
+            if (!ComponentWiring.class.isAssignableFrom(wiringClass)) {
+                return Optional.empty();
+            }
+            
+            @SuppressWarnings("unchecked")
+            final ComponentWiring<T> wiring = 
+                (ComponentWiring<T>) wiringClass.newInstance();
+            
+            return wiring.getType() == type 
+                ? Optional.of(wiring) 
+                : Optional.empty();
+            
+        } catch (final ClassNotFoundException 
+                     | LinkageError
+                     | InstantiationException 
+                     | IllegalAccessException ex) {
+            
+            return Optional.empty();
+        }
+    }
+    
+    private WiringUtil() {}
+}
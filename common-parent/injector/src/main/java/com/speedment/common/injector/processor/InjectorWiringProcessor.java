@@ -0,0 +1,381 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.common.injector.processor;
+
+import com.speedment.common.injector.annotation.Config;
+import com.speedment.common.injector.annotation.Inject;
+import com.speedment.common.injector.annotation.WithState;
+import com.speedment.common.injector.wiring.AbstractComponentWiring;
+import com.speedment.common.injector.wiring.ComponentWiring;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * Annotation processor that generates a {@link ComponentWiring} for every
+ * injectable class in the compiled sources. The generated wiring creates the
+ * instance, parses the {@link Config} parameters and sets the {@link Inject}
+ * fields using plain code, so that the injector does not have to reflect over
+ * every field of the class at startup.
+ * <p>
+ * A class gets a wiring if it is concrete, not generic, can be accessed from
+ * its own package and has a default constructor that is not private. Fields 
+ * that are private or otherwise can't be accessed from the package of the 
+ * class are set individually by name. Other classes are not affected and will
+ * still be configured using reflection.
+ * <p>
+ * The processor is not registered as a service, so it has to be enabled 
+ * explicitly, for an example using the {@code -processor} option of 
+ * {@code javac}.
+ * 
+ * @author  Speedment
+ * @since   1.2.1
+ */
+@SupportedAnnotationTypes("*")
+public final class InjectorWiringProcessor extends AbstractProcessor {
+    
+    private static final String INDENT = "    ";
+    private static final Map<String, String> PARSERS = new HashMap<>();
+    
+    static {
+        PARSERS.put("boolean",             "booleanParam");
+        PARSERS.put("java.lang.Boolean",   "booleanParam");
+        PARSERS.put("byte",                "byteParam");
+        PARSERS.put("java.lang.Byte",      "byteParam");
+        PARSERS.put("short",               "shortParam");
+        PARSERS.put("java.lang.Short",     "shortParam");
+        PARSERS.put("int",                 "intParam");
+        PARSERS.put("java.lang.Integer",   "intParam");
+        PARSERS.put("long",                "longParam");
+        PARSERS.put("java.lang.Long",      "longParam");
+        PARSERS.put("float",               "floatParam");
+        PARSERS.put("java.lang.Float",     "floatParam");
+        PARSERS.put("double",              "doubleParam");
+        PARSERS.put("java.lang.Double",    "doubleParam");
+        PARSERS.put("char",                "charParam");
+        PARSERS.put("java.lang.Character", "charParam");
+        PARSERS.put("java.lang.String",    "stringParam");
+        PARSERS.put("java.io.File",        "fileParam");
+        PARSERS.put("java.net.URL",        "urlParam");
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        final List<TypeElement> types = new ArrayList<>();
+        ElementFilter.typesIn(roundEnv.getRootElements())
+            .forEach(type -> collectTypes(type, types));
+        
+        for (final TypeElement type : types) {
+            if (isWireable(type) && hasAnnotatedFields(type)) {
+                try {
+                    writeWiring(type);
+                } catch (final IOException ex) {
+                    processingEnv.getMessager().printMessage(
+                        Diagnostic.Kind.ERROR, 
+                        "Could not write injector wiring: " + ex.getMessage(),
+                        type
+                    );
+                }
+            }
+        }
+        
+        // Never claim the annotations since other processors might need them.
+        return false;
+    }
+    
+    private void collectTypes(TypeElement type, List<TypeElement> types) {
+        types.add(type);
+        ElementFilter.typesIn(type.getEnclosedElements())
+            .forEach(nested -> collectTypes(nested, types));
+    }
+    
+    private boolean isWireable(TypeElement type) {
+        if (type.getKind() != ElementKind.CLASS
+        ||  type.getModifiers().contains(Modifier.ABSTRACT)
+        ||  !type.getTypeParameters().isEmpty()
+        ||  !isAccessible(type, packageOf(type))) {
+            return false;
+        }
+        
+        // Inner classes require an instance of the outer class
+        if (type.getNestingKind() == NestingKind.MEMBER
+        &&  !type.getModifiers().contains(Modifier.STATIC)) {
+            return false;
+        }
+        
+        final List<ExecutableElement> constructors = 
+            ElementFilter.constructorsIn(type.getEnclosedElements());
+        
+        return constructors.stream().anyMatch(c -> 
+            c.getParameters().isEmpty() && 
+            !c.getModifiers().contains(Modifier.PRIVATE)
+        );
+    }
+    
+    private boolean hasAnnotatedFields(TypeElement type) {
+        return fieldsOf(type).stream().anyMatch(f -> 
+            f.getAnnotation(Inject.class) != null || 
+            f.getAnnotation(Config.class) != null
+        );
+    }
+    
+    private void writeWiring(TypeElement type) throws IOException {
+        final PackageElement pkg = packageOf(type);
+        final String typeName = type.getQualifiedName().toString();
+        final String binaryName = processingEnv.getElementUtils()
+            .getBinaryName(type).toString();
+        
+        final String wiringName = ComponentWiring.nameOf(binaryName);
+        final String simpleName = pkg.isUnnamed() ? wiringName 
+            : wiringName.substring(pkg.getQualifiedName().length() + 1);
+        
+        final List<String> configure = new ArrayList<>();
+        final List<String> inject = new ArrayList<>();
+        boolean unchecked = false;
+        
+        for (final VariableElement field : fieldsOf(type)) {
+            
+            // Resolve the type of the field as seen from the wired class in
+            // case it is declared using a type variable in a superclass.
+            final TypeMirror fieldType = processingEnv.getTypeUtils()
+                .asMemberOf((DeclaredType) type.asType(), field);
+            
+            final Config config = field.getAnnotation(Config.class);
+            if (config != null) {
+                final String parser = PARSERS.get(fieldType.toString());
+                
+                // Unsupported types are ignored, just as when using reflection
+                if (parser != null) {
+                    configure.add(assignment(field, pkg, 
+                        parser + "(properties, " + 
+                        literal(config.name()) + ", " + 
+                        literal(config.value()) + ")"
+                    ));
+                }
+            }
+            
+            if (field.getAnnotation(Inject.class) != null) {
+                final TypeMirror erasure = processingEnv.getTypeUtils()
+                    .erasure(fieldType);
+                
+                if (erasure.getKind() != TypeKind.DECLARED 
+                || !isAccessible((TypeElement) ((DeclaredType) erasure)
+                    .asElement(), pkg)) {
+                    
+                    processingEnv.getMessager().printMessage(
+                        Diagnostic.Kind.NOTE, 
+                        "No injector wiring generated since the type of " + 
+                        "field '" + field.getSimpleName() + "' can not be " +
+                        "accessed.", type
+                    );
+                    return;
+                }
+                
+                final boolean required = 
+                    field.getAnnotation(WithState.class) != null;
+                
+                final String cast;
+                if (processingEnv.getTypeUtils().isSameType(fieldType, erasure)) {
+                    cast = "";
+                } else {
+                    cast = "(" + fieldType + ") ";
+                    unchecked = true;
+                }
+                
+                inject.add(assignment(field, pkg, 
+                    cast + "resolver.find(" + erasure + ".class, " + 
+                    required + ")"
+                ));
+            }
+        }
+        
+        try (final Writer writer = processingEnv.getFiler()
+                .createSourceFile(wiringName, type).openWriter()) {
+            
+            final String nl = System.lineSeparator();
+            final StringBuilder str = new StringBuilder();
+            
+            if (!pkg.isUnnamed()) {
+                str.append("package ").append(pkg.getQualifiedName())
+                    .append(";").append(nl).append(nl);
+            }
+            
+            str.append("/**").append(nl)
+                .append(" * Injector wiring for {@link ").append(typeName)
+                .append("}. This file has been generated by ")
+                .append(InjectorWiringProcessor.class.getSimpleName())
+                .append(".").append(nl)
+                .append(" */").append(nl)
+                .append("public final class ").append(simpleName)
+                .append(" extends ")
+                .append(AbstractComponentWiring.class.getName())
+                .append("<").append(typeName).append("> {").append(nl)
+                .append(nl);
+            
+            str.append(INDENT).append("@Override").append(nl)
+                .append(INDENT).append("public Class<").append(typeName)
+                .append("> getType() {").append(nl)
+                .append(INDENT).append(INDENT).append("return ")
+                .append(typeName).append(".class;").append(nl)
+                .append(INDENT).append("}").append(nl).append(nl);
+            
+            str.append(INDENT).append("@Override").append(nl)
+                .append(INDENT).append("public ").append(typeName)
+                .append(" newInstance() {").append(nl)
+                .append(INDENT).append(INDENT).append("return new ")
+                .append(typeName).append("();").append(nl)
+                .append(INDENT).append("}").append(nl).append(nl);
+            
+            str.append(INDENT).append("@Override").append(nl)
+                .append(INDENT).append("public void configure(")
+                .append(typeName).append(" instance, java.util.Properties ")
+                .append("properties) {").append(nl);
+            configure.forEach(line -> str.append(INDENT).append(INDENT)
+                .append(line).append(nl));
+            str.append(INDENT).append("}").append(nl).append(nl);
+            
+            str.append(INDENT).append("@Override").append(nl);
+            if (unchecked) {
+                str.append(INDENT).append("@SuppressWarnings(\"unchecked\")")
+                    .append(nl);
+            }
+            str.append(INDENT).append("public void inject(")
+                .append(typeName).append(" instance, ")
+                .append(ComponentWiring.class.getName())
+                .append(".Resolver resolver) {").append(nl);
+            inject.forEach(line -> str.append(INDENT).append(INDENT)
+                .append(line).append(nl));
+            str.append(INDENT).append("}").append(nl)
+                .append("}").append(nl);
+            
+            writer.write(str.toString());
+        }
+    }
+    
+    private String assignment(VariableElement field, PackageElement pkg, String value) {
+        final TypeElement declaring = (TypeElement) field.getEnclosingElement();
+        final Set<Modifier> modifiers = field.getModifiers();
+        
+        final boolean direct = !modifiers.contains(Modifier.PRIVATE)
+            && !modifiers.contains(Modifier.FINAL)
+            && isAccessible(declaring, pkg)
+            && (modifiers.contains(Modifier.PUBLIC) 
+                || packageOf(declaring).equals(pkg));
+        
+        if (direct) {
+            return "instance." + field.getSimpleName() + " = " + value + ";";
+        } else {
+            return "setField(instance, " + 
+                literal(processingEnv.getElementUtils()
+                    .getBinaryName(declaring).toString()) + ", " + 
+                literal(field.getSimpleName().toString()) + ", " + 
+                value + ");";
+        }
+    }
+    
+    /**
+     * Returns every non-static field in the specified type and its 
+     * superclasses, starting with the fields of the topmost superclass.
+     * 
+     * @param type  the type
+     * @return      the fields
+     */
+    private List<VariableElement> fieldsOf(TypeElement type) {
+        final List<VariableElement> fields = new ArrayList<>();
+        final TypeMirror parent = type.getSuperclass();
+        if (parent.getKind() == TypeKind.DECLARED) {
+            fields.addAll(fieldsOf(
+                (TypeElement) ((DeclaredType) parent).asElement()
+            ));
+        }
+        
+        ElementFilter.fieldsIn(type.getEnclosedElements()).stream()
+            .filter(f -> !f.getModifiers().contains(Modifier.STATIC))
+            .forEachOrdered(fields::add);
+        
+        return fields;
+    }
+    
+    private boolean isAccessible(TypeElement type, PackageElement from) {
+        Element element = type;
+        while (element instanceof TypeElement) {
+            final TypeElement current = (TypeElement) element;
+            final Set<Modifier> modifiers = current.getModifiers();
+            
+            if (modifiers.contains(Modifier.PRIVATE)
+            || (!modifiers.contains(Modifier.PUBLIC) 
+                && !packageOf(current).equals(from))) {
+                return false;
+            }
+            
+            element = current.getEnclosingElement();
+        }
+        
+        return true;
+    }
+    
+    private PackageElement packageOf(Element element) {
+        return processingEnv.getElementUtils().getPackageOf(element);
+    }
+    
+    private static String literal(String value) {
+        final StringBuilder str = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '\\' : str.append("\\\\"); break;
+                case '"'  : str.append("\\\""); break;
+                case '\n' : str.append("\\n"); break;
+                case '\r' : str.append("\\r"); break;
+                case '\t' : str.append("\\t"); break;
+                default : 
+                    if (c < 0x20) {
+                        str.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        str.append(c);
+                    }
+            }
+        }
+        return str.append('"').toString();
+    }
+}
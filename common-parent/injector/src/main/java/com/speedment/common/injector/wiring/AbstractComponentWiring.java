@@ -0,0 +1,193 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.common.injector.wiring;
+
+import java.io.File;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Base class for generated {@link ComponentWiring} implementations. It holds
+ * the parsing logic for config parameters so that the generated code can be
+ * kept short.
+ * 
+ * @param <T>  the injectable type
+ * 
+ * @author  Speedment
+ * @since   1.2.1
+ */
+public abstract class AbstractComponentWiring<T> implements ComponentWiring<T> {
+
+    private static final Map<Class<?>, Map<String, MethodHandle>> SETTERS = 
+        new ConcurrentHashMap<>();
+    
+    protected AbstractComponentWiring() {}
+    
+    protected final String stringParam(Properties properties, String name, String value) {
+        return properties.getProperty(name, value);
+    }
+    
+    protected final boolean booleanParam(Properties properties, String name, String value) {
+        return Boolean.parseBoolean(stringParam(properties, name, value));
+    }
+    
+    protected final byte byteParam(Properties properties, String name, String value) {
+        try {
+            return Byte.parseByte(stringParam(properties, name, value));
+        } catch (final IllegalArgumentException ex) {
+            throw configException(name, ex);
+        }
+    }
+    
+    protected final short shortParam(Properties properties, String name, String value) {
+        try {
+            return Short.parseShort(stringParam(properties, name, value));
+        } catch (final IllegalArgumentException ex) {
+            throw configException(name, ex);
+        }
+    }
+    
+    protected final int intParam(Properties properties, String name, String value) {
+        try {
+            return Integer.parseInt(stringParam(properties, name, value));
+        } catch (final IllegalArgumentException ex) {
+            throw configException(name, ex);
+        }
+    }
+    
+    protected final long longParam(Properties properties, String name, String value) {
+        try {
+            return Long.parseLong(stringParam(properties, name, value));
+        } catch (final IllegalArgumentException ex) {
+            throw configException(name, ex);
+        }
+    }
+    
+    protected final float floatParam(Properties properties, String name, String value) {
+        try {
+            return Float.parseFloat(stringParam(properties, name, value));
+        } catch (final IllegalArgumentException ex) {
+            throw configException(name, ex);
+        }
+    }
+    
+    protected final double doubleParam(Properties properties, String name, String value) {
+        try {
+            return Double.parseDouble(stringParam(properties, name, value));
+        } catch (final IllegalArgumentException ex) {
+            throw configException(name, ex);
+        }
+    }
+    
+    protected final char charParam(Properties properties, String name, String value) {
+        final String serialized = stringParam(properties, name, value);
+        if (serialized.length() == 1) {
+            return serialized.charAt(0);
+        } else {
+            throw configException(name, new IllegalArgumentException(
+                "Value '" + serialized + "' is to long to be parsed into a " + 
+                "field of type 'char'."
+            ));
+        }
+    }
+    
+    protected final File fileParam(Properties properties, String name, String value) {
+        return new File(stringParam(properties, name, value));
+    }
+    
+    protected final URL urlParam(Properties properties, String name, String value) {
+        final String serialized = stringParam(properties, name, value);
+        try {
+            return new URL(serialized);
+        } catch (final MalformedURLException ex) {
+            throw configException(name, new IllegalArgumentException(
+                "Specified URL '" + serialized + "' is malformed.", ex
+            ));
+        }
+    }
+    
+    /**
+     * Sets a field that can not be accessed directly from the generated code,
+     * for an example because it is private. This is only done for the 
+     * specific field, so no other members of the class are traversed. The
+     * field is looked up the first time it is set for a particular class and
+     * a setter handle is then cached for subsequent instances.
+     * 
+     * @param instance        the instance to set the field in
+     * @param declaringClass  the binary name of the class declaring the field
+     * @param fieldName       the name of the field
+     * @param value           the value to set
+     */
+    protected final void setField(T instance, String declaringClass, String fieldName, Object value) {
+        final MethodHandle setter = SETTERS
+            .computeIfAbsent(instance.getClass(), c -> new ConcurrentHashMap<>())
+            .computeIfAbsent(declaringClass + "#" + fieldName, 
+                key -> findSetter(instance.getClass(), declaringClass, fieldName)
+            );
+        
+        try {
+            setter.invoke(instance, value);
+        } catch (final RuntimeException | Error ex) {
+            throw ex;
+        } catch (final Throwable thrown) {
+            throw new RuntimeException(
+                "Could not set field '" + fieldName + 
+                "' in class '" + declaringClass + "'.", thrown
+            );
+        }
+    }
+    
+    private static MethodHandle findSetter(Class<?> type, String declaringClass, String fieldName) {
+        Class<?> clazz = type;
+        while (clazz != null && !clazz.getName().equals(declaringClass)) {
+            clazz = clazz.getSuperclass();
+        }
+        
+        if (clazz == null) {
+            throw new IllegalArgumentException(
+                "Class '" + declaringClass + "' is not a superclass of '" + 
+                type.getName() + "'."
+            );
+        }
+        
+        try {
+            final Field field = clazz.getDeclaredField(fieldName);
+            field.setAccessible(true);
+            return MethodHandles.lookup().unreflectSetter(field)
+                .asType(MethodType.methodType(void.class, Object.class, Object.class));
+        } catch (final NoSuchFieldException | IllegalAccessException ex) {
+            throw new RuntimeException(
+                "Could not access field '" + fieldName + 
+                "' in class '" + declaringClass + "'.", ex
+            );
+        }
+    }
+    
+    private RuntimeException configException(String name, Exception cause) {
+        return new RuntimeException(
+            "Failed to set config parameter '" + name +
+            "' in class '" + getType().getName() + "'.", cause
+        );
+    }
+}
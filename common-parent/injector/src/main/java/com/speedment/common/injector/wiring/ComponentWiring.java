@@ -0,0 +1,111 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.common.injector.wiring;
+
+import com.speedment.common.injector.InjectorBuilder;
+import com.speedment.common.injector.annotation.Config;
+import com.speedment.common.injector.annotation.Inject;
+import java.util.Properties;
+
+/**
+ * Plain code that creates and configures instances of a particular injectable
+ * type without using reflection. Implementations are typically generated at 
+ * compile time by the 
+ * {@link com.speedment.common.injector.processor.InjectorWiringProcessor} 
+ * and are located in the same package as the injectable type, named as 
+ * given by {@link #nameOf(String)}. 
+ * <p>
+ * If a wiring is present for a type, the {@link InjectorBuilder} will use it
+ * instead of reflecting over the fields of the type. 
+ * 
+ * @param <T>  the injectable type
+ * 
+ * @author  Speedment
+ * @since   1.2.1
+ */
+public interface ComponentWiring<T> {
+    
+    /**
+     * The suffix added to the name of an injectable type to get the name of
+     * its wiring class.
+     */
+    String SUFFIX = "_Wiring";
+    
+    /**
+     * Resolves the value of a field annotated with {@link Inject}.
+     */
+    interface Resolver {
+        
+        /**
+         * Returns the instance that should be injected into a field of the 
+         * specified type.
+         * 
+         * @param <R>       the type to resolve
+         * @param type      the type to resolve
+         * @param required  {@code true} if an exception should be thrown if
+         *                  no such instance exists
+         * @return          the instance or {@code null} if it is not required
+         *                  and could not be found
+         */
+        <R> R find(Class<R> type, boolean required);
+    }
+    
+    /**
+     * Returns the type that this wiring handles.
+     * 
+     * @return  the injectable type
+     */
+    Class<T> getType();
+    
+    /**
+     * Creates a new instance of the injectable type using its default 
+     * constructor.
+     * 
+     * @return  the new instance
+     */
+    T newInstance();
+    
+    /**
+     * Sets every field annotated with {@link Config} in the specified 
+     * instance, using the value in the specified properties or the default 
+     * value if it is not present.
+     * 
+     * @param instance    the instance to configure
+     * @param properties  the configured properties
+     */
+    void configure(T instance, Properties properties);
+    
+    /**
+     * Sets every field annotated with {@link Inject} in the specified 
+     * instance.
+     * 
+     * @param instance  the instance to inject into
+     * @param resolver  the resolver to find the instances to inject
+     */
+    void inject(T instance, Resolver resolver);
+    
+    /**
+     * Returns the fully qualified name of the wiring class for an injectable 
+     * type with the specified binary name.
+     * 
+     * @param binaryName  the binary name of the injectable type
+     * @return            the binary name of the wiring class
+     */
+    static String nameOf(String binaryName) {
+        return binaryName.replace('$', '_') + SUFFIX;
+    }
+}
@@ -23,6 +23,7 @@ import static com.speedment.common.injector.State.STOPPED;
 import com.speedment.common.injector.annotation.Config;
 import com.speedment.common.injector.annotation.ExecuteBefore;
 import com.speedment.common.injector.annotation.InjectKey;
+import com.speedment.common.injector.annotation.WithState;
 import com.speedment.common.injector.exception.NoDefaultConstructorException;
 import com.speedment.common.injector.test_a.StringIdentityMapper;
 import com.speedment.common.injector.test_a.TypeMapperComponent;
@@ -31,6 +32,7 @@ import com.speedment.common.injector.test_b.B;
 import com.speedment.common.injector.test_b.C;
 import com.speedment.common.injector.test_c.ChildType;
 import com.speedment.common.injector.test_c.ParentType;
+import com.speedment.common.injector.test_d.WiredComponent;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -371,4 +373,75 @@ public class InjectorTest {
             fail("InstantiationException!");
         }
     }
+    
+    private static final class SlowComponentA {
+        
+        private volatile boolean started;
+        
+        @ExecuteBefore(STARTED)
+        void onStart() throws InterruptedException {
+            Thread.sleep(20);
+            started = true;
+        }
+    }
+    
+    private static final class SlowComponentB {
+        
+        private volatile boolean started;
+        
+        @ExecuteBefore(STARTED)
+        void onStart() throws InterruptedException {
+            Thread.sleep(20);
+            started = true;
+        }
+    }
+    
+    private static final class DependentComponent {
+        
+        private volatile boolean dependenciesStarted;
+        
+        @ExecuteBefore(STARTED)
+        void onStart(
+                @WithState(STARTED) SlowComponentA a, 
+                @WithState(STARTED) SlowComponentB b) {
+            
+            dependenciesStarted = a.started && b.started;
+        }
+    }
+    
+    @Test
+    public void testParallelConfiguration() throws InstantiationException {
+        final Injector injector = Injector.builder()
+            .withComponent(SlowComponentA.class)
+            .withComponent(SlowComponentB.class)
+            .withComponent(DependentComponent.class)
+            .withComponent(ImplementingComponent.class)
+            .withParam("injector.parallelism", "4")
+            .build();
+        
+        assertTrue("Make sure A was started: ", injector.getOrThrow(SlowComponentA.class).started);
+        assertTrue("Make sure B was started: ", injector.getOrThrow(SlowComponentB.class).started);
+        assertTrue("Make sure dependencies were started first: ", 
+            injector.getOrThrow(DependentComponent.class).dependenciesStarted);
+        assertEquals("Make sure all executors was executed: ", 6, 
+            injector.getOrThrow(ImplementingComponent.class).getCount());
+    }
+    
+    @Test
+    public void testGeneratedWiring() throws InstantiationException {
+        final Injector injector = Injector.builder()
+            .withComponent(A.class)
+            .withComponent(B.class)
+            .withComponent(C.class)
+            .withComponent(WiredComponent.class)
+            .withParam("wired.count", "7")
+            .build();
+        
+        final WiredComponent wired = injector.getOrThrow(WiredComponent.class);
+        
+        assertTrue("Make sure the wiring was used: ", wired.createdByWiring);
+        assertEquals("Make sure the config was set: ", 7, wired.count);
+        assertEquals("Make sure the field was injected: ", injector.getOrThrow(A.class), wired.a);
+        assertNotNull("Make sure reflection is still used for other components: ", injector.getOrThrow(A.class).b);
+    }
 }
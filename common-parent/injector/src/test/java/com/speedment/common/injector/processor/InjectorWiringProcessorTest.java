@@ -0,0 +1,214 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.common.injector.processor;
+
+import com.speedment.common.injector.Injector;
+import com.speedment.common.injector.internal.util.WiringUtil;
+import com.speedment.common.injector.wiring.ComponentWiring;
+import java.lang.reflect.Field;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import org.junit.Before;
+import org.junit.Test;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compiles a set of injectable classes with the 
+ * {@link InjectorWiringProcessor} enabled and then wires them using the
+ * generated code.
+ *
+ * @author Speedment
+ * @since  1.2.1
+ */
+public class InjectorWiringProcessorTest {
+    
+    private static final String PACKAGE = "com.speedment.common.injector.test_e";
+    
+    private static final String BASE = 
+        "package " + PACKAGE + ";\n" +
+        "import com.speedment.common.injector.annotation.Config;\n" +
+        "public abstract class Base {\n" +
+        "    @Config(name=\"base.enabled\", value=\"false\") private boolean enabled;\n" +
+        "}\n";
+    
+    private static final String DEPENDENCY = 
+        "package " + PACKAGE + ";\n" +
+        "public class Dependency {}\n";
+    
+    private static final String COMPONENT = 
+        "package " + PACKAGE + ";\n" +
+        "import com.speedment.common.injector.annotation.Config;\n" +
+        "import com.speedment.common.injector.annotation.Inject;\n" +
+        "public class Component extends Base {\n" +
+        "    @Config(name=\"component.count\", value=\"3\") int count;\n" +
+        "    @Config(name=\"component.name\", value=\"Olle\") private String name;\n" +
+        "    @Inject Dependency dependency;\n" +
+        "    @Inject private Dependency privateDependency;\n" +
+        "}\n";
+    
+    private static final String UNWIREABLE = 
+        "package " + PACKAGE + ";\n" +
+        "import com.speedment.common.injector.annotation.Inject;\n" +
+        "public class Unwireable {\n" +
+        "    @Inject Dependency dependency;\n" +
+        "    private Unwireable() {}\n" +
+        "}\n";
+    
+    private Path output;
+    private ClassLoader loader;
+    
+    @Before
+    public void setUp() throws Exception {
+        final List<JavaFileObject> sources = asList(
+            new SourceFile("Base", BASE),
+            new SourceFile("Dependency", DEPENDENCY),
+            new SourceFile("Component", COMPONENT),
+            new SourceFile("Unwireable", UNWIREABLE)
+        );
+        
+        output = Files.createTempDirectory("injector-wiring");
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final JavaCompiler.CompilationTask task = compiler.getTask(null, null, null,
+            asList("-d", output.toString(), "-classpath", System.getProperty("java.class.path")),
+            null, sources
+        );
+        task.setProcessors(singletonList(new InjectorWiringProcessor()));
+        assertTrue("Make sure the sources compiled: ", task.call());
+        
+        loader = new URLClassLoader(
+            new URL[] {output.toUri().toURL()}, getClass().getClassLoader()
+        );
+    }
+    
+    @Test
+    public void testGeneratedSource() throws Exception {
+        final Path source = output.resolve(PACKAGE.replace('.', '/'))
+            .resolve("Component_Wiring.java");
+        assertTrue("Make sure the wiring was generated: ", Files.exists(source));
+        
+        final String code = new String(Files.readAllBytes(source), "UTF-8");
+        assertTrue(code.contains("instance.count = intParam(properties, \"component.count\", \"3\");"));
+        assertTrue(code.contains("setField(instance, \"" + PACKAGE + ".Component\", \"name\", stringParam(properties, \"component.name\", \"Olle\"));"));
+        assertTrue(code.contains("setField(instance, \"" + PACKAGE + ".Base\", \"enabled\", booleanParam(properties, \"base.enabled\", \"false\"));"));
+        assertTrue(code.contains("instance.dependency = resolver.find(" + PACKAGE + ".Dependency.class, false);"));
+        
+        assertFalse("Make sure classes without a usable constructor are skipped: ",
+            Files.exists(source.resolveSibling("Unwireable_Wiring.java"))
+        );
+        assertFalse("Make sure abstract classes are skipped: ",
+            Files.exists(source.resolveSibling("Base_Wiring.java"))
+        );
+    }
+    
+    @Test
+    public void testWiring() throws Exception {
+        final Class<?> component = loader.loadClass(PACKAGE + ".Component");
+        final Object dependency = loader.loadClass(PACKAGE + ".Dependency").newInstance();
+        
+        final ComponentWiring<Object> wiring = wiring(component);
+        final Properties properties = new Properties();
+        properties.setProperty("component.name", "Sven");
+        properties.setProperty("base.enabled", "true");
+        
+        // Set the private fields of two instances to make sure the cached
+        // setters are not bound to the first one.
+        for (int i = 0; i < 2; i++) {
+            final Object instance = wiring.newInstance();
+            wiring.configure(instance, properties);
+            wiring.inject(instance, new ComponentWiring.Resolver() {
+                @Override
+                public <R> R find(Class<R> type, boolean required) {
+                    return type.cast(dependency);
+                }
+            });
+            
+            assertEquals(3, get(instance, component, "count"));
+            assertEquals("Sven", get(instance, component, "name"));
+            assertEquals(true, get(instance, component.getSuperclass(), "enabled"));
+            assertSame(dependency, get(instance, component, "dependency"));
+            assertSame(dependency, get(instance, component, "privateDependency"));
+        }
+    }
+    
+    @Test
+    public void testInjector() throws Exception {
+        final Class<?> component = loader.loadClass(PACKAGE + ".Component");
+        final Class<?> dependency = loader.loadClass(PACKAGE + ".Dependency");
+        
+        final Injector injector = Injector.builder(loader)
+            .withComponent(dependency)
+            .withComponent(component)
+            .withParam("component.count", "7")
+            .build();
+        
+        final Object instance = injector.getOrThrow(component);
+        assertEquals(7, get(instance, component, "count"));
+        assertEquals("Olle", get(instance, component, "name"));
+        assertEquals(false, get(instance, component.getSuperclass(), "enabled"));
+        assertSame(injector.getOrThrow(dependency), get(instance, component, "dependency"));
+        assertSame(injector.getOrThrow(dependency), get(instance, component, "privateDependency"));
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static ComponentWiring<Object> wiring(Class<?> type) {
+        final Optional<? extends ComponentWiring<?>> wiring = WiringUtil.wiringOf(type);
+        assertTrue("Make sure the generated wiring is found: ", wiring.isPresent());
+        return (ComponentWiring<Object>) wiring.get();
+    }
+    
+    private static Object get(Object instance, Class<?> declaringClass, String name) 
+            throws ReflectiveOperationException {
+        
+        final Field field = declaringClass.getDeclaredField(name);
+        field.setAccessible(true);
+        final Object value = field.get(instance);
+        assertNotNull("Make sure '" + name + "' was set: ", value);
+        return value;
+    }
+    
+    private static final class SourceFile extends SimpleJavaFileObject {
+
+        private final String code;
+
+        private SourceFile(String simpleName, String code) {
+            super(URI.create("string:///" + PACKAGE.replace('.', '/') + 
+                "/" + simpleName + Kind.SOURCE.extension), Kind.SOURCE);
+            this.code = code;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return code;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.common.injector.test_d;
+
+import com.speedment.common.injector.test_b.A;
+import com.speedment.common.injector.wiring.AbstractComponentWiring;
+import java.util.Properties;
+
+/**
+ * Wiring written the same way as the ones generated by the
+ * {@code InjectorWiringProcessor}.
+ * 
+ * @author  Speedment
+ * @since   1.2.1
+ */
+public final class WiredComponent_Wiring extends AbstractComponentWiring<WiredComponent> {
+
+    @Override
+    public Class<WiredComponent> getType() {
+        return WiredComponent.class;
+    }
+
+    @Override
+    public WiredComponent newInstance() {
+        final WiredComponent instance = new WiredComponent();
+        instance.createdByWiring = true;
+        return instance;
+    }
+
+    @Override
+    public void configure(WiredComponent instance, Properties properties) {
+        instance.count = intParam(properties, "wired.count", "3");
+    }
+
+    @Override
+    public void inject(WiredComponent instance, Resolver resolver) {
+        instance.a = resolver.find(A.class, false);
+    }
+}
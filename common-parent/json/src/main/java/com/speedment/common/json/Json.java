@@ -17,7 +17,9 @@
 package com.speedment.common.json;
 
 import com.speedment.common.json.internal.JsonDeserializer;
+import com.speedment.common.json.internal.JsonReaderImpl;
 import com.speedment.common.json.internal.JsonSerializer;
+import com.speedment.common.json.internal.JsonWriterImpl;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -148,6 +150,54 @@ public final class Json {
         }
     }
 
+    /**
+     * Creates a new {@link JsonReader} that parses the specified JSON stream 
+     * of unicode characters one token at a time, without building an object
+     * tree. The returned reader should be closed once it is no longer needed.
+     * 
+     * @param in  the json to parse
+     * @return    the created reader
+     * 
+     * @since 1.0.3
+     */
+    public static JsonReader reader(InputStream in) {
+        return new JsonReaderImpl(in);
+    }
+    
+    /**
+     * Creates a new {@link JsonWriter} that writes JSON to the specified 
+     * stream one token at a time, without building an object tree first. The
+     * output is formatted with spaces and new-lines if {@link #PRETTY} is set.
+     * The returned writer should be closed or flushed once the document has 
+     * been written.
+     * 
+     * @param out  the stream to write to
+     * @return     the created writer
+     * 
+     * @since 1.0.3
+     */
+    public static JsonWriter writer(OutputStream out) {
+        return writer(out, PRETTY);
+    }
+    
+    /**
+     * Creates a new {@link JsonWriter} that writes JSON to the specified 
+     * stream one token at a time, without building an object tree first. The
+     * returned writer should be closed or flushed once the document has been 
+     * written.
+     * 
+     * @param out     the stream to write to
+     * @param pretty  {@code true} to format the output with spaces and 
+     *                new-lines, {@code false} to make it as compact as 
+     *                possible
+     * @return        the created writer
+     * 
+     * @since 1.0.3
+     */
+    public static JsonWriter writer(OutputStream out, boolean pretty) {
+        return new JsonWriterImpl(out, pretty);
+    }
+
     /**
      * Utility classes should never be instantiated.
      */
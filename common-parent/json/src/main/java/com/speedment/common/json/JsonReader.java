@@ -0,0 +1,115 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.common.json;
+
+import java.io.IOException;
+
+/**
+ * A pull-based reader that parses a stream of JSON characters one token at a
+ * time. In contrast to {@link Json#fromJson(java.io.InputStream)}, no object 
+ * tree is built, and numbers and booleans are returned as primitives, making
+ * it possible to parse large documents without allocating objects for every
+ * value.
+ * <p>
+ * <em>Example usage:</em> 
+ * {@code
+ *      try (JsonReader reader = Json.reader(in)) {
+ *          JsonToken token;
+ *          while ((token = reader.next()) != JsonToken.END_DOCUMENT) {
+ *              if (token == JsonToken.LONG) {
+ *                  sum += reader.getLong();
+ *              }
+ *          }
+ *      }
+ * }
+ * <p>
+ * Instances are not thread safe.
+ * 
+ * @author Speedment
+ * @since  1.0.3
+ */
+public interface JsonReader extends AutoCloseable {
+    
+    /**
+     * Reads the next token from the stream.
+     * 
+     * @return  the token read
+     * 
+     * @throws IOException          if the stream can not be read
+     * @throws JsonSyntaxException  if the json is malformed
+     */
+    JsonToken next() throws IOException, JsonSyntaxException;
+    
+    /**
+     * Skips the value that begins with the specified token. If the token is
+     * {@link JsonToken#BEGIN_OBJECT} or {@link JsonToken#BEGIN_ARRAY}, all
+     * tokens up to and including the matching end token are skipped. For all
+     * other tokens, this method has no effect.
+     * 
+     * @param token  the token last returned by {@link #next()}
+     * 
+     * @throws IOException          if the stream can not be read
+     * @throws JsonSyntaxException  if the json is malformed
+     */
+    void skipValue(JsonToken token) throws IOException, JsonSyntaxException;
+    
+    /**
+     * Returns the value of the last {@link JsonToken#STRING} token or the name
+     * of the last {@link JsonToken#FIELD_NAME} token.
+     * 
+     * @return  the string value
+     * 
+     * @throws IllegalStateException  if the last token was of another type
+     */
+    String getString() throws IllegalStateException;
+    
+    /**
+     * Returns the value of the last {@link JsonToken#LONG} token.
+     * 
+     * @return  the long value
+     * 
+     * @throws IllegalStateException  if the last token was of another type
+     */
+    long getLong() throws IllegalStateException;
+    
+    /**
+     * Returns the value of the last {@link JsonToken#DOUBLE} or
+     * {@link JsonToken#LONG} token.
+     * 
+     * @return  the double value
+     * 
+     * @throws IllegalStateException  if the last token was of another type
+     */
+    double getDouble() throws IllegalStateException;
+    
+    /**
+     * Returns the value of the last {@link JsonToken#BOOLEAN} token.
+     * 
+     * @return  the boolean value
+     * 
+     * @throws IllegalStateException  if the last token was of another type
+     */
+    boolean getBoolean() throws IllegalStateException;
+    
+    /**
+     * Closes the underlying stream.
+     * 
+     * @throws IOException  if the stream could not be closed
+     */
+    @Override
+    void close() throws IOException;
+}
@@ -41,6 +41,12 @@ public final class JsonSyntaxException extends RuntimeException {
         this.col = -1;
     }
     
+    public JsonSyntaxException(long row, long col, String message) {
+        super(message);
+        this.row = row;
+        this.col = col;
+    }
+    
     public JsonSyntaxException(AtomicLong row, AtomicLong col) {
         this.row = row.get();
         this.col = col.get();
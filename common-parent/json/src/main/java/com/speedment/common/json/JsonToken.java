@@ -0,0 +1,87 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.common.json;
+
+/**
+ * The different kinds of tokens that a {@link JsonReader} can produce.
+ * 
+ * @author Speedment
+ * @since  1.0.3
+ */
+public enum JsonToken {
+    
+    /**
+     * The beginning of an object, '{'.
+     */
+    BEGIN_OBJECT,
+    
+    /**
+     * The end of an object, '}'.
+     */
+    END_OBJECT,
+    
+    /**
+     * The beginning of an array, '['.
+     */
+    BEGIN_ARRAY,
+    
+    /**
+     * The end of an array, ']'.
+     */
+    END_ARRAY,
+    
+    /**
+     * The name of a field inside an object. The name is available from
+     * {@link JsonReader#getString()}.
+     */
+    FIELD_NAME,
+    
+    /**
+     * A string value. The value is available from 
+     * {@link JsonReader#getString()}.
+     */
+    STRING,
+    
+    /**
+     * A number without a fraction or an exponent. The value is available from
+     * {@link JsonReader#getLong()}.
+     */
+    LONG,
+    
+    /**
+     * A number with a fraction or an exponent. The value is available from
+     * {@link JsonReader#getDouble()}.
+     */
+    DOUBLE,
+    
+    /**
+     * The literal {@code true} or {@code false}. The value is available from
+     * {@link JsonReader#getBoolean()}.
+     */
+    BOOLEAN,
+    
+    /**
+     * The literal {@code null}.
+     */
+    NULL,
+    
+    /**
+     * The end of the document. Once this token has been returned, every 
+     * subsequent call will return it again.
+     */
+    END_DOCUMENT
+}
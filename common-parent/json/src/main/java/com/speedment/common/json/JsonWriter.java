@@ -0,0 +1,160 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.common.json;
+
+import java.io.Flushable;
+import java.io.IOException;
+
+/**
+ * A writer that emits JSON one token at a time directly to an underlying 
+ * stream. In contrast to {@link Json#toJson(Object, java.io.OutputStream)}, 
+ * the document does not have to be built as a tree of maps and lists first, 
+ * and numbers and booleans can be written without boxing them.
+ * <p>
+ * <em>Example usage:</em> 
+ * {@code
+ *      try (JsonWriter writer = Json.writer(out)) {
+ *          writer.beginObject()
+ *              .name("id").value(1L)
+ *              .name("name").value("Speedment")
+ *              .endObject();
+ *      }
+ * }
+ * <p>
+ * Output is buffered. Instances are not thread safe.
+ * 
+ * @author Speedment
+ * @since  1.0.3
+ */
+public interface JsonWriter extends Flushable, AutoCloseable {
+    
+    /**
+     * Begins a new object. Every value in the object must be preceded by a
+     * call to {@link #name(String)}.
+     * 
+     * @return  a reference to this writer
+     * 
+     * @throws IOException  if the stream could not be written to
+     */
+    JsonWriter beginObject() throws IOException;
+    
+    /**
+     * Ends the current object.
+     * 
+     * @return  a reference to this writer
+     * 
+     * @throws IOException            if the stream could not be written to
+     * @throws IllegalStateException  if the current value is not an object
+     */
+    JsonWriter endObject() throws IOException;
+    
+    /**
+     * Begins a new array.
+     * 
+     * @return  a reference to this writer
+     * 
+     * @throws IOException  if the stream could not be written to
+     */
+    JsonWriter beginArray() throws IOException;
+    
+    /**
+     * Ends the current array.
+     * 
+     * @return  a reference to this writer
+     * 
+     * @throws IOException            if the stream could not be written to
+     * @throws IllegalStateException  if the current value is not an array
+     */
+    JsonWriter endArray() throws IOException;
+    
+    /**
+     * Writes the name of the next field in the current object.
+     * 
+     * @param name  the field name
+     * @return      a reference to this writer
+     * 
+     * @throws IOException            if the stream could not be written to
+     * @throws IllegalStateException  if the current value is not an object
+     */
+    JsonWriter name(String name) throws IOException;
+    
+    /**
+     * Writes the specified string value, or {@code null} if the value is
+     * {@code null}.
+     * 
+     * @param value  the value (nullable)
+     * @return       a reference to this writer
+     * 
+     * @throws IOException  if the stream could not be written to
+     */
+    JsonWriter value(String value) throws IOException;
+    
+    /**
+     * Writes the specified number value.
+     * 
+     * @param value  the value
+     * @return       a reference to this writer
+     * 
+     * @throws IOException  if the stream could not be written to
+     */
+    JsonWriter value(long value) throws IOException;
+    
+    /**
+     * Writes the specified number value.
+     * 
+     * @param value  the value
+     * @return       a reference to this writer
+     * 
+     * @throws IOException  if the stream could not be written to
+     */
+    JsonWriter value(double value) throws IOException;
+    
+    /**
+     * Writes the specified boolean value.
+     * 
+     * @param value  the value
+     * @return       a reference to this writer
+     * 
+     * @throws IOException  if the stream could not be written to
+     */
+    JsonWriter value(boolean value) throws IOException;
+    
+    /**
+     * Writes the literal {@code null}.
+     * 
+     * @return  a reference to this writer
+     * 
+     * @throws IOException  if the stream could not be written to
+     */
+    JsonWriter nullValue() throws IOException;
+    
+    /**
+     * Writes any buffered output to the underlying stream and flushes it.
+     * 
+     * @throws IOException  if the stream could not be written to
+     */
+    @Override
+    void flush() throws IOException;
+    
+    /**
+     * Flushes any buffered output and closes the underlying stream.
+     * 
+     * @throws IOException  if the stream could not be closed
+     */
+    @Override
+    void close() throws IOException;
+}
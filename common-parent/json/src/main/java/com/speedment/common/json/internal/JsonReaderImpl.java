@@ -0,0 +1,526 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.common.json.internal;
+
+import com.speedment.common.json.JsonReader;
+import com.speedment.common.json.JsonSyntaxException;
+import com.speedment.common.json.JsonToken;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.StringJoiner;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The default implementation of the {@link JsonReader} interface.
+ * <p>
+ * Characters are read from the underlying stream in blocks. Strings are 
+ * collected in a reusable buffer and only turned into a {@code String} when 
+ * {@link #getString()} is called, and numbers without a fraction or exponent 
+ * are computed directly from the digits without any intermediate objects.
+ * <p>
+ * This implementation includes a line and column counter that makes it easier
+ * to debug an errenous JSON string.
+ * 
+ * @author Speedment
+ * @since  1.0.3
+ */
+public final class JsonReaderImpl implements JsonReader {
+    
+    private final static int TAB_SIZE = 4;
+    private final static int BUFFER_SIZE = 8192;
+    private final static int INITIAL_DEPTH = 32;
+    private final static int NO_LOOKAHEAD = -2;
+    private final static long LONG_LIMIT = Long.MIN_VALUE / 10;
+    
+    // The states of the parser on each level of the stack.
+    private final static byte 
+        DOCUMENT_START = 0, // before the root value
+        DOCUMENT_END   = 1, // after the root value
+        OBJECT_START   = 2, // after a '{'
+        OBJECT_VALUE   = 3, // after a field name and a ':'
+        OBJECT_NEXT    = 4, // after a value in an object
+        ARRAY_START    = 5, // after a '['
+        ARRAY_NEXT     = 6; // after a value in an array
+    
+    private final Reader reader;
+    private final char[] buffer;
+    private final StringBuilder string;
+    private final StringBuilder number;
+    
+    private int position;
+    private int limit;
+    private int character;
+    private int lookahead;
+    
+    private byte[] stack;
+    private int depth;
+    
+    private long row;
+    private long col;
+    
+    private JsonToken token;
+    private String stringValue;
+    private long longValue;
+    private double doubleValue;
+    private boolean booleanValue;
+    
+    public JsonReaderImpl(InputStream in) {
+        this(new InputStreamReader(requireNonNull(in), UTF_8));
+    }
+    
+    public JsonReaderImpl(Reader reader) {
+        this.reader    = requireNonNull(reader);
+        this.buffer    = new char[BUFFER_SIZE];
+        this.string    = new StringBuilder();
+        this.number    = new StringBuilder();
+        this.lookahead = NO_LOOKAHEAD;
+        this.stack     = new byte[INITIAL_DEPTH];
+        this.stack[0]  = DOCUMENT_START;
+    }
+
+    @Override
+    public JsonToken next() throws IOException {
+        stringValue = null;
+        
+        switch (stack[depth]) {
+            case DOCUMENT_START :
+                stack[depth] = DOCUMENT_END;
+                return token = readValue(nextNonBlankspace());
+                
+            case DOCUMENT_END :
+                return token = JsonToken.END_DOCUMENT;
+                
+            case OBJECT_START :
+                switch (nextNonBlankspace()) {
+                    case 0x7D : // } (close the object)
+                        return token = pop(JsonToken.END_OBJECT);
+                    case 0x22 : // " (begin key)
+                        return token = readFieldName();
+                    default :
+                        throw unexpectedCharacterException();
+                }
+                
+            case OBJECT_VALUE :
+                stack[depth] = OBJECT_NEXT;
+                return token = readValue(nextNonBlankspace());
+                
+            case OBJECT_NEXT :
+                switch (nextNonBlankspace()) {
+                    case 0x2C : // , (continue with next entry)
+                        if (nextNonBlankspace() != 0x22) { // "
+                            throw unexpectedCharacterException();
+                        }
+                        return token = readFieldName();
+                    case 0x7D : // } (close the object)
+                        return token = pop(JsonToken.END_OBJECT);
+                    default :
+                        throw unexpectedCharacterException();
+                }
+                
+            case ARRAY_START : {
+                final int c = nextNonBlankspace();
+                if (c == 0x5D) { // ] (close the array)
+                    return token = pop(JsonToken.END_ARRAY);
+                }
+                stack[depth] = ARRAY_NEXT;
+                return token = readValue(c);
+            }
+                
+            case ARRAY_NEXT :
+                switch (nextNonBlankspace()) {
+                    case 0x2C : // , (continue with next element)
+                        return token = readValue(nextNonBlankspace());
+                    case 0x5D : // ] (close the array)
+                        return token = pop(JsonToken.END_ARRAY);
+                    default :
+                        throw unexpectedCharacterException();
+                }
+                
+            default :
+                throw new IllegalStateException(
+                    "Unknown parser state '" + stack[depth] + "'."
+                );
+        }
+    }
+
+    @Override
+    public void skipValue(JsonToken token) throws IOException {
+        switch (requireNonNull(token)) {
+            case BEGIN_OBJECT : case BEGIN_ARRAY :
+                int level = 1;
+                while (level > 0) {
+                    switch (next()) {
+                        case BEGIN_OBJECT : case BEGIN_ARRAY :
+                            level++;
+                            break;
+                        case END_OBJECT : case END_ARRAY :
+                            level--;
+                            break;
+                        case END_DOCUMENT :
+                            throw unexpectedEndOfStreamException();
+                        default : // Ignore values inside the skipped value
+                    }
+                }
+                break;
+            default : // Primitive values have already been consumed
+        }
+    }
+
+    @Override
+    public String getString() {
+        if (token != JsonToken.STRING && token != JsonToken.FIELD_NAME) {
+            throw illegalStateException(JsonToken.STRING);
+        }
+        
+        if (stringValue == null) {
+            stringValue = string.toString();
+        }
+        
+        return stringValue;
+    }
+
+    @Override
+    public long getLong() {
+        if (token != JsonToken.LONG) {
+            throw illegalStateException(JsonToken.LONG);
+        }
+        
+        return longValue;
+    }
+
+    @Override
+    public double getDouble() {
+        switch (token == null ? JsonToken.END_DOCUMENT : token) {
+            case DOUBLE : return doubleValue;
+            case LONG   : return longValue;
+            default : throw illegalStateException(JsonToken.DOUBLE);
+        }
+    }
+
+    @Override
+    public boolean getBoolean() {
+        if (token != JsonToken.BOOLEAN) {
+            throw illegalStateException(JsonToken.BOOLEAN);
+        }
+        
+        return booleanValue;
+    }
+    
+    /**
+     * Creates an exception for a semantic error in the json, such as a 
+     * duplicate key, at the current position of the reader.
+     * 
+     * @param message  the error message
+     * @return         the exception to throw
+     */
+    public JsonSyntaxException syntaxException(String message) {
+        return new JsonSyntaxException(row, col, message);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+    
+    private JsonToken readValue(int c) throws IOException {
+        switch (c) {
+            case 0x7B : // { (begin parsing object)
+                return push(OBJECT_START, JsonToken.BEGIN_OBJECT);
+            case 0x5B : // [ (begin parsing array)
+                return push(ARRAY_START, JsonToken.BEGIN_ARRAY);
+            case 0x22 : // " (begin parsing string)
+                readString();
+                return JsonToken.STRING;
+            case 0x66 : // f (begin parsing false)
+                if (nextChar(0x61)      // a
+                &&  nextChar(0x6C)      // l
+                &&  nextChar(0x73)      // s
+                &&  nextChar(0x65)) {   // e
+                    booleanValue = false;
+                    return JsonToken.BOOLEAN;
+                }
+                throw unexpectedCharacterException();
+            case 0x74 : // t (begin parsing true)
+                if (nextChar(0x72)      // r
+                &&  nextChar(0x75)      // u
+                &&  nextChar(0x65)) {   // e
+                    booleanValue = true;
+                    return JsonToken.BOOLEAN;
+                }
+                throw unexpectedCharacterException();
+            case 0x6E : // n (begin parsing null)
+                if (nextChar(0x75)      // u
+                &&  nextChar(0x6C)      // l
+                &&  nextChar(0x6C)) {   // l
+                    return JsonToken.NULL;
+                }
+                throw unexpectedCharacterException();
+                
+            // Digit '0 - 9'
+            case 0x30 : case 0x31 : case 0x32 : case 0x33 : case 0x34 :
+            case 0x35 : case 0x36 : case 0x37 : case 0x38 : case 0x39 :
+            case 0x2E : // . (decimal sign)
+            case 0x2D : // - (minus sign)
+                return readNumber(c);
+                
+            default :
+                throw unexpectedCharacterException();
+        }
+    }
+    
+    private JsonToken readFieldName() throws IOException {
+        readString();
+        if (nextNonBlankspace() != 0x3A) { // :
+            throw unexpectedCharacterException();
+        }
+        stack[depth] = OBJECT_VALUE;
+        return JsonToken.FIELD_NAME;
+    }
+    
+    private void readString() throws IOException {
+        string.setLength(0);
+        
+        while (true) {
+            switch (nextCharOrThrow()) {
+                // If this terminates the string, stop reading.
+                case 0x22 : // " (end string)
+                    return;
+                    
+                // If this is an escape character, decode the following 
+                // character.
+                case 0x5C : // backslash
+                    switch (nextCharOrThrow()) {
+                        case 0x62 : string.append('\b'); break; // b
+                        case 0x66 : string.append('\f'); break; // f
+                        case 0x6E : string.append('\n'); break; // n
+                        case 0x72 : string.append('\r'); break; // r
+                        case 0x74 : string.append('\t'); break; // t
+                        case 0x75 : string.append(readUnicode()); break; // u
+                        
+                        // Every other character (including '"', '\' and
+                        // '/') is added without parsing it.
+                        default : string.append((char) character);
+                    }
+                    continue;
+                    
+                // Every other character should be added to the string.
+                default : 
+                    string.append((char) character);
+            }
+        }
+    }
+    
+    private char readUnicode() throws IOException {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            final int digit = Character.digit(nextCharOrThrow(), 16);
+            if (digit < 0) {
+                throw unexpectedCharacterException();
+            }
+            value = (value << 4) | digit;
+        }
+        return (char) value;
+    }
+    
+    private JsonToken readNumber(int c) throws IOException {
+        number.setLength(0);
+        
+        boolean negative = false;
+        boolean integral = true;
+        boolean overflow = false;
+        boolean digits   = false;
+        long value = 0; // Accumulated as a negative number to fit MIN_VALUE
+        
+        if (c == 0x2D) { // - (minus sign)
+            negative = true;
+            number.append('-');
+            c = nextChar();
+        }
+        
+        parser: while (true) {
+            switch (c) {
+                // Digit '0 - 9'
+                case 0x30 : case 0x31 : case 0x32 : case 0x33 : case 0x34 :
+                case 0x35 : case 0x36 : case 0x37 : case 0x38 : case 0x39 :
+                    number.append((char) c);
+                    digits = true;
+                    if (integral && !overflow) {
+                        final int digit = c - 0x30;
+                        if (value < LONG_LIMIT 
+                        || (value == LONG_LIMIT && digit > 8)) {
+                            overflow = true;
+                        } else {
+                            value = value * 10 - digit;
+                        }
+                    }
+                    break;
+                    
+                case 0x2E : // . (decimal sign)
+                case 0x45 : // E (exponent)
+                case 0x65 : // e (exponent)
+                    number.append((char) c);
+                    integral = false;
+                    break;
+                    
+                case 0x2B : // + (exponent sign)
+                case 0x2D : // - (exponent sign)
+                    if (integral) {
+                        lookahead = c;
+                        break parser;
+                    }
+                    number.append((char) c);
+                    break;
+                
+                // Every other character terminates the number and is parsed 
+                // by the caller.
+                default :
+                    lookahead = c;
+                    break parser;
+            }
+            
+            c = nextChar();
+        }
+        
+        if (!digits) {
+            throw new JsonSyntaxException(row, col,
+                "Unexpected number '" + number + "'"
+            );
+        }
+        
+        if (integral && !overflow && (negative || value != Long.MIN_VALUE)) {
+            longValue = negative ? value : -value;
+            return JsonToken.LONG;
+        }
+        
+        try {
+            doubleValue = Double.parseDouble(number.toString());
+            return JsonToken.DOUBLE;
+        } catch (final NumberFormatException ex) {
+            throw new JsonSyntaxException(row, col,
+                "Unexpected number '" + number + "'"
+            );
+        }
+    }
+    
+    private JsonToken push(byte state, JsonToken token) {
+        if (++depth == stack.length) {
+            stack = Arrays.copyOf(stack, stack.length * 2);
+        }
+        stack[depth] = state;
+        return token;
+    }
+    
+    private JsonToken pop(JsonToken token) {
+        depth--;
+        return token;
+    }
+    
+    private boolean nextChar(int expected) throws IOException {
+        return nextChar() == expected;
+    }
+    
+    private int nextCharOrThrow() throws IOException {
+        if (nextChar() == -1) {
+            throw unexpectedEndOfStreamException();
+        }
+        return character;
+    }
+    
+    private int nextNonBlankspace() throws IOException {
+        while (true) {
+            switch (nextChar()) {
+                case 0x0A : // new line
+                case 0x09 : // tab
+                case 0x20 : // space
+                case 0x0D : // return (ignore)
+                    continue;
+                default :
+                    return character;
+            }
+        }
+    }
+    
+    private int nextChar() throws IOException {
+        if (lookahead != NO_LOOKAHEAD) {
+            character = lookahead;
+            lookahead = NO_LOOKAHEAD;
+            return character;
+        }
+        
+        if (position == limit) {
+            limit    = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            
+            if (limit <= 0) {
+                limit = 0;
+                return character = -1;
+            }
+        }
+        
+        character = buffer[position++];
+        col++;
+        
+        switch (character) {
+            case 0x0A : // new line
+                row++;
+                col = -1;
+                break;
+            case 0x09 : // tab
+                col += TAB_SIZE - 1;
+                break;
+        }
+        
+        return character;
+    }
+    
+    private IllegalStateException illegalStateException(JsonToken expected) {
+        return new IllegalStateException(
+            "Expected current token to be " + expected + 
+            " but was " + token + "."
+        );
+    }
+    
+    private JsonSyntaxException unexpectedCharacterException() {
+        if (character == -1) {
+            return unexpectedEndOfStreamException();
+        }
+        
+        final String c = new String(Character.toChars(character));
+        return new JsonSyntaxException(row, col,
+            "Unexpected character '" + c + "' (Unicode: " + codePoints(c) + ")"
+        );
+    }
+    
+    private JsonSyntaxException unexpectedEndOfStreamException() {
+        return new JsonSyntaxException(row, col,
+            "Unexpected end of stream"
+        );
+    }
+    
+    private static String codePoints(String c) {
+        final StringJoiner str = new StringJoiner(" ");
+        for (int i = 0; i < c.length(); i++) {
+            str.add(String.valueOf(Character.codePointAt(c, i)));
+        }
+        return str.toString();
+    }
+}
@@ -0,0 +1,362 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.common.json.internal;
+
+import com.speedment.common.json.JsonWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The default implementation of the {@link JsonWriter} interface.
+ * <p>
+ * Output is encoded as UTF-8 directly into a reusable byte buffer that is
+ * written to the underlying stream when it is full, so no intermediate 
+ * strings or byte arrays are created for strings and integral numbers.
+ * 
+ * @author Speedment
+ * @since  1.0.3
+ */
+public final class JsonWriterImpl implements JsonWriter {
+    
+    private final static int BUFFER_SIZE = 8192;
+    private final static int INITIAL_DEPTH = 32;
+    private final static int PRETTY_TAB_SIZE = 2;
+    
+    // The type of value on each level of the stack.
+    private final static byte
+        DOCUMENT = 0,
+        OBJECT   = 1,
+        ARRAY    = 2;
+    
+    private final OutputStream out;
+    private final boolean pretty;
+    private final byte[] buffer;
+    private int position;
+    
+    private byte[] stack;
+    private boolean[] empty;
+    private int depth;
+    private boolean afterName;
+    
+    public JsonWriterImpl(OutputStream out, boolean pretty) {
+        this.out    = requireNonNull(out);
+        this.pretty = pretty;
+        this.buffer = new byte[BUFFER_SIZE];
+        this.stack  = new byte[INITIAL_DEPTH];
+        this.empty  = new boolean[INITIAL_DEPTH];
+        this.stack[0] = DOCUMENT;
+        this.empty[0] = true;
+    }
+
+    @Override
+    public JsonWriter beginObject() throws IOException {
+        beforeValue();
+        write(BEGIN_OBJECT);
+        push(OBJECT);
+        return this;
+    }
+
+    @Override
+    public JsonWriter endObject() throws IOException {
+        if (stack[depth] != OBJECT || afterName) {
+            throw new IllegalStateException("Not inside an object.");
+        }
+        pop();
+        write(END_OBJECT);
+        return this;
+    }
+
+    @Override
+    public JsonWriter beginArray() throws IOException {
+        beforeValue();
+        write(BEGIN_ARRAY);
+        push(ARRAY);
+        return this;
+    }
+
+    @Override
+    public JsonWriter endArray() throws IOException {
+        if (stack[depth] != ARRAY) {
+            throw new IllegalStateException("Not inside an array.");
+        }
+        pop();
+        write(END_ARRAY);
+        return this;
+    }
+
+    @Override
+    public JsonWriter name(String name) throws IOException {
+        requireNonNull(name);
+        if (stack[depth] != OBJECT || afterName) {
+            throw new IllegalStateException(
+                "A name is only expected before a value inside an object."
+            );
+        }
+        
+        beforeElement();
+        writeString(name);
+        
+        if (pretty) {
+            write(SPACE);
+        }
+        
+        write(ASSIGN);
+        
+        if (pretty) {
+            write(SPACE);
+        }
+        
+        afterName = true;
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        
+        beforeValue();
+        writeString(value);
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(long value) throws IOException {
+        beforeValue();
+        
+        if (value == Long.MIN_VALUE) {
+            writeAscii(Long.toString(value));
+            return this;
+        }
+        
+        if (value < 0) {
+            write(MINUS);
+            value = -value;
+        }
+        
+        int digits = 1;
+        for (long rest = value / 10; rest > 0; rest /= 10) {
+            digits++;
+        }
+        
+        ensureCapacity(digits);
+        for (int i = position + digits - 1; i >= position; i--) {
+            buffer[i] = (byte) (0x30 + value % 10);
+            value /= 10;
+        }
+        position += digits;
+        
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(double value) throws IOException {
+        beforeValue();
+        writeAscii(Double.toString(value));
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(boolean value) throws IOException {
+        beforeValue();
+        writeAscii(value ? "true" : "false");
+        return this;
+    }
+
+    @Override
+    public JsonWriter nullValue() throws IOException {
+        beforeValue();
+        write(0x6E); // n
+        write(0x75); // u
+        write(0x6C); // l
+        write(0x6C); // l
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flushBuffer();
+        } finally {
+            out.close();
+        }
+    }
+    
+    private void beforeValue() throws IOException {
+        switch (stack[depth]) {
+            case OBJECT :
+                if (!afterName) {
+                    throw new IllegalStateException(
+                        "Values inside an object must be preceded by a name."
+                    );
+                }
+                afterName = false;
+                break;
+                
+            case ARRAY :
+                beforeElement();
+                break;
+                
+            case DOCUMENT :
+                if (!empty[depth]) {
+                    throw new IllegalStateException(
+                        "A document can only have one root value."
+                    );
+                }
+                empty[depth] = false;
+                break;
+                
+            default :
+                throw new IllegalStateException(
+                    "Unknown writer state '" + stack[depth] + "'."
+                );
+        }
+    }
+    
+    private void beforeElement() throws IOException {
+        if (empty[depth]) {
+            empty[depth] = false;
+        } else {
+            write(SEPARATOR);
+        }
+        
+        if (pretty) {
+            write(NEW_LINE);
+            writeIndent(depth);
+        }
+    }
+    
+    private void push(byte type) {
+        if (++depth == stack.length) {
+            stack = Arrays.copyOf(stack, stack.length * 2);
+            empty = Arrays.copyOf(empty, empty.length * 2);
+        }
+        stack[depth] = type;
+        empty[depth] = true;
+    }
+    
+    private void pop() throws IOException {
+        final boolean wasEmpty = empty[depth--];
+        if (pretty && !wasEmpty) {
+            write(NEW_LINE);
+            writeIndent(depth);
+        }
+    }
+    
+    private void writeIndent(int level) throws IOException {
+        final int count = PRETTY_TAB_SIZE * level;
+        for (int i = 0; i < count; i++) {
+            write(SPACE);
+        }
+    }
+    
+    private void writeString(String string) throws IOException {
+        write(QUOTE);
+        
+        final int length = string.length();
+        for (int i = 0; i < length; i++) {
+            final char c = string.charAt(i);
+            
+            if (c < 0x80) {
+                switch (c) {
+                    case '"'  : write(ESCAPE); write(QUOTE);  break;
+                    case '\\' : write(ESCAPE); write(ESCAPE); break;
+                    case '\b' : write(ESCAPE); write(0x62);   break; // b
+                    case '\f' : write(ESCAPE); write(0x66);   break; // f
+                    case '\n' : write(ESCAPE); write(0x6E);   break; // n
+                    case '\r' : write(ESCAPE); write(0x72);   break; // r
+                    case '\t' : write(ESCAPE); write(0x74);   break; // t
+                    default :
+                        if (c < 0x20) {
+                            writeAscii(String.format("\\u%04x", (int) c));
+                        } else {
+                            write(c);
+                        }
+                }
+            } else if (c < 0x800) {
+                write(0xC0 | (c >> 6));
+                write(0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) 
+                    && i + 1 < length 
+                    && Character.isLowSurrogate(string.charAt(i + 1))) {
+                final int cp = Character.toCodePoint(c, string.charAt(++i));
+                write(0xF0 | (cp >> 18));
+                write(0x80 | ((cp >> 12) & 0x3F));
+                write(0x80 | ((cp >> 6) & 0x3F));
+                write(0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                write(0x3F); // ? (unpaired surrogate, same as String.getBytes)
+            } else {
+                write(0xE0 | (c >> 12));
+                write(0x80 | ((c >> 6) & 0x3F));
+                write(0x80 | (c & 0x3F));
+            }
+        }
+        
+        write(QUOTE);
+    }
+    
+    private void writeAscii(String ascii) throws IOException {
+        final int length = ascii.length();
+        for (int i = 0; i < length; i++) {
+            write(ascii.charAt(i));
+        }
+    }
+    
+    private void write(int b) throws IOException {
+        if (position == buffer.length) {
+            flushBuffer();
+        }
+        buffer[position++] = (byte) b;
+    }
+    
+    private void ensureCapacity(int length) throws IOException {
+        if (position + length > buffer.length) {
+            flushBuffer();
+        }
+    }
+    
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+    
+    private final static int
+        BEGIN_OBJECT = 0x7B, // {
+        END_OBJECT   = 0x7D, // }
+        BEGIN_ARRAY  = 0x5B, // [
+        END_ARRAY    = 0x5D, // ]
+        QUOTE        = 0x22, // "
+        ESCAPE       = 0x5C, // backslash
+        ASSIGN       = 0x3A, // :
+        SEPARATOR    = 0x2C, // ,
+        MINUS        = 0x2D, // -
+        NEW_LINE     = 0x0A, // new-line
+        SPACE        = 0x20; // space
+}
@@ -16,6 +16,10 @@
  */
 package com.speedment.common.json;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -150,4 +154,84 @@ public class JsonTest {
         assertEquals("Check one: ", -2L, list.get(1).get("two"));
         assertEquals("Check one: ", -3L, list.get(2).get("three"));
     }
-}
\ No newline at end of file
+    
+    @Test
+    public void testReader() throws IOException {
+        final String json = "{\"id\" : 5678, \"items\" : [\"one\", -0.5, true, null]}";
+        try (final JsonReader reader = Json.reader(stream(json))) {
+            assertEquals(JsonToken.BEGIN_OBJECT, reader.next());
+            assertEquals(JsonToken.FIELD_NAME, reader.next());
+            assertEquals("id", reader.getString());
+            assertEquals(JsonToken.LONG, reader.next());
+            assertEquals(5678L, reader.getLong());
+            assertEquals(JsonToken.FIELD_NAME, reader.next());
+            assertEquals("items", reader.getString());
+            assertEquals(JsonToken.BEGIN_ARRAY, reader.next());
+            assertEquals(JsonToken.STRING, reader.next());
+            assertEquals("one", reader.getString());
+            assertEquals(JsonToken.DOUBLE, reader.next());
+            assertEquals(-0.5, reader.getDouble(), 0);
+            assertEquals(JsonToken.BOOLEAN, reader.next());
+            assertTrue(reader.getBoolean());
+            assertEquals(JsonToken.NULL, reader.next());
+            assertEquals(JsonToken.END_ARRAY, reader.next());
+            assertEquals(JsonToken.END_OBJECT, reader.next());
+            assertEquals(JsonToken.END_DOCUMENT, reader.next());
+        }
+    }
+    
+    @Test
+    public void testReader_SkipValue() throws IOException {
+        final String json = "{\"skip\" : [{\"a\" : [1, 2]}, {}], \"id\" : 1}";
+        try (final JsonReader reader = Json.reader(stream(json))) {
+            assertEquals(JsonToken.BEGIN_OBJECT, reader.next());
+            assertEquals(JsonToken.FIELD_NAME, reader.next());
+            reader.skipValue(reader.next());
+            assertEquals(JsonToken.FIELD_NAME, reader.next());
+            assertEquals("id", reader.getString());
+            assertEquals(JsonToken.LONG, reader.next());
+            assertEquals(JsonToken.END_OBJECT, reader.next());
+        }
+    }
+    
+    @Test(expected = JsonSyntaxException.class)
+    public void testParse_DuplicateKey() {
+        Json.fromJson("{\"id\" : 1, \"id\" : 2}");
+    }
+    
+    @Test
+    public void testWriter() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (final JsonWriter writer = Json.writer(out, false)) {
+            writer.beginObject()
+                .name("id").value(-5678L)
+                .name("message").value("Say \"Hello\"")
+                .name("items").beginArray()
+                    .value(0.5)
+                    .value(false)
+                    .nullValue()
+                .endArray()
+                .endObject();
+        }
+        
+        assertEquals(
+            "{\"id\":-5678,\"message\":\"Say \\\"Hello\\\"\",\"items\":[0.5,false,null]}",
+            new String(out.toByteArray(), StandardCharsets.UTF_8)
+        );
+    }
+    
+    @Test
+    public void testToJson_RoundTrip() {
+        final String json = "{\"text\" : \"line\\nbreak \\\\ \\u00e5\", \"list\" : [1, 2.5, {}, []]}";
+        final Object parsed = Json.fromJson(json);
+        assertEquals(parsed, Json.fromJson(Json.toJson(parsed)));
+        
+        @SuppressWarnings("unchecked")
+        final Map<String, Object> map = (Map<String, Object>) parsed;
+        assertEquals("line\nbreak \\ \u00e5", map.get("text"));
+    }
+    
+    private static ByteArrayInputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
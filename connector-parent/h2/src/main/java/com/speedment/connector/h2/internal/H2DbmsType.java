@@ -119,6 +119,11 @@ public final class H2DbmsType extends AbstractDbmsType {
         return "select version() as `MySQL version`";
     }
 
+    @Override
+    public UpsertSupport getUpsertSupport() {
+        return UpsertSupport.MERGE;
+    }
+
     @Override
     public DbmsColumnHandler getColumnHandler() {
         return new DbmsColumnHandler() {
@@ -25,7 +25,6 @@ import java.util.Set;
 
 import static com.speedment.runtime.field.util.PredicateOperandUtil.getFirstOperandAsRaw;
 import static com.speedment.runtime.field.util.PredicateOperandUtil.getFirstOperandAsRawSet;
-import static java.util.stream.Collectors.joining;
 
 /**
  *
@@ -157,7 +156,7 @@ public final class H2SpeedmentPredicateView extends AbstractFieldPredicateView i
     inStringHelper(String cn, FieldPredicate<?> model, boolean negated) {
         final Set<?> set = getFirstOperandAsRawSet(model);
         return of("(BINARY " + cn + " IN (" +
-            set.stream().map($ -> "?").collect(joining(",")) +
+            parameters(set.size()) +
             "))", negated
         ).addAll(set);
     }
@@ -0,0 +1,81 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.generator;
+
+import com.speedment.common.codegen.model.Class;
+import com.speedment.generator.standard.StandardTranslatorKey;
+import com.speedment.generator.translator.Translator;
+import com.speedment.generator.translator.component.CodeGenerationComponent;
+import com.speedment.runtime.config.Table;
+import com.speedment.runtime.config.trait.HasName;
+import com.speedment.runtime.config.trait.HasOrdinalPosition;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ *
+ * @since 3.0.12
+ */
+public class GeneratedEntityImplTranslatorTest extends SimpleModel {
+
+    @Test
+    public void testDirtyFields() {
+        final Translator<Table, Class> translator = speedment.getOrThrow(CodeGenerationComponent.class)
+            .findTranslator(table, StandardTranslatorKey.GENERATED_ENTITY_IMPL);
+
+        final String code = translator.toCode();
+
+        assertTrue(code.contains("HasDirtyFields"));
+        assertTrue(code.contains("private long dirtyFields;"));
+        assertTrue(code.contains("dirtyFields |= 1L << 0;"));
+        assertTrue(code.contains("public long[] getDirtyFields()"));
+        assertTrue(code.contains("public void clearDirtyFields()"));
+    }
+
+    @Test
+    public void testDirtyFieldsFollowOrdinalPosition() {
+        // The columns are listed in another order than their ordinal position
+        @SuppressWarnings("unchecked")
+        final List<Map<String, Object>> columns
+            = (List<Map<String, Object>>) table.getData().get(Table.COLUMNS);
+        columns.get(0).put(HasOrdinalPosition.ORDINAL_POSITION, 3);
+        columns.add(column("last_name", 1));
+        columns.add(column("age", 2));
+
+        final Translator<Table, Class> translator = speedment.getOrThrow(CodeGenerationComponent.class)
+            .findTranslator(table, StandardTranslatorKey.GENERATED_ENTITY_IMPL);
+
+        final String code = translator.toCode();
+
+        assertTrue(code.contains("this.lastName = lastName;\n        dirtyFields |= 1L << 0;"));
+        assertTrue(code.contains("this.age = age;\n        dirtyFields |= 1L << 1;"));
+        assertTrue(code.contains("this.firstName = firstName;\n        dirtyFields |= 1L << 2;"));
+    }
+
+    private static Map<String, Object> column(String name, int ordinalPosition) {
+        final Map<String, Object> column = new HashMap<>();
+        column.put(HasName.NAME, name);
+        column.put(HasOrdinalPosition.ORDINAL_POSITION, ordinalPosition);
+        column.put(com.speedment.runtime.config.Column.DATABASE_TYPE, String.class.getName());
+        return column;
+    }
+}
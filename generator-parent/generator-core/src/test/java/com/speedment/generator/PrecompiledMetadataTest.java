@@ -0,0 +1,223 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.generator;
+
+import com.speedment.generator.standard.StandardTranslatorKey;
+import com.speedment.generator.standard.lifecycle.GeneratedMetadataTranslator;
+import com.speedment.generator.translator.component.CodeGenerationComponent;
+import com.speedment.runtime.config.Column;
+import com.speedment.runtime.config.Dbms;
+import com.speedment.runtime.config.Project;
+import com.speedment.runtime.config.Schema;
+import com.speedment.runtime.config.Table;
+import com.speedment.runtime.config.trait.HasName;
+import com.speedment.runtime.config.trait.HasOrdinalPosition;
+import com.speedment.runtime.core.ApplicationMetadata;
+import com.speedment.runtime.core.internal.DefaultApplicationBuilder;
+import com.speedment.runtime.core.internal.util.LazyList;
+import org.junit.Test;
+
+import javax.tools.JavaCompiler;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.*;
+
+/**
+ * Tests the {@link GeneratedMetadataTranslator#PRECOMPILED} option by
+ * compiling the generated meta data class and loading the project from it.
+ *
+ * @since 3.0.12
+ */
+public class PrecompiledMetadataTest extends SimpleModel {
+
+    private static final Pattern PACKAGE = Pattern.compile("^package ([\\w.]+);", Pattern.MULTILINE);
+    private static final Pattern TYPE = Pattern.compile("^public (?:abstract |final )?class (\\w+)", Pattern.MULTILINE);
+
+    @Override
+    protected DefaultApplicationBuilder configure(DefaultApplicationBuilder builder) {
+        return builder.withParam(GeneratedMetadataTranslator.PRECOMPILED, "true");
+    }
+
+    @Test
+    public void testCode() {
+        final String code = code();
+
+        assertTrue(code.contains("protected Optional<Map<String, Object>> getPrecompiledMetadata() {"));
+        assertTrue(code.contains("lazyList("));
+        assertFalse(code.contains("private static final String METADATA"));
+    }
+
+    @Test
+    public void testLoadProject() throws Exception {
+        final Project loaded = load();
+
+        final Dbms loadedDbms = loaded.dbmses().findAny().get();
+        assertEquals(dbms.getName(), loadedDbms.getName());
+        assertEquals(dbms.getTypeName(), loadedDbms.getTypeName());
+
+        final Schema loadedSchema = loadedDbms.schemas().findAny().get();
+        assertEquals(SCHEMA_NAME, loadedSchema.getName());
+        assertEquals(
+            asList(TABLE_NAME, TABLE_NAME2),
+            loadedSchema.tables().map(Table::getName).collect(toList())
+        );
+
+        final Table loadedTable = loadedSchema.tables()
+            .filter(t -> TABLE_NAME.equals(t.getName()))
+            .findAny().get();
+        assertEquals(
+            table.columns().map(Column::getName).collect(toList()),
+            loadedTable.columns().map(Column::getName).collect(toList())
+        );
+        assertEquals(
+            String.class.getName(), 
+            loadedTable.columns().findFirst().get().getDatabaseType()
+        );
+        assertEquals(
+            singletonList(COLUMN_NAME),
+            loadedTable.primaryKeyColumns().map(HasName::getName).collect(toList())
+        );
+    }
+
+    @Test
+    public void testChildListsAreLazy() throws Exception {
+        final Project loaded = load();
+        final List<Table> tables = loaded.dbmses()
+            .flatMap(Dbms::schemas)
+            .flatMap(Schema::tables)
+            .collect(toList());
+
+        // Scalars are available without building the child lists
+        for (final Table t : tables) {
+            assertFalse(t.getName().isEmpty());
+            assertFalse(isMaterialized(t, Table.COLUMNS));
+            assertFalse(isMaterialized(t, Table.PRIMARY_KEY_COLUMNS));
+        }
+
+        final Table first = tables.get(0);
+        assertEquals(1L, first.columns().count());
+        assertTrue(isMaterialized(first, Table.COLUMNS));
+        assertFalse(isMaterialized(first, Table.PRIMARY_KEY_COLUMNS));
+        assertFalse(isMaterialized(tables.get(1), Table.COLUMNS));
+    }
+
+    @Test
+    public void testManyColumns() throws Exception {
+        // Enough columns to exceed the size limit of a single method
+        addColumns(3000);
+        final Project loaded = load();
+
+        final Table loadedTable = loaded.dbmses()
+            .flatMap(Dbms::schemas)
+            .flatMap(Schema::tables)
+            .filter(t -> TABLE_NAME.equals(t.getName()))
+            .findAny().get();
+        assertEquals(3001L, loadedTable.columns().count());
+        assertEquals(
+            "col2999",
+            loadedTable.columns().reduce((a, b) -> b).get().getName()
+        );
+    }
+
+    private void addColumns(int count) {
+        @SuppressWarnings("unchecked")
+        final List<Map<String, Object>> columns
+            = (List<Map<String, Object>>) table.getData().get(Table.COLUMNS);
+        for (int i = 0; i < count; i++) {
+            final Map<String, Object> col = new HashMap<>();
+            col.put(HasName.NAME, "col" + i);
+            col.put(HasOrdinalPosition.ORDINAL_POSITION, i + 2);
+            col.put(Column.DATABASE_TYPE, Integer.class.getName());
+            columns.add(col);
+        }
+    }
+
+    private static boolean isMaterialized(Table table, String key) {
+        final Object children = table.getData().get(key);
+        assertTrue(key + " should be lazy", children instanceof LazyList);
+        return ((LazyList<?>) children).isMaterialized();
+    }
+
+    private String code() {
+        return speedment.getOrThrow(CodeGenerationComponent.class)
+            .findTranslator(project, StandardTranslatorKey.GENERATED_METADATA)
+            .toCode();
+    }
+
+    private Project load() throws Exception {
+        final SourceFile source = new SourceFile(code());
+
+        final Path output = Files.createTempDirectory("speedment-generated");
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final boolean success = compiler.getTask(null, null, null,
+            asList("-d", output.toString(), "-classpath", System.getProperty("java.class.path")),
+            null, singletonList(source)
+        ).call();
+        assertTrue("The generated code should compile", success);
+
+        final ClassLoader loader = new URLClassLoader(
+            new URL[] {output.toUri().toURL()}, getClass().getClassLoader()
+        );
+        final ApplicationMetadata metadata = (ApplicationMetadata) 
+            loader.loadClass(source.className).getConstructor().newInstance();
+
+        return metadata.makeProject();
+    }
+
+    private static final class SourceFile extends SimpleJavaFileObject {
+
+        private final String className;
+        private final String code;
+
+        private SourceFile(String code) {
+            this(className(code), code);
+        }
+
+        private SourceFile(String className, String code) {
+            super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.className = className;
+            this.code      = code;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return code;
+        }
+
+        private static String className(String code) {
+            final Matcher packageName = PACKAGE.matcher(code);
+            final Matcher typeName    = TYPE.matcher(code);
+            assertTrue(packageName.find());
+            assertTrue(typeName.find());
+            return packageName.group(1) + "." + typeName.group(1);
+        }
+    }
+}
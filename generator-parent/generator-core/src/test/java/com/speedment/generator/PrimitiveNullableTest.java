@@ -0,0 +1,287 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.generator;
+
+import com.speedment.generator.standard.StandardTranslatorKey;
+import com.speedment.generator.translator.TranslatorKey;
+import com.speedment.generator.translator.component.CodeGenerationComponent;
+import com.speedment.runtime.config.Column;
+import com.speedment.runtime.config.Table;
+import com.speedment.runtime.config.trait.HasName;
+import com.speedment.runtime.config.trait.HasNullable;
+import com.speedment.runtime.config.trait.HasOrdinalPosition;
+import org.junit.Test;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.*;
+
+/**
+ * Tests the {@link HasNullable.ImplementAs#PRIMITIVE} implementation by
+ * compiling the generated entity and sql adapter and then reading rows with
+ * {@code null} and non-null values through them.
+ *
+ * @since 3.0.12
+ */
+public class PrimitiveNullableTest extends SimpleModel {
+
+    private static final Pattern PACKAGE = Pattern.compile("^package ([\\w.]+);", Pattern.MULTILINE);
+    private static final Pattern TYPE = Pattern.compile("^public (?:abstract |final )?(?:class|interface) (\\w+)", Pattern.MULTILINE);
+
+    @Test
+    public void testSingleWordBitmapCode() {
+        addNullableColumns(2);
+        final String entityImpl = code(StandardTranslatorKey.GENERATED_ENTITY_IMPL);
+        final String sqlAdapter = code(StandardTranslatorKey.GENERATED_SQL_ADAPTER);
+
+        assertTrue(entityImpl.contains("private long nullFields = 0x3L;"));
+        assertTrue(entityImpl.contains("private int age0;"));
+        assertTrue(entityImpl.contains("public User setAge0(int age0) {"));
+        assertTrue(sqlAdapter.contains("resultSet.getInt(2)"));
+        assertTrue(sqlAdapter.contains("if (resultSet.wasNull()) {"));
+    }
+
+    @Test
+    public void testMultipleWordBitmapCode() {
+        addNullableColumns(65);
+        final String entityImpl = code(StandardTranslatorKey.GENERATED_ENTITY_IMPL);
+
+        assertTrue(entityImpl.contains("private final long[] nullFields = new long[] {0xffffffffffffffffL, 0x1L};"));
+        assertTrue(entityImpl.contains("(nullFields[1] & (1L << 0)) != 0"));
+    }
+
+    @Test
+    public void testSingleWordBitmapRoundTrip() throws Exception {
+        addNullableColumns(2);
+        final Generated generated = compile();
+
+        final Object entity = generated.newEntity();
+        assertEquals(OptionalInt.empty(), get(entity, 0));
+        assertEquals(OptionalInt.empty(), get(entity, 1));
+
+        set(entity, 0, 0);
+        assertEquals(OptionalInt.of(0), get(entity, 0));
+        assertEquals(OptionalInt.empty(), get(entity, 1));
+
+        set(entity, 0, null);
+        set(entity, 1, 7);
+        assertEquals(OptionalInt.empty(), get(entity, 0));
+        assertEquals(OptionalInt.of(7), get(entity, 1));
+
+        final Object read = generated.read("Olle", null, 42);
+        assertEquals(OptionalInt.empty(), get(read, 0));
+        assertEquals(OptionalInt.of(42), get(read, 1));
+
+        final Object zero = generated.read("Olle", 0, null);
+        assertEquals(OptionalInt.of(0), get(zero, 0));
+        assertEquals(OptionalInt.empty(), get(zero, 1));
+    }
+
+    @Test
+    public void testMultipleWordBitmapRoundTrip() throws Exception {
+        final int columns = 66;
+        addNullableColumns(columns);
+        final Generated generated = compile();
+
+        // Every third column is null, including the ones next to the word boundary
+        final Object[] row = new Object[columns + 1];
+        row[0] = "Olle";
+        for (int i = 0; i < columns; i++) {
+            row[i + 1] = i % 3 == 0 ? null : i;
+        }
+
+        final Object read = generated.read(row);
+        for (int i = 0; i < columns; i++) {
+            final OptionalInt expected = i % 3 == 0 ? OptionalInt.empty() : OptionalInt.of(i);
+            assertEquals("age" + i, expected, get(read, i));
+        }
+
+        for (final int i : new int[] {62, 63, 64, 65}) {
+            set(read, i, null);
+            assertEquals("age" + i, OptionalInt.empty(), get(read, i));
+            set(read, i, -i);
+            assertEquals("age" + i, OptionalInt.of(-i), get(read, i));
+        }
+        assertEquals(OptionalInt.of(61), get(read, 61));
+    }
+
+    private void addNullableColumns(int count) {
+        @SuppressWarnings("unchecked")
+        final List<Map<String, Object>> columns
+            = (List<Map<String, Object>>) table.getData().get(Table.COLUMNS);
+        columns.get(0).put(HasOrdinalPosition.ORDINAL_POSITION, 1);
+        for (int i = 0; i < count; i++) {
+            final Map<String, Object> column = new HashMap<>();
+            column.put(HasName.NAME, "age" + i);
+            column.put(HasOrdinalPosition.ORDINAL_POSITION, i + 2);
+            column.put(HasNullable.NULLABLE, true);
+            column.put(HasNullable.NULLABLE_IMPLEMENTATION, HasNullable.ImplementAs.PRIMITIVE.name());
+            column.put(Column.DATABASE_TYPE, Integer.class.getName());
+            columns.add(column);
+        }
+    }
+
+    private String code(TranslatorKey<Table, ?> key) {
+        return speedment.getOrThrow(CodeGenerationComponent.class)
+            .findTranslator(table, key)
+            .toCode();
+    }
+
+    private Generated compile() throws IOException, ReflectiveOperationException {
+        final List<JavaFileObject> sources = Stream.of(
+                StandardTranslatorKey.ENTITY,
+                StandardTranslatorKey.GENERATED_ENTITY,
+                StandardTranslatorKey.ENTITY_IMPL,
+                StandardTranslatorKey.GENERATED_ENTITY_IMPL,
+                StandardTranslatorKey.SQL_ADAPTER,
+                StandardTranslatorKey.GENERATED_SQL_ADAPTER
+            )
+            .map(this::code)
+            .map(SourceFile::new)
+            .collect(toList());
+
+        final Path output = Files.createTempDirectory("speedment-generated");
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final boolean success = compiler.getTask(null, null, null,
+            asList("-d", output.toString(), "-classpath", System.getProperty("java.class.path")),
+            null, sources
+        ).call();
+        assertTrue("The generated code should compile", success);
+
+        final ClassLoader loader = new URLClassLoader(
+            new URL[] {output.toUri().toURL()}, getClass().getClassLoader()
+        );
+        return new Generated(
+            loader.loadClass(((SourceFile) sources.get(2)).className),
+            loader.loadClass(((SourceFile) sources.get(4)).className)
+        );
+    }
+
+    private static OptionalInt get(Object entity, int column) throws ReflectiveOperationException {
+        return (OptionalInt) entity.getClass().getMethod("getAge" + column).invoke(entity);
+    }
+
+    private static void set(Object entity, int column, Integer value) throws ReflectiveOperationException {
+        if (value == null) {
+            entity.getClass().getMethod("setAge" + column, Integer.class).invoke(entity, (Integer) null);
+        } else {
+            entity.getClass().getMethod("setAge" + column, int.class).invoke(entity, value);
+        }
+    }
+
+    /**
+     * A {@link ResultSet} with a single row that only supports the methods
+     * that the generated sql adapter uses.
+     */
+    private static ResultSet resultSet(Object... row) {
+        final boolean[] wasNull = new boolean[1];
+        return (ResultSet) Proxy.newProxyInstance(
+            ResultSet.class.getClassLoader(),
+            new Class<?>[] {ResultSet.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getString" : {
+                        final Object value = row[(Integer) args[0] - 1];
+                        wasNull[0] = value == null;
+                        return value;
+                    }
+                    case "getInt" : {
+                        final Object value = row[(Integer) args[0] - 1];
+                        wasNull[0] = value == null;
+                        return value == null ? 0 : value;
+                    }
+                    case "wasNull" : return wasNull[0];
+                    default : throw new UnsupportedOperationException(method.getName());
+                }
+            }
+        );
+    }
+
+    private static final class Generated {
+
+        private final Class<?> entityImpl;
+        private final Object sqlAdapter;
+        private final Method apply;
+
+        private Generated(Class<?> entityImpl, Class<?> sqlAdapter)
+                throws ReflectiveOperationException {
+            this.entityImpl = entityImpl;
+            this.sqlAdapter = sqlAdapter.getConstructor().newInstance();
+            this.apply      = sqlAdapter.getSuperclass().getDeclaredMethod("apply", ResultSet.class);
+            this.apply.setAccessible(true);
+        }
+
+        private Object newEntity() throws ReflectiveOperationException {
+            return entityImpl.getConstructor().newInstance();
+        }
+
+        private Object read(Object... row) throws ReflectiveOperationException {
+            return apply.invoke(sqlAdapter, resultSet(row));
+        }
+    }
+
+    private static final class SourceFile extends SimpleJavaFileObject {
+
+        private final String className;
+        private final String code;
+
+        private SourceFile(String code) {
+            this(className(code), code);
+        }
+
+        private SourceFile(String className, String code) {
+            super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.className = className;
+            this.code      = code;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return code;
+        }
+
+        private static String className(String code) {
+            final Matcher packageName = PACKAGE.matcher(code);
+            final Matcher typeName    = TYPE.matcher(code);
+            assertTrue(packageName.find());
+            assertTrue(typeName.find());
+            return packageName.group(1) + "." + typeName.group(1);
+        }
+    }
+}
@@ -75,12 +75,12 @@ public abstract class SimpleModel {
     @Before
     public void simpleModelTestSetUp() {
 
-        speedment = new DefaultApplicationBuilder(SimpleMetadata.class)
+        speedment = configure(new DefaultApplicationBuilder(SimpleMetadata.class)
             .withBundle(GeneratorBundle.class)
             .withComponent(SilentTranslatorManager.class)
             .withSkipCheckDatabaseConnectivity()
             .withSkipValidateRuntimeConfig()
-            .build();
+        ).build();
         
         project  = speedment.getOrThrow(ProjectComponent.class).getProject();
         dbms     = project.dbmses().findAny().get();
@@ -93,6 +93,17 @@ public abstract class SimpleModel {
         column2 = table2.columns().findAny().get();
     }
     
+    /**
+     * Gives subclasses a chance to add parameters or components to the 
+     * application before it is built.
+     * 
+     * @param builder  the application builder
+     * @return         the same builder
+     */
+    protected DefaultApplicationBuilder configure(DefaultApplicationBuilder builder) {
+        return builder;
+    }
+    
     private final static class SimpleMetadata extends AbstractApplicationMetadata {
 
         private String quote(String s) {
@@ -26,25 +26,33 @@ import com.speedment.common.codegen.model.Field;
 import com.speedment.common.codegen.model.File;
 import com.speedment.common.codegen.model.Import;
 import com.speedment.common.codegen.model.Method;
+import com.speedment.common.codegen.model.Value;
 import static com.speedment.common.codegen.util.Formatting.block;
 import com.speedment.common.injector.Injector;
 import com.speedment.common.injector.annotation.Inject;
 import static com.speedment.generator.standard.entity.GeneratedEntityTranslator.getterReturnType;
 import static com.speedment.generator.standard.internal.util.ColumnUtil.optionalGetterName;
+import static com.speedment.generator.standard.internal.util.ColumnUtil.primitiveStorageType;
 import static com.speedment.generator.standard.internal.util.ColumnUtil.usesOptional;
 import com.speedment.generator.standard.internal.util.EntityTranslatorSupport;
 import com.speedment.generator.standard.internal.util.FkHolder;
 import com.speedment.generator.translator.AbstractEntityAndManagerTranslator;
 import com.speedment.generator.translator.TranslatorSupport;
 import com.speedment.generator.translator.component.TypeMapperComponent;
+import com.speedment.runtime.config.Column;
 import com.speedment.runtime.config.Table;
+import com.speedment.runtime.core.manager.HasDirtyFields;
 import com.speedment.runtime.core.manager.Manager;
 import com.speedment.runtime.core.util.OptionalUtil;
 import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Objects;
 import static java.util.Objects.requireNonNull;
 import java.util.Optional;
 import java.util.StringJoiner;
+import static java.util.stream.Collectors.toList;
 
 /**
  *
@@ -53,6 +61,9 @@ import java.util.StringJoiner;
  */
 public final class GeneratedEntityImplTranslator extends AbstractEntityAndManagerTranslator<Class> {
 
+    private static final String DIRTY_FIELDS = "dirtyFields";
+    private static final String NULL_FIELDS = "nullFields";
+
     @Inject private TypeMapperComponent typeMappers;
     @Inject private Injector injector;
     
@@ -73,6 +84,13 @@ public final class GeneratedEntityImplTranslator extends AbstractEntityAndManage
                 clazz.public_()
                     .abstract_()
                     .add(getSupport().entityType())
+                    .add(HasDirtyFields.class)
+                    .add(dirtyFieldsField())
+                    .call(() -> {
+                        if (!primitiveColumns().isEmpty()) {
+                            clazz.add(nullFieldsField());
+                        }
+                    })
                     .add(Constructor.of().protected_())
             )
             
@@ -81,8 +99,15 @@ public final class GeneratedEntityImplTranslator extends AbstractEntityAndManage
              */
             .forEveryColumn((clazz, col) -> {
                 final Type retType = getterReturnType(typeMappers, col);
+                final Optional<java.lang.Class<?>> primitive = primitiveStorageType(typeMappers, col);
                 final String getter;
-                if (usesOptional(col)) {
+                if (primitive.isPresent()) {
+                    final java.lang.Class<?> optionalClass = retType instanceof java.lang.Class
+                        ? (java.lang.Class<?>) retType : Optional.class;
+                    file.add(Import.of(optionalClass));
+                    getter = isNull(col) + " ? " + optionalClass.getSimpleName() + ".empty() : " 
+                        + optionalClass.getSimpleName() + ".of(" + getSupport().variableName(col) + ")";
+                } else if (usesOptional(col)) {
                     final String varName = getSupport().variableName(col);
                     if (retType.getTypeName().equals(Optional.class.getName())) {
                         getter = "Optional.ofNullable(" + varName + ")";
@@ -94,7 +119,11 @@ public final class GeneratedEntityImplTranslator extends AbstractEntityAndManage
                     getter = getSupport().variableName(col);
                 }
                 clazz
-                    .add(fieldFor(col).private_())
+                    .add(primitive
+                        .map(type -> Field.of(getSupport().variableName(col), type))
+                        .orElseGet(() -> fieldFor(col))
+                        .private_()
+                    )
                     .add(Method.of(GETTER_METHOD_PREFIX + getSupport().typeName(col), retType)
                         .public_().add(OVERRIDE)
                         .add("return " + getter + ";"));
@@ -103,15 +132,45 @@ public final class GeneratedEntityImplTranslator extends AbstractEntityAndManage
             /**
              * Setters
              */
-            .forEveryColumn((clazz, col) -> 
-                clazz
-                    .add(Method.of(SETTER_METHOD_PREFIX + getSupport().typeName(col), getSupport().entityType())
-                        .public_()
-                        .add(OVERRIDE)
-                        .add(fieldFor(col))
-                        .add("this." + getSupport().variableName(col) + " = " + getSupport().variableName(col) + ";")
-                        .add("return this;"))
-            )
+            .forEveryColumn((clazz, col) -> {
+                final String varName = getSupport().variableName(col);
+                final String setterName = SETTER_METHOD_PREFIX + getSupport().typeName(col);
+                final Optional<java.lang.Class<?>> primitive = primitiveStorageType(typeMappers, col);
+                
+                if (primitive.isPresent()) {
+                    clazz
+                        .add(Method.of(setterName, getSupport().entityType())
+                            .public_()
+                            .add(OVERRIDE)
+                            .add(fieldFor(col))
+                            .add("if (" + varName + " == null) " + block(
+                                markNull(col)
+                            ) + " else " + block(
+                                "this." + varName + " = " + varName + ";",
+                                clearNull(col)
+                            ))
+                            .add(markDirty(col))
+                            .add("return this;"))
+                        
+                        // Overload that can be invoked without boxing
+                        .add(Method.of(setterName, getSupport().entityType())
+                            .public_()
+                            .add(Field.of(varName, primitive.get()))
+                            .add("this." + varName + " = " + varName + ";")
+                            .add(clearNull(col))
+                            .add(markDirty(col))
+                            .add("return this;"));
+                } else {
+                    clazz
+                        .add(Method.of(setterName, getSupport().entityType())
+                            .public_()
+                            .add(OVERRIDE)
+                            .add(fieldFor(col))
+                            .add("this." + varName + " = " + varName + ";")
+                            .add(markDirty(col))
+                            .add("return this;"));
+                }
+            })
             
             /**
              * Finders
@@ -160,6 +219,8 @@ public final class GeneratedEntityImplTranslator extends AbstractEntityAndManage
             // We need to make it POST_MAKE because other plugins might add fields
             .forEveryTable(Phase.POST_MAKE, (clazz, table) -> 
                 clazz
+                    .add(getDirtyFieldsMethod())
+                    .add(clearDirtyFieldsMethod(file))
                     .add(toStringMethod(file))
                     .add(equalsMethod())
                     .add(hashCodeMethod())
@@ -168,6 +229,118 @@ public final class GeneratedEntityImplTranslator extends AbstractEntityAndManage
 
     }
 
+    private boolean isSingleWordDirtyFields() {
+        return columns().count() <= Long.SIZE;
+    }
+
+    private Field dirtyFieldsField() {
+        if (isSingleWordDirtyFields()) {
+            return Field.of(DIRTY_FIELDS, long.class).private_();
+        } else {
+            final long words = (columns().count() + Long.SIZE - 1) / Long.SIZE;
+            return Field.of(DIRTY_FIELDS, long[].class).private_().final_()
+                .set(Value.ofReference("new long[" + words + "]"));
+        }
+    }
+
+    private String markDirty(Column col) {
+        // The bit index is the position of the field in Manager.fields()
+        final int index = columns()
+            .sorted(Comparator.comparing(Column::getOrdinalPosition))
+            .map(Column::getId)
+            .collect(toList())
+            .indexOf(col.getId());
+        if (isSingleWordDirtyFields()) {
+            return DIRTY_FIELDS + " |= 1L << " + index + ";";
+        } else {
+            return DIRTY_FIELDS + "[" + (index / Long.SIZE) + "] |= 1L << " + (index % Long.SIZE) + ";";
+        }
+    }
+
+    private List<Column> primitiveColumns() {
+        return columns()
+            .filter(c -> primitiveStorageType(typeMappers, c).isPresent())
+            .collect(toList());
+    }
+
+    private boolean isSingleWordNullFields() {
+        return primitiveColumns().size() <= Long.SIZE;
+    }
+
+    private Field nullFieldsField() {
+        // Every nullable value is null until it is set
+        final int count = primitiveColumns().size();
+        if (isSingleWordNullFields()) {
+            return Field.of(NULL_FIELDS, long.class).private_()
+                .set(Value.ofReference(nullMask(count) + "L"));
+        } else {
+            final StringJoiner words = new StringJoiner(", ", "new long[] {", "}");
+            for (int remaining = count; remaining > 0; remaining -= Long.SIZE) {
+                words.add(nullMask(Math.min(remaining, Long.SIZE)) + "L");
+            }
+            return Field.of(NULL_FIELDS, long[].class).private_().final_()
+                .set(Value.ofReference(words.toString()));
+        }
+    }
+
+    private static String nullMask(int bits) {
+        return "0x" + Long.toHexString(bits == Long.SIZE ? -1L : (1L << bits) - 1);
+    }
+
+    private int nullIndex(Column col) {
+        return primitiveColumns().stream()
+            .map(Column::getId)
+            .collect(toList())
+            .indexOf(col.getId());
+    }
+
+    private String nullWord(Column col) {
+        final int index = nullIndex(col);
+        return isSingleWordNullFields()
+            ? NULL_FIELDS
+            : NULL_FIELDS + "[" + (index / Long.SIZE) + "]";
+    }
+
+    private String nullBit(Column col) {
+        return "1L << " + (nullIndex(col) % Long.SIZE);
+    }
+
+    private String isNull(Column col) {
+        return "(" + nullWord(col) + " & (" + nullBit(col) + ")) != 0";
+    }
+
+    private String markNull(Column col) {
+        return nullWord(col) + " |= " + nullBit(col) + ";";
+    }
+
+    private String clearNull(Column col) {
+        return nullWord(col) + " &= ~(" + nullBit(col) + ");";
+    }
+
+    private Method getDirtyFieldsMethod() {
+        return Method.of("getDirtyFields", long[].class)
+            .public_()
+            .add(OVERRIDE)
+            .add(isSingleWordDirtyFields()
+                ? "return new long[] {" + DIRTY_FIELDS + "};"
+                : "return " + DIRTY_FIELDS + ".clone();"
+            );
+    }
+
+    private Method clearDirtyFieldsMethod(File file) {
+        final Method method = Method.of("clearDirtyFields", void.class)
+            .public_()
+            .add(OVERRIDE);
+
+        if (isSingleWordDirtyFields()) {
+            method.add(DIRTY_FIELDS + " = 0;");
+        } else {
+            file.add(Import.of(Arrays.class));
+            method.add("Arrays.fill(" + DIRTY_FIELDS + ", 0);");
+        }
+        return method;
+    }
+
     protected Method toStringMethod(File file) {
         file.add(Import.of(StringJoiner.class));
         file.add(Import.of(Objects.class));
@@ -20,6 +20,8 @@ import com.speedment.generator.translator.component.TypeMapperComponent;
 import com.speedment.runtime.config.Column;
 import com.speedment.runtime.config.trait.HasNullable;
 import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -28,10 +30,52 @@ import java.util.Optional;
  */
 public final class ColumnUtil {
     
+    private static final Map<String, Class<?>> PRIMITIVES;
+    static {
+        final Map<String, Class<?>> temp = new HashMap<>();
+        temp.put(Byte.class.getName(),      byte.class);
+        temp.put(Short.class.getName(),     short.class);
+        temp.put(Integer.class.getName(),   int.class);
+        temp.put(Long.class.getName(),      long.class);
+        temp.put(Float.class.getName(),     float.class);
+        temp.put(Double.class.getName(),    double.class);
+        temp.put(Boolean.class.getName(),   boolean.class);
+        temp.put(Character.class.getName(), char.class);
+        PRIMITIVES = temp;
+    }
+    
     public static boolean usesOptional(Column col) {
-        return col.isNullable() 
-            && HasNullable.ImplementAs.OPTIONAL
-            == col.getNullableImplementation();
+        if (!col.isNullable()) {
+            return false;
+        }
+        
+        switch (col.getNullableImplementation()) {
+            case OPTIONAL  : // Fall through
+            case PRIMITIVE : return true;
+            default        : return false;
+        }
+    }
+    
+    /**
+     * Returns the primitive type that the value of the specified column should
+     * be stored as in the generated entity implementation, or an empty 
+     * {@code Optional} if it should be stored as its java type. Only nullable
+     * columns implemented as {@link HasNullable.ImplementAs#PRIMITIVE} with a
+     * java type that wraps a primitive type are stored as primitives. Whether
+     * the value is {@code null} is then kept in a separate bit.
+     * 
+     * @param typeMappers  the type mapper component
+     * @param col          the column
+     * @return             the primitive storage type, if any
+     */
+    public static Optional<Class<?>> primitiveStorageType(TypeMapperComponent typeMappers, Column col) {
+        if (col.isNullable() 
+        &&  HasNullable.ImplementAs.PRIMITIVE == col.getNullableImplementation()) {
+            final Type colType = typeMappers.get(col).getJavaType(col);
+            return Optional.ofNullable(PRIMITIVES.get(colType.getTypeName()));
+        } else {
+            return Optional.empty();
+        }
     }
     
     public static Optional<String> optionalGetterName(TypeMapperComponent typeMappers, Column column) {
@@ -31,6 +31,7 @@ import java.sql.SQLException;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -100,23 +101,60 @@ public final class GenerateMethodBodyUtil {
             TranslatorSupport<Table> support,
             File file,
             Supplier<Stream<? extends Column>> columnsSupplier) {
+        
+        return generateApplyResultSetBody(
+            readFromResultSet, c -> false, support, file, columnsSupplier
+        );
+    }
+
+    /**
+     * Generates the body of a method that creates an entity and sets each
+     * column to the value read from the result set. Columns that matches the 
+     * {@code readsPrimitive} predicate are read using a primitive getter that
+     * returns zero for {@code null} values. For those columns, the generated
+     * code checks {@code ResultSet.wasNull()} and sets the column to 
+     * {@code null} explicitly. The entity is declared using the entity 
+     * implementation type so that primitive setters can be invoked without 
+     * boxing.
+     * 
+     * @param readFromResultSet  generates the expression that reads a column
+     * @param readsPrimitive     if a column is read using a primitive getter
+     * @param support            the translator support
+     * @param file               the file to add imports to
+     * @param columnsSupplier    supplier of the columns to read
+     * @return                   the rows of the method body
+     * 
+     * @since 3.0.12
+     */
+    public static String[] generateApplyResultSetBody(
+            ReadFromResultSet readFromResultSet,
+            Predicate<? super Column> readsPrimitive,
+            TranslatorSupport<Table> support,
+            File file,
+            Supplier<Stream<? extends Column>> columnsSupplier) {
 
         file.add(Import.of(SQLException.class));
         
         final List<String> rows = new LinkedList<>();
-        rows.add("final " + support.entityName() + " entity = createEntity();");
+        rows.add("final " + support.entityImplName() + " entity = createEntity();");
 
         final Stream.Builder<String> streamBuilder = Stream.builder();
 
         final AtomicInteger position = new AtomicInteger(1);
         columnsSupplier.get()
             .filter(HasEnabled::isEnabled)
-            .forEachOrdered(c -> 
-                streamBuilder.add("entity.set" +
-                    support.namer().javaTypeName(c.getJavaName()) + "(\t " +
+            .forEachOrdered(c -> {
+                final String setter = "entity.set" + support.namer().javaTypeName(c.getJavaName());
+                streamBuilder.add(setter + "(\t " +
                     readFromResultSet.readFromResultSet(file, c, position) +
-                    " \t);")
-            );
+                    " \t);");
+                
+                if (readsPrimitive.test(c)) {
+                    streamBuilder.add("if (resultSet.wasNull()) " + block(
+                        setter + "(null);"
+                    ));
+                }
+            });
 
         rows.add(
             "try " + block(streamBuilder.build()) +
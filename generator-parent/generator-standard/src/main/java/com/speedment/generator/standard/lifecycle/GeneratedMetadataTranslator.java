@@ -20,10 +20,12 @@ import com.speedment.common.codegen.constant.DefaultType;
 import com.speedment.common.codegen.internal.model.JavadocImpl;
 import com.speedment.common.codegen.model.Class;
 import com.speedment.common.codegen.model.*;
+import com.speedment.common.injector.annotation.Config;
 import com.speedment.common.injector.annotation.Inject;
 import com.speedment.common.json.Json;
 import com.speedment.generator.translator.AbstractJavaClassTranslator;
 import com.speedment.runtime.config.Project;
+import com.speedment.runtime.config.Schema;
 import com.speedment.runtime.config.util.DocumentTranscoder;
 import com.speedment.runtime.core.ApplicationMetadata;
 import com.speedment.runtime.core.component.InfoComponent;
@@ -31,11 +33,13 @@ import com.speedment.runtime.core.internal.AbstractApplicationMetadata;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
 import static com.speedment.common.codegen.constant.DefaultAnnotationUsage.OVERRIDE;
 import static com.speedment.common.codegen.constant.DefaultJavadocTag.AUTHOR;
 import static com.speedment.common.codegen.util.Formatting.indent;
+import static com.speedment.common.codegen.util.Formatting.nl;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
 
@@ -49,9 +53,23 @@ public final class GeneratedMetadataTranslator extends AbstractJavaClassTranslat
     private static final String INIT_PART_METHOD_NAME = "initPart";
     private static final String STRING_BUILDER_NAME = "sb";
 
+    private static final String TABLE_METHOD_NAME = "table";
+    private static final String DOCUMENT_METHOD_NAME = "document";
+    private static final String CHILDREN_METHOD_NAME = "children";
+
     public static final String METADATA = "Metadata";
+    
+    /**
+     * If this is set to {@code true}, the meta data is generated as plain
+     * java code that builds the project tree directly instead of as a JSON
+     * string that has to be parsed at startup. The columns, indexes and
+     * foreign keys of each table are then built lazily the first time they
+     * are accessed.
+     */
+    public static final String PRECOMPILED = "metadata.precompiled";
 
     private @Inject InfoComponent infoComponent;
+    private @Config(name=PRECOMPILED, value="false") boolean precompiled;
 
     public GeneratedMetadataTranslator(Project doc) {
         super(doc, Class::of);
@@ -65,6 +83,10 @@ public final class GeneratedMetadataTranslator extends AbstractJavaClassTranslat
     @Override
     protected Class makeCodeGenModel(File file) {
         requireNonNull(file);
+        if (precompiled) {
+            return makePrecompiledCodeGenModel(file);
+        }
+        
         final Method getMetadata = Method.of("getMetadata", DefaultType.optional(String.class))
             .protected_()
             .add(OVERRIDE);
@@ -128,6 +150,156 @@ public final class GeneratedMetadataTranslator extends AbstractJavaClassTranslat
             }).build();
     }
 
+    private Class makePrecompiledCodeGenModel(File file) {
+        final Method getMetadata = Method.of("getMetadata", DefaultType.optional(String.class))
+            .protected_()
+            .add(OVERRIDE)
+            .add("return Optional.empty();");
+        
+        final Method getPrecompiledMetadata = Method.of("getPrecompiledMetadata", 
+                DefaultType.optional(DefaultType.map(String.class, Object.class)))
+            .protected_()
+            .add(OVERRIDE)
+            .add("return Optional.of(project());");
+
+        final List<Method> documentMethods = new ArrayList<>();
+        final Method project = Method.of("project", DefaultType.map(String.class, Object.class))
+            .private_().static_()
+            .add("return " + renderDocument(
+                getSupport().projectOrThrow().getData(), false, documentMethods
+            ) + ";");
+
+        file.add(Import.of(List.class));
+        file.add(Import.of(Map.class));
+
+        return newBuilder(file, getClassOrInterfaceName())
+            .forEveryProject((clazz, p) -> {
+                clazz.public_()
+                    .setSupertype(AbstractApplicationMetadata.class)
+                    .add(getMetadata)
+                    .add(getPrecompiledMetadata)
+                    .add(project);
+
+                documentMethods.forEach(clazz::add);
+            }).build();
+    }
+    
+    /**
+     * Renders a java expression that creates the specified document data. 
+     * Child documents are rendered into separate methods so that no single 
+     * method grows beyond the size limit of the class file format, no matter 
+     * how many columns the project has.
+     * <p>
+     * If the document is a table, its scalar values are rendered inline while
+     * its lists of child documents are rendered as lazy lists. The id and name
+     * of every table are therefore available at once but its columns, indexes
+     * and foreign keys are only built when they are first accessed.
+     * 
+     * @param data     the document data to render
+     * @param isTable  if the document is a table
+     * @param methods  list to add any created child methods to
+     * @return         the java expression
+     */
+    private String renderDocument(Map<String, Object> data, boolean isTable, List<Method> methods) {
+        final List<String> entries = new ArrayList<>();
+        data.forEach((key, value) -> entries.add(
+            renderString(key) + ", " + (isTable && isDocumentList(value)
+                ? renderLazyList((List<?>) value, methods)
+                : renderValue(value, Schema.TABLES.equals(key), methods))
+        ));
+        
+        return entries.isEmpty() ? "document()" 
+            : "document(" + nl() + indent(String.join("," + nl(), entries)) + nl() + ")";
+    }
+    
+    private String renderValue(Object value, boolean areTables, List<Method> methods) {
+        if (value == null) {
+            return "null";
+        } else if (value instanceof String) {
+            return renderString((String) value);
+        } else if (value instanceof Boolean) {
+            return value.toString();
+        } else if (value instanceof Double || value instanceof Float) {
+            return Double.toString(((Number) value).doubleValue()) + "d";
+        } else if (value instanceof Number) {
+            return Long.toString(((Number) value).longValue()) + "L";
+        } else if (value instanceof Map) {
+            @SuppressWarnings("unchecked")
+            final Map<String, Object> map = (Map<String, Object>) value;
+            return renderDocument(map, false, methods);
+        } else if (value instanceof List) {
+            final List<String> items = new ArrayList<>();
+            for (final Object item : (List<?>) value) {
+                if (item instanceof Map) {
+                    @SuppressWarnings("unchecked")
+                    final Map<String, Object> child = (Map<String, Object>) item;
+                    items.add(renderChildDocument(child, areTables, methods));
+                } else {
+                    items.add(renderValue(item, false, methods));
+                }
+            }
+            
+            return items.isEmpty() ? "list()" 
+                : "list(" + nl() + indent(String.join("," + nl(), items)) + nl() + ")";
+        } else {
+            throw new IllegalArgumentException(
+                "Unsupported value type '" + value.getClass().getName() + 
+                "' in project meta data."
+            );
+        }
+    }
+    
+    private String renderChildDocument(Map<String, Object> data, boolean isTable, List<Method> methods) {
+        final String name = (isTable ? TABLE_METHOD_NAME : DOCUMENT_METHOD_NAME) + methods.size();
+        final Method method = Method.of(name, DefaultType.map(String.class, Object.class))
+            .private_().static_();
+        
+        // Add the method before rendering the body so that the numbering 
+        // follows the order of the documents in the tree.
+        methods.add(method);
+        method.add("return " + renderDocument(data, isTable, methods) + ";");
+        
+        return name + "()";
+    }
+    
+    private String renderLazyList(List<?> children, List<Method> methods) {
+        final String name = CHILDREN_METHOD_NAME + methods.size();
+        final Method method = Method.of(name, DefaultType.list(Object.class))
+            .private_().static_();
+        
+        methods.add(method);
+        method.add("return " + renderValue(children, false, methods) + ";");
+        
+        return "lazyList(" + getClassOrInterfaceName() + "::" + name + ")";
+    }
+    
+    private static boolean isDocumentList(Object value) {
+        return value instanceof List 
+            && !((List<?>) value).isEmpty()
+            && ((List<?>) value).stream().allMatch(Map.class::isInstance);
+    }
+    
+    private static String renderString(String value) {
+        final StringBuilder str = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '\\' : str.append("\\\\"); break;
+                case '"'  : str.append("\\\""); break;
+                case '\n' : str.append("\\n"); break;
+                case '\r' : str.append("\\r"); break;
+                case '\t' : str.append("\\t"); break;
+                default : 
+                    if (c < 0x20) {
+                        str.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        str.append(c);
+                    }
+            }
+        }
+        return str.append('"').toString();
+    }
+
     private Method addNewSubMethod(List<Method> methods) {
         final Method m = Method.of(INIT_PART_METHOD_NAME + methods.size(), void.class).private_().static_()
             .add(Field.of(STRING_BUILDER_NAME, StringBuilder.class));
@@ -58,6 +58,7 @@ import java.util.stream.Stream;
 import static com.speedment.common.codegen.constant.DefaultType.isPrimitive;
 import static com.speedment.common.codegen.constant.DefaultType.wrapperFor;
 import static com.speedment.common.codegen.util.Formatting.shortName;
+import static com.speedment.generator.standard.internal.util.ColumnUtil.primitiveStorageType;
 import static com.speedment.generator.standard.internal.util.GenerateMethodBodyUtil.generateApplyResultSetBody;
 import static com.speedment.runtime.core.util.DatabaseUtil.dbmsTypeOf;
 import static java.util.stream.Collectors.joining;
@@ -218,7 +219,8 @@ extends AbstractEntityAndManagerTranslator<Class> {
             .add(SpeedmentException.class)
             .add(Field.of("resultSet", ResultSet.class))
             .add(generateApplyResultSetBody(
-                this::readFromResultSet, support, file, columnsSupplier
+                this::readFromResultSet, this::readsPrimitive, 
+                support, file, columnsSupplier
             ));
     }
 
@@ -253,6 +255,12 @@ extends AbstractEntityAndManagerTranslator<Class> {
 
         final String getterName = "get" + mapping.getResultSetMethodName(dbms);
 
+        // Values stored as primitives are read without boxing. A null value is
+        // detected afterwards using ResultSet.wasNull().
+        if (readsPrimitive(c)) {
+            return "resultSet." + getterName + "(" + position.getAndIncrement() + ")";
+        }
+
         // We do not need to wrap-get some classes X since getX() returns null for null X:es.
         if (c.isNullable() && !NULL_AWARE_GETTERS.contains(mapping.getJavaClass())) {
             file.add(Import.of(ResultSetUtil.class).static_().setStaticMember("*"));
@@ -283,6 +291,33 @@ extends AbstractEntityAndManagerTranslator<Class> {
         return sb.toString();
     }
 
+    /**
+     * Returns {@code true} if the specified column is stored as a primitive in
+     * the generated entity and the result set getter returns the same
+     * primitive type, so that the value can be read without boxing.
+     * 
+     * @param c  the column
+     * @return   {@code true} if the value is read as a primitive
+     */
+    private boolean readsPrimitive(Column c) {
+        if (!primitiveStorageType(typeMapperComponent, c).isPresent()) {
+            return false;
+        }
+
+        final java.lang.Class<?> typeMapperClass = typeMapperComponent.get(c).getClass();
+        if (!TypeMapper.identity().getClass().isAssignableFrom(typeMapperClass)) {
+            return false;
+        }
+
+        final ResultSetMapping<?> mapping = resultSetMapperComponent.apply(
+            dbmsTypeOf(dbmsHandlerComponent, c.getParentOrThrow().getParentOrThrow().getParentOrThrow()),
+            c.findDatabaseType()
+        );
+
+        return mapping.getJavaClass().getName()
+            .equals(typeMapperComponent.get(c).getJavaType(c).getTypeName());
+    }
+
     private boolean isCastingRequired(Column column, String getterName) {
         return  ("getObject".equals(getterName)
                 && !Object.class.getName().equals(column.getDatabaseType()));
@@ -21,6 +21,9 @@ import com.speedment.runtime.field.*;
 import com.speedment.runtime.field.method.*;
 import com.speedment.runtime.field.trait.HasFinder;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -50,6 +53,11 @@ import java.util.stream.Stream;
  *          .putStreamer("employees", Department::employees, empEncoder);
  *
  *      String json = depEncoder.apply(departments.findAny().get());
+ *
+ *      // Or stream every department straight to an OutputStream.
+ *      try (JsonWriter<Department> writer = depEncoder.writeTo(out)) {
+ *          departments.stream().forEach(writer);
+ *      }
  * }
  *
  * @param <ENTITY> entity type
@@ -373,6 +381,47 @@ public interface JsonEncoder<ENTITY> {
      * @return        the JSON encoded string
      */
     String apply(ENTITY entity);
+
+    /**
+     * Encodes the specified entity using this encoder, writing the result 
+     * directly to the specified {@code Writer} instead of building a string.
+     * The writer is neither flushed nor closed by this method.
+     * 
+     * @param entity  the entity to encode (nullable)
+     * @param out     the writer to write the JSON object to
+     * 
+     * @throws IOException  if writing to the writer failed
+     * 
+     * @since 3.0.12
+     */
+    void write(ENTITY entity, Writer out) throws IOException;
+
+    /**
+     * Returns a {@link JsonWriter} that will use this encoder to write any
+     * incoming entities as a JSON array to the specified {@code Writer}. The
+     * returned instance can be passed to {@code Stream#forEach} to encode a 
+     * stream without holding the whole document in memory.
+     * 
+     * @param out  the writer to write the JSON array to
+     * @return     the JSON writer
+     * 
+     * @since 3.0.12
+     */
+    JsonWriter<ENTITY> writeTo(Writer out);
+
+    /**
+     * Returns a {@link JsonWriter} that will use this encoder to write any
+     * incoming entities as a UTF-8 encoded JSON array to the specified 
+     * {@code OutputStream}. Output is buffered and only flushed to the stream
+     * when the buffer is full or when the returned {@code JsonWriter} is 
+     * flushed or closed.
+     * 
+     * @param out  the stream to write the JSON array to
+     * @return     the JSON writer
+     * 
+     * @since 3.0.12
+     */
+    JsonWriter<ENTITY> writeTo(OutputStream out);
     
     /**
      * Returns a collector that will use this encoder to encode any incoming
@@ -0,0 +1,82 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.plugins.json;
+
+import java.io.Flushable;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * A {@code Consumer} that encodes every entity it accepts using a 
+ * {@link JsonEncoder} and writes the result as a JSON array directly to an
+ * underlying {@code Writer} or {@code OutputStream}. In contrast to 
+ * {@link JsonCollector}, the document is never held in memory, so it can be 
+ * used to stream large results.
+ * <p>
+ * The opening bracket is written when the first entity is accepted and the 
+ * closing bracket is written when the {@code JsonWriter} is closed. Closing it
+ * flushes the underlying stream but does not close it.
+ * <p>
+ * Instances are not thread safe. If the source stream is parallel, use
+ * {@code forEachOrdered} instead of {@code forEach}.
+ * <p>
+ * <em>Example usage:</em> 
+ * {@code
+ *      try (JsonWriter<Employee> writer = encoder.writeTo(response)) {
+ *          employees.stream()
+ *              .filter(Employee.AGE.greaterThan(35))
+ *              .forEach(writer);
+ *      }
+ * }
+ *
+ * @param <ENTITY> the entity type
+ * 
+ * @author Speedment
+ * @since  3.0.12
+ */
+public interface JsonWriter<ENTITY> 
+extends Consumer<ENTITY>, Flushable, AutoCloseable {
+
+    /**
+     * Encodes the specified entity and writes it to the underlying stream,
+     * preceded by either the opening bracket of the array or a comma.
+     * 
+     * @param entity  the entity to write
+     * 
+     * @throws UncheckedIOException  if the entity could not be written
+     */
+    @Override
+    void accept(ENTITY entity);
+
+    /**
+     * Flushes the underlying stream.
+     * 
+     * @throws UncheckedIOException  if the stream could not be flushed
+     */
+    @Override
+    void flush();
+
+    /**
+     * Writes the closing bracket of the array and flushes the underlying 
+     * stream. If no entities has been accepted, an empty array is written. 
+     * Calling this method more than once has no effect.
+     * 
+     * @throws UncheckedIOException  if the array could not be closed
+     */
+    @Override
+    void close();
+}
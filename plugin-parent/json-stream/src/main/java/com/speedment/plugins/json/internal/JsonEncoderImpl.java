@@ -18,6 +18,7 @@ package com.speedment.plugins.json.internal;
 
 import com.speedment.plugins.json.JsonCollector;
 import com.speedment.plugins.json.JsonEncoder;
+import com.speedment.plugins.json.JsonWriter;
 import com.speedment.runtime.config.Project;
 import com.speedment.runtime.config.identifier.TableIdentifier;
 import com.speedment.runtime.core.manager.Manager;
@@ -25,6 +26,13 @@ import com.speedment.runtime.field.*;
 import com.speedment.runtime.field.method.*;
 import com.speedment.runtime.field.trait.HasFinder;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -34,8 +42,8 @@ import java.util.stream.Stream;
 
 import static com.speedment.common.invariant.NullUtil.requireNonNulls;
 import static com.speedment.plugins.json.internal.JsonUtil.jsonField;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Objects.requireNonNull;
-import static java.util.stream.Collectors.joining;
 
 /**
  * The default implementation of the {@link JsonEncoder} interface.
@@ -47,7 +55,7 @@ import static java.util.stream.Collectors.joining;
  */
 final class JsonEncoderImpl<ENTITY> implements JsonEncoder<ENTITY> {
     
-    private final Map<String, Function<ENTITY, String>> getters;
+    private final Map<String, EntityWriter<ENTITY>> getters;
     private final Project project;
     private final Manager<ENTITY> manager;
 
@@ -133,52 +141,56 @@ final class JsonEncoderImpl<ENTITY> implements JsonEncoder<ENTITY> {
 
     @Override
     public <T> JsonEncoder<ENTITY> put(String label, ReferenceGetter<ENTITY, T> getter) {
-        return putHelper(label, e -> jsonValue(getter.apply(e)));
+        return putHelper(label, (e, out) -> writeJsonValue(getter.apply(e), out));
     }
 
     @Override
     public JsonEncoder<ENTITY> putByte(String label, ByteGetter<ENTITY> getter) {
-        return putHelper(label, e -> jsonValue(getter.applyAsByte(e)));
+        return putHelper(label, (e, out) -> out.write(jsonValue(getter.applyAsByte(e))));
     }
 
     @Override
     public JsonEncoder<ENTITY> putShort(String label, ShortGetter<ENTITY> getter) {
-        return putHelper(label, e -> jsonValue(getter.applyAsShort(e)));
+        return putHelper(label, (e, out) -> out.write(jsonValue(getter.applyAsShort(e))));
     }
 
     @Override
     public JsonEncoder<ENTITY> putInt(String label, IntGetter<ENTITY> getter) {
-        return putHelper(label, e -> jsonValue(getter.applyAsInt(e)));
+        return putHelper(label, (e, out) -> out.write(jsonValue(getter.applyAsInt(e))));
     }
 
     @Override
     public JsonEncoder<ENTITY> putLong(String label, LongGetter<ENTITY> getter) {
-        return putHelper(label, e -> jsonValue(getter.applyAsLong(e)));
+        return putHelper(label, (e, out) -> out.write(jsonValue(getter.applyAsLong(e))));
     }
 
     @Override
     public JsonEncoder<ENTITY> putFloat(String label, FloatGetter<ENTITY> getter) {
-        return putHelper(label, e -> jsonValue(getter.applyAsFloat(e)));
+        return putHelper(label, (e, out) -> out.write(jsonValue(getter.applyAsFloat(e))));
     }
 
     @Override
     public JsonEncoder<ENTITY> putDouble(String label, DoubleGetter<ENTITY> getter) {
-        return putHelper(label, e -> jsonValue(getter.applyAsDouble(e)));
+        return putHelper(label, (e, out) -> out.write(jsonValue(getter.applyAsDouble(e))));
     }
 
     @Override
     public JsonEncoder<ENTITY> putChar(String label, CharGetter<ENTITY> getter) {
-        return putHelper(label, e -> jsonValue(getter.applyAsChar(e)));
+        return putHelper(label, (e, out) -> out.write(jsonValue(getter.applyAsChar(e))));
     }
 
     @Override
     public JsonEncoder<ENTITY> putBoolean(String label, BooleanGetter<ENTITY> getter) {
-        return putHelper(label, e -> jsonValue(getter.applyAsBoolean(e)));
+        return putHelper(label, (e, out) -> out.write(jsonValue(getter.applyAsBoolean(e))));
     }
     
-    private JsonEncoder<ENTITY> putHelper(String label, Function<ENTITY, String> jsonValue) {
+    private JsonEncoder<ENTITY> putHelper(String label, EntityWriter<ENTITY> valueWriter) {
         requireNonNull(label);
-        getters.put(label, e -> "\"" + label + "\":" + jsonValue.apply(e));
+        final char[] jsonLabel = jsonLabel(label);
+        getters.put(label, (e, out) -> {
+            out.write(jsonLabel);
+            valueWriter.write(e, out);
+        });
         return this;
     }
     
@@ -208,11 +220,9 @@ final class JsonEncoderImpl<ENTITY> implements JsonEncoder<ENTITY> {
             JsonEncoder<FK_ENTITY> fkEncoder) {
         
         requireNonNulls(label, finder, fkEncoder);
-        getters.put(label, e -> "\"" + label + "\":" + 
-            fkEncoder.apply(finder.apply(e))
+        return putHelper(label, (e, out) -> 
+            fkEncoder.write(finder.apply(e), out)
         );
-        
-        return this;
     }
 
     /**************************************************************************/
@@ -226,12 +236,9 @@ final class JsonEncoderImpl<ENTITY> implements JsonEncoder<ENTITY> {
             JsonEncoder<FK_ENTITY> fkEncoder) {
         
         requireNonNulls(label, streamer, fkEncoder);
-        getters.put(label, e -> "\"" + label + "\":[" + 
-            streamer.apply(e).map(fkEncoder::apply).collect(joining(",")) + 
-            "]"
+        return putHelper(label, (e, out) -> 
+            writeJsonArray(streamer.apply(e), fkEncoder::write, out)
         );
-        
-        return this;
     }
 
     @Override
@@ -241,12 +248,11 @@ final class JsonEncoderImpl<ENTITY> implements JsonEncoder<ENTITY> {
             Function<FK_ENTITY, String> fkEncoder) {
         
         requireNonNulls(label, streamer, fkEncoder);
-        getters.put(label, e -> "\"" + label + "\":[" + 
-            streamer.apply(e).map(fkEncoder).collect(joining(",")) +
-            "]"
+        return putHelper(label, (e, out) -> 
+            writeJsonArray(streamer.apply(e), 
+                (fk, fkOut) -> fkOut.write(fkEncoder.apply(fk)), out
+            )
         );
-        
-        return this;
     }
 
     /**************************************************************************/
@@ -273,11 +279,45 @@ final class JsonEncoderImpl<ENTITY> implements JsonEncoder<ENTITY> {
 
     @Override
     public String apply(ENTITY entity) {
-        return entity == null ? "null" : "{"
-            + getters.values().stream()
-            .map(g -> g.apply(entity))
-            .collect(joining(","))
-            + "}";
+        final StringWriter out = new StringWriter();
+        try {
+            write(entity, out);
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toString();
+    }
+
+    @Override
+    public void write(ENTITY entity, Writer out) throws IOException {
+        requireNonNull(out);
+        if (entity == null) {
+            out.write("null");
+            return;
+        }
+
+        out.write('{');
+        boolean first = true;
+        for (final EntityWriter<ENTITY> getter : getters.values()) {
+            if (first) {
+                first = false;
+            } else {
+                out.write(',');
+            }
+            getter.write(entity, out);
+        }
+        out.write('}');
+    }
+
+    @Override
+    public JsonWriter<ENTITY> writeTo(Writer out) {
+        return new JsonWriterImpl<>(this, out);
+    }
+
+    @Override
+    public JsonWriter<ENTITY> writeTo(OutputStream out) {
+        requireNonNull(out);
+        return writeTo(new BufferedWriter(new OutputStreamWriter(out, UTF_8)));
     }
 
     @Override
@@ -289,6 +329,70 @@ final class JsonEncoderImpl<ENTITY> implements JsonEncoder<ENTITY> {
     /*                  Protected and Private Helper Methods                  */
     /**************************************************************************/
 
+    /**
+     * Something that can write a part of an entity as JSON to a 
+     * {@code Writer}.
+     * 
+     * @param <T>  the type to write
+     */
+    @FunctionalInterface
+    private interface EntityWriter<T> {
+        void write(T entity, Writer out) throws IOException;
+    }
+
+    /**
+     * Renders the specified label as the JSON key that precedes the value. 
+     * This is done once when the label is added so that it does not have to
+     * be rebuilt for every encoded entity.
+     * 
+     * @param label  the label
+     * @return       the JSON key, including the colon
+     */
+    private static char[] jsonLabel(String label) {
+        return ("\"" + label + "\":").toCharArray();
+    }
+
+    /**
+     * Writes the specified stream as a JSON array, using the specified writer 
+     * for every element. The stream is closed once it has been consumed.
+     * 
+     * @param <T>            the element type
+     * @param stream         the elements to write
+     * @param elementWriter  writer for a single element
+     * @param out            the writer to write the array to
+     * 
+     * @throws IOException  if writing to the writer failed
+     */
+    private static <T> void writeJsonArray(
+            Stream<T> stream, 
+            EntityWriter<? super T> elementWriter, 
+            Writer out) throws IOException {
+
+        // The stream is consumed using forEachOrdered rather than an 
+        // iterator since streams from a manager might not support iteration.
+        try (final Stream<T> s = stream) {
+            out.write('[');
+            final boolean[] first = {true};
+            try {
+                s.forEachOrdered(element -> {
+                    try {
+                        if (first[0]) {
+                            first[0] = false;
+                        } else {
+                            out.write(',');
+                        }
+                        elementWriter.write(element, out);
+                    } catch (final IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            } catch (final UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+            out.write(']');
+        }
+    }
+
     /**
      * Parse the specified value into JSON.
      * 
@@ -370,20 +474,20 @@ final class JsonEncoderImpl<ENTITY> implements JsonEncoder<ENTITY> {
     }
 
     /**
-     * Parse the specified value into JSON.
+     * Write the specified value as JSON to the specified writer.
+     * 
+     * @param in   the value
+     * @param out  the writer to write the JSON encoded value to
      * 
-     * @param in  the value
-     * @return    the JSON encoded value
+     * @throws IOException  if writing to the writer failed
      */
-    private static String jsonValue(Object in) {
+    private static void writeJsonValue(Object in, Writer out) throws IOException {
         // in is nullable, a field can certainly be null
-        final String value;
-
         if (in instanceof Optional<?>) {
             final Optional<?> o = (Optional<?>) in;
-            return o.map(JsonEncoderImpl::jsonValue).orElse("null");
+            writeJsonValue(o.orElse(null), out);
         } else if (in == null) {
-            value = "null";
+            out.write("null");
         } else if (in instanceof Byte
             || in instanceof Short
             || in instanceof Integer
@@ -391,11 +495,20 @@ final class JsonEncoderImpl<ENTITY> implements JsonEncoder<ENTITY> {
             || in instanceof Boolean
             || in instanceof Float
             || in instanceof Double) {
-            value = String.valueOf(in);
+            out.write(String.valueOf(in));
         } else {
-            value = "\"" + String.valueOf(in).replace("\"", "\\\"") + "\"";
+            final String value = String.valueOf(in);
+            out.write('"');
+            int start = 0;
+            for (int i = 0; i < value.length(); i++) {
+                if (value.charAt(i) == '"') {
+                    out.write(value, start, i - start);
+                    out.write("\\\"");
+                    start = i + 1;
+                }
+            }
+            out.write(value, start, value.length() - start);
+            out.write('"');
         }
-
-        return value;
     }
 }
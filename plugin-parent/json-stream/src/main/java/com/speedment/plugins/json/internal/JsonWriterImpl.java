@@ -0,0 +1,90 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.plugins.json.internal;
+
+import com.speedment.plugins.json.JsonEncoder;
+import com.speedment.plugins.json.JsonWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The default implementation of the {@link JsonWriter} interface.
+ * 
+ * @param <ENTITY>  the entity type
+ * 
+ * @author  Speedment
+ * @since   3.0.12
+ */
+final class JsonWriterImpl<ENTITY> implements JsonWriter<ENTITY> {
+
+    private final JsonEncoder<ENTITY> encoder;
+    private final Writer out;
+    private boolean empty;
+    private boolean closed;
+
+    JsonWriterImpl(JsonEncoder<ENTITY> encoder, Writer out) {
+        this.encoder = requireNonNull(encoder);
+        this.out     = requireNonNull(out);
+        this.empty   = true;
+    }
+
+    @Override
+    public void accept(ENTITY entity) {
+        if (closed) {
+            throw new IllegalStateException(
+                "The JsonWriter has already been closed."
+            );
+        }
+
+        try {
+            out.write(empty ? '[' : ',');
+            empty = false;
+            encoder.write(entity, out);
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void flush() {
+        try {
+            out.flush();
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            try {
+                if (empty) {
+                    out.write('[');
+                }
+                out.write(']');
+                out.flush();
+            } catch (final IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+}
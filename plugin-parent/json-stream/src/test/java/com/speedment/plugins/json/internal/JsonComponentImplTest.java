@@ -26,6 +26,7 @@ import com.speedment.common.injector.exception.NoDefaultConstructorException;
 import com.speedment.plugins.json.JsonBundle;
 import com.speedment.plugins.json.JsonComponent;
 import com.speedment.plugins.json.JsonEncoder;
+import com.speedment.plugins.json.JsonWriter;
 import com.speedment.runtime.config.Project;
 import com.speedment.runtime.config.identifier.ColumnIdentifier;
 import com.speedment.runtime.config.identifier.TableIdentifier;
@@ -35,11 +36,19 @@ import com.speedment.runtime.core.manager.Manager;
 import com.speedment.runtime.field.IntField;
 import com.speedment.runtime.field.StringField;
 import com.speedment.runtime.typemapper.TypeMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import static java.util.Objects.requireNonNull;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
 import org.junit.Before;
 import org.junit.Test;
 import static org.mockito.Mockito.mock;
@@ -71,6 +80,75 @@ public class JsonComponentImplTest {
         System.out.println(json);
     }
 
+    @Test
+    public void testWriteTo() {
+        final JsonEncoder<Person> encoder = jsonComponent.noneOf(persons)
+            .putInt("id", Person::getId)
+            .put("name", Person::getName);
+
+        final List<Person> people = IntStream.range(0, 3)
+            .mapToObj(Person::new)
+            .collect(toList());
+        people.get(1).setName("\"quoted\"");
+
+        final String expected = people.stream().collect(encoder.collector());
+        assertEquals(
+            "[{\"id\":0,\"name\":\"name0\"}," +
+            "{\"id\":1,\"name\":\"\\\"quoted\\\"\"}," +
+            "{\"id\":2,\"name\":\"name2\"}]", 
+            expected
+        );
+
+        final StringWriter writer = new StringWriter();
+        try (JsonWriter<Person> json = encoder.writeTo(writer)) {
+            people.forEach(json);
+        }
+        assertEquals(expected, writer.toString());
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonWriter<Person> json = encoder.writeTo(out)) {
+            people.forEach(json);
+        }
+        assertEquals(expected, new String(out.toByteArray(), UTF_8));
+    }
+
+    @Test
+    public void testWriteToEmpty() {
+        final JsonEncoder<Person> encoder = jsonComponent.noneOf(persons)
+            .putInt("id", Person::getId);
+
+        final StringWriter writer = new StringWriter();
+        try (JsonWriter<Person> json = encoder.writeTo(writer)) {
+            Stream.<Person>empty().forEach(json);
+        }
+        assertEquals("[]", writer.toString());
+    }
+
+    @Test
+    public void testPutStreamerWithoutIterator() {
+        final JsonEncoder<Person> friendEncoder = jsonComponent.noneOf(persons)
+            .putInt("id", Person::getId);
+
+        // Streams from a manager reject iterator() with the default settings
+        final JsonEncoder<Person> encoder = jsonComponent.noneOf(persons)
+            .putInt("id", Person::getId)
+            .putStreamer("friends", p -> nonIterable(
+                IntStream.range(0, p.getId()).mapToObj(Person::new)
+            ), friendEncoder)
+            .putStreamer("names", p -> nonIterable(
+                IntStream.range(0, p.getId()).mapToObj(Person::new)
+            ), p -> "\"" + p.getName() + "\"");
+
+        assertEquals(
+            "{\"id\":0,\"friends\":[],\"names\":[]}", 
+            encoder.apply(new Person(0))
+        );
+        assertEquals(
+            "{\"id\":2,\"friends\":[{\"id\":0},{\"id\":1}],\"names\":[\"name0\",\"name1\"]}", 
+            encoder.apply(new Person(2))
+        );
+    }
+
 //    @Test
 //    public void testAllOf() {
 //        System.out.println("allOf");
@@ -178,6 +256,31 @@ public class JsonComponentImplTest {
 
     }
 
+    /**
+     * Wraps the specified stream so that it can only be consumed using 
+     * terminal operations other than {@code iterator()} and 
+     * {@code spliterator()}, like a stream from a manager.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Stream<T> nonIterable(Stream<T> stream) {
+        return (Stream<T>) Proxy.newProxyInstance(
+            Stream.class.getClassLoader(),
+            new Class<?>[] {Stream.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "iterator" : case "spliterator" :
+                        throw new UnsupportedOperationException(method.getName());
+                    default : 
+                        try {
+                            return method.invoke(stream, args);
+                        } catch (final InvocationTargetException ex) {
+                            throw ex.getCause();
+                        }
+                }
+            }
+        );
+    }
+
     private JsonComponent newComponent() {
         try {
             Injector injector = Injector.builder()
@@ -0,0 +1,158 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.benchmark;
+
+import com.speedment.common.json.Json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Compares two result files produced by JMH using the JSON result format.
+ * Results are matched on the benchmark name and its parameters. A result is
+ * considered a regression if its score is worse than the baseline score by 
+ * more than the configured threshold. For the throughput mode a higher score 
+ * is better, for every other mode a lower score is better.
+ * 
+ * @since 3.0.12
+ */
+public final class BaselineComparison {
+    
+    private final double threshold;
+    
+    /**
+     * Creates a comparison that tolerates the specified relative deviation 
+     * before reporting a regression. A threshold of {@code 0.10} means that
+     * results may be up to 10% worse than the baseline.
+     * 
+     * @param threshold  the tolerated relative deviation
+     */
+    public BaselineComparison(double threshold) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException(
+                "Threshold must not be negative, was " + threshold + "."
+            );
+        }
+        this.threshold = threshold;
+    }
+    
+    /**
+     * Compares the results in the specified files and returns a description 
+     * of every benchmark that has regressed. Benchmarks that only appear in 
+     * one of the files are ignored.
+     * 
+     * @param baseline  the file with the baseline results
+     * @param current   the file with the current results
+     * @return          list of regressions, empty if there were none
+     * 
+     * @throws IOException  if one of the files could not be read
+     */
+    public List<String> compare(Path baseline, Path current) throws IOException {
+        return compare(parse(baseline), parse(current));
+    }
+    
+    /**
+     * Compares the specified parsed result lists and returns a description 
+     * of every benchmark that has regressed.
+     * 
+     * @param baseline  the parsed baseline results
+     * @param current   the parsed current results
+     * @return          list of regressions, empty if there were none
+     */
+    public List<String> compare(
+            Collection<Map<String, Object>> baseline,
+            Collection<Map<String, Object>> current) {
+        
+        final Map<String, Map<String, Object>> before = index(baseline);
+        final List<String> regressions = new ArrayList<>();
+        
+        for (final Map<String, Object> result : current) {
+            final String key = keyOf(result);
+            final Map<String, Object> previous = before.get(key);
+            if (previous == null) continue;
+            
+            final double was = scoreOf(previous);
+            final double is  = scoreOf(result);
+            final boolean higherIsBetter = "thrpt".equals(result.get("mode"));
+            
+            final double change = was == 0 ? 0 : (is - was) / was;
+            final boolean regressed = higherIsBetter
+                ? change < -threshold
+                : change > threshold;
+            
+            if (regressed) {
+                regressions.add(String.format(
+                    "%s: %.3f -> %.3f (%+.1f%%)", 
+                    key, was, is, change * 100
+                ));
+            }
+        }
+        
+        return regressions;
+    }
+    
+    @SuppressWarnings("unchecked")
+    static List<Map<String, Object>> parse(Path file) throws IOException {
+        requireNonNull(file);
+        try (final InputStream in = Files.newInputStream(file)) {
+            final Object parsed = Json.fromJson(in);
+            if (parsed instanceof List) {
+                return (List<Map<String, Object>>) parsed;
+            } else {
+                throw new IOException(
+                    "Expected a JSON array of JMH results in '" + file + "'."
+                );
+            }
+        }
+    }
+    
+    private static Map<String, Map<String, Object>> index(
+            Collection<Map<String, Object>> results) {
+        
+        final Map<String, Map<String, Object>> index = new TreeMap<>();
+        results.forEach(result -> index.put(keyOf(result), result));
+        return index;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static String keyOf(Map<String, Object> result) {
+        final Object params = result.get("params");
+        final Map<String, Object> sorted = params instanceof Map
+            ? new TreeMap<>((Map<String, Object>) params)
+            : Collections.emptyMap();
+        
+        return result.get("benchmark") + (sorted.isEmpty() ? "" : sorted.toString());
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static double scoreOf(Map<String, Object> result) {
+        final Map<String, Object> metric = 
+            (Map<String, Object>) result.get("primaryMetric");
+        
+        return ((Number) metric.get("score")).doubleValue();
+    }
+}
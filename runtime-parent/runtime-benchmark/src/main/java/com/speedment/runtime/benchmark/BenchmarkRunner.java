@@ -0,0 +1,79 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Entry point of the benchmark jar. Any arguments are passed on to JMH. The
+ * results are written in the JSON format to the file specified by the 
+ * {@code benchmark.result} system property. If the {@code benchmark.baseline}
+ * property is set, the results are compared to that file and the process 
+ * exits with status {@code 1} if any benchmark has regressed by more than the 
+ * {@code benchmark.threshold} (default {@code 0.10}).
+ * 
+ * @since 3.0.12
+ */
+public final class BenchmarkRunner {
+    
+    public static void main(String... args) throws Exception {
+        final Path result = Paths.get(System.getProperty(
+            "benchmark.result", "target/benchmark-results.json"
+        ));
+        
+        final Options options = new OptionsBuilder()
+            .parent(new CommandLineOptions(args))
+            .resultFormat(ResultFormatType.JSON)
+            .result(result.toString())
+            .build();
+        
+        new Runner(options).run();
+        
+        final String baseline = System.getProperty("benchmark.baseline");
+        if (baseline != null) {
+            final double threshold = Double.parseDouble(
+                System.getProperty("benchmark.threshold", "0.10")
+            );
+            
+            final List<String> regressions = new BaselineComparison(threshold)
+                .compare(Paths.get(baseline), result);
+            
+            if (regressions.isEmpty()) {
+                System.out.println("No regressions compared to " + baseline + ".");
+            } else {
+                System.err.println("Regressions compared to " + baseline + ":");
+                regressions.forEach(r -> System.err.println("  " + r));
+                System.exit(1);
+            }
+        }
+    }
+    
+    /**
+     * Utility classes should not be instantiated.
+     */
+    private BenchmarkRunner() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,68 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.benchmark;
+
+import com.speedment.runtime.core.component.connectionpool.ConnectionPoolComponent;
+import com.speedment.runtime.core.component.connectionpool.PoolableConnection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks borrowing and returning connections from the 
+ * {@code ConnectionPoolComponentImpl} while several threads compete for the
+ * pool at the same time.
+ * 
+ * @since 3.0.12
+ */
+@Fork(1)
+@Threads(8)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class ConnectionPoolBenchmark {
+    
+    private static final char[] PASSWORD = H2Database.PASSWORD.toCharArray();
+    
+    private ConnectionPoolComponent pool;
+    
+    @Setup(Level.Trial)
+    public void setUp(H2Database db) {
+        pool = db.app().getOrThrow(ConnectionPoolComponent.class);
+    }
+    
+    @Benchmark
+    public boolean borrowAndReturn() throws Exception {
+        try (final PoolableConnection conn = pool.getConnection(
+                H2Database.URL, H2Database.USERNAME, PASSWORD)) {
+            return conn.isClosed();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.benchmark;
+
+import com.speedment.runtime.benchmark.model.BenchmarkApplication;
+import com.speedment.runtime.benchmark.model.BenchmarkApplicationBuilder;
+import com.speedment.runtime.benchmark.model.db0.benchmark.person.PersonManager;
+import com.speedment.connector.h2.H2Bundle;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+
+/**
+ * Shared JMH state that creates an in-memory H2 database, populates the
+ * {@code person} table and starts a {@link BenchmarkApplication} that is 
+ * connected to it.
+ * <p>
+ * The H2 connector is currently derived from the MySQL connector, which is
+ * why the database is started in MySQL compatibility mode.
+ * 
+ * @since 3.0.12
+ */
+@State(Scope.Benchmark)
+public class H2Database {
+    
+    public static final String URL = 
+        "jdbc:h2:mem:benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    
+    public static final String USERNAME = "sa";
+    public static final String PASSWORD = "";
+    
+    @Param({"10000"})
+    public int rows;
+    
+    private BenchmarkApplication app;
+    private PersonManager persons;
+    
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        try (final Connection conn = connect()) {
+            try (final Statement stmt = conn.createStatement()) {
+                stmt.execute("DROP SCHEMA IF EXISTS `benchmark`");
+                stmt.execute("CREATE SCHEMA `benchmark`");
+                stmt.execute(
+                    "CREATE TABLE `benchmark`.`person` (" +
+                        "`id` INT NOT NULL AUTO_INCREMENT PRIMARY KEY, " +
+                        "`name` VARCHAR(64) NOT NULL, " +
+                        "`age` INT NULL, " +
+                        "`created` TIMESTAMP NOT NULL" +
+                    ")"
+                );
+            }
+            
+            try (final PreparedStatement ps = conn.prepareStatement(
+                    "INSERT INTO `benchmark`.`person` " + 
+                    "(`id`, `name`, `age`, `created`) VALUES (?, ?, ?, ?)")) {
+                
+                final Timestamp now = new Timestamp(System.currentTimeMillis());
+                for (int i = 1; i <= rows; i++) {
+                    ps.setInt(1, i);
+                    ps.setString(2, "Person " + i);
+                    if (i % 10 == 0) {
+                        ps.setObject(3, null);
+                    } else {
+                        ps.setInt(3, i % 100);
+                    }
+                    ps.setTimestamp(4, now);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        }
+        
+        app = new BenchmarkApplicationBuilder()
+            .withBundle(H2Bundle.class)
+            .withConnectionUrl(URL)
+            .withUsername(USERNAME)
+            .withPassword(PASSWORD)
+            .withSkipCheckDatabaseConnectivity()
+            .build();
+        
+        persons = app.getOrThrow(PersonManager.class);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        if (app != null) {
+            app.stop();
+            app = null;
+        }
+        
+        try (final Connection conn = connect();
+             final Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP SCHEMA IF EXISTS `benchmark`");
+        }
+    }
+    
+    public BenchmarkApplication app() {
+        return app;
+    }
+    
+    public PersonManager persons() {
+        return persons;
+    }
+    
+    public Connection connect() throws SQLException {
+        return DriverManager.getConnection(URL, USERNAME, PASSWORD);
+    }
+}
@@ -0,0 +1,134 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.benchmark;
+
+import com.speedment.runtime.benchmark.model.db0.benchmark.person.Person;
+import com.speedment.runtime.config.Dbms;
+import com.speedment.runtime.core.component.DbmsHandlerComponent;
+import com.speedment.runtime.core.component.ProjectComponent;
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizer;
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizerComponent;
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizerInfo;
+import com.speedment.runtime.core.db.AsynchronousQueryResult;
+import com.speedment.runtime.core.db.DbmsType;
+import com.speedment.runtime.core.internal.component.sql.optimizer.FilterSortedSkipOptimizer;
+import com.speedment.runtime.core.internal.db.AsynchronousQueryResultImpl;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.FilterAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.LimitAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.SkipAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.SortedComparatorAction;
+import com.speedment.runtime.core.internal.stream.builder.pipeline.PipelineImpl;
+import com.speedment.runtime.core.stream.Pipeline;
+import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static com.speedment.runtime.core.util.DatabaseUtil.dbmsTypeOf;
+
+/**
+ * Benchmarks of the stream optimizer selection done by the 
+ * {@link SqlStreamOptimizerComponent} and of the SQL rendering done by the
+ * {@link FilterSortedSkipOptimizer}. No query is executed.
+ * 
+ * @since 3.0.12
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class OptimizerBenchmark {
+    
+    private static final String SELECT = 
+        "SELECT `id`,`name`,`age`,`created` FROM `benchmark`.`person`";
+    
+    private static final String SELECT_COUNT = 
+        "SELECT COUNT(*) FROM `benchmark`.`person`";
+    
+    private SqlStreamOptimizerComponent optimizerComponent;
+    private DbmsType dbmsType;
+    private SqlStreamOptimizerInfo<Person> info;
+    
+    @Setup(Level.Trial)
+    public void setUp(H2Database db) {
+        final Dbms dbms = db.app().getOrThrow(ProjectComponent.class)
+            .getProject().dbmses().findFirst()
+            .orElseThrow(() -> new IllegalStateException(
+                "Benchmark project has no dbms."
+            ));
+        
+        optimizerComponent = db.app().getOrThrow(SqlStreamOptimizerComponent.class);
+        dbmsType = dbmsTypeOf(db.app().getOrThrow(DbmsHandlerComponent.class), dbms);
+        info     = SqlStreamOptimizerInfo.of(
+            dbmsType, SELECT, SELECT_COUNT,
+            (sql, values) -> 0L,
+            f -> "`" + f.identifier().getColumnName() + "`",
+            f -> Object.class
+        );
+    }
+    
+    @Benchmark
+    public SqlStreamOptimizer<Person> selectOptimizer() {
+        return optimizerComponent.get(pipeline(), dbmsType);
+    }
+    
+    @Benchmark
+    public String renderFilterSortedSkip() {
+        final AsynchronousQueryResult<Person> query = query();
+        new FilterSortedSkipOptimizer<Person>().optimize(pipeline(), info, query);
+        return query.getSql();
+    }
+    
+    private static Pipeline pipeline() {
+        final PipelineImpl<Person> pipeline = new PipelineImpl<>(Stream::empty);
+        pipeline.addLast(new FilterAction<>(Person.AGE.greaterThan(30)));
+        pipeline.addLast(new SortedComparatorAction<>(Person.NAME.comparator()));
+        pipeline.addLast(new SkipAction<>(10));
+        pipeline.addLast(new LimitAction<>(100));
+        return pipeline;
+    }
+    
+    private static AsynchronousQueryResult<Person> query() {
+        return new AsynchronousQueryResultImpl<>(
+            SELECT,
+            new ArrayList<>(),
+            rs -> null,
+            () -> {
+                throw new UnsupportedOperationException(
+                    "The optimizer benchmark does not execute any queries."
+                );
+            },
+            ParallelStrategy.computeIntensityDefault(),
+            stmt -> {},
+            rs -> {}
+        );
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.benchmark;
+
+import com.speedment.runtime.benchmark.model.db0.benchmark.person.Person;
+import com.speedment.runtime.benchmark.model.db0.benchmark.person.PersonImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@code SqlPersistenceImpl.persist} by inserting new rows into the
+ * {@code person} table through the generated manager. Every inserted row is
+ * removed again after each iteration so that the table size stays constant.
+ * <p>
+ * Since the H2 connector currently does not exclude auto-increment columns 
+ * from the insert statement, every entity is given an explicit id.
+ * 
+ * @since 3.0.12
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class PersistBenchmark {
+    
+    private final Timestamp created = new Timestamp(System.currentTimeMillis());
+    private int firstId;
+    private int nextId;
+    
+    @Setup(Level.Iteration)
+    public void setUp(H2Database db) {
+        firstId = db.rows + 1;
+        nextId  = firstId;
+    }
+    
+    @TearDown(Level.Iteration)
+    public void tearDown(H2Database db) throws SQLException {
+        try (final Connection conn = db.connect();
+             final PreparedStatement ps = conn.prepareStatement(
+                 "DELETE FROM `benchmark`.`person` WHERE `id` >= ?")) {
+            ps.setInt(1, firstId);
+            ps.executeUpdate();
+        }
+    }
+    
+    @Benchmark
+    public Person persist(H2Database db) {
+        final int id = nextId++;
+        return db.persons().persist(new PersonImpl()
+            .setId(id)
+            .setName("Persisted " + id)
+            .setAge(id % 100)
+            .setCreated(created)
+        );
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.benchmark;
+
+import com.speedment.runtime.benchmark.model.db0.benchmark.person.Person;
+import com.speedment.runtime.benchmark.model.db0.benchmark.person.PersonSqlAdapter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the generated {@code SqlAdapter.apply(ResultSet)} mapping by
+ * reading every row of the {@code person} table. The {@link #readColumns} 
+ * benchmark executes the same query but only reads the columns without 
+ * creating any entities, which gives the baseline cost of the JDBC driver.
+ * 
+ * @since 3.0.12
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class SqlAdapterBenchmark {
+    
+    private static final String SELECT = 
+        "SELECT `id`,`name`,`age`,`created` FROM `benchmark`.`person`";
+    
+    private final Adapter adapter = new Adapter();
+    private Connection connection;
+    private PreparedStatement statement;
+    
+    @Setup(Level.Trial)
+    public void setUp(H2Database db) throws SQLException {
+        connection = db.connect();
+        statement  = connection.prepareStatement(SELECT);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        statement.close();
+        connection.close();
+    }
+    
+    @Benchmark
+    public void mapEntities(Blackhole bh) throws SQLException {
+        try (final ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                bh.consume(adapter.map(rs));
+            }
+        }
+    }
+    
+    @Benchmark
+    public void readColumns(Blackhole bh) throws SQLException {
+        try (final ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                bh.consume(rs.getInt(1));
+                bh.consume(rs.getString(2));
+                bh.consume(rs.getInt(3));
+                bh.consume(rs.wasNull());
+                bh.consume(rs.getTimestamp(4));
+            }
+        }
+    }
+    
+    /**
+     * Exposes the protected mapping method of the generated adapter.
+     */
+    private static final class Adapter extends PersonSqlAdapter {
+        Person map(ResultSet rs) {
+            return apply(rs);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.benchmark;
+
+import com.speedment.runtime.benchmark.model.db0.benchmark.person.Person;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Benchmarks of the stream setup done by {@code SqlStreamSupplierImpl}. The
+ * first benchmark only measures the cost of creating and closing a stream 
+ * without consuming it, while the others render and execute a query.
+ * 
+ * @since 3.0.12
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class StreamBenchmark {
+    
+    @Benchmark
+    public void streamSetup(H2Database db, Blackhole bh) {
+        try (final Stream<Person> stream = db.persons().stream()) {
+            bh.consume(stream);
+        }
+    }
+    
+    @Benchmark
+    public long countAll(H2Database db) {
+        return db.persons().stream().count();
+    }
+    
+    @Benchmark
+    public long countFiltered(H2Database db) {
+        return db.persons().stream()
+            .filter(Person.AGE.greaterThan(30))
+            .count();
+    }
+    
+    @Benchmark
+    public void sortedPage(H2Database db, Blackhole bh) {
+        db.persons().stream()
+            .filter(Person.AGE.greaterThan(30))
+            .sorted(Person.NAME.comparator())
+            .skip(100)
+            .limit(100)
+            .forEachOrdered(bh::consume);
+    }
+}
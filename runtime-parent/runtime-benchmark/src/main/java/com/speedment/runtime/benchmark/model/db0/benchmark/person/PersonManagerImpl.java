@@ -0,0 +1,31 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.benchmark.model.db0.benchmark.person;
+
+import com.speedment.runtime.benchmark.model.db0.benchmark.person.generated.GeneratedPersonManagerImpl;
+
+/**
+ * The default implementation for the manager of every {@link
+ * com.speedment.runtime.benchmark.model.db0.benchmark.person.Person} entity.
+ * <p>
+ * This file is safe to edit. It will not be overwritten by the code generator.
+ * 
+ * @author speedment
+ */
+public final class PersonManagerImpl 
+extends GeneratedPersonManagerImpl 
+implements PersonManager {}
\ No newline at end of file
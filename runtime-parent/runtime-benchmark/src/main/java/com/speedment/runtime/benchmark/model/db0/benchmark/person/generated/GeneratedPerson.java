@@ -0,0 +1,199 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.benchmark.model.db0.benchmark.person.generated;
+
+import com.speedment.common.annotation.GeneratedCode;
+import com.speedment.runtime.benchmark.model.db0.benchmark.person.Person;
+import com.speedment.runtime.config.identifier.ColumnIdentifier;
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.core.util.OptionalUtil;
+import com.speedment.runtime.field.ComparableField;
+import com.speedment.runtime.field.IntField;
+import com.speedment.runtime.field.StringField;
+import com.speedment.runtime.typemapper.TypeMapper;
+import java.sql.Timestamp;
+import java.util.OptionalInt;
+
+/**
+ * The generated base for the {@link
+ * com.speedment.runtime.benchmark.model.db0.benchmark.person.Person}-interface
+ * representing entities of the {@code person}-table in the database.
+ * <p>
+ * This file has been automatically generated by Speedment. Any changes made to
+ * it will be overwritten.
+ * 
+ * @author Speedment
+ */
+@GeneratedCode("Speedment")
+public interface GeneratedPerson {
+    
+    /**
+     * This Field corresponds to the {@link Person} field that can be obtained
+     * using the {@link Person#getId()} method.
+     */
+    IntField<Person, Integer> ID = IntField.create(
+        Identifier.ID,
+        Person::getId,
+        Person::setId,
+        TypeMapper.primitive(), 
+        true
+    );
+    /**
+     * This Field corresponds to the {@link Person} field that can be obtained
+     * using the {@link Person#getName()} method.
+     */
+    StringField<Person, String> NAME = StringField.create(
+        Identifier.NAME,
+        Person::getName,
+        Person::setName,
+        TypeMapper.identity(), 
+        false
+    );
+    /**
+     * This Field corresponds to the {@link Person} field that can be obtained
+     * using the {@link Person#getAge()} method.
+     */
+    ComparableField<Person, Integer, Integer> AGE = ComparableField.create(
+        Identifier.AGE,
+        o -> OptionalUtil.unwrap(o.getAge()),
+        Person::setAge,
+        TypeMapper.identity(), 
+        false
+    );
+    /**
+     * This Field corresponds to the {@link Person} field that can be obtained
+     * using the {@link Person#getCreated()} method.
+     */
+    ComparableField<Person, Timestamp, Timestamp> CREATED = ComparableField.create(
+        Identifier.CREATED,
+        Person::getCreated,
+        Person::setCreated,
+        TypeMapper.identity(), 
+        false
+    );
+    
+    /**
+     * Returns the id of this Person. The id field corresponds to the database
+     * column db0.benchmark.person.id.
+     * 
+     * @return the id of this Person
+     */
+    int getId();
+    
+    /**
+     * Returns the name of this Person. The name field corresponds to the
+     * database column db0.benchmark.person.name.
+     * 
+     * @return the name of this Person
+     */
+    String getName();
+    
+    /**
+     * Returns the age of this Person. The age field corresponds to the database
+     * column db0.benchmark.person.age.
+     * 
+     * @return the age of this Person
+     */
+    OptionalInt getAge();
+    
+    /**
+     * Returns the created of this Person. The created field corresponds to the
+     * database column db0.benchmark.person.created.
+     * 
+     * @return the created of this Person
+     */
+    Timestamp getCreated();
+    
+    /**
+     * Sets the id of this Person. The id field corresponds to the database
+     * column db0.benchmark.person.id.
+     * 
+     * @param id to set of this Person
+     * @return   this Person instance
+     */
+    Person setId(int id);
+    
+    /**
+     * Sets the name of this Person. The name field corresponds to the database
+     * column db0.benchmark.person.name.
+     * 
+     * @param name to set of this Person
+     * @return     this Person instance
+     */
+    Person setName(String name);
+    
+    /**
+     * Sets the age of this Person. The age field corresponds to the database
+     * column db0.benchmark.person.age.
+     * 
+     * @param age to set of this Person
+     * @return    this Person instance
+     */
+    Person setAge(Integer age);
+    
+    /**
+     * Sets the created of this Person. The created field corresponds to the
+     * database column db0.benchmark.person.created.
+     * 
+     * @param created to set of this Person
+     * @return        this Person instance
+     */
+    Person setCreated(Timestamp created);
+    
+    enum Identifier implements ColumnIdentifier<Person> {
+        
+        ID      ("id"),
+        NAME    ("name"),
+        AGE     ("age"),
+        CREATED ("created");
+        
+        private final String columnName;
+        private final TableIdentifier<Person> tableIdentifier;
+        
+        Identifier(String columnName) {
+            this.columnName      = columnName;
+            this.tableIdentifier = TableIdentifier.of(    getDbmsName(), 
+                getSchemaName(), 
+                getTableName());
+        }
+        
+        @Override
+        public String getDbmsName() {
+            return "db0";
+        }
+        
+        @Override
+        public String getSchemaName() {
+            return "benchmark";
+        }
+        
+        @Override
+        public String getTableName() {
+            return "person";
+        }
+        
+        @Override
+        public String getColumnName() {
+            return this.columnName;
+        }
+        
+        @Override
+        public TableIdentifier<Person> asTableIdentifier() {
+            return this.tableIdentifier;
+        }
+    }
+}
\ No newline at end of file
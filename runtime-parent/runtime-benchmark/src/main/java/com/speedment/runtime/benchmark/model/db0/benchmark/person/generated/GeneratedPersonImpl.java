@@ -0,0 +1,139 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.benchmark.model.db0.benchmark.person.generated;
+
+import com.speedment.common.annotation.GeneratedCode;
+import com.speedment.runtime.benchmark.model.db0.benchmark.person.Person;
+import com.speedment.runtime.core.manager.HasDirtyFields;
+import com.speedment.runtime.core.util.OptionalUtil;
+import java.sql.Timestamp;
+import java.util.Objects;
+import java.util.OptionalInt;
+import java.util.StringJoiner;
+
+/**
+ * The generated base implementation of the {@link
+ * com.speedment.runtime.benchmark.model.db0.benchmark.person.Person}-interface.
+ * <p>
+ * This file has been automatically generated by Speedment. Any changes made to
+ * it will be overwritten.
+ * 
+ * @author Speedment
+ */
+@GeneratedCode("Speedment")
+public abstract class GeneratedPersonImpl implements Person, HasDirtyFields {
+    
+    private long dirtyFields;
+    private int id;
+    private String name;
+    private Integer age;
+    private Timestamp created;
+    
+    protected GeneratedPersonImpl() {
+        
+    }
+    
+    @Override
+    public int getId() {
+        return id;
+    }
+    
+    @Override
+    public String getName() {
+        return name;
+    }
+    
+    @Override
+    public OptionalInt getAge() {
+        return OptionalUtil.ofNullable(age);
+    }
+    
+    @Override
+    public Timestamp getCreated() {
+        return created;
+    }
+    
+    @Override
+    public Person setId(int id) {
+        this.id = id;
+        dirtyFields |= 1L << 0;
+        return this;
+    }
+    
+    @Override
+    public Person setName(String name) {
+        this.name = name;
+        dirtyFields |= 1L << 1;
+        return this;
+    }
+    
+    @Override
+    public Person setAge(Integer age) {
+        this.age = age;
+        dirtyFields |= 1L << 2;
+        return this;
+    }
+    
+    @Override
+    public Person setCreated(Timestamp created) {
+        this.created = created;
+        dirtyFields |= 1L << 3;
+        return this;
+    }
+    
+    @Override
+    public long[] getDirtyFields() {
+        return new long[] {dirtyFields};
+    }
+    
+    @Override
+    public void clearDirtyFields() {
+        dirtyFields = 0;
+    }
+    
+    @Override
+    public String toString() {
+        final StringJoiner sj = new StringJoiner(", ", "{ ", " }");
+        sj.add("id = "      + Objects.toString(getId()));
+        sj.add("name = "    + Objects.toString(getName()));
+        sj.add("age = "     + Objects.toString(OptionalUtil.unwrap(getAge())));
+        sj.add("created = " + Objects.toString(getCreated()));
+        return "PersonImpl " + sj.toString();
+    }
+    
+    @Override
+    public boolean equals(Object that) {
+        if (this == that) { return true; }
+        if (!(that instanceof Person)) { return false; }
+        final Person thatPerson = (Person)that;
+        if (this.getId() != thatPerson.getId()) {return false; }
+        if (!Objects.equals(this.getName(), thatPerson.getName())) {return false; }
+        if (!Objects.equals(this.getAge(), thatPerson.getAge())) {return false; }
+        if (!Objects.equals(this.getCreated(), thatPerson.getCreated())) {return false; }
+        return true;
+    }
+    
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 31 * hash + Integer.hashCode(getId());
+        hash = 31 * hash + Objects.hashCode(getName());
+        hash = 31 * hash + Objects.hashCode(getAge());
+        hash = 31 * hash + Objects.hashCode(getCreated());
+        return hash;
+    }
+}
\ No newline at end of file
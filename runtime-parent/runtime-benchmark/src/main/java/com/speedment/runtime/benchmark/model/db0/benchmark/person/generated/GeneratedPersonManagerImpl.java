@@ -0,0 +1,67 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.benchmark.model.db0.benchmark.person.generated;
+
+import com.speedment.common.annotation.GeneratedCode;
+import com.speedment.runtime.benchmark.model.db0.benchmark.person.Person;
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.core.manager.AbstractManager;
+import com.speedment.runtime.field.Field;
+import java.util.stream.Stream;
+
+/**
+ * The generated base implementation for the manager of every {@link
+ * com.speedment.runtime.benchmark.model.db0.benchmark.person.Person} entity.
+ * <p>
+ * This file has been automatically generated by Speedment. Any changes made to
+ * it will be overwritten.
+ * 
+ * @author Speedment
+ */
+@GeneratedCode("Speedment")
+public abstract class GeneratedPersonManagerImpl 
+extends AbstractManager<Person> 
+implements GeneratedPersonManager {
+    
+    private final TableIdentifier<Person> tableIdentifier;
+    
+    protected GeneratedPersonManagerImpl() {
+        this.tableIdentifier = TableIdentifier.of("db0", "benchmark", "person");
+    }
+    
+    @Override
+    public TableIdentifier<Person> getTableIdentifier() {
+        return tableIdentifier;
+    }
+    
+    @Override
+    public Stream<Field<Person>> fields() {
+        return Stream.of(
+            Person.ID,
+            Person.NAME,
+            Person.AGE,
+            Person.CREATED
+        );
+    }
+    
+    @Override
+    public Stream<Field<Person>> primaryKeyFields() {
+        return Stream.of(
+            Person.ID
+        );
+    }
+}
\ No newline at end of file
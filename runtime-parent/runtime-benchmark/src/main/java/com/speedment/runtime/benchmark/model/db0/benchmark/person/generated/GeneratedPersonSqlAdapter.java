@@ -0,0 +1,74 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.benchmark.model.db0.benchmark.person.generated;
+
+import com.speedment.common.annotation.GeneratedCode;
+import com.speedment.common.injector.annotation.ExecuteBefore;
+import com.speedment.common.injector.annotation.WithState;
+import com.speedment.runtime.benchmark.model.db0.benchmark.person.Person;
+import com.speedment.runtime.benchmark.model.db0.benchmark.person.PersonImpl;
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.core.component.sql.SqlPersistenceComponent;
+import com.speedment.runtime.core.component.sql.SqlStreamSupplierComponent;
+import com.speedment.runtime.core.exception.SpeedmentException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import static com.speedment.common.injector.State.RESOLVED;
+import static com.speedment.runtime.core.internal.util.sql.ResultSetUtil.*;
+
+/**
+ * The generated Sql Adapter for a {@link
+ * com.speedment.runtime.benchmark.model.db0.benchmark.person.Person} entity.
+ * <p>
+ * This file has been automatically generated by Speedment. Any changes made to
+ * it will be overwritten.
+ * 
+ * @author Speedment
+ */
+@GeneratedCode("Speedment")
+public abstract class GeneratedPersonSqlAdapter {
+    
+    private final TableIdentifier<Person> tableIdentifier;
+    
+    protected GeneratedPersonSqlAdapter() {
+        this.tableIdentifier = TableIdentifier.of("db0", "benchmark", "person");
+    }
+    
+    @ExecuteBefore(RESOLVED)
+    void installMethodName(@WithState(RESOLVED) SqlStreamSupplierComponent streamSupplierComponent,
+            @WithState(RESOLVED) SqlPersistenceComponent persistenceComponent) {
+        streamSupplierComponent.install(tableIdentifier, this::apply);
+        persistenceComponent.install(tableIdentifier);
+    }
+    
+    protected Person apply(ResultSet resultSet) throws SpeedmentException {
+        final PersonImpl entity = createEntity();
+        try {
+            entity.setId(      resultSet.getInt(1)       );
+            entity.setName(    resultSet.getString(2)    );
+            entity.setAge(     getInt(resultSet, 3)      );
+            entity.setCreated( resultSet.getTimestamp(4) );
+        } catch (final SQLException sqle) {
+            throw new SpeedmentException(sqle);
+        }
+        return entity;
+    }
+    
+    protected PersonImpl createEntity() {
+        return new PersonImpl();
+    }
+}
\ No newline at end of file
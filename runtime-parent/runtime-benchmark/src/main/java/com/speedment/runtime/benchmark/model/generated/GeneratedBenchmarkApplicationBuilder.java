@@ -0,0 +1,51 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.benchmark.model.generated;
+
+import com.speedment.common.annotation.GeneratedCode;
+import com.speedment.common.injector.Injector;
+import com.speedment.runtime.benchmark.model.BenchmarkApplication;
+import com.speedment.runtime.benchmark.model.BenchmarkApplicationBuilder;
+import com.speedment.runtime.benchmark.model.BenchmarkApplicationImpl;
+import com.speedment.runtime.benchmark.model.db0.benchmark.person.PersonManagerImpl;
+import com.speedment.runtime.benchmark.model.db0.benchmark.person.PersonSqlAdapter;
+import com.speedment.runtime.core.internal.AbstractApplicationBuilder;
+
+/**
+ * A generated base {@link
+ * com.speedment.runtime.core.internal.AbstractApplicationBuilder} class for the
+ * {@link com.speedment.runtime.config.Project} named benchmark.
+ * <p>
+ * This file has been automatically generated by Speedment. Any changes made to
+ * it will be overwritten.
+ * 
+ * @author Speedment
+ */
+@GeneratedCode("Speedment")
+public abstract class GeneratedBenchmarkApplicationBuilder extends AbstractApplicationBuilder<BenchmarkApplication, BenchmarkApplicationBuilder> {
+    
+    protected GeneratedBenchmarkApplicationBuilder() {
+        super(BenchmarkApplicationImpl.class, GeneratedBenchmarkMetadata.class);
+        withManager(PersonManagerImpl.class);
+        withComponent(PersonSqlAdapter.class);
+    }
+    
+    @Override
+    public BenchmarkApplication build(Injector injector) {
+        return injector.getOrThrow(BenchmarkApplication.class);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,166 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.benchmark.model.generated;
+
+import com.speedment.common.annotation.GeneratedCode;
+import com.speedment.runtime.core.internal.AbstractApplicationMetadata;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * A {@link com.speedment.runtime.core.ApplicationMetadata} class for the {@link
+ * com.speedment.runtime.config.Project} named benchmark. This class contains
+ * the meta data present at code generation time.
+ * <p>
+ * This file has been automatically generated by Speedment. Any changes made to
+ * it will be overwritten.
+ * 
+ * @author Speedment
+ */
+@GeneratedCode("Speedment")
+public class GeneratedBenchmarkMetadata extends AbstractApplicationMetadata {
+    
+    private final static String METADATA = init();
+    
+    private static String init() {
+        final StringBuilder sb = new StringBuilder();
+        initPart0(sb);
+        initPart1(sb);
+        return sb.toString();
+    }
+    
+    @Override
+    protected Optional<String> getMetadata() {
+        return Optional.of(METADATA);
+    }
+    
+    private static void initPart0(StringBuilder sb) {
+        Stream.of(
+            "{",
+            "  \"config\" : {",
+            "    \"appId\" : \"5e1f6a0c-3b7d-4c52-9a4e-2f1d8c0b7a61\",",
+            "    \"companyName\" : \"speedment\",",
+            "    \"enabled\" : true,",
+            "    \"expanded\" : true,",
+            "    \"id\" : \"benchmark\",",
+            "    \"name\" : \"benchmark\",",
+            "    \"packageLocation\" : \"src/main/java/\",",
+            "    \"packageName\" : \"com.speedment.runtime.benchmark.model\",",
+            "    \"dbmses\" : [",
+            "      {",
+            "        \"enabled\" : true,",
+            "        \"expanded\" : true,",
+            "        \"id\" : \"db0\",",
+            "        \"name\" : \"db0\",",
+            "        \"typeName\" : \"MySQL\",",
+            "        \"username\" : \"sa\",",
+            "        \"schemas\" : [",
+            "          {",
+            "            \"enabled\" : true,",
+            "            \"expanded\" : true,",
+            "            \"id\" : \"benchmark\",",
+            "            \"name\" : \"benchmark\",",
+            "            \"tables\" : [",
+            "              {",
+            "                \"enabled\" : true,",
+            "                \"expanded\" : true,",
+            "                \"id\" : \"person\",",
+            "                \"name\" : \"person\",",
+            "                \"columns\" : [",
+            "                  {",
+            "                    \"autoIncrement\" : true,",
+            "                    \"databaseType\" : \"java.lang.Integer\",",
+            "                    \"enabled\" : true,",
+            "                    \"expanded\" : true,",
+            "                    \"id\" : \"id\",",
+            "                    \"name\" : \"id\",",
+            "                    \"nullable\" : false,",
+            "                    \"ordinalPosition\" : 1,",
+            "                    \"typeMapper\" : \"com.speedment.runtime.typemapper.primitive.PrimitiveTypeMapper\"",
+            "                  },",
+            "                  {",
+            "                    \"databaseType\" : \"java.lang.String\",",
+            "                    \"enabled\" : true,",
+            "                    \"expanded\" : true,",
+            "                    \"id\" : \"name\",",
+            "                    \"name\" : \"name\",",
+            "                    \"nullable\" : false,",
+            "                    \"ordinalPosition\" : 2",
+            "                  },",
+            "                  {",
+            "                    \"databaseType\" : \"java.lang.Integer\",",
+            "                    \"enabled\" : true,",
+            "                    \"expanded\" : true,",
+            "                    \"id\" : \"age\",",
+            "                    \"name\" : \"age\",",
+            "                    \"nullable\" : true,",
+            "                    \"ordinalPosition\" : 3",
+            "                  },",
+            "                  {",
+            "                    \"databaseType\" : \"java.sql.Timestamp\",",
+            "                    \"enabled\" : true,",
+            "                    \"expanded\" : true,",
+            "                    \"id\" : \"created\",",
+            "                    \"name\" : \"created\",",
+            "                    \"nullable\" : false,",
+            "                    \"ordinalPosition\" : 4",
+            "                  }",
+            "                ],",
+            "                \"indexes\" : [",
+            "                  {",
+            "                    \"enabled\" : true,",
+            "                    \"expanded\" : false,",
+            "                    \"id\" : \"PRIMARY\",",
+            "                    \"name\" : \"PRIMARY\",",
+            "                    \"unique\" : true,",
+            "                    \"indexColumns\" : [",
+            "                      {",
+            "                        \"enabled\" : true,",
+            "                        \"expanded\" : true,",
+            "                        \"id\" : \"id\",",
+            "                        \"name\" : \"id\",",
+            "                        \"orderType\" : \"ASC\",",
+            "                        \"ordinalPosition\" : 1",
+            "                      }",
+            "                    ]",
+            "                  }",
+            "                ],",
+            "                \"primaryKeyColumns\" : [",
+            "                  {",
+            "                    \"enabled\" : true,",
+            "                    \"expanded\" : true,",
+            "                    \"id\" : \"id\",",
+            "                    \"name\" : \"id\",",
+            "                    \"ordinalPosition\" : 1",
+            "                  }",
+            "                ]",
+            "              }",
+            "            ]",
+            "          }"
+        ).forEachOrdered(sb::append);
+    }
+    
+    private static void initPart1(StringBuilder sb) {
+        Stream.of(
+            "        ]",
+            "      }",
+            "    ]",
+            "  }",
+            "}"
+        ).forEachOrdered(sb::append);
+    }
+}
\ No newline at end of file
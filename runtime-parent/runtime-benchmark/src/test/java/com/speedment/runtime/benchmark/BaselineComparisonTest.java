@@ -0,0 +1,77 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.benchmark;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ *
+ * @since 3.0.12
+ */
+public class BaselineComparisonTest {
+    
+    private final BaselineComparison comparison = new BaselineComparison(0.10);
+    
+    @Test
+    public void testThroughputRegression() {
+        assertTrue(compare("thrpt", 100, 95).isEmpty());
+        assertTrue(compare("thrpt", 100, 150).isEmpty());
+        assertEquals(1, compare("thrpt", 100, 80).size());
+    }
+    
+    @Test
+    public void testAverageTimeRegression() {
+        assertTrue(compare("avgt", 100, 105).isEmpty());
+        assertTrue(compare("avgt", 100, 50).isEmpty());
+        assertEquals(1, compare("avgt", 100, 120).size());
+    }
+    
+    @Test
+    public void testDifferentParamsAreNotCompared() {
+        final List<String> regressions = comparison.compare(
+            singletonList(result("thrpt", 100, "10")),
+            singletonList(result("thrpt", 10, "1000"))
+        );
+        
+        assertTrue(regressions.isEmpty());
+    }
+    
+    private List<String> compare(String mode, double before, double after) {
+        return comparison.compare(
+            singletonList(result(mode, before, "10")),
+            singletonList(result(mode, after, "10"))
+        );
+    }
+    
+    private static Map<String, Object> result(String mode, double score, String rows) {
+        final Map<String, Object> result = new HashMap<>();
+        result.put("benchmark", "com.speedment.runtime.benchmark.StreamBenchmark.countAll");
+        result.put("mode", mode);
+        result.put("params", Collections.singletonMap("rows", rows));
+        result.put("primaryMetric", Collections.singletonMap("score", score));
+        return result;
+    }
+}
@@ -50,7 +50,22 @@ public interface HasNullable extends Document {
          * straight off. If the value is a {@code Long}, then a {@code Long}
          * will be returned.
          */
-        WRAPPER
+        WRAPPER,
+
+        /**
+         * This option means that the getter for a column will return the same
+         * type as for {@link #OPTIONAL}, but that the value will be stored as
+         * a primitive field in the generated entity together with a bit that 
+         * tells if it is {@code null}. The value is also read from the 
+         * database without creating a wrapper instance. This reduces the 
+         * memory used by entities with many nullable numeric columns. The 
+         * option only has an effect if the java type of the column is a 
+         * wrapper of a primitive type, like {@code Integer}, and otherwise
+         * works exactly like {@link #OPTIONAL}.
+         * 
+         * @since 3.0.12
+         */
+        PRIMITIVE
     }
     
     /**
@@ -77,7 +92,9 @@ public interface HasNullable extends Document {
      * for this column. If {@link ImplementAs#OPTIONAL}, every getter will
      * return an {@code Optional<T>}, {@code OptionalInt}, etc. If 
      * {@link ImplementAs#WRAPPER}, every getter will return the type as it is, 
-     * {@code Long} for an example.
+     * {@code Long} for an example. If {@link ImplementAs#PRIMITIVE}, getters
+     * are generated as for {@link ImplementAs#OPTIONAL} but the value is
+     * stored as a primitive.
      * <p>
      * If no value is specified, {@link ImplementAs#OPTIONAL} is returned.
      * 
@@ -0,0 +1,107 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.component;
+
+import com.speedment.common.injector.annotation.InjectKey;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * A component that runs blocking database operations on a dedicated, bounded
+ * thread pool so that the caller does not have to block. It is used by the
+ * asynchronous methods of managers, persisters, updaters and removers.
+ * <p>
+ * The number of threads is controlled by the {@code async.threads} parameter.
+ * If it is not set, the maximum number of connections of the connection pool
+ * is used, or if that is unbounded, the number of available processors. Tasks
+ * that can not start immediately are queued. The capacity of the queue is
+ * controlled by the {@code async.queueSize} parameter. Tasks submitted when
+ * the queue is full are rejected.
+ *
+ * @since 3.0.12
+ */
+@InjectKey(AsyncExecutorComponent.class)
+public interface AsyncExecutorComponent {
+
+    /**
+     * Returns a future that is completed with the result of the specified
+     * supplier when it has been invoked by the executor of this component. If
+     * the task is rejected because the queue is full, the returned future is
+     * completed exceptionally with a {@link RejectedExecutionException}.
+     *
+     * @param <T>       the result type
+     * @param supplier  the blocking operation to invoke
+     * @return          the future result
+     */
+    <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier);
+
+    /**
+     * Returns the bounded executor used by this component. Commands submitted
+     * when the queue is full are rejected with a 
+     * {@link RejectedExecutionException}.
+     *
+     * @return  the executor
+     */
+    Executor getExecutor();
+
+    /**
+     * Returns the maximum number of threads that run tasks concurrently.
+     *
+     * @return  the maximum number of threads
+     */
+    int getMaxThreads();
+
+    /**
+     * Returns the maximum number of tasks that can wait in the queue.
+     *
+     * @return  the queue capacity
+     */
+    int getQueueCapacity();
+
+    /**
+     * Returns the number of tasks currently waiting in the queue.
+     *
+     * @return  the queue depth
+     */
+    int getQueueSize();
+
+    /**
+     * Returns the approximate number of threads that are currently running
+     * tasks.
+     *
+     * @return  the number of active threads
+     */
+    int getActiveCount();
+
+    /**
+     * Returns the approximate number of tasks that have completed.
+     *
+     * @return  the number of completed tasks
+     */
+    long getCompletedTaskCount();
+
+    /**
+     * Returns the number of tasks that were rejected because the queue was
+     * full.
+     *
+     * @return  the number of rejected tasks
+     */
+    long getRejectedTaskCount();
+}
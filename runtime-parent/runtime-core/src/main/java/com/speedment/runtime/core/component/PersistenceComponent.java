@@ -22,6 +22,7 @@ import com.speedment.runtime.core.exception.SpeedmentException;
 import com.speedment.runtime.core.manager.Persister;
 import com.speedment.runtime.core.manager.Remover;
 import com.speedment.runtime.core.manager.Updater;
+import com.speedment.runtime.core.manager.Upserter;
 
 /**
  * The {@code PersistanceComponent} handles persisting, updating and deleting 
@@ -74,4 +75,26 @@ public interface PersistenceComponent {
      */
     <ENTITY> Remover<ENTITY> remover(TableIdentifier<ENTITY> tableIdentifier) throws SpeedmentException;
     
+    /**
+     * Creates and returns an {@link Upserter} that describes how entities are 
+     * inserted into or updated in the specified table. The returned 
+     * {@code Upserter} can then be applied by supplying an entity.
+     * <p>
+     * The default implementation throws an 
+     * {@code UnsupportedOperationException}.
+     * 
+     * @param <ENTITY>         the entity type
+     * @param tableIdentifier  identifier for the table to upsert into
+     * @return                 the created {@link Upserter}
+     * 
+     * @throws SpeedmentException  if it could not be created
+     * 
+     * @since 3.0.12
+     */
+    default <ENTITY> Upserter<ENTITY> upserter(TableIdentifier<ENTITY> tableIdentifier) throws SpeedmentException {
+        throw new UnsupportedOperationException(
+            getClass().getSimpleName() + " does not support upserts."
+        );
+    }
+    
 }
\ No newline at end of file
@@ -18,10 +18,14 @@ package com.speedment.runtime.core.component;
 
 import com.speedment.common.injector.annotation.InjectKey;
 import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.core.internal.stream.reactive.StreamPublisher;
 import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import com.speedment.runtime.core.stream.reactive.Publisher;
 import com.speedment.runtime.field.trait.HasComparableOperators;
 
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 /**
@@ -43,6 +47,47 @@ public interface StreamSupplierComponent {
      */
     <ENTITY> Stream<ENTITY> stream(TableIdentifier<ENTITY> tableIdentifier, ParallelStrategy strategy);
 
+    /**
+     * Returns a supplier of basic streams over all entities that are used to
+     * run the same query over and over with different values. Implementations
+     * may reuse the work of optimizing the pipeline between the streams
+     * produced by the same supplier.
+     *
+     * @param <ENTITY>        entity type
+     * @param tableIdentifier the identifier to use
+     * @param strategy        decorates the streams before building them
+     * @return                a supplier of streams for the given entity class
+     *
+     * @since 3.0.12
+     */
+    default <ENTITY> Supplier<Stream<ENTITY>> prepare(TableIdentifier<ENTITY> tableIdentifier, ParallelStrategy strategy) {
+        return () -> stream(tableIdentifier, strategy);
+    }
+
+    /**
+     * Returns a {@link Publisher} of all entities. Every subscription reads
+     * the entities anew, but not until the first element has been requested,
+     * and then only as many as have been requested.
+     * <p>
+     * The default implementation pulls the entities from the iterator of a
+     * new {@link #stream(TableIdentifier, ParallelStrategy) stream}.
+     * Implementations whose streams do not support
+     * {@link Stream#iterator()} must override this method.
+     *
+     * @param <ENTITY>        entity type
+     * @param tableIdentifier the identifier to use
+     * @param executor        the executor to deliver entities with
+     * @return                a publisher for the given entity class
+     *
+     * @since 3.0.12
+     */
+    default <ENTITY> Publisher<ENTITY> publisher(TableIdentifier<ENTITY> tableIdentifier, Executor executor) {
+        return new StreamPublisher<>(
+            () -> stream(tableIdentifier, ParallelStrategy.computeIntensityDefault()),
+            executor
+        );
+    }
+
     /**
      * Finds a particular entity in the source where the specified field has 
      * the specified value. This is a form of key-value lookup than can 
@@ -0,0 +1,96 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.component.cache;
+
+import java.util.Optional;
+
+/**
+ * An in-memory cache of entities of a particular table, keyed on the value of
+ * the primary key column of the table.
+ * <p>
+ * The cache holds the instances it is given as they are. Streams that are
+ * served from the cache never return these instances, but copies of them, so
+ * an entity that the application modifies does not change the cached state
+ * until it is persisted or updated.
+ *
+ * @param <ENTITY>  the entity type
+ *
+ * @since 3.0.12
+ */
+public interface EntityCache<ENTITY> {
+
+    /**
+     * Returns the entity cached under the specified primary key, or an empty
+     * {@code Optional} if no such entity is cached or if it has expired.
+     *
+     * @param primaryKey  the primary key value
+     * @return            the cached entity or empty
+     */
+    Optional<ENTITY> get(Object primaryKey);
+
+    /**
+     * Caches the specified entity under the specified primary key. If the
+     * cache is full, the least recently used entity is evicted.
+     *
+     * @param primaryKey  the primary key value
+     * @param entity      the entity
+     */
+    void put(Object primaryKey, ENTITY entity);
+
+    /**
+     * Removes any entity cached under the specified primary key.
+     *
+     * @param primaryKey  the primary key value
+     */
+    void invalidate(Object primaryKey);
+
+    /**
+     * Removes all cached entities.
+     */
+    void invalidateAll();
+
+    /**
+     * Returns the number of entities currently held by the cache. Expired
+     * entities that have not yet been looked up may be included.
+     *
+     * @return  the number of cached entities
+     */
+    int size();
+
+    /**
+     * Returns the number of lookups that were served by the cache.
+     *
+     * @return  the number of hits
+     */
+    long getHits();
+
+    /**
+     * Returns the number of lookups that could not be served by the cache.
+     *
+     * @return  the number of misses
+     */
+    long getMisses();
+
+    /**
+     * Returns the number of entities that were removed because the cache was
+     * full or because they had expired. Explicit invalidations are not
+     * counted.
+     *
+     * @return  the number of evictions
+     */
+    long getEvictions();
+}
@@ -0,0 +1,93 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.component.cache;
+
+import com.speedment.common.injector.annotation.InjectKey;
+import com.speedment.runtime.config.identifier.TableIdentifier;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * A component that holds the optional {@link EntityCache entity caches} of
+ * the tables. Caching is disabled for all tables until it is explicitly
+ * enabled.
+ * <p>
+ * When caching is enabled for a table, streams that select a single entity by
+ * primary key equality (like {@code users.stream().filter(User.ID.equal(1))})
+ * and the foreign key finders referring to the table are served from memory
+ * if possible. Entities loaded by such lookups are added to the cache. Cached
+ * entities are invalidated when they are persisted, updated or removed.
+ * <p>
+ * Only tables with a single primary key column are cached.
+ *
+ * @since 3.0.12
+ */
+@InjectKey(EntityCacheComponent.class)
+public interface EntityCacheComponent {
+
+    /**
+     * Enables caching for the specified table. Entities are kept until they
+     * are evicted because the cache is full or until they are invalidated. If
+     * caching was already enabled for the table, the previous cache is
+     * discarded.
+     *
+     * @param <ENTITY>         the entity type
+     * @param tableIdentifier  the table
+     * @param maxSize          the maximum number of cached entities
+     * @return                 the new cache
+     */
+    <ENTITY> EntityCache<ENTITY> enable(
+        TableIdentifier<ENTITY> tableIdentifier, 
+        int maxSize
+    );
+
+    /**
+     * Enables caching for the specified table. Entities are kept until they
+     * are evicted because the cache is full, until the specified time has
+     * passed since they were cached or until they are invalidated. If caching
+     * was already enabled for the table, the previous cache is discarded.
+     *
+     * @param <ENTITY>         the entity type
+     * @param tableIdentifier  the table
+     * @param maxSize          the maximum number of cached entities
+     * @param timeToLive       the time an entity is kept after being cached
+     * @return                 the new cache
+     */
+    <ENTITY> EntityCache<ENTITY> enable(
+        TableIdentifier<ENTITY> tableIdentifier, 
+        int maxSize, 
+        Duration timeToLive
+    );
+
+    /**
+     * Disables caching for the specified table and discards its cache.
+     *
+     * @param tableIdentifier  the table
+     */
+    void disable(TableIdentifier<?> tableIdentifier);
+
+    /**
+     * Returns the cache of the specified table, or an empty {@code Optional}
+     * if caching is not enabled for the table.
+     *
+     * @param <ENTITY>         the entity type
+     * @param tableIdentifier  the table
+     * @return                 the cache or empty
+     */
+    <ENTITY> Optional<EntityCache<ENTITY>> get(TableIdentifier<ENTITY> tableIdentifier);
+}
@@ -98,6 +98,29 @@ public interface ConnectionPoolComponent {
      */
     int leaseSize();
 
+    /**
+     * Returns the number of times a {@link java.sql.PreparedStatement} could
+     * be reused from the statement cache of a pooled connection instead of
+     * being prepared again. The size of the statement cache is controlled by
+     * the {@code connectionpool.statementCacheSize} configuration parameter.
+     *
+     * @return the number of statement cache hits
+     *
+     * @since 3.0.12
+     */
+    long getStatementCacheHits();
+
+    /**
+     * Returns the number of times a {@link java.sql.PreparedStatement} was
+     * not present in the statement cache of a pooled connection and had to be
+     * prepared.
+     *
+     * @return the number of statement cache misses
+     *
+     * @since 3.0.12
+     */
+    long getStatementCacheMisses();
+
     /**
      * Returns the maximum number of connection this pool will retain when
      * connections are returned. If the number of connections in the pool
@@ -144,4 +167,54 @@ public interface ConnectionPoolComponent {
     @Deprecated
     void setMaxAge(long maxAge);
 
+    /**
+     * Returns the maximum number of connections that may be open at the same
+     * time for a particular url, user and password. Both leased connections
+     * and idle connections retained by the pool count towards this limit. A
+     * caller requesting a connection when this limit has been reached and no
+     * idle connection is available will block until another connection is
+     * returned or the maximum wait time has elapsed. A value less than or
+     * equal to zero means that the number of connections is unbounded.
+     *
+     * @return the maximum number of simultaneously open connections
+     *
+     * @since 3.0.12
+     */
+    int getMaxTotal();
+
+    /**
+     * Returns the maximum time in milliseconds a caller will wait for a
+     * connection when the pool is exhausted before a
+     * {@link com.speedment.runtime.core.exception.SpeedmentException} is
+     * thrown. A value less than or equal to zero means wait indefinitely.
+     *
+     * @return the maximum time to wait for a connection in milliseconds
+     *
+     * @since 3.0.12
+     */
+    long getMaxWait();
+
+    /**
+     * Returns the minimum number of idle connections the pool tries to keep
+     * open for every configured dbms. Idle connections are created in the
+     * background after the pool has been started.
+     *
+     * @return the minimum number of idle connections
+     *
+     * @since 3.0.12
+     */
+    int getMinIdle();
+
+    /**
+     * Returns the interval in milliseconds between background validations of
+     * idle connections. Idle connections that have expired or that are no
+     * longer valid are discarded by the background task. A value less than or
+     * equal to zero disables background validation.
+     *
+     * @return the validation interval in milliseconds
+     *
+     * @since 3.0.12
+     */
+    long getValidationInterval();
+
 }
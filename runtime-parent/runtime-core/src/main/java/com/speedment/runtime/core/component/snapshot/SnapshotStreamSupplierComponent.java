@@ -0,0 +1,74 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.component.snapshot;
+
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.core.component.StreamSupplierComponent;
+
+/**
+ * A {@link StreamSupplierComponent} that serves streams from snapshots of
+ * tables held in the JVM instead of querying the database. This is suitable
+ * for tables that are read much more often than they are modified.
+ * <p>
+ * A snapshot stores the values of each column in an array of its own:
+ * {@code int}, {@code long} and {@code double} fields as primitive arrays and
+ * all other fields as codes into a dictionary of their distinct values.
+ * Leading {@code filter} operations with field predicates are evaluated on
+ * those arrays and entities are only created for the matching rows. Every
+ * stream returns new entity instances.
+ * <p>
+ * Tables without a loaded snapshot are streamed from the database as usual.
+ * Snapshots are not updated when entities are persisted, updated or removed.
+ * They are only refreshed when {@link #load(TableIdentifier)} or
+ * {@link #reload()} is called, or periodically if the
+ * {@code snapshot.reloadInterval} parameter is set to a positive number of
+ * milliseconds.
+ *
+ * @since 3.0.12
+ */
+public interface SnapshotStreamSupplierComponent extends StreamSupplierComponent {
+
+    /**
+     * Loads a snapshot of the specified table from the database, replacing
+     * any previous snapshot of the table. Streams that were created before
+     * this method returns keep using the previous snapshot.
+     *
+     * @param tableIdentifier  the table to load
+     */
+    void load(TableIdentifier<?> tableIdentifier);
+
+    /**
+     * Discards the snapshot of the specified table, if any. Subsequent
+     * streams over the table will query the database.
+     *
+     * @param tableIdentifier  the table to unload
+     */
+    void unload(TableIdentifier<?> tableIdentifier);
+
+    /**
+     * Returns if a snapshot of the specified table is loaded.
+     *
+     * @param tableIdentifier  the table
+     * @return                 {@code true} if loaded, else {@code false}
+     */
+    boolean isLoaded(TableIdentifier<?> tableIdentifier);
+
+    /**
+     * Reloads the snapshots of all loaded tables from the database.
+     */
+    void reload();
+}
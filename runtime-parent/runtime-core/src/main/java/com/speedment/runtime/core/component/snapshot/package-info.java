@@ -0,0 +1,8 @@
+/**
+ * The {@link SnapshotStreamSupplierComponent} and related classes are located
+ * in this package.
+ * <p>
+ * This package is part of the API. Modifications to classes here should only
+ * (if ever) be done in major releases.
+ */
+package com.speedment.runtime.core.component.snapshot;
@@ -22,9 +22,12 @@
 package com.speedment.runtime.core.component.sql;
 
 import com.speedment.runtime.core.db.DbmsType;
+import com.speedment.runtime.core.db.SqlFunction;
 import com.speedment.runtime.core.internal.component.sql.SqlStreamOptimizerInfoImpl;
 import com.speedment.runtime.field.Field;
+import java.sql.ResultSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
@@ -86,6 +89,30 @@ public interface SqlStreamOptimizerInfo<ENTITY> {
      */
     Function<Field<ENTITY>, Class<?>> getSqlDatabaseTypeFunction();
 
+    /**
+     * Returns the fully qualified SQL reference of the table that is
+     * streamed, e.g. {@code `sakila`.`film`}. If the info was created without
+     * a table reference, an empty Optional is returned and optimizations that
+     * render new queries against the table are not applied.
+     *
+     * @return the SQL table reference
+     *
+     * @since 3.0.12
+     */
+    Optional<String> getSqlTableReference();
+
+    /**
+     * Returns a Function that will map a Field to a function that reads the
+     * value of the field from the first column of a {@code ResultSet} and
+     * converts it to the Java type of the field. If the field can not be read
+     * directly from a {@code ResultSet}, an empty Optional is returned.
+     *
+     * @return a Function that will map a Field to a column reader
+     *
+     * @since 3.0.12
+     */
+    Function<Field<ENTITY>, Optional<SqlFunction<ResultSet, Object>>> getSqlColumnReader();
+
     static <ENTITY> SqlStreamOptimizerInfo<ENTITY> of(
         final DbmsType dbmsType,
         final String sqlSelect,
@@ -104,4 +131,26 @@ public interface SqlStreamOptimizerInfo<ENTITY> {
         );
     }
 
+    static <ENTITY> SqlStreamOptimizerInfo<ENTITY> of(
+        final DbmsType dbmsType,
+        final String sqlSelect,
+        final String sqlSelectCount,
+        final BiFunction<String, List<Object>, Long> counter,
+        final Function<Field<ENTITY>, String> sqlColumnNamer,
+        final Function<Field<ENTITY>, Class<?>> sqlDatabaseTypeFunction,
+        final String sqlTableReference,
+        final Function<Field<ENTITY>, Optional<SqlFunction<ResultSet, Object>>> sqlColumnReader
+    ) {
+        return new SqlStreamOptimizerInfoImpl<>(
+            dbmsType,
+            sqlSelect,
+            sqlSelectCount,
+            counter,
+            sqlColumnNamer,
+            sqlDatabaseTypeFunction,
+            sqlTableReference,
+            sqlColumnReader
+        );
+    }
+
 }
@@ -0,0 +1,50 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.component.transaction;
+
+import com.speedment.runtime.core.exception.SpeedmentException;
+
+/**
+ * A transaction that is currently running on a particular thread. It can be
+ * used to commit or roll back the statements executed so far before the 
+ * action given to the {@link TransactionHandler} has returned. Any statements
+ * issued after that are part of a new transaction on the same thread.
+ *
+ * @since 3.0.12
+ */
+public interface Transaction {
+
+    /**
+     * Commits all the statements that have been executed so far.
+     * 
+     * @throws SpeedmentException     if the statements could not be committed
+     * @throws IllegalStateException  if the transaction has already ended or
+     *                                if it is called from another thread
+     */
+    void commit();
+
+    /**
+     * Rolls back all the statements that have been executed so far.
+     * 
+     * @throws SpeedmentException     if the statements could not be rolled 
+     *                                back
+     * @throws IllegalStateException  if the transaction has already ended or
+     *                                if it is called from another thread
+     */
+    void rollback();
+
+}
@@ -0,0 +1,50 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.component.transaction;
+
+import com.speedment.common.injector.annotation.InjectKey;
+import com.speedment.runtime.config.Dbms;
+
+/**
+ * A component that creates {@link TransactionHandler TransactionHandlers}
+ * that can be used to group several write operations into a single database
+ * transaction.
+ * <p>
+ * Example:
+ * <pre>{@code
+ *     txComponent.createTransactionHandler(dbms).accept(tx -> {
+ *         persons.persist(a);
+ *         persons.persist(b);
+ *         accounts.update(c);
+ *     }); // All three statements are committed here
+ * }</pre>
+ *
+ * @since 3.0.12
+ */
+@InjectKey(TransactionComponent.class)
+public interface TransactionComponent {
+
+    /**
+     * Creates a new handler that runs transactions against the specified
+     * dbms. The handler is stateless and can be reused from several threads.
+     *
+     * @param dbms  the dbms to run transactions against
+     * @return      the new handler
+     */
+    TransactionHandler createTransactionHandler(Dbms dbms);
+
+}
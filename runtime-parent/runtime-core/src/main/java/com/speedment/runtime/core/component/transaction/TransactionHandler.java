@@ -0,0 +1,82 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.component.transaction;
+
+import com.speedment.runtime.core.exception.SpeedmentException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Runs actions within a transaction on a particular dbms. A connection is
+ * taken from the pool when the transaction begins. Every insert, update and
+ * delete issued by a manager on the current thread while the action is 
+ * running, including batched writes, is executed immediately on that 
+ * connection. When the action returns, the connection is committed once.
+ * <p>
+ * Generated keys are given to the persisted entities as soon as they have
+ * been inserted. The entities written are marked as clean and removed from
+ * the entity cache only once the transaction has been committed. If the
+ * transaction is rolled back, they keep their dirty fields. Reads performed
+ * within the action use connections of their own and do not see the writes
+ * of the same transaction.
+ * <p>
+ * A transaction that fails is not retried, since the action has already been
+ * run. Transactions can not be nested. 
+ *
+ * @since 3.0.12
+ */
+public interface TransactionHandler {
+
+    /**
+     * Runs the specified action within a new transaction and returns its
+     * result. If the action completes normally, any statements that have not
+     * yet been committed or rolled back are committed. If the action throws 
+     * an exception, the statements are rolled back and the exception is 
+     * rethrown.
+     *
+     * @param <R>     the result type
+     * @param action  the action to run
+     * @return        the result of the action
+     * 
+     * @throws SpeedmentException     if the transaction could not be begun
+     *                                or committed
+     * @throws IllegalStateException  if the current thread is already running
+     *                                a transaction
+     */
+    <R> R apply(Function<? super Transaction, ? extends R> action);
+
+    /**
+     * Runs the specified action within a new transaction. If the action 
+     * completes normally, any statements that have not yet been committed or 
+     * rolled back are committed. If the action throws an exception, the 
+     * statements are rolled back and the exception is rethrown.
+     *
+     * @param action  the action to run
+     * 
+     * @throws SpeedmentException     if the transaction could not be begun
+     *                                or committed
+     * @throws IllegalStateException  if the current thread is already running
+     *                                a transaction
+     */
+    default void accept(Consumer<? super Transaction> action) {
+        apply(tx -> {
+            action.accept(tx);
+            return null;
+        });
+    }
+
+}
@@ -16,8 +16,12 @@
  */
 package com.speedment.runtime.core.db;
 
+import com.speedment.runtime.core.internal.stream.reactive.StreamPublisher;
+import com.speedment.runtime.core.stream.reactive.Publisher;
+
 import java.sql.ResultSet;
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.stream.Stream;
 
 /**
@@ -29,6 +33,42 @@ public interface AsynchronousQueryResult<T> extends AutoCloseable {
 
     Stream<T> stream();
 
+    /**
+     * Returns a {@link Publisher} that executes the query when the first
+     * element is requested and then reads rows from the open 
+     * {@code ResultSet} only as they are requested. This result is closed 
+     * when all rows have been published, if the query fails or if the 
+     * subscription is cancelled.
+     * <p>
+     * Since the result only holds one {@code ResultSet} at a time, the 
+     * returned publisher may only have one active subscription at a time.
+     * <p>
+     * Rows are delivered in the thread that calls {@code request(n)}.
+     *
+     * @return  a publisher of the mapped rows
+     *
+     * @since 3.0.12
+     */
+    default Publisher<T> publisher() {
+        return publisher(Runnable::run);
+    }
+
+    /**
+     * Returns a {@link Publisher} that works like {@link #publisher()}, except
+     * that rows are delivered using the specified executor.
+     *
+     * @param executor  the executor to deliver rows with
+     * @return          a publisher of the mapped rows
+     *
+     * @since 3.0.12
+     */
+    default Publisher<T> publisher(Executor executor) {
+        return new StreamPublisher<>(
+            () -> stream().onClose(this::close), 
+            executor
+        );
+    }
+
     @Override
     void close();
 
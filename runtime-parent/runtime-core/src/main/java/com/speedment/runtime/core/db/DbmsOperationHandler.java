@@ -18,6 +18,7 @@ package com.speedment.runtime.core.db;
 
 import com.speedment.runtime.config.Dbms;
 import com.speedment.runtime.core.internal.manager.sql.SqlInsertStatement;
+import com.speedment.runtime.core.internal.manager.sql.SqlStatement;
 import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
 import com.speedment.runtime.field.Field;
 import java.sql.*;
@@ -82,6 +83,47 @@ public interface DbmsOperationHandler {
         SqlFunction<ResultSet, T> rsMapper
     );
 
+    /**
+     * Lazily executes a SQL query and subsequently maps each row in the
+     * {@link ResultSet} using a provided mapper and return a stream of the
+     * mapped objects. In contrast to
+     * {@link #executeQuery(Dbms, String, List, SqlFunction)}, the
+     * {@code ResultSet} is not buffered. Instead, rows are mapped as they are
+     * consumed from an open database cursor so that memory consumption remains
+     * constant regardless of the size of the result.
+     * <p>
+     * The {@code ResultSet}, {@code Statement} and {@code Connection} are
+     * closed automatically when a terminal operation has been invoked on the
+     * returned stream or when the stream is explicitly closed. Because of
+     * this, the {@link Stream#iterator()} and {@link Stream#spliterator()}
+     * methods of the returned stream will throw an
+     * {@link UnsupportedOperationException}.
+     * <p>
+     * The default implementation delegates to 
+     * {@link #executeQuery(Dbms, String, List, SqlFunction)} so that existing 
+     * implementations of this interface keep working, but then the result is
+     * buffered.
+     *
+     * @param <T> the type of the objects in the stream to return
+     * @param dbms the dbms to send it to
+     * @param sql the non-null SQL command to execute
+     * @param values non-null values to use for "?" parameters in the sql
+     * command
+     * @param rsMapper the non-null mapper to use when iterating over the
+     * {@link ResultSet}
+     * @return a lazily evaluated stream of the mapped objects
+     *
+     * @since 3.0.12
+     */
+    default <T> Stream<T> executeQueryLazily(
+        Dbms dbms,
+        String sql,
+        List<?> values,
+        SqlFunction<ResultSet, T> rsMapper
+    ) {
+        return executeQuery(dbms, sql, values, rsMapper);
+    }
+
     /**
      * Lazily Executes a SQL query and subsequently maps each row in the
      * {@link ResultSet} using a provided mapper and return a stream of the
@@ -151,6 +193,108 @@ public interface DbmsOperationHandler {
      */
     void executeDelete(Dbms dbms, String sql, List<?> values) throws SQLException;
 
+    /**
+     * Executes a stream of SQL insert, update or delete statements using JDBC
+     * batching. Consecutive statements that share the same SQL command are
+     * sent to the database using a single {@link PreparedStatement} and the
+     * {@link PreparedStatement#addBatch()} and
+     * {@link PreparedStatement#executeBatch()} methods. Each batch is executed
+     * in its own transaction that is committed once the batch has completed,
+     * so if an exception is thrown, batches that have already been committed 
+     * will remain in the database. The stream of statements is closed when 
+     * this method returns.
+     * <p>
+     * Generated key(s) following insert statements are fed to the consumer of
+     * the respective {@link SqlInsertStatement} once its batch has been
+     * committed. The driver must return exactly one generated key for every 
+     * insert statement with generated columns in a batch, or the batch is 
+     * rolled back and an {@code SQLException} is thrown.
+     *
+     * @param dbms the dbms to send it to
+     * @param sqlStatements the non-null statements to execute
+     * @param batchSize the maximum number of statements to send in each batch
+     * @throws SQLException if an error occurs
+     * @throws IllegalArgumentException if the batch size is less than one
+     *
+     * @since 3.0.12
+     */
+    void executeBatch(
+        Dbms dbms,
+        Stream<? extends SqlStatement> sqlStatements,
+        int batchSize
+    ) throws SQLException;
+
+    /**
+     * Begins a transaction on the specified dbms for the current thread. A
+     * connection is taken from the pool and its auto-commit mode is turned
+     * off. Until the transaction is ended using {@link #commitTransaction(Dbms)}
+     * or {@link #rollbackTransaction(Dbms)}, every insert, update and delete
+     * issued for the dbms by the current thread, including batches, is
+     * executed immediately on that connection without being committed.
+     * Generated keys are fed to their consumers as soon as the statement has
+     * been executed.
+     * <p>
+     * Queries are not part of the transaction. They use connections of their
+     * own and do not see the uncommitted changes.
+     *
+     * @param dbms the dbms to begin a transaction on
+     * @throws SQLException if a connection could not be obtained
+     * @throws IllegalStateException if the current thread has already begun
+     * a transaction
+     *
+     * @since 3.0.12
+     */
+    void beginTransaction(Dbms dbms) throws SQLException;
+
+    /**
+     * Commits the transaction that the current thread has begun on the
+     * specified dbms and returns its connection to the pool. The actions
+     * registered using {@link #afterCommit(Dbms, Runnable)} are then run. If
+     * the commit fails, the transaction is rolled back instead. It is not
+     * retried since the statements have already been executed. The current
+     * thread is no longer running a transaction after this method returns,
+     * whether it was successful or not.
+     *
+     * @param dbms the dbms that the transaction was begun on
+     * @throws SQLException if the transaction could not be committed
+     * @throws IllegalStateException if the current thread has not begun a
+     * transaction on the specified dbms
+     *
+     * @since 3.0.12
+     */
+    void commitTransaction(Dbms dbms) throws SQLException;
+
+    /**
+     * Rolls back the transaction that the current thread has begun on the
+     * specified dbms and returns its connection to the pool. The actions
+     * registered using {@link #afterCommit(Dbms, Runnable)} are discarded.
+     * The current thread is no longer running a transaction after this
+     * method returns, whether it was successful or not.
+     *
+     * @param dbms the dbms that the transaction was begun on
+     * @throws SQLException if the transaction could not be rolled back
+     * @throws IllegalStateException if the current thread has not begun a
+     * transaction on the specified dbms
+     *
+     * @since 3.0.12
+     */
+    void rollbackTransaction(Dbms dbms) throws SQLException;
+
+    /**
+     * Runs the specified action once the changes made by the current thread
+     * on the specified dbms have been committed. If the current thread is
+     * running a transaction on the dbms, the action is run after a successful
+     * {@link #commitTransaction(Dbms)} and discarded if the transaction is
+     * rolled back. Otherwise every statement is committed by itself, so the
+     * action is run immediately.
+     *
+     * @param dbms the dbms that the changes were made on
+     * @param action the action to run
+     *
+     * @since 3.0.12
+     */
+    void afterCommit(Dbms dbms, Runnable action);
+
     /**
      * Constructs an object that implements the <code>Clob</code> interface. The
      * object returned initially contains no data. The
@@ -294,4 +294,34 @@ public interface DbmsType {
      */
     SortByNullOrderInsertion getSortByNullOrderInsertion();
 
+    /**
+     * The upsert syntax supported by the database, used to insert a row or 
+     * update the existing row with the same primary key in a single statement.
+     */
+    enum UpsertSupport {
+        /*
+        * INSERT INTO t (a, b) VALUES (?, ?) ON DUPLICATE KEY UPDATE b = VALUES(b)
+         */
+        ON_DUPLICATE_KEY_UPDATE,
+        /*
+        * INSERT INTO t (a, b) VALUES (?, ?) ON CONFLICT (a) DO UPDATE SET b = EXCLUDED.b
+         */
+        ON_CONFLICT,
+        /*
+        * MERGE INTO t (a, b) KEY (a) VALUES (?, ?)
+         */
+        MERGE,
+        /*
+        * Upserts are not supported
+         */
+        NONE;
+    }
+
+    /**
+     * Returns the UpsertSupport mode for this database type.
+     *
+     * @return the UpsertSupport mode for this database type
+     */
+    UpsertSupport getUpsertSupport();
+
 }
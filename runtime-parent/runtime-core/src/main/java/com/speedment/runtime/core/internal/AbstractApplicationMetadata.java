@@ -22,11 +22,18 @@ import com.speedment.runtime.config.internal.ProjectImpl;
 import com.speedment.runtime.config.trait.HasName;
 import com.speedment.runtime.config.util.DocumentTranscoder;
 import com.speedment.runtime.core.ApplicationMetadata;
+import com.speedment.runtime.core.internal.util.LazyList;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static java.util.Arrays.asList;
 
 /**
  *
@@ -46,8 +53,31 @@ public abstract class AbstractApplicationMetadata implements ApplicationMetadata
      */
     protected abstract Optional<String> getMetadata();
     
+    /**
+     * Returns the meta data as an already built tree of documents that shall
+     * be used as the data of the complete Project meta data. If this is
+     * present, it takes precedence over {@link #getMetadata()} and no JSON
+     * has to be parsed at startup. The default implementation returns an
+     * empty optional.
+     * 
+     * @return  the precompiled meta data or empty if none exists
+     * @since   3.0.12
+     */
+    protected Optional<Map<String, Object>> getPrecompiledMetadata() {
+        return Optional.empty();
+    }
+    
     @Override
     public Project makeProject() {
+        final Optional<Map<String, Object>> precompiled = getPrecompiledMetadata();
+        if (precompiled.isPresent()) {
+            final Map<String, Object> data = precompiled.get();
+            if (!data.containsKey(Project.APP_ID)) {
+                data.put(Project.APP_ID, UUID.randomUUID().toString());
+            }
+            return new ProjectImpl(data);
+        }
+        
         return getMetadata().map(json -> DocumentTranscoder.load(json, this::fromJson)).orElseGet(() -> {
             final Map<String, Object> data = new ConcurrentHashMap<>();
             data.put(HasName.NAME, "Project");
@@ -62,4 +92,46 @@ public abstract class AbstractApplicationMetadata implements ApplicationMetadata
             (Map<String, Object>) Json.fromJson(json);
         return parsed;
     }
-}
\ No newline at end of file
+    
+    /**
+     * Creates a new mutable document data map from the specified alternating
+     * keys and values. This is used by precompiled meta data classes.
+     * 
+     * @param keysAndValues  alternating {@code String} keys and values
+     * @return               the document data
+     * @since                3.0.12
+     */
+    protected static Map<String, Object> document(Object... keysAndValues) {
+        final Map<String, Object> data = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            data.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return data;
+    }
+    
+    /**
+     * Creates a new mutable list of the specified values. This is used by 
+     * precompiled meta data classes.
+     * 
+     * @param values  the values
+     * @return        the list
+     * @since         3.0.12
+     */
+    protected static List<Object> list(Object... values) {
+        return new ArrayList<>(asList(values));
+    }
+    
+    /**
+     * Creates a list of child documents that is not built until it is first 
+     * accessed. This is used by precompiled meta data classes so that the 
+     * cost of building the columns, indexes and foreign keys of a table is
+     * only paid by the tables that are used.
+     * 
+     * @param supplier  the supplier of the list
+     * @return          the lazy list
+     * @since           3.0.12
+     */
+    protected static List<Object> lazyList(Supplier<List<Object>> supplier) {
+        return LazyList.of(supplier);
+    }
+}
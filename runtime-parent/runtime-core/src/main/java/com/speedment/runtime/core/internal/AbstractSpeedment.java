@@ -20,14 +20,17 @@ import com.speedment.common.injector.InjectBundle;
 import com.speedment.common.injector.Injector;
 import com.speedment.common.injector.annotation.Inject;
 import com.speedment.runtime.core.Speedment;
+import com.speedment.runtime.core.component.AsyncExecutorComponent;
 import com.speedment.runtime.core.component.StreamSupplierComponent;
 import com.speedment.runtime.core.exception.SpeedmentException;
 import com.speedment.runtime.core.internal.component.*;
+import com.speedment.runtime.core.internal.component.cache.EntityCacheComponentImpl;
 import com.speedment.runtime.core.internal.component.resultset.ResultSetMapperComponentImpl;
 import com.speedment.runtime.core.internal.component.sql.SqlPersistanceComponentImpl;
 import com.speedment.runtime.core.internal.component.sql.SqlStreamOptimizerComponentImpl;
 import com.speedment.runtime.core.internal.component.sql.SqlStreamSupplierComponentImpl;
 import com.speedment.runtime.core.internal.component.sql.override.SqlStreamTerminatorComponentImpl;
+import com.speedment.runtime.core.internal.component.transaction.TransactionComponentImpl;
 import com.speedment.runtime.core.internal.db.StandardDbmsTypes;
 import com.speedment.runtime.core.internal.manager.ManagerConfiguratorImpl;
 import com.speedment.runtime.core.manager.Manager;
@@ -46,8 +49,10 @@ public abstract class AbstractSpeedment implements Speedment {
     public static InjectBundle include() {
         return InjectBundle.of(
             InfoComponentImpl.class,
+            AsyncExecutorComponentImpl.class,
             ConnectionPoolComponentImpl.class,
             DbmsHandlerComponentImpl.class,
+            EntityCacheComponentImpl.class,
             EntityManagerImpl.class,
             ManagerComponentImpl.class,
             PasswordComponentImpl.class,
@@ -59,7 +64,8 @@ public abstract class AbstractSpeedment implements Speedment {
             StatisticsReporterComponentImpl.class,
             StatisticsReporterSchedulerComponentImpl.class,
             SqlStreamOptimizerComponentImpl.class,
-            SqlStreamTerminatorComponentImpl.class
+            SqlStreamTerminatorComponentImpl.class,
+            TransactionComponentImpl.class
         );
     }
 
@@ -87,7 +93,11 @@ public abstract class AbstractSpeedment implements Speedment {
     @Override
     public <ENTITY> ManagerConfigurator<ENTITY> configure(Class<? extends Manager<ENTITY>> managerClass) {
         requireNonNull(managerClass);
-        return new ManagerConfiguratorImpl<>(getOrThrow(StreamSupplierComponent.class), getOrThrow(managerClass));
+        return new ManagerConfiguratorImpl<>(
+            getOrThrow(StreamSupplierComponent.class),
+            getOrThrow(AsyncExecutorComponent.class),
+            getOrThrow(managerClass)
+        );
     }
 
     @Override
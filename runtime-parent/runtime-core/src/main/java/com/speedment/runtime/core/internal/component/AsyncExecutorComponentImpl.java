@@ -0,0 +1,166 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component;
+
+import com.speedment.common.injector.State;
+import com.speedment.common.injector.annotation.Config;
+import com.speedment.common.injector.annotation.ExecuteBefore;
+import com.speedment.common.injector.annotation.Inject;
+import com.speedment.runtime.core.component.AsyncExecutorComponent;
+import com.speedment.runtime.core.component.connectionpool.ConnectionPoolComponent;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Default implementation of the {@link AsyncExecutorComponent}-interface. The
+ * thread pool is created the first time it is used and its threads are 
+ * terminated when they have been idle for a minute.
+ *
+ * @since 3.0.12
+ */
+public final class AsyncExecutorComponentImpl implements AsyncExecutorComponent {
+
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    @Config(name = "async.threads", value = "0")
+    private int threads;
+    @Config(name = "async.queueSize", value = "1024")
+    private int queueSize;
+
+    @Inject
+    private ConnectionPoolComponent connectionPoolComponent;
+
+    private final LongAdder rejected;
+    private final Executor executor;
+    private volatile ThreadPoolExecutor pool;
+
+    public AsyncExecutorComponentImpl() {
+        this.rejected = new LongAdder();
+        this.executor = command -> {
+            try {
+                pool().execute(command);
+            } catch (final RejectedExecutionException ex) {
+                rejected.increment();
+                throw ex;
+            }
+        };
+    }
+
+    @ExecuteBefore(State.STOPPED)
+    void stopPool() {
+        final ThreadPoolExecutor p = pool;
+        if (p != null) {
+            p.shutdown();
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier) {
+        requireNonNull(supplier);
+        try {
+            return CompletableFuture.supplyAsync(supplier, executor);
+        } catch (final RejectedExecutionException ex) {
+            final CompletableFuture<T> future = new CompletableFuture<>();
+            future.completeExceptionally(ex);
+            return future;
+        }
+    }
+
+    @Override
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    @Override
+    public int getMaxThreads() {
+        return pool().getMaximumPoolSize();
+    }
+
+    @Override
+    public int getQueueCapacity() {
+        final ThreadPoolExecutor p = pool();
+        return p.getQueue().size() + p.getQueue().remainingCapacity();
+    }
+
+    @Override
+    public int getQueueSize() {
+        final ThreadPoolExecutor p = pool;
+        return p == null ? 0 : p.getQueue().size();
+    }
+
+    @Override
+    public int getActiveCount() {
+        final ThreadPoolExecutor p = pool;
+        return p == null ? 0 : p.getActiveCount();
+    }
+
+    @Override
+    public long getCompletedTaskCount() {
+        final ThreadPoolExecutor p = pool;
+        return p == null ? 0 : p.getCompletedTaskCount();
+    }
+
+    @Override
+    public long getRejectedTaskCount() {
+        return rejected.sum();
+    }
+
+    private ThreadPoolExecutor pool() {
+        ThreadPoolExecutor p = pool;
+        if (p == null) {
+            synchronized (this) {
+                p = pool;
+                if (p == null) {
+                    pool = p = createPool();
+                }
+            }
+        }
+        return p;
+    }
+
+    private ThreadPoolExecutor createPool() {
+        final int size = threads > 0 ? threads : defaultThreads();
+        final AtomicInteger threadNumber = new AtomicInteger();
+        final ThreadPoolExecutor p = new ThreadPoolExecutor(
+            size, size, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, queueSize)),
+            r -> {
+                final Thread t = new Thread(r, "speedment-async-" + threadNumber.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            }
+        );
+        p.allowCoreThreadTimeOut(true);
+        return p;
+    }
+
+    private int defaultThreads() {
+        // There is no point in running more operations than there are connections
+        final int maxTotal = connectionPoolComponent == null ? 0 : connectionPoolComponent.getMaxTotal();
+        return maxTotal > 0 ? maxTotal : Runtime.getRuntime().availableProcessors();
+    }
+}
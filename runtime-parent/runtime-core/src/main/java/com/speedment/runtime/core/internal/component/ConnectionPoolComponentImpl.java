@@ -16,7 +16,9 @@
  */
 package com.speedment.runtime.core.internal.component;
 
+import com.speedment.common.injector.State;
 import com.speedment.common.injector.annotation.Config;
+import com.speedment.common.injector.annotation.ExecuteBefore;
 import com.speedment.common.injector.annotation.Inject;
 import com.speedment.common.logger.Logger;
 import com.speedment.common.logger.LoggerManager;
@@ -24,6 +26,7 @@ import com.speedment.runtime.config.Dbms;
 import com.speedment.runtime.core.ApplicationBuilder;
 import com.speedment.runtime.core.component.DbmsHandlerComponent;
 import com.speedment.runtime.core.component.PasswordComponent;
+import com.speedment.runtime.core.component.ProjectComponent;
 import com.speedment.runtime.core.component.connectionpool.ConnectionPoolComponent;
 import com.speedment.runtime.core.component.connectionpool.PoolableConnection;
 import com.speedment.runtime.core.exception.SpeedmentException;
@@ -40,9 +43,22 @@ import java.util.Objects;
 import static java.util.Objects.requireNonNull;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * A fully concurrent implementation of a connection pool.
+ * <p>
+ * By default, the number of open connections is unbounded. If the
+ * {@code connectionpool.maxTotal} parameter is set, every open connection,
+ * leased or idle, holds a permit and callers will block for at most
+ * {@code connectionpool.maxWait} milliseconds when the pool is exhausted. The
+ * permit is released when the underlying connection is closed.
+ * Idle connections can be validated and topped up to
+ * {@code connectionpool.minIdle} by a background task.
  *
  * @author Per Minborg
  */
@@ -52,22 +68,45 @@ public class ConnectionPoolComponentImpl implements ConnectionPoolComponent {
         ApplicationBuilder.LogType.CONNECTION.getLoggerName()
     );
 
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+    private static final long PERMIT_POLL_MILLIS = 10;
+
     @Config(name = "connectionpool.maxAge", value = "30000")
     private long maxAge;
+    @Config(name = "connectionpool.maxTotal", value = "0")
+    private int maxTotal;
+    @Config(name = "connectionpool.maxWait", value = "30000")
+    private long maxWait;
+    @Config(name = "connectionpool.minIdle", value = "0")
+    private int minIdle;
+    @Config(name = "connectionpool.validationInterval", value = "0")
+    private long validationInterval;
     @Config(name = "connectionpool.maxRetainSize", value = "32")
     private int maxRetainSize;
+    @Config(name = "connectionpool.statementCacheSize", value = "32")
+    private int statementCacheSize;
 
     private final Map<Long, PoolableConnection> leasedConnections;
     private final Map<String, Deque<PoolableConnection>> pools;
+    private final Map<String, Semaphore> permits;
+    private final LongAdder statementCacheHits;
+    private final LongAdder statementCacheMisses;
 
     @Inject
     private DbmsHandlerComponent dbmsHandlerComponent;
     @Inject
     private PasswordComponent passwordComponent;
+    @Inject
+    private ProjectComponent projectComponent;
+
+    private ScheduledExecutorService maintenance;
 
     public ConnectionPoolComponentImpl() {
         pools = new ConcurrentHashMap<>();
+        permits = new ConcurrentHashMap<>();
         leasedConnections = new ConcurrentHashMap<>();
+        statementCacheHits = new LongAdder();
+        statementCacheMisses = new LongAdder();
     }
 
     @Override
@@ -91,17 +130,21 @@ public class ConnectionPoolComponentImpl implements ConnectionPoolComponent {
         LOGGER_CONNECTION.debug("getConnection(%s, %s, *****)", uri, user);
         final String key = makeKey(uri, user, password);
         final Deque<PoolableConnection> q = acquireDeque(key);
-        final PoolableConnection reusedConnection = pollValidOrNull(q);
+        final PoolableConnection reusedConnection = pollOrAcquirePermit(key, uri, q);
         if (reusedConnection != null) {
             LOGGER_CONNECTION.debug("Reuse Connection: %s", reusedConnection);
             return lease(reusedConnection);
-        } else {
-            final Connection newRawConnection = newConnection(uri, user, password);
-            final PoolableConnection newConnection = new PoolableConnectionImpl(uri, user, password, newRawConnection, System.currentTimeMillis() + getMaxAge());
-            newConnection.setOnClose(() -> returnConnection(newConnection));
-            LOGGER_CONNECTION.debug("New Connection: %s", newConnection);
-            return lease(newConnection);
         }
+
+        final PoolableConnection newConnection;
+        try {
+            newConnection = newPoolableConnection(uri, user, password);
+        } catch (final RuntimeException ex) {
+            releasePermit(key);
+            throw ex;
+        }
+        LOGGER_CONNECTION.debug("New Connection: %s", newConnection);
+        return lease(newConnection);
     }
 
     @Override
@@ -136,7 +179,12 @@ public class ConnectionPoolComponentImpl implements ConnectionPoolComponent {
     @Override
     public void returnConnection(PoolableConnection connection) {
         requireNonNull(connection);
-        leaseReturn(connection);
+        if (leaseReturn(connection) == null) {
+            LOGGER_CONNECTION.debug("Not leased: %s", connection);
+            return;
+        }
+        // The permit stays with the connection while it is idle and is only
+        // released if the connection is discarded.
         if (!isValidOrNull(connection)) {
             discard(connection);
         } else {
@@ -151,6 +199,170 @@ public class ConnectionPoolComponentImpl implements ConnectionPoolComponent {
         }
     }
 
+    @ExecuteBefore(State.STARTED)
+    void startMaintenance() {
+        if (minIdle <= 0 && validationInterval <= 0) {
+            return;
+        }
+
+        final long period = validationInterval > 0 ? validationInterval : maxAge;
+        maintenance = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread t = new Thread(r, "speedment-connection-pool");
+            t.setDaemon(true);
+            return t;
+        });
+        maintenance.scheduleWithFixedDelay(
+            this::maintain, 0, Math.max(1, period), TimeUnit.MILLISECONDS
+        );
+    }
+
+    @ExecuteBefore(State.STOPPED)
+    void stopMaintenance() {
+        if (maintenance != null) {
+            maintenance.shutdownNow();
+            maintenance = null;
+        }
+    }
+
+    /**
+     * Discards idle connections that have expired or that are no longer valid
+     * and then tops up the pool of every dbms in the project to the minimum
+     * number of idle connections. This method is invoked periodically by the
+     * background maintenance task.
+     */
+    void maintain() {
+        try {
+            if (validationInterval > 0) {
+                pools.values().forEach(this::validateIdle);
+            }
+            if (minIdle > 0) {
+                projectComponent.getProject().dbmses().forEach(this::fillIdle);
+            }
+        } catch (final RuntimeException ex) {
+            // Never let an exception cancel the scheduled task
+            LOGGER_CONNECTION.error(ex, "Error while maintaining the connection pool.");
+        }
+    }
+
+    private void validateIdle(Deque<PoolableConnection> q) {
+        // Rotate through the idle connections so that each connection is
+        // owned by this thread while it is being validated.
+        for (int i = q.size(); i > 0; i--) {
+            final PoolableConnection pc = q.pollLast();
+            if (pc == null) {
+                return;
+            }
+            if (isValidOrNull(pc) && isResponsive(pc)) {
+                q.addFirst(pc);
+            } else {
+                discard(pc);
+            }
+        }
+    }
+
+    private void fillIdle(Dbms dbms) {
+        final String uri = DatabaseUtil.findConnectionUrl(dbmsHandlerComponent, dbms);
+        final String username = unwrap(dbms.getUsername());
+        final char[] password = unwrap(passwordComponent.get(dbms));
+        final String key = makeKey(uri, username, password);
+        final Deque<PoolableConnection> q = acquireDeque(key);
+        final int target = Math.min(minIdle, getMaxRetainSize());
+        while (q.size() < target && tryAcquirePermit(key)) {
+            final PoolableConnection connection;
+            try {
+                connection = newPoolableConnection(uri, username, password);
+            } catch (final RuntimeException ex) {
+                releasePermit(key);
+                throw ex;
+            }
+            LOGGER_CONNECTION.debug("Pre-warmed: %s", connection);
+            q.addFirst(connection);
+        }
+    }
+
+    private boolean isResponsive(PoolableConnection connection) {
+        try {
+            return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException sqle) {
+            LOGGER_CONNECTION.debug("Validation failed for %s: %s", connection, sqle.getMessage());
+            return false;
+        }
+    }
+
+    private PoolableConnection newPoolableConnection(String uri, String user, char[] password) {
+        final Connection newRawConnection = newConnection(uri, user, password);
+        final PoolableConnection newConnection = new PoolableConnectionImpl(
+            uri, user, password, newRawConnection,
+            System.currentTimeMillis() + getMaxAge(),
+            statementCacheSize, statementCacheHits, statementCacheMisses
+        );
+        newConnection.setOnClose(() -> returnConnection(newConnection));
+        return newConnection;
+    }
+
+    /**
+     * Polls a valid idle connection from the specified queue or, if there is
+     * none, acquires a permit to open a new connection. If the pool is
+     * exhausted, this method blocks until a connection is returned to the
+     * queue, a permit is released or the maximum wait time has elapsed.
+     *
+     * @param key  the pool key
+     * @param uri  the connection uri, used in error messages
+     * @param q    the queue of idle connections for the key
+     * @return     an idle connection or {@code null} if a permit to open a
+     *             new connection was acquired instead
+     */
+    private PoolableConnection pollOrAcquirePermit(
+            String key, String uri, Deque<PoolableConnection> q) {
+
+        final PoolableConnection idle = pollValidOrNull(q);
+        if (idle != null || maxTotal <= 0) {
+            return idle;
+        }
+
+        final Semaphore semaphore = permits.computeIfAbsent(key, $ -> new Semaphore(maxTotal, true));
+        final long deadline = System.currentTimeMillis() + maxWait;
+        try {
+            while (true) {
+                // Idle connections hold on to their permits, so the queue has
+                // to be checked again while waiting for a permit.
+                if (semaphore.tryAcquire(PERMIT_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return null;
+                }
+                final PoolableConnection returned = pollValidOrNull(q);
+                if (returned != null) {
+                    return returned;
+                }
+                if (maxWait > 0 && System.currentTimeMillis() >= deadline) {
+                    throw new SpeedmentException(
+                        "Timed out after " + maxWait + " ms waiting for a connection to \""
+                        + uri + "\". All " + maxTotal + " connections are in use."
+                    );
+                }
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SpeedmentException(
+                "Interrupted while waiting for a connection to \"" + uri + "\".", ex
+            );
+        }
+    }
+
+    private boolean tryAcquirePermit(String key) {
+        if (maxTotal <= 0) {
+            return true;
+        }
+        return permits.computeIfAbsent(key, $ -> new Semaphore(maxTotal, true))
+            .tryAcquire();
+    }
+
+    private void releasePermit(String key) {
+        final Semaphore semaphore = permits.get(key);
+        if (semaphore != null) {
+            semaphore.release();
+        }
+    }
+
     private String charsToString(char[] chars) {
         return chars == null ? null : new String(chars);
     }
@@ -162,6 +374,8 @@ public class ConnectionPoolComponentImpl implements ConnectionPoolComponent {
             connection.rawClose();
         } catch (SQLException sqle) {
             LOGGER_CONNECTION.error(sqle, "Error closing a connection.");
+        } finally {
+            releasePermit(makeKey(connection));
         }
     }
 
@@ -171,8 +385,7 @@ public class ConnectionPoolComponentImpl implements ConnectionPoolComponent {
     }
 
     private PoolableConnection leaseReturn(PoolableConnection poolableConnection) {
-        leasedConnections.remove(poolableConnection.getId());
-        return poolableConnection;
+        return leasedConnections.remove(poolableConnection.getId());
     }
 
     private boolean isValidOrNull(PoolableConnection connection) {
@@ -226,6 +439,36 @@ public class ConnectionPoolComponentImpl implements ConnectionPoolComponent {
         return leasedConnections.size();
     }
 
+    @Override
+    public long getStatementCacheHits() {
+        return statementCacheHits.sum();
+    }
+
+    @Override
+    public long getStatementCacheMisses() {
+        return statementCacheMisses.sum();
+    }
+
+    @Override
+    public int getMaxTotal() {
+        return maxTotal;
+    }
+
+    @Override
+    public long getMaxWait() {
+        return maxWait;
+    }
+
+    @Override
+    public int getMinIdle() {
+        return minIdle;
+    }
+
+    @Override
+    public long getValidationInterval() {
+        return validationInterval;
+    }
+
     @Override
     public long getMaxAge() {
         return maxAge;
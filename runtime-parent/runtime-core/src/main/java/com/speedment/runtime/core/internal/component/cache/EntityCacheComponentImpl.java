@@ -0,0 +1,71 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.cache;
+
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.core.component.cache.EntityCache;
+import com.speedment.runtime.core.component.cache.EntityCacheComponent;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Default implementation of the {@link EntityCacheComponent}-interface.
+ *
+ * @since 3.0.12
+ */
+public final class EntityCacheComponentImpl implements EntityCacheComponent {
+
+    private final Map<TableIdentifier<?>, EntityCache<?>> caches;
+
+    public EntityCacheComponentImpl() {
+        this.caches = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public <ENTITY> EntityCache<ENTITY> enable(TableIdentifier<ENTITY> tableIdentifier, int maxSize) {
+        return enable(tableIdentifier, maxSize, EntityCacheImpl.NO_EXPIRY);
+    }
+
+    @Override
+    public <ENTITY> EntityCache<ENTITY> enable(TableIdentifier<ENTITY> tableIdentifier, int maxSize, Duration timeToLive) {
+        requireNonNull(timeToLive);
+        return enable(tableIdentifier, maxSize, timeToLive.toNanos());
+    }
+
+    @Override
+    public void disable(TableIdentifier<?> tableIdentifier) {
+        caches.remove(requireNonNull(tableIdentifier));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <ENTITY> Optional<EntityCache<ENTITY>> get(TableIdentifier<ENTITY> tableIdentifier) {
+        return Optional.ofNullable((EntityCache<ENTITY>) caches.get(tableIdentifier));
+    }
+
+    private <ENTITY> EntityCache<ENTITY> enable(TableIdentifier<ENTITY> tableIdentifier, int maxSize, long timeToLiveNanos) {
+        requireNonNull(tableIdentifier);
+        final EntityCache<ENTITY> cache = new EntityCacheImpl<>(maxSize, timeToLiveNanos, System::nanoTime);
+        caches.put(tableIdentifier, cache);
+        return cache;
+    }
+}
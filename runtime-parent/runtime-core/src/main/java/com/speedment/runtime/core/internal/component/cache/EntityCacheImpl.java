@@ -0,0 +1,165 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.cache;
+
+import com.speedment.runtime.core.component.cache.EntityCache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Default implementation of the {@link EntityCache}-interface. Entities are
+ * kept in access order so that the least recently used entity is evicted
+ * first.
+ *
+ * @param <ENTITY>  the entity type
+ *
+ * @since 3.0.12
+ */
+final class EntityCacheImpl<ENTITY> implements EntityCache<ENTITY> {
+
+    /**
+     * Time to live used for entities that never expire.
+     */
+    static final long NO_EXPIRY = Long.MAX_VALUE;
+
+    private final int maxSize;
+    private final long timeToLiveNanos;
+    private final LongSupplier nanoTime;
+    private final Map<Object, Entry<ENTITY>> entries;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+
+    EntityCacheImpl(int maxSize, long timeToLiveNanos, LongSupplier nanoTime) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("The maximum size must be positive, was " + maxSize + ".");
+        }
+        if (timeToLiveNanos <= 0) {
+            throw new IllegalArgumentException("The time to live must be positive, was " + timeToLiveNanos + " ns.");
+        }
+        this.maxSize         = maxSize;
+        this.timeToLiveNanos = timeToLiveNanos;
+        this.nanoTime        = nanoTime;
+        this.entries         = new LinkedHashMap<>(16, 0.75f, true);
+        this.hits            = new LongAdder();
+        this.misses          = new LongAdder();
+        this.evictions       = new LongAdder();
+    }
+
+    @Override
+    public Optional<ENTITY> get(Object primaryKey) {
+        if (primaryKey != null) {
+            synchronized (entries) {
+                final Entry<ENTITY> entry = entries.get(primaryKey);
+                if (entry != null) {
+                    if (entry.isAlive(nanoTime.getAsLong())) {
+                        hits.increment();
+                        return Optional.of(entry.entity);
+                    }
+                    entries.remove(primaryKey);
+                    evictions.increment();
+                }
+            }
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    @Override
+    public void put(Object primaryKey, ENTITY entity) {
+        if (primaryKey == null || entity == null) {
+            return;
+        }
+        final long now = nanoTime.getAsLong();
+        final long expires = timeToLiveNanos == NO_EXPIRY ? NO_EXPIRY : now + timeToLiveNanos;
+        synchronized (entries) {
+            entries.put(primaryKey, new Entry<>(entity, expires));
+            final Iterator<Entry<ENTITY>> it = entries.values().iterator();
+            while (entries.size() > maxSize && it.hasNext()) {
+                it.next();
+                it.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    @Override
+    public void invalidate(Object primaryKey) {
+        if (primaryKey != null) {
+            synchronized (entries) {
+                entries.remove(primaryKey);
+            }
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    @Override
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "{size=" + size()
+            + ", hits=" + getHits()
+            + ", misses=" + getMisses()
+            + ", evictions=" + getEvictions() + "}";
+    }
+
+    private static final class Entry<ENTITY> {
+
+        private final ENTITY entity;
+        private final long expires;
+
+        private Entry(ENTITY entity, long expires) {
+            this.entity  = entity;
+            this.expires = expires;
+        }
+
+        private boolean isAlive(long now) {
+            return expires == NO_EXPIRY || now - expires < 0;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.snapshot;
+
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.field.predicate.FieldPredicate;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link SnapshotColumn} that stores the values of a field as codes into a
+ * dictionary of the distinct values of the column. This is used for strings
+ * and every other type that has no primitive column of its own. A
+ * {@code null} value is stored as an entry in the dictionary.
+ * <p>
+ * Any predicate on the field is evaluated by testing it once for every
+ * distinct value on a probe entity and then selecting the rows with a
+ * matching code.
+ *
+ * @param <ENTITY>  the entity type
+ *
+ * @since 3.0.12
+ */
+final class DictionarySnapshotColumn<ENTITY> implements SnapshotColumn<ENTITY> {
+
+    private final Field<ENTITY> field;
+    private final Supplier<ENTITY> probeFactory;
+    private final Object[] dictionary;
+    private final int[] codes;
+
+    DictionarySnapshotColumn(Field<ENTITY> field, List<ENTITY> rows, Supplier<ENTITY> probeFactory) {
+        this.field        = requireNonNull(field);
+        this.probeFactory = requireNonNull(probeFactory);
+        this.codes        = new int[rows.size()];
+
+        final Map<Object, Integer> codeMap = new HashMap<>();
+        for (int i = 0; i < codes.length; i++) {
+            final Object value = field.getter().apply(rows.get(i));
+            final Integer code = codeMap.get(value);
+            if (code == null) {
+                codes[i] = codeMap.size();
+                codeMap.put(value, codes[i]);
+            } else {
+                codes[i] = code;
+            }
+        }
+
+        this.dictionary = new Object[codeMap.size()];
+        codeMap.forEach((value, code) -> dictionary[code] = value);
+    }
+
+    @Override
+    public Field<ENTITY> getField() {
+        return field;
+    }
+
+    @Override
+    public void set(ENTITY entity, int row) {
+        field.setter().set(entity, dictionary[codes[row]]);
+    }
+
+    @Override
+    public boolean retain(FieldPredicate<ENTITY> predicate, BitSet rows) {
+        if (dictionary.length == 0) {
+            return true; // There are no rows
+        }
+
+        final ENTITY probe = probeFactory.get();
+        final boolean[] matches = new boolean[dictionary.length];
+        for (int code = 0; code < dictionary.length; code++) {
+            field.setter().set(probe, dictionary[code]);
+            matches[code] = predicate.test(probe);
+        }
+
+        for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+            if (!matches[codes[row]]) {
+                rows.clear(row);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of distinct values in this column.
+     *
+     * @return  the dictionary size
+     */
+    int getDictionarySize() {
+        return dictionary.length;
+    }
+}
@@ -0,0 +1,170 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.snapshot;
+
+import com.speedment.common.tuple.Tuple;
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.field.internal.predicate.BetweenPredicate;
+import com.speedment.runtime.field.predicate.FieldPredicate;
+import com.speedment.runtime.field.predicate.Inclusion;
+import com.speedment.runtime.field.predicate.PredicateType;
+import com.speedment.runtime.field.trait.HasDoubleValue;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.DoublePredicate;
+
+import static com.speedment.runtime.field.internal.util.PrimitiveSetUtil.contains;
+import static com.speedment.runtime.field.internal.util.PrimitiveSetUtil.toDoubleArray;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link SnapshotColumn} that stores the values of a {@code double} field in
+ * an array. Comparison, {@code between} and {@code in} predicates are
+ * evaluated directly on the array.
+ *
+ * @param <ENTITY>  the entity type
+ *
+ * @since 3.0.12
+ */
+final class DoubleSnapshotColumn<ENTITY> implements SnapshotColumn<ENTITY> {
+
+    private final HasDoubleValue<ENTITY, ?> field;
+    private final double[] values;
+
+    DoubleSnapshotColumn(HasDoubleValue<ENTITY, ?> field, List<ENTITY> rows) {
+        this.field  = requireNonNull(field);
+        this.values = new double[rows.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = field.getAsDouble(rows.get(i));
+        }
+    }
+
+    @Override
+    public Field<ENTITY> getField() {
+        return field;
+    }
+
+    @Override
+    public void set(ENTITY entity, int row) {
+        field.set(entity, values[row]);
+    }
+
+    @Override
+    public boolean retain(FieldPredicate<ENTITY> predicate, BitSet rows) {
+        final DoublePredicate test = test(predicate);
+        if (test == null) {
+            return false;
+        }
+        for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+            if (!test.test(values[row])) {
+                rows.clear(row);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a predicate on the column value that is equivalent to the
+     * specified field predicate, or {@code null} if there is none.
+     *
+     * @param predicate  the field predicate
+     * @return           the value predicate or {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    private static DoublePredicate test(FieldPredicate<?> predicate) {
+        if (!(predicate instanceof Tuple) || ((Tuple) predicate).degree() == 0) {
+            return null;
+        }
+
+        final Tuple operands = (Tuple) predicate;
+        final Object first = operands.get(0);
+        switch (predicate.getPredicateType()) {
+            case EQUAL : {
+                if (!(first instanceof Double)) return null;
+                final double value = (Double) first;
+                return x -> x == value;
+            }
+            case NOT_EQUAL : {
+                if (!(first instanceof Double)) return null;
+                final double value = (Double) first;
+                return x -> x != value;
+            }
+            case GREATER_THAN : {
+                if (!(first instanceof Double)) return null;
+                final double value = (Double) first;
+                return x -> x > value;
+            }
+            case GREATER_OR_EQUAL : {
+                if (!(first instanceof Double)) return null;
+                final double value = (Double) first;
+                return x -> x >= value;
+            }
+            case LESS_THAN : {
+                if (!(first instanceof Double)) return null;
+                final double value = (Double) first;
+                return x -> x < value;
+            }
+            case LESS_OR_EQUAL : {
+                if (!(first instanceof Double)) return null;
+                final double value = (Double) first;
+                return x -> x <= value;
+            }
+            case BETWEEN : case NOT_BETWEEN : {
+                if (!(predicate instanceof BetweenPredicate) || operands.degree() < 2 
+                    || !(first instanceof Double) || !(operands.get(1) instanceof Double)) {
+                    return null;
+                }
+                final double start = (Double) first;
+                final double end   = (Double) operands.get(1);
+                final Inclusion inclusion = ((BetweenPredicate) predicate).getInclusion();
+                return predicate.getPredicateType() == PredicateType.BETWEEN
+                    ? between(start, end, inclusion)
+                    : notBetween(start, end, inclusion);
+            }
+            case IN : case NOT_IN : {
+                if (!(first instanceof Set)) return null;
+                final double[] array = toDoubleArray((Set<Double>) first);
+                return predicate.getPredicateType() == PredicateType.IN
+                    ? x -> contains(array, x)
+                    : x -> !contains(array, x);
+            }
+            default : return null;
+        }
+    }
+
+    private static DoublePredicate between(double start, double end, Inclusion inclusion) {
+        switch (inclusion) {
+            case START_EXCLUSIVE_END_EXCLUSIVE : return x -> start < x && end > x;
+            case START_EXCLUSIVE_END_INCLUSIVE : return x -> start < x && end >= x;
+            case START_INCLUSIVE_END_EXCLUSIVE : return x -> start <= x && end > x;
+            case START_INCLUSIVE_END_INCLUSIVE : return x -> start <= x && end >= x;
+            default : return null;
+        }
+    }
+
+    private static DoublePredicate notBetween(double start, double end, Inclusion inclusion) {
+        switch (inclusion) {
+            case START_EXCLUSIVE_END_EXCLUSIVE : return x -> start >= x || end <= x;
+            case START_EXCLUSIVE_END_INCLUSIVE : return x -> start >= x || end < x;
+            case START_INCLUSIVE_END_EXCLUSIVE : return x -> start > x || end <= x;
+            case START_INCLUSIVE_END_INCLUSIVE : return x -> start > x || end < x;
+            default : return null;
+        }
+    }
+}
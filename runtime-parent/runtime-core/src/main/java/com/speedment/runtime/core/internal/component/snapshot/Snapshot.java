@@ -0,0 +1,213 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.snapshot;
+
+import com.speedment.runtime.config.identifier.ColumnIdentifier;
+import com.speedment.runtime.core.exception.SpeedmentException;
+import com.speedment.runtime.core.manager.HasDirtyFields;
+import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.field.predicate.FieldPredicate;
+import com.speedment.runtime.field.trait.HasDoubleValue;
+import com.speedment.runtime.field.trait.HasIntValue;
+import com.speedment.runtime.field.trait.HasLongValue;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * An immutable, column oriented copy of all the rows of a table. Entities
+ * are only created for the rows that are streamed.
+ *
+ * @param <ENTITY>  the entity type
+ *
+ * @since 3.0.12
+ */
+final class Snapshot<ENTITY> {
+
+    private final int size;
+    private final Supplier<ENTITY> entityFactory;
+    private final List<SnapshotColumn<ENTITY>> columns;
+    private final Map<ColumnIdentifier<ENTITY>, SnapshotColumn<ENTITY>> columnsByIdentifier;
+
+    private Snapshot(int size, Supplier<ENTITY> entityFactory, List<SnapshotColumn<ENTITY>> columns) {
+        this.size                = size;
+        this.entityFactory       = requireNonNull(entityFactory);
+        this.columns             = unmodifiableList(columns);
+        this.columnsByIdentifier = new HashMap<>();
+        columns.forEach(c -> columnsByIdentifier.put(c.getField().identifier(), c));
+    }
+
+    /**
+     * Creates a snapshot of the specified rows. New entities are created
+     * using the public no-argument constructor of the class of the rows.
+     *
+     * @param <ENTITY>  the entity type
+     * @param fields    the fields to store
+     * @param rows      the rows to store
+     * @return          the snapshot
+     */
+    static <ENTITY> Snapshot<ENTITY> of(List<Field<ENTITY>> fields, List<ENTITY> rows) {
+        requireNonNull(fields);
+        requireNonNull(rows);
+
+        final Supplier<ENTITY> entityFactory = rows.isEmpty()
+            ? () -> { throw new IllegalStateException("An empty snapshot has no entities."); }
+            : entityFactory(rows.get(0));
+
+        final List<SnapshotColumn<ENTITY>> columns = fields.stream()
+            .map(f -> column(f, rows, entityFactory))
+            .collect(toList());
+
+        return new Snapshot<>(rows.size(), entityFactory, columns);
+    }
+
+    /**
+     * Returns the number of rows in this snapshot.
+     *
+     * @return  the number of rows
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns a new set with every row of this snapshot.
+     *
+     * @return  all rows
+     */
+    BitSet allRows() {
+        final BitSet rows = new BitSet(size);
+        rows.set(0, size);
+        return rows;
+    }
+
+    /**
+     * Clears the rows in the specified set that do not match the specified
+     * predicate. Only {@link FieldPredicate FieldPredicates} on the fields of
+     * this snapshot can be evaluated. If the predicate can not be evaluated,
+     * {@code false} is returned and the set is left unchanged.
+     *
+     * @param predicate  the predicate
+     * @param rows       the rows to test, only matching rows are retained
+     * @return           {@code true} if the predicate was evaluated
+     */
+    @SuppressWarnings("unchecked")
+    boolean retain(Predicate<?> predicate, BitSet rows) {
+        if (!(predicate instanceof FieldPredicate)) {
+            return false;
+        }
+        final FieldPredicate<ENTITY> fieldPredicate = (FieldPredicate<ENTITY>) predicate;
+        final SnapshotColumn<ENTITY> column = columnsByIdentifier.get(fieldPredicate.getField().identifier());
+        return column != null && column.retain(fieldPredicate, rows);
+    }
+
+    /**
+     * Creates a new entity with the values of the specified row.
+     *
+     * @param row  the row
+     * @return     the new entity
+     */
+    ENTITY entity(int row) {
+        final ENTITY entity = entityFactory.get();
+        for (final SnapshotColumn<ENTITY> column : columns) {
+            column.set(entity, row);
+        }
+        if (entity instanceof HasDirtyFields) {
+            ((HasDirtyFields) entity).clearDirtyFields();
+        }
+        return entity;
+    }
+
+    /**
+     * Returns a stream of new entities for the specified rows, in row order.
+     *
+     * @param rows              the rows to include
+     * @param parallelStrategy  the strategy to use if the stream is parallel
+     * @return                  the stream of entities
+     */
+    Stream<ENTITY> stream(BitSet rows, ParallelStrategy parallelStrategy) {
+        final PrimitiveIterator.OfInt it = rows.stream().iterator();
+        final Iterator<ENTITY> entities = new Iterator<ENTITY>() {
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public ENTITY next() {
+                return entity(it.nextInt());
+            }
+        };
+
+        return StreamSupport.stream(
+            parallelStrategy.spliteratorUnknownSize(entities, Spliterator.ORDERED | Spliterator.NONNULL),
+            false
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <ENTITY> SnapshotColumn<ENTITY> column(Field<ENTITY> field, List<ENTITY> rows, Supplier<ENTITY> entityFactory) {
+        if (field instanceof HasIntValue) {
+            return new IntSnapshotColumn<>((HasIntValue<ENTITY, ?>) field, rows);
+        } else if (field instanceof HasLongValue) {
+            return new LongSnapshotColumn<>((HasLongValue<ENTITY, ?>) field, rows);
+        } else if (field instanceof HasDoubleValue) {
+            return new DoubleSnapshotColumn<>((HasDoubleValue<ENTITY, ?>) field, rows);
+        } else {
+            return new DictionarySnapshotColumn<>(field, rows, entityFactory);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <ENTITY> Supplier<ENTITY> entityFactory(ENTITY prototype) {
+        final Constructor<ENTITY> constructor;
+        try {
+            constructor = (Constructor<ENTITY>) prototype.getClass().getConstructor();
+        } catch (final NoSuchMethodException ex) {
+            throw new SpeedmentException(
+                "Entity class " + prototype.getClass().getName() + 
+                " must have a public no-argument constructor to be snapshotted.", ex
+            );
+        }
+
+        return () -> {
+            try {
+                return constructor.newInstance();
+            } catch (final InstantiationException | IllegalAccessException | InvocationTargetException ex) {
+                throw new SpeedmentException(
+                    "Could not create an instance of " + constructor.getDeclaringClass().getName() + ".", ex
+                );
+            }
+        };
+    }
+}
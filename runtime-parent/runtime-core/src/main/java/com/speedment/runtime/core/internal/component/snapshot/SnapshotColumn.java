@@ -0,0 +1,60 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.snapshot;
+
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.field.predicate.FieldPredicate;
+
+import java.util.BitSet;
+
+/**
+ * One column of a {@link Snapshot}, holding the values of a field for every
+ * row of the snapshot.
+ *
+ * @param <ENTITY>  the entity type
+ *
+ * @since 3.0.12
+ */
+interface SnapshotColumn<ENTITY> {
+
+    /**
+     * Returns the field that this column holds the values of.
+     *
+     * @return  the field
+     */
+    Field<ENTITY> getField();
+
+    /**
+     * Sets the value of the specified row on the specified entity.
+     *
+     * @param entity  the entity to set the value on
+     * @param row     the row
+     */
+    void set(ENTITY entity, int row);
+
+    /**
+     * Clears the rows in the specified set that do not match the specified
+     * predicate. The predicate must be on the field of this column. If the
+     * predicate can not be evaluated by this column, {@code false} is returned
+     * and the set is left unchanged.
+     *
+     * @param predicate  the predicate on the field of this column
+     * @param rows       the rows to test, only matching rows are retained
+     * @return           {@code true} if the predicate was evaluated
+     */
+    boolean retain(FieldPredicate<ENTITY> predicate, BitSet rows);
+}
@@ -0,0 +1,200 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.snapshot;
+
+import com.speedment.common.injector.State;
+import com.speedment.common.injector.annotation.Config;
+import com.speedment.common.injector.annotation.ExecuteBefore;
+import com.speedment.common.injector.annotation.Inject;
+import com.speedment.common.logger.Logger;
+import com.speedment.common.logger.LoggerManager;
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.core.component.ManagerComponent;
+import com.speedment.runtime.core.component.snapshot.SnapshotStreamSupplierComponent;
+import com.speedment.runtime.core.component.sql.SqlStreamSupplierComponent;
+import com.speedment.runtime.core.exception.SpeedmentException;
+import com.speedment.runtime.core.internal.stream.builder.ReferenceStreamBuilder;
+import com.speedment.runtime.core.internal.stream.builder.pipeline.PipelineImpl;
+import com.speedment.runtime.core.internal.stream.reactive.StreamPublisher;
+import com.speedment.runtime.core.manager.Manager;
+import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import com.speedment.runtime.core.stream.reactive.Publisher;
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.field.trait.HasComparableOperators;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Default implementation of the {@link SnapshotStreamSupplierComponent}-
+ * interface. Snapshots are loaded using the {@link SqlStreamSupplierComponent}
+ * that is also used for the tables that are not loaded.
+ *
+ * @since 3.0.12
+ */
+public final class SnapshotStreamSupplierComponentImpl implements SnapshotStreamSupplierComponent {
+
+    private static final Logger LOGGER = LoggerManager.getLogger(SnapshotStreamSupplierComponentImpl.class);
+
+    private final Map<TableIdentifier<?>, Snapshot<?>> snapshots;
+    private ScheduledExecutorService reloader; // Nullable
+
+    @Config(name = "snapshot.reloadInterval", value = "0")
+    private long reloadInterval;
+
+    @Inject
+    private SqlStreamSupplierComponent sqlStreamSupplierComponent;
+    @Inject
+    private ManagerComponent managerComponent;
+
+    public SnapshotStreamSupplierComponentImpl() {
+        this.snapshots = new ConcurrentHashMap<>();
+    }
+
+    @ExecuteBefore(State.STARTED)
+    void startReloader() {
+        if (reloadInterval <= 0) {
+            return;
+        }
+
+        reloader = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread t = new Thread(r, "speedment-snapshot-reloader");
+            t.setDaemon(true);
+            return t;
+        });
+        reloader.scheduleWithFixedDelay(() -> {
+            try {
+                reload();
+            } catch (final RuntimeException ex) {
+                // Keep the previous snapshots and try again next time
+                LOGGER.error(ex, "Failed to reload snapshots.");
+            }
+        }, reloadInterval, reloadInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @ExecuteBefore(State.STOPPED)
+    void stopReloader() {
+        if (reloader != null) {
+            reloader.shutdownNow();
+            reloader = null;
+        }
+    }
+
+    @Override
+    public void load(TableIdentifier<?> tableIdentifier) {
+        requireNonNull(tableIdentifier);
+        final Snapshot<?> snapshot = createSnapshot(tableIdentifier);
+        snapshots.put(tableIdentifier, snapshot);
+        LOGGER.debug("Loaded snapshot of %s with %d rows.", tableIdentifier, snapshot.size());
+    }
+
+    @Override
+    public void unload(TableIdentifier<?> tableIdentifier) {
+        snapshots.remove(requireNonNull(tableIdentifier));
+    }
+
+    @Override
+    public boolean isLoaded(TableIdentifier<?> tableIdentifier) {
+        return snapshots.containsKey(requireNonNull(tableIdentifier));
+    }
+
+    @Override
+    public void reload() {
+        snapshots.keySet().forEach(this::load);
+    }
+
+    @Override
+    public <ENTITY> Stream<ENTITY> stream(TableIdentifier<ENTITY> tableIdentifier, ParallelStrategy strategy) {
+        final Snapshot<ENTITY> snapshot = snapshot(tableIdentifier);
+        if (snapshot == null) {
+            return sqlStreamSupplierComponent.stream(tableIdentifier, strategy);
+        }
+
+        return new ReferenceStreamBuilder<>(
+            new PipelineImpl<>(() -> snapshot.stream(snapshot.allRows(), strategy)),
+            new SnapshotStreamTerminator<>(snapshot, strategy)
+        );
+    }
+
+    @Override
+    public <ENTITY> Supplier<Stream<ENTITY>> prepare(TableIdentifier<ENTITY> tableIdentifier, ParallelStrategy strategy) {
+        final Supplier<Stream<ENTITY>> prepared = sqlStreamSupplierComponent.prepare(tableIdentifier, strategy);
+        // The table may be loaded or unloaded after the query was prepared
+        return () -> isLoaded(tableIdentifier) 
+            ? stream(tableIdentifier, strategy) 
+            : prepared.get();
+    }
+
+    @Override
+    public <ENTITY> Publisher<ENTITY> publisher(TableIdentifier<ENTITY> tableIdentifier, Executor executor) {
+        requireNonNull(executor);
+        // The table may be loaded or unloaded before the publisher is subscribed to
+        return subscriber -> (isLoaded(tableIdentifier)
+            ? new StreamPublisher<>(() -> stream(tableIdentifier, ParallelStrategy.computeIntensityDefault()), executor)
+            : sqlStreamSupplierComponent.publisher(tableIdentifier, executor)
+        ).subscribe(subscriber);
+    }
+
+    @Override
+    public <ENTITY, V extends Comparable<? super V>> Optional<ENTITY> findAny(
+            TableIdentifier<ENTITY> tableIdentifier, 
+            HasComparableOperators<ENTITY, V> field, 
+            V value) {
+
+        if (isLoaded(tableIdentifier)) {
+            return stream(tableIdentifier, ParallelStrategy.computeIntensityDefault())
+                .filter(field.equal(value))
+                .findAny();
+        } else {
+            return sqlStreamSupplierComponent.findAny(tableIdentifier, field, value);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <ENTITY> Snapshot<ENTITY> snapshot(TableIdentifier<ENTITY> tableIdentifier) {
+        return (Snapshot<ENTITY>) snapshots.get(tableIdentifier);
+    }
+
+    private <ENTITY> Snapshot<ENTITY> createSnapshot(TableIdentifier<ENTITY> tableIdentifier) {
+        @SuppressWarnings("unchecked")
+        final Manager<ENTITY> manager = (Manager<ENTITY>) managerComponent.stream()
+            .filter(m -> tableIdentifier.equals(m.getTableIdentifier()))
+            .findAny().orElseThrow(() -> new SpeedmentException(
+                "Could not find any manager for table '" + tableIdentifier + "'."
+            ));
+
+        final List<Field<ENTITY>> fields = manager.fields().collect(toList());
+        final List<ENTITY> rows;
+        try (final Stream<ENTITY> stream = sqlStreamSupplierComponent.stream(
+                tableIdentifier, ParallelStrategy.computeIntensityDefault())) {
+            rows = stream.collect(toList());
+        }
+
+        return Snapshot.of(fields, rows);
+    }
+}
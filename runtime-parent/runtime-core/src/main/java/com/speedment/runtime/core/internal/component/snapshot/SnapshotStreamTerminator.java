@@ -0,0 +1,99 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.snapshot;
+
+import com.speedment.runtime.core.internal.stream.builder.action.reference.FilterAction;
+import com.speedment.runtime.core.internal.stream.builder.pipeline.ReferencePipeline;
+import com.speedment.runtime.core.internal.stream.builder.streamterminator.StreamTerminator;
+import com.speedment.runtime.core.stream.Pipeline;
+import com.speedment.runtime.core.stream.action.Action;
+import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static com.speedment.runtime.core.stream.action.Property.SIZE;
+import static com.speedment.runtime.core.stream.action.Verb.PRESERVE;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link StreamTerminator} for streams over a {@link Snapshot}. The leading
+ * {@code filter} operations of the pipeline that can be evaluated on the
+ * columns of the snapshot are removed from the pipeline and only the
+ * matching rows are turned into entities.
+ *
+ * @param <ENTITY>  the entity type
+ *
+ * @since 3.0.12
+ */
+final class SnapshotStreamTerminator<ENTITY> implements StreamTerminator {
+
+    private static final Predicate<Action<?, ?>> PRESERVE_SIZE = action -> action.is(PRESERVE, SIZE);
+
+    private final Snapshot<ENTITY> snapshot;
+    private final ParallelStrategy parallelStrategy;
+
+    SnapshotStreamTerminator(Snapshot<ENTITY> snapshot, ParallelStrategy parallelStrategy) {
+        this.snapshot         = requireNonNull(snapshot);
+        this.parallelStrategy = requireNonNull(parallelStrategy);
+    }
+
+    @Override
+    public <P extends Pipeline> P optimize(P initialPipeline) {
+        requireNonNull(initialPipeline);
+        final BitSet rows = select(initialPipeline);
+        initialPipeline.setInitialSupplier(() -> snapshot.stream(rows, parallelStrategy));
+        return initialPipeline;
+    }
+
+    @Override
+    public <T> long count(ReferencePipeline<T> pipeline) {
+        requireNonNull(pipeline);
+        final BitSet rows = select(pipeline);
+        if (pipeline.stream().allMatch(PRESERVE_SIZE)) {
+            // No entity has to be created to count the rows
+            return rows.cardinality();
+        }
+        pipeline.setInitialSupplier(() -> snapshot.stream(rows, parallelStrategy));
+        return pipeline.getAsReferenceStream().count();
+    }
+
+    /**
+     * Evaluates the leading {@code filter} operations of the specified
+     * pipeline on the snapshot and removes the ones that could be evaluated.
+     *
+     * @param pipeline  the pipeline
+     * @return          the rows that match the removed operations
+     */
+    private BitSet select(Pipeline pipeline) {
+        final BitSet rows = snapshot.allRows();
+        final List<Action<?, ?>> remaining = new ArrayList<>();
+        while (!pipeline.isEmpty() && pipeline.getFirst() instanceof FilterAction) {
+            final FilterAction<?> action = (FilterAction<?>) pipeline.removeFirst();
+            if (!snapshot.retain(action.getPredicate(), rows)) {
+                remaining.add(action);
+            }
+        }
+        // Filters may be reordered, so the rest are applied to the entities
+        for (int i = remaining.size() - 1; i >= 0; i--) {
+            pipeline.addFirst(remaining.get(i));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,172 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.sql;
+
+import com.speedment.common.tuple.Tuple;
+import com.speedment.runtime.core.component.cache.EntityCache;
+import com.speedment.runtime.core.component.sql.Metrics;
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizer;
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizerComponent;
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizerInfo;
+import com.speedment.runtime.core.db.AsynchronousQueryResult;
+import com.speedment.runtime.core.db.DbmsType;
+import com.speedment.runtime.core.db.SqlFunction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.FilterAction;
+import com.speedment.runtime.core.stream.Pipeline;
+import com.speedment.runtime.core.stream.action.Action;
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.field.predicate.FieldPredicate;
+import com.speedment.runtime.field.predicate.PredicateType;
+
+import java.sql.ResultSet;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link SqlStreamOptimizerComponent} that serves primary key lookups from
+ * an {@link EntityCache}.
+ * <p>
+ * A pipeline is a primary key lookup if it starts with {@code filter}
+ * operations of which one is an equality predicate on the primary key field.
+ * If the entity is cached, the pipeline is run on a copy of that entity alone
+ * and the database is never queried. The {@code filter} operations are left in
+ * the pipeline so that the result is always consistent with the predicates.
+ * Otherwise the underlying component optimizes the pipeline and the entities
+ * created by the result set mapper are added to the cache. If the underlying
+ * component replaces the mapper, for example to read a single projected
+ * column, nothing is cached.
+ * <p>
+ * The cache only holds private copies of the entities, so changes made by the
+ * application never affect the cached state.
+ *
+ * @param <ENTITY>  the entity type
+ *
+ * @since 3.0.12
+ */
+final class CachingSqlStreamOptimizerComponent<ENTITY> implements SqlStreamOptimizerComponent {
+
+    private final SqlStreamOptimizerComponent inner;
+    private final EntityCache<ENTITY> cache;
+    private final Field<ENTITY> primaryKeyField;
+
+    CachingSqlStreamOptimizerComponent(
+        final SqlStreamOptimizerComponent inner,
+        final EntityCache<ENTITY> cache,
+        final Field<ENTITY> primaryKeyField
+    ) {
+        this.inner           = requireNonNull(inner);
+        this.cache           = requireNonNull(cache);
+        this.primaryKeyField = requireNonNull(primaryKeyField);
+    }
+
+    @Override
+    public <E> SqlStreamOptimizer<E> get(Pipeline initialPipeline, DbmsType dbmsType) {
+        requireNonNull(dbmsType);
+        return new CachingSqlStreamOptimizer<>(dbmsType);
+    }
+
+    @Override
+    public <E> void install(SqlStreamOptimizer<E> sqlStreamOptimizer) {
+        inner.install(sqlStreamOptimizer);
+    }
+
+    private final class CachingSqlStreamOptimizer<E> implements SqlStreamOptimizer<E> {
+
+        private final DbmsType dbmsType;
+
+        private CachingSqlStreamOptimizer(DbmsType dbmsType) {
+            this.dbmsType = dbmsType;
+        }
+
+        @Override
+        public <P extends Pipeline> Metrics metrics(P initialPipeline, DbmsType dbmsType) {
+            return inner.<E>get(initialPipeline, dbmsType).metrics(initialPipeline, dbmsType);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <P extends Pipeline> P optimize(
+            final P initialPipeline,
+            final SqlStreamOptimizerInfo<E> info,
+            final AsynchronousQueryResult<E> query
+        ) {
+            requireNonNull(initialPipeline);
+            requireNonNull(info);
+            requireNonNull(query);
+
+            final Object primaryKey = primaryKey(initialPipeline);
+            if (primaryKey == null) {
+                return inner.<E>get(initialPipeline, dbmsType).optimize(initialPipeline, info, query);
+            }
+
+            final Optional<ENTITY> cached = cache.get(primaryKey);
+            if (cached.isPresent()) {
+                final Optional<ENTITY> copy = EntityCopier.copy(cached.get());
+                if (copy.isPresent()) {
+                    final ENTITY entity = copy.get();
+                    initialPipeline.setInitialSupplier(() -> Stream.of(entity));
+                    return initialPipeline;
+                }
+                cache.invalidate(primaryKey);
+            }
+
+            final SqlFunction<ResultSet, E> rsMapper = query.getRsMapper();
+            final P result = inner.<E>get(initialPipeline, dbmsType).optimize(initialPipeline, info, query);
+            if (query.getRsMapper() == rsMapper) {
+                query.setRsMapper(rs -> {
+                    final E entity = rsMapper.apply(rs);
+                    EntityCopier.copy((ENTITY) entity).ifPresent(copy ->
+                        cache.put(primaryKeyField.getter().apply(copy), copy)
+                    );
+                    return entity;
+                });
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Returns the primary key value that the leading {@code filter}
+     * operations of the specified pipeline select, or {@code null} if the
+     * pipeline is not a primary key lookup.
+     *
+     * @param pipeline  the pipeline
+     * @return          the primary key value or {@code null}
+     */
+    private Object primaryKey(Pipeline pipeline) {
+        for (final Action<?, ?> action : pipeline) {
+            if (!(action instanceof FilterAction)) {
+                return null;
+            }
+            final Predicate<?> predicate = ((FilterAction<?>) action).getPredicate();
+            if (predicate instanceof FieldPredicate && predicate instanceof Tuple) {
+                final FieldPredicate<?> fieldPredicate = (FieldPredicate<?>) predicate;
+                if (fieldPredicate.getPredicateType() == PredicateType.EQUAL
+                    && primaryKeyField.identifier().equals(fieldPredicate.getField().identifier())) {
+                    final Object value = ((Tuple) predicate).get(0);
+                    if (value != null) {
+                        return value;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,124 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.sql;
+
+import com.speedment.runtime.core.exception.SpeedmentException;
+import com.speedment.runtime.core.manager.HasDirtyFields;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Creates copies of entities so that cached instances are never shared with
+ * the application.
+ * <p>
+ * A copy is created with the no-argument constructor of the entity class and
+ * then has every instance field of the original assigned to it. Arrays, such
+ * as the dirty field bits, are copied as well. Other field values are shared
+ * with the original. The dirty fields of the copy are cleared. The
+ * constructor and the fields are looked up once per class.
+ *
+ * @since 3.0.12
+ */
+final class EntityCopier {
+
+    private static final ConcurrentMap<Class<?>, Optional<EntityCopier>> COPIERS
+        = new ConcurrentHashMap<>();
+
+    private final Constructor<?> constructor;
+    private final List<Field> fields;
+
+    private EntityCopier(Constructor<?> constructor, List<Field> fields) {
+        this.constructor = requireNonNull(constructor);
+        this.fields      = requireNonNull(fields);
+    }
+
+    /**
+     * Returns a copy of the specified entity, or an empty {@code Optional}
+     * if the class of the entity can not be instantiated with a
+     * no-argument constructor.
+     *
+     * @param <ENTITY>  the entity type
+     * @param entity    the entity to copy
+     * @return          a copy of the entity
+     */
+    @SuppressWarnings("unchecked")
+    static <ENTITY> Optional<ENTITY> copy(ENTITY entity) {
+        requireNonNull(entity);
+        return COPIERS.computeIfAbsent(entity.getClass(), EntityCopier::create)
+            .map(copier -> (ENTITY) copier.copyOf(entity));
+    }
+
+    private Object copyOf(Object entity) {
+        try {
+            final Object copy = constructor.newInstance();
+            for (final Field field : fields) {
+                field.set(copy, copyOfValue(field.get(entity)));
+            }
+            if (copy instanceof HasDirtyFields) {
+                ((HasDirtyFields) copy).clearDirtyFields();
+            }
+            return copy;
+        } catch (final ReflectiveOperationException ex) {
+            throw new SpeedmentException(
+                "Unable to copy entity of " + entity.getClass() + ".", ex
+            );
+        }
+    }
+
+    private static Object copyOfValue(Object value) {
+        if (value == null || !value.getClass().isArray()) {
+            return value;
+        }
+        final int length = Array.getLength(value);
+        final Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+        System.arraycopy(value, 0, copy, 0, length);
+        return copy;
+    }
+
+    private static Optional<EntityCopier> create(Class<?> entityClass) {
+        if (Modifier.isAbstract(entityClass.getModifiers())) {
+            return Optional.empty();
+        }
+        try {
+            final Constructor<?> constructor = entityClass.getDeclaredConstructor();
+            constructor.setAccessible(true);
+
+            final List<Field> fields = new ArrayList<>();
+            for (Class<?> c = entityClass; c != Object.class; c = c.getSuperclass()) {
+                for (final Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        field.setAccessible(true);
+                        fields.add(field);
+                    }
+                }
+            }
+            return Optional.of(new EntityCopier(constructor, fields));
+        } catch (final NoSuchMethodException | SecurityException ex) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,353 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.sql;
+
+import com.speedment.runtime.core.component.sql.Metrics;
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizer;
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizerComponent;
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizerInfo;
+import com.speedment.runtime.core.db.AsynchronousQueryResult;
+import com.speedment.runtime.core.db.DbmsType;
+import com.speedment.runtime.core.internal.db.AsynchronousQueryResultImpl;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.FilterAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapToDoubleAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapToIntAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapToLongAction;
+import com.speedment.runtime.core.internal.stream.builder.pipeline.PipelineImpl;
+import com.speedment.runtime.core.internal.stream.builder.streamterminator.StreamTerminatorUtil;
+import com.speedment.runtime.core.internal.stream.builder.streamterminator.StreamTerminatorUtil.RenderResult;
+import com.speedment.runtime.core.stream.Pipeline;
+import com.speedment.runtime.core.stream.action.Action;
+import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.field.predicate.Inclusion;
+import com.speedment.runtime.field.trait.HasComparableOperators;
+import com.speedment.runtime.typemapper.TypeMapper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+import java.util.stream.BaseStream;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link SqlStreamOptimizerComponent} that prepares parallel streams to be
+ * split into ranges of a numeric primary key.
+ * <p>
+ * If the pipeline is parallel, the underlying component optimizes it twice:
+ * once as it is and once with a leading {@code between} filter on the key
+ * field. If the underlying component moved exactly the same actions into the
+ * SQL query in both cases, only moved {@code filter} operations and the
+ * projection and also moved the key filter, the second query is used as a
+ * template for the range queries. The smallest and largest key are probed
+ * using the same {@code filter} operations. Sequential pipelines and
+ * pipelines that can not be split are left to the underlying component.
+ *
+ * @param <ENTITY>  the entity type
+ *
+ * @since 3.0.12
+ */
+final class KeyRangeSqlStreamOptimizerComponent<ENTITY> implements SqlStreamOptimizerComponent {
+
+    private final SqlStreamOptimizerComponent inner;
+    private final HasComparableOperators<ENTITY, ?> keyField;
+    private final Class<?> keyType;
+    private final BiFunction<AsynchronousQueryResult<?>, KeyRangeQuery, BaseStream<?, ?>> splitter;
+
+    /**
+     * Creates a new component.
+     *
+     * @param inner     the component that optimizes the pipelines
+     * @param keyField  the primary key field
+     * @param keyType   the type of the key, one of {@code Long},
+     *                  {@code Integer}, {@code Short} or {@code Byte}
+     * @param splitter  creates the stream of a query split into ranges
+     */
+    KeyRangeSqlStreamOptimizerComponent(
+        final SqlStreamOptimizerComponent inner,
+        final HasComparableOperators<ENTITY, ?> keyField,
+        final Class<?> keyType,
+        final BiFunction<AsynchronousQueryResult<?>, KeyRangeQuery, BaseStream<?, ?>> splitter
+    ) {
+        this.inner    = requireNonNull(inner);
+        this.keyField = requireNonNull(keyField);
+        this.keyType  = requireNonNull(keyType);
+        this.splitter = requireNonNull(splitter);
+    }
+
+    @Override
+    public <E> SqlStreamOptimizer<E> get(Pipeline initialPipeline, DbmsType dbmsType) {
+        requireNonNull(dbmsType);
+        return new KeyRangeSqlStreamOptimizer<>(dbmsType);
+    }
+
+    @Override
+    public <E> void install(SqlStreamOptimizer<E> sqlStreamOptimizer) {
+        inner.install(sqlStreamOptimizer);
+    }
+
+    /**
+     * The SQL needed to stream a query in key ranges.
+     */
+    static final class KeyRangeQuery {
+
+        private final String sql;
+        private final List<Object> values;
+        private final String probeSql;
+        private final List<Object> probeValues;
+        private final Class<?> keyType;
+
+        private KeyRangeQuery(
+            final String sql,
+            final List<Object> values,
+            final String probeSql,
+            final List<Object> probeValues,
+            final Class<?> keyType
+        ) {
+            this.sql         = sql;
+            this.values      = values;
+            this.probeSql    = probeSql;
+            this.probeValues = probeValues;
+            this.keyType     = keyType;
+        }
+
+        /**
+         * Returns the SQL of a query for a range of keys. The first two
+         * parameters are the inclusive bounds of the range.
+         *
+         * @return  the range SQL
+         */
+        String getSql() {
+            return sql;
+        }
+
+        /**
+         * Returns the parameters of a query for the specified range.
+         *
+         * @param from  the first key of the range (inclusive)
+         * @param to    the last key of the range (inclusive)
+         * @return      the parameters
+         */
+        List<Object> getValues(long from, long to) {
+            final List<Object> result = new ArrayList<>(values);
+            result.set(0, toKey(from, keyType));
+            result.set(1, toKey(to, keyType));
+            return result;
+        }
+
+        /**
+         * Returns the SQL of a query that selects the smallest and the
+         * largest key of the rows that are streamed.
+         *
+         * @return  the probe SQL
+         */
+        String getProbeSql() {
+            return probeSql;
+        }
+
+        /**
+         * Returns the parameters of the probe query.
+         *
+         * @return  the probe parameters
+         */
+        List<Object> getProbeValues() {
+            return probeValues;
+        }
+    }
+
+    private final class KeyRangeSqlStreamOptimizer<E> implements SqlStreamOptimizer<E> {
+
+        private final DbmsType dbmsType;
+
+        private KeyRangeSqlStreamOptimizer(DbmsType dbmsType) {
+            this.dbmsType = dbmsType;
+        }
+
+        @Override
+        public <P extends Pipeline> Metrics metrics(P initialPipeline, DbmsType dbmsType) {
+            return inner.<E>get(initialPipeline, dbmsType).metrics(initialPipeline, dbmsType);
+        }
+
+        @Override
+        public <P extends Pipeline> P optimize(
+            final P initialPipeline,
+            final SqlStreamOptimizerInfo<E> info,
+            final AsynchronousQueryResult<E> query
+        ) {
+            requireNonNull(initialPipeline);
+            requireNonNull(info);
+            requireNonNull(query);
+
+            if (!initialPipeline.isParallel()) {
+                return inner.<E>get(initialPipeline, dbmsType).optimize(initialPipeline, info, query);
+            }
+
+            final List<Action<?, ?>> actions = new ArrayList<>(initialPipeline.size());
+            initialPipeline.forEach(actions::add);
+
+            // Optimize a copy of the pipeline that only selects a range of keys
+            @SuppressWarnings("unchecked")
+            final FilterAction<E> keyFilter = new FilterAction<>(
+                (Predicate<E>) (Predicate<?>) between(keyField, toKey(0, keyType), toKey(1, keyType))
+            );
+            final Pipeline rangePipeline = new PipelineImpl<>(initialPipeline.getInitialSupplier());
+            rangePipeline.add(keyFilter);
+            actions.forEach(rangePipeline::add);
+            final AsynchronousQueryResult<E> rangeQuery = new AsynchronousQueryResultImpl<>(
+                query.getSql(),
+                query.getValues(),
+                query.getRsMapper(),
+                () -> { throw new IllegalStateException("The range template is never executed."); },
+                ParallelStrategy.computeIntensityDefault(),
+                ps -> {},
+                rs -> {}
+            );
+            final Pipeline rangeResult = inner.<E>get(rangePipeline, dbmsType)
+                .optimize(rangePipeline, info, rangeQuery);
+
+            final P result = inner.<E>get(initialPipeline, dbmsType)
+                .optimize(initialPipeline, info, query);
+
+            final Set<Action<?, ?>> consumed = consumed(actions, result);
+            if (contains(rangeResult, keyFilter) || !consumed.equals(consumed(actions, rangeResult))) {
+                return result;
+            }
+
+            final Optional<KeyRangeQuery> keyRangeQuery = keyRangeQuery(info, actions, consumed, rangeQuery);
+            if (keyRangeQuery.isPresent()) {
+                result.setInitialSupplier(() -> splitter.apply(query, keyRangeQuery.get()));
+            }
+            return result;
+        }
+
+        private Optional<KeyRangeQuery> keyRangeQuery(
+            final SqlStreamOptimizerInfo<E> info,
+            final List<Action<?, ?>> actions,
+            final Set<Action<?, ?>> consumed,
+            final AsynchronousQueryResult<E> rangeQuery
+        ) {
+            final Optional<String> tableReference = info.getSqlTableReference();
+            if (!tableReference.isPresent()) {
+                return Optional.empty();
+            }
+
+            // Only filters may restrict the rows. Sorting, skipping and
+            // limiting in the database can not be combined with key ranges.
+            final List<Predicate<E>> predicates = new ArrayList<>();
+            for (final Action<?, ?> action : actions) {
+                if (!consumed.contains(action)) {
+                    continue;
+                }
+                if (action instanceof FilterAction) {
+                    @SuppressWarnings("unchecked")
+                    final Predicate<E> predicate = (Predicate<E>) ((FilterAction<?>) action).getPredicate();
+                    predicates.add(predicate);
+                } else if (!isProjection(action)) {
+                    return Optional.empty();
+                }
+            }
+
+            // The key filter was first in the pipeline so its bounds are the
+            // first parameters of the query
+            @SuppressWarnings("unchecked")
+            final TypeMapper<Object, Object> typeMapper = (TypeMapper<Object, Object>) keyField.typeMapper();
+            final List<Object> values = new ArrayList<>(rangeQuery.getValues());
+            if (values.size() < 2
+                || !typeMapper.toDatabaseType(toKey(0, keyType)).equals(values.get(0))
+                || !typeMapper.toDatabaseType(toKey(1, keyType)).equals(values.get(1))) {
+                return Optional.empty();
+            }
+
+            @SuppressWarnings("unchecked")
+            final Field<E> field = (Field<E>) (Field<?>) keyField;
+            final String keyColumn = info.getSqlColumnNamer().apply(field);
+            final StringBuilder probeSql = new StringBuilder()
+                .append("SELECT MIN(").append(keyColumn).append("), MAX(").append(keyColumn).append(")")
+                .append(" FROM ").append(tableReference.get());
+
+            final List<Object> probeValues;
+            if (predicates.isEmpty()) {
+                probeValues = Collections.emptyList();
+            } else {
+                final RenderResult rr = StreamTerminatorUtil.renderSqlWhere(
+                    info.getDbmsType(),
+                    info.getSqlColumnNamer(),
+                    info.getSqlDatabaseTypeFunction(),
+                    predicates
+                );
+                probeSql.append(" WHERE ").append(rr.getSql());
+                probeValues = rr.getValues();
+            }
+
+            return Optional.of(new KeyRangeQuery(
+                rangeQuery.getSql(), values, probeSql.toString(), probeValues, keyType
+            ));
+        }
+    }
+
+    private static Set<Action<?, ?>> consumed(List<Action<?, ?>> actions, Pipeline optimized) {
+        final Set<Action<?, ?>> result = Collections.newSetFromMap(new IdentityHashMap<>());
+        result.addAll(actions);
+        optimized.forEach(result::remove);
+        return result;
+    }
+
+    private static boolean contains(Pipeline pipeline, Action<?, ?> action) {
+        return pipeline.stream().anyMatch(a -> a == action);
+    }
+
+    private static boolean isProjection(Action<?, ?> action) {
+        return action instanceof MapAction
+            || action instanceof MapToIntAction
+            || action instanceof MapToLongAction
+            || action instanceof MapToDoubleAction;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <ENTITY> Predicate<ENTITY> between(
+        final HasComparableOperators<ENTITY, ?> field,
+        final Object from,
+        final Object to
+    ) {
+        final HasComparableOperators<ENTITY, Comparable<Object>> comparableField
+            = (HasComparableOperators<ENTITY, Comparable<Object>>) field;
+        return comparableField.between(
+            (Comparable<Object>) from,
+            (Comparable<Object>) to,
+            Inclusion.START_INCLUSIVE_END_INCLUSIVE
+        );
+    }
+
+    private static Object toKey(long value, Class<?> keyType) {
+        if (keyType == Integer.class) {
+            return (int) value;
+        } else if (keyType == Short.class) {
+            return (short) value;
+        } else if (keyType == Byte.class) {
+            return (byte) value;
+        } else {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,338 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.sql;
+
+import com.speedment.common.tuple.Tuple;
+import com.speedment.runtime.core.component.sql.Metrics;
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizer;
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizerComponent;
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizerInfo;
+import com.speedment.runtime.core.db.AsynchronousQueryResult;
+import com.speedment.runtime.core.db.DbmsType;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.FilterAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.LimitAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.SkipAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.SortedComparatorAction;
+import com.speedment.runtime.core.stream.Pipeline;
+import com.speedment.runtime.core.stream.action.Action;
+import com.speedment.runtime.field.comparator.CombinedComparator;
+import com.speedment.runtime.field.comparator.FieldComparator;
+import com.speedment.runtime.field.internal.predicate.BetweenPredicate;
+import com.speedment.runtime.field.predicate.FieldPredicate;
+import com.speedment.runtime.typemapper.TypeMapper;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import static com.speedment.runtime.core.internal.stream.builder.streamterminator.StreamTerminatorUtil.isContainingOnlyFieldPredicate;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link SqlStreamOptimizerComponent} that remembers how pipelines were
+ * optimized so that the same work does not have to be repeated for every
+ * stream produced by a prepared query.
+ * <p>
+ * Pipelines consisting only of field based {@code filter}, {@code sorted},
+ * {@code skip} and {@code limit} operations are reduced to a shape where the
+ * operand values have been removed. The first time a shape is encountered,
+ * the underlying component optimizes the pipeline. If the resulting parameter
+ * list is exactly the operand values of the pipeline, the SQL is stored for
+ * that shape. Subsequent pipelines with the same shape then reuse the stored
+ * SQL and only bind their own operand values. A shape whose parameters can not
+ * be derived from the operands is remembered so that it is always optimized
+ * by the underlying component.
+ *
+ * @since 3.0.12
+ */
+final class PreparedSqlStreamOptimizerComponent implements SqlStreamOptimizerComponent {
+
+    /**
+     * The maximum number of pipeline shapes to remember. A prepared query
+     * normally only produces one or a few shapes.
+     */
+    private static final int MAX_SHAPES = 64;
+
+    private final SqlStreamOptimizerComponent inner;
+    private final Map<List<Object>, PreparedQuery> preparedQueries;
+
+    PreparedSqlStreamOptimizerComponent(SqlStreamOptimizerComponent inner) {
+        this.inner = requireNonNull(inner);
+        this.preparedQueries = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public <ENTITY> SqlStreamOptimizer<ENTITY> get(Pipeline initialPipeline, DbmsType dbmsType) {
+        requireNonNull(dbmsType);
+        // The inner component is only consulted if the shape is not known
+        return new PreparedSqlStreamOptimizer<>(dbmsType);
+    }
+
+    @Override
+    public <ENTITY> void install(SqlStreamOptimizer<ENTITY> sqlStreamOptimizer) {
+        inner.install(sqlStreamOptimizer);
+    }
+
+    private final class PreparedSqlStreamOptimizer<ENTITY> implements SqlStreamOptimizer<ENTITY> {
+
+        private final DbmsType dbmsType;
+
+        private PreparedSqlStreamOptimizer(DbmsType dbmsType) {
+            this.dbmsType = dbmsType;
+        }
+
+        @Override
+        public <P extends Pipeline> Metrics metrics(P initialPipeline, DbmsType dbmsType) {
+            return inner.<ENTITY>get(initialPipeline, dbmsType).metrics(initialPipeline, dbmsType);
+        }
+
+        @Override
+        public <P extends Pipeline> P optimize(
+            final P initialPipeline,
+            final SqlStreamOptimizerInfo<ENTITY> info,
+            final AsynchronousQueryResult<ENTITY> query
+        ) {
+            requireNonNull(initialPipeline);
+            requireNonNull(info);
+            requireNonNull(query);
+
+            final Shape shape = Shape.of(initialPipeline);
+            if (shape == null) {
+                return optimizeDirectly(initialPipeline, info, query);
+            }
+
+            final PreparedQuery preparedQuery = preparedQueries.get(shape.getKey());
+            if (preparedQuery == null) {
+                final List<Action<?, ?>> actions = new ArrayList<>(initialPipeline.size());
+                initialPipeline.forEach(actions::add);
+                final P result = optimizeDirectly(initialPipeline, info, query);
+                if (preparedQueries.size() < MAX_SHAPES) {
+                    preparedQueries.putIfAbsent(
+                        shape.getKey(),
+                        PreparedQuery.of(actions, result, shape, query, dbmsType)
+                    );
+                }
+                return result;
+            } else if (preparedQuery.isPrepared()) {
+                preparedQuery.bind(initialPipeline, shape, query, dbmsType);
+                return initialPipeline;
+            } else {
+                return optimizeDirectly(initialPipeline, info, query);
+            }
+        }
+
+        private <P extends Pipeline> P optimizeDirectly(
+            final P initialPipeline,
+            final SqlStreamOptimizerInfo<ENTITY> info,
+            final AsynchronousQueryResult<ENTITY> query
+        ) {
+            return inner.<ENTITY>get(initialPipeline, dbmsType)
+                .optimize(initialPipeline, info, query);
+        }
+    }
+
+    /**
+     * The SQL and the number of consumed leading actions of a pipeline shape.
+     */
+    private static final class PreparedQuery {
+
+        private static final PreparedQuery NOT_PREPARABLE = new PreparedQuery(null, 0, false);
+
+        private final String sql; // null if the shape is not preparable
+        private final int consumedActions;
+        private final boolean skipLimitApplied;
+
+        private PreparedQuery(String sql, int consumedActions, boolean skipLimitApplied) {
+            this.sql = sql;
+            this.consumedActions = consumedActions;
+            this.skipLimitApplied = skipLimitApplied;
+        }
+
+        static PreparedQuery of(
+            final List<Action<?, ?>> actions,
+            final Pipeline optimized,
+            final Shape shape,
+            final AsynchronousQueryResult<?> query,
+            final DbmsType dbmsType
+        ) {
+            // The optimizer must only have removed leading actions
+            final int consumed = actions.size() - optimized.size();
+            if (consumed < 0) {
+                return NOT_PREPARABLE;
+            }
+            int i = consumed;
+            for (final Action<?, ?> action : optimized) {
+                if (action != actions.get(i++)) {
+                    return NOT_PREPARABLE;
+                }
+            }
+
+            final List<?> values = query.getValues();
+            if (values.equals(shape.values(dbmsType, true))) {
+                return new PreparedQuery(query.getSql(), consumed, true);
+            } else if (values.equals(shape.values(dbmsType, false))) {
+                return new PreparedQuery(query.getSql(), consumed, false);
+            } else {
+                return NOT_PREPARABLE;
+            }
+        }
+
+        boolean isPrepared() {
+            return sql != null;
+        }
+
+        void bind(
+            final Pipeline pipeline,
+            final Shape shape,
+            final AsynchronousQueryResult<?> query,
+            final DbmsType dbmsType
+        ) {
+            for (int i = 0; i < consumedActions; i++) {
+                pipeline.removeFirst();
+            }
+            query.setSql(sql);
+            query.setValues(shape.values(dbmsType, skipLimitApplied));
+        }
+    }
+
+    /**
+     * A pipeline described without its operand values.
+     */
+    private static final class Shape {
+
+        private final List<Object> key;
+        private final List<Object> operands;
+        private long skip;
+        private long limit;
+
+        private Shape() {
+            this.key = new ArrayList<>();
+            this.operands = new ArrayList<>();
+            this.limit = Long.MAX_VALUE;
+        }
+
+        /**
+         * Returns the shape of the specified pipeline, or {@code null} if the
+         * pipeline contains operations that can not be described.
+         *
+         * @param pipeline  the pipeline
+         * @return          the shape or {@code null}
+         */
+        static Shape of(Pipeline pipeline) {
+            final Shape shape = new Shape();
+            shape.key.add(pipeline.isParallel());
+            for (final Action<?, ?> action : pipeline) {
+                if (action instanceof FilterAction) {
+                    if (!shape.addPredicate(((FilterAction<?>) action).getPredicate())) {
+                        return null;
+                    }
+                } else if (action instanceof SortedComparatorAction) {
+                    if (!shape.addComparator(((SortedComparatorAction<?>) action).getComparator())) {
+                        return null;
+                    }
+                } else if (action instanceof SkipAction) {
+                    shape.key.add(SkipAction.class);
+                    shape.skip += ((SkipAction<?>) action).getSkip();
+                } else if (action instanceof LimitAction) {
+                    shape.key.add(LimitAction.class);
+                    shape.limit = Math.min(shape.limit, ((LimitAction<?>) action).getLimit());
+                } else {
+                    return null;
+                }
+            }
+            // The rendered SQL depends on whether skip and limit are used at all
+            shape.key.add(shape.skip == 0);
+            shape.key.add(shape.limit == Long.MAX_VALUE);
+            return shape;
+        }
+
+        List<Object> getKey() {
+            return key;
+        }
+
+        List<Object> values(DbmsType dbmsType, boolean skipLimitApplied) {
+            final List<Object> values = new ArrayList<>(operands.size() + 2);
+            values.addAll(operands);
+            if (skipLimitApplied) {
+                dbmsType.applySkipLimit("", values, skip, limit);
+            }
+            return values;
+        }
+
+        @SuppressWarnings("unchecked")
+        private boolean addPredicate(Predicate<?> predicate) {
+            if (!(predicate instanceof FieldPredicate)
+                || !isContainingOnlyFieldPredicate((Predicate<Object>) predicate)) {
+                return false;
+            }
+
+            final FieldPredicate<?> fieldPredicate = (FieldPredicate<?>) predicate;
+            final TypeMapper<Object, Object> typeMapper
+                = (TypeMapper<Object, Object>) fieldPredicate.getField().typeMapper();
+
+            key.add(fieldPredicate.getClass());
+            key.add(fieldPredicate.getPredicateType());
+            key.add(fieldPredicate.getField().identifier());
+            if (fieldPredicate instanceof BetweenPredicate) {
+                key.add(((BetweenPredicate) fieldPredicate).getInclusion());
+            }
+
+            if (fieldPredicate instanceof Tuple) {
+                final Tuple tuple = (Tuple) fieldPredicate;
+                for (int i = 0; i < tuple.degree(); i++) {
+                    final Object operand = tuple.get(i);
+                    if (operand instanceof Set) {
+                        // The number of parameters depends on the set size
+                        final Set<?> set = (Set<?>) operand;
+                        key.add(set.size());
+                        set.forEach(o -> operands.add(typeMapper.toDatabaseType(o)));
+                    } else {
+                        // Null operands may be rendered differently
+                        key.add(operand == null);
+                        operands.add(typeMapper.toDatabaseType(operand));
+                    }
+                }
+            }
+            return true;
+        }
+
+        private boolean addComparator(Comparator<?> comparator) {
+            if (comparator instanceof FieldComparator) {
+                addFieldComparator((FieldComparator<?>) comparator);
+                return true;
+            } else if (comparator instanceof CombinedComparator) {
+                key.add(CombinedComparator.class);
+                ((CombinedComparator<?>) comparator).stream()
+                    .forEachOrdered(this::addFieldComparator);
+                return true;
+            } else {
+                return false;
+            }
+        }
+
+        private void addFieldComparator(FieldComparator<?> comparator) {
+            key.add(comparator.getClass());
+            key.add(comparator.getField().identifier());
+            key.add(comparator.isReversed());
+            key.add(comparator.getNullOrder());
+        }
+    }
+}
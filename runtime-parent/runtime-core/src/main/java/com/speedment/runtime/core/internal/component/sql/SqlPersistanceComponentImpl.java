@@ -16,20 +16,26 @@
  */
 package com.speedment.runtime.core.internal.component.sql;
 
+import com.speedment.common.injector.annotation.Config;
 import com.speedment.common.injector.annotation.Inject;
 import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.core.component.AsyncExecutorComponent;
 import com.speedment.runtime.core.component.DbmsHandlerComponent;
 import com.speedment.runtime.core.component.ManagerComponent;
 import com.speedment.runtime.core.component.ProjectComponent;
+import com.speedment.runtime.core.component.cache.EntityCacheComponent;
 import com.speedment.runtime.core.component.resultset.ResultSetMapperComponent;
 import com.speedment.runtime.core.component.sql.SqlPersistenceComponent;
 import com.speedment.runtime.core.exception.SpeedmentException;
 import com.speedment.runtime.core.manager.Persister;
 import com.speedment.runtime.core.manager.Remover;
 import com.speedment.runtime.core.manager.Updater;
+import com.speedment.runtime.core.manager.Upserter;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 import static java.util.Objects.requireNonNull;
 
@@ -46,6 +52,9 @@ public final class SqlPersistanceComponentImpl implements SqlPersistenceComponen
     private @Inject DbmsHandlerComponent dbmsHandlerComponent;
     private @Inject ManagerComponent managerComponent;
     private @Inject ResultSetMapperComponent resultSetMapperComponent;
+    private @Inject EntityCacheComponent entityCacheComponent;
+    private @Inject AsyncExecutorComponent asyncExecutorComponent;
+    private @Config(name = "persistence.batchSize", value = "1000") int batchSize;
     
     public SqlPersistanceComponentImpl() {
         this.supportMap = new ConcurrentHashMap<>();
@@ -58,23 +67,90 @@ public final class SqlPersistanceComponentImpl implements SqlPersistenceComponen
             requireNonNull(projectComponent), 
             requireNonNull(dbmsHandlerComponent),
             requireNonNull(managerComponent),
-            requireNonNull(resultSetMapperComponent)
+            requireNonNull(resultSetMapperComponent),
+            requireNonNull(entityCacheComponent),
+            batchSize
         ));
     }
 
     @Override
     public <ENTITY> Persister<ENTITY> persister(TableIdentifier<ENTITY> tableIdentifier) throws SpeedmentException {
-        return entity -> getPersistence(tableIdentifier).persist(entity);
+        return new Persister<ENTITY>() {
+            @Override
+            public ENTITY apply(ENTITY entity) throws SpeedmentException {
+                return getPersistence(tableIdentifier).persist(entity);
+            }
+
+            @Override
+            public void acceptAll(Stream<? extends ENTITY> entities) {
+                getPersistence(tableIdentifier).persistAll(entities);
+            }
+
+            @Override
+            public CompletableFuture<ENTITY> applyAsync(ENTITY entity) {
+                return asyncExecutorComponent.supplyAsync(() -> apply(entity));
+            }
+        };
     }
 
     @Override
     public <ENTITY> Updater<ENTITY> updater(TableIdentifier<ENTITY> tableIdentifier) throws SpeedmentException {
-        return entity -> getPersistence(tableIdentifier).update(entity);
+        return new Updater<ENTITY>() {
+            @Override
+            public ENTITY apply(ENTITY entity) throws SpeedmentException {
+                return getPersistence(tableIdentifier).update(entity);
+            }
+
+            @Override
+            public void acceptAll(Stream<? extends ENTITY> entities) {
+                getPersistence(tableIdentifier).updateAll(entities);
+            }
+
+            @Override
+            public CompletableFuture<ENTITY> applyAsync(ENTITY entity) {
+                return asyncExecutorComponent.supplyAsync(() -> apply(entity));
+            }
+        };
     }
 
     @Override
     public <ENTITY> Remover<ENTITY> remover(TableIdentifier<ENTITY> tableIdentifier) throws SpeedmentException {
-        return entity -> getPersistence(tableIdentifier).remove(entity);
+        return new Remover<ENTITY>() {
+            @Override
+            public ENTITY apply(ENTITY entity) throws SpeedmentException {
+                return getPersistence(tableIdentifier).remove(entity);
+            }
+
+            @Override
+            public void acceptAll(Stream<? extends ENTITY> entities) {
+                getPersistence(tableIdentifier).removeAll(entities);
+            }
+
+            @Override
+            public CompletableFuture<ENTITY> applyAsync(ENTITY entity) {
+                return asyncExecutorComponent.supplyAsync(() -> apply(entity));
+            }
+        };
+    }
+
+    @Override
+    public <ENTITY> Upserter<ENTITY> upserter(TableIdentifier<ENTITY> tableIdentifier) throws SpeedmentException {
+        return new Upserter<ENTITY>() {
+            @Override
+            public ENTITY apply(ENTITY entity) throws SpeedmentException {
+                return getPersistence(tableIdentifier).upsert(entity);
+            }
+
+            @Override
+            public void acceptAll(Stream<? extends ENTITY> entities) {
+                getPersistence(tableIdentifier).upsertAll(entities);
+            }
+
+            @Override
+            public CompletableFuture<ENTITY> applyAsync(ENTITY entity) {
+                return asyncExecutorComponent.supplyAsync(() -> apply(entity));
+            }
+        };
     }
 
     private <ENTITY> SqlPersistence<ENTITY> getPersistence(TableIdentifier<ENTITY> tableIdentifier) {
@@ -19,6 +19,8 @@ package com.speedment.runtime.core.internal.component.sql;
 import com.speedment.runtime.core.component.sql.SqlPersistenceComponent;
 import com.speedment.runtime.core.exception.SpeedmentException;
 
+import java.util.stream.Stream;
+
 /**
  * The common interface for table specific persisting handlers that is managed 
  * by a {@link SqlPersistenceComponent}.
@@ -59,5 +61,56 @@ interface SqlPersistence<ENTITY> {
      * @throws SpeedmentException  if the entity could not be removed
      */
     ENTITY remove(ENTITY entity) throws SpeedmentException;
+
+    /**
+     * Inserts the specified entity into the table managed by this handler, or
+     * updates the existing row with the same primary key.
+     * 
+     * @param entity  the entity to upsert
+     * @return        the new upserted entity
+     * 
+     * @throws SpeedmentException  if the entity could not be upserted
+     */
+    ENTITY upsert(ENTITY entity) throws SpeedmentException;
+
+    /**
+     * Persists all the specified entities in the table managed by this 
+     * handler, sending them to the database in batches.
+     * 
+     * @param entities  the entities to persist
+     * 
+     * @throws SpeedmentException  if the entities could not be persisted
+     */
+    void persistAll(Stream<? extends ENTITY> entities) throws SpeedmentException;
+
+    /**
+     * Updates all the specified entities in the table managed by this 
+     * handler, sending them to the database in batches.
+     * 
+     * @param entities  the entities to update
+     * 
+     * @throws SpeedmentException  if the entities could not be updated
+     */
+    void updateAll(Stream<? extends ENTITY> entities) throws SpeedmentException;
+
+    /**
+     * Removes all the specified entities from the table managed by this 
+     * handler, sending them to the database in batches.
+     * 
+     * @param entities  the entities to remove
+     * 
+     * @throws SpeedmentException  if the entities could not be removed
+     */
+    void removeAll(Stream<? extends ENTITY> entities) throws SpeedmentException;
+
+    /**
+     * Inserts or updates all the specified entities in the table managed by 
+     * this handler, sending them to the database in batches.
+     * 
+     * @param entities  the entities to upsert
+     * 
+     * @throws SpeedmentException  if the entities could not be upserted
+     */
+    void upsertAll(Stream<? extends ENTITY> entities) throws SpeedmentException;
     
 }
\ No newline at end of file
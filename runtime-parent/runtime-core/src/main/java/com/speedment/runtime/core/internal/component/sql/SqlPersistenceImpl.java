@@ -24,6 +24,7 @@ import com.speedment.runtime.config.util.DocumentUtil;
 import com.speedment.runtime.core.component.DbmsHandlerComponent;
 import com.speedment.runtime.core.component.ManagerComponent;
 import com.speedment.runtime.core.component.ProjectComponent;
+import com.speedment.runtime.core.component.cache.EntityCacheComponent;
 import com.speedment.runtime.core.component.resultset.ResultSetMapperComponent;
 import com.speedment.runtime.core.component.resultset.ResultSetMapping;
 import com.speedment.runtime.core.db.DatabaseNamingConvention;
@@ -31,14 +32,24 @@ import com.speedment.runtime.core.db.DbmsColumnHandler;
 import com.speedment.runtime.core.db.DbmsOperationHandler;
 import com.speedment.runtime.core.db.DbmsType;
 import com.speedment.runtime.core.exception.SpeedmentException;
+import com.speedment.runtime.core.internal.manager.sql.SqlDeleteStatement;
+import com.speedment.runtime.core.internal.manager.sql.SqlInsertStatement;
+import com.speedment.runtime.core.internal.manager.sql.SqlStatement;
+import com.speedment.runtime.core.internal.manager.sql.SqlUpdateStatement;
+import com.speedment.runtime.core.manager.HasDirtyFields;
 import com.speedment.runtime.core.manager.Manager;
 import com.speedment.runtime.core.util.DatabaseUtil;
 import com.speedment.runtime.field.Field;
 import com.speedment.runtime.typemapper.TypeMapper;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -49,11 +60,13 @@ import java.util.stream.Stream;
 
 import static com.speedment.common.invariant.NullUtil.requireNonNulls;
 import static com.speedment.runtime.config.util.DocumentUtil.Name.DATABASE_NAME;
+import static java.util.Collections.singletonList;
 import static java.util.Comparator.comparing;
 import static java.util.Objects.requireNonNull;
 import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 
 /**
  * Default implementation of the {@link SqlPersistence}-interface.
@@ -65,6 +78,13 @@ import static java.util.stream.Collectors.toList;
  */
 final class SqlPersistenceImpl<ENTITY> implements SqlPersistence<ENTITY> {
 
+    /**
+     * The maximum number of UPDATE statements for different sets of dirty
+     * fields that are cached.
+     */
+    private static final int MAX_UPDATE_STATEMENTS = 256;
+
+    private final TableIdentifier<ENTITY> tableId;
     private final Supplier<Stream<Field<ENTITY>>> primaryKeyFields;
     private final Supplier<Stream<Field<ENTITY>>> fields;
     
@@ -81,10 +101,16 @@ final class SqlPersistenceImpl<ENTITY> implements SqlPersistence<ENTITY> {
     private final String insertStatement;
     private final String updateStatement;
     private final String deleteStatement;
+    private final String upsertStatement; // Nullable
+    private final Map<BitSet, String> dirtyUpdateStatements;
     
     private final List<GeneratedFieldSupport<ENTITY, ?>> generatedFieldSupports;
     private final List<Field<ENTITY>> generatedFields;
     private final Map<Field<ENTITY>, Column> columnsByFields;
+    private final List<Field<ENTITY>> fieldList;
+    private final EntityCacheComponent entityCacheComponent;
+    private final Field<ENTITY> cachedPrimaryKeyField; // Nullable
+    private final int batchSize;
 
 
     public SqlPersistenceImpl(
@@ -92,15 +118,21 @@ final class SqlPersistenceImpl<ENTITY> implements SqlPersistence<ENTITY> {
             ProjectComponent projectComponent,
             DbmsHandlerComponent dbmsHandlerComponent,
             ManagerComponent managerComponent,
-            ResultSetMapperComponent resultSetMapperComponent) {
+            ResultSetMapperComponent resultSetMapperComponent,
+            EntityCacheComponent entityCacheComponent,
+            int batchSize) {
         
         requireNonNulls(tableId, 
             projectComponent, 
             dbmsHandlerComponent, 
             managerComponent, 
-            resultSetMapperComponent
+            resultSetMapperComponent,
+            entityCacheComponent
         );
 
+        this.tableId = tableId;
+        this.entityCacheComponent = entityCacheComponent;
+
         final Project project = projectComponent.getProject();
         
         this.table = DocumentDbUtil.referencedTable(project, tableId);
@@ -134,10 +166,15 @@ final class SqlPersistenceImpl<ENTITY> implements SqlPersistence<ENTITY> {
             sqlPrimaryKeyColumnList(pk -> pk + " = ?");
         this.deleteStatement = "DELETE FROM " + sqlTableReference + " WHERE " +
             sqlPrimaryKeyColumnList(pk -> pk + " = ?");
+        this.upsertStatement = hasPrimaryKeyColumns
+            ? upsertStatement(dbmsType.getUpsertSupport())
+            : null;
 
         this.columnsByFields = MapStream.fromKeys(fields.get(), f ->
             DocumentDbUtil.referencedColumn(project, f.identifier())
         ).toMap();
+        this.fieldList = fields.get().collect(toList());
+        this.dirtyUpdateStatements = new ConcurrentHashMap<>();
 
         this.generatedFieldSupports = columnsByFields.entrySet().stream().filter(e -> e.getValue().isAutoIncrement())
         .map(e -> new GeneratedFieldSupport<>(
@@ -147,57 +184,353 @@ final class SqlPersistenceImpl<ENTITY> implements SqlPersistence<ENTITY> {
         
         this.generatedFields = generatedFieldSupports.stream()
             .map(GeneratedFieldSupport::getField).collect(toList());
+        
+        // Only tables with a single primary key column can be cached
+        final List<Field<ENTITY>> pkFields = manager.primaryKeyFields().collect(toList());
+        this.cachedPrimaryKeyField = pkFields.size() == 1 ? pkFields.get(0) : null;
+
+        this.batchSize = batchSize;
     }
     
     @Override
     public ENTITY persist(ENTITY entity) throws SpeedmentException {
-        final List<Object> values = fields.get()
-            .filter(f -> !columnHandler.excludedInInsertStatement().test(columnsByFields.get(f)))
-            .map(f -> toDatabaseType(f, entity))
-            .collect(toList());
-
         try {
-            operationHandler.executeInsert(dbms, insertStatement, values, generatedFields, newGeneratedKeyConsumer(entity));
-            return entity;
+            operationHandler.executeInsert(dbms, insertStatement, insertValues(entity), generatedFields, newGeneratedKeyConsumer(entity));
         } catch (final SQLException ex) {
+            invalidateCached(entity);
             throw new SpeedmentException(ex);
         }
+        afterCommit(singletonList(entity), true);
+        return entity;
     }
     
     @Override
     public ENTITY update(ENTITY entity) throws SpeedmentException {
         assertHasPrimaryKeyColumns();
 
-        final List<Object> values = Stream.concat(
-            fields.get(), 
-            primaryKeyFields.get()
-        )
-            .map(f -> toDatabaseType(f, entity))
-            .collect(Collectors.toList());
+        final BitSet dirtyFields = dirtyFields(entity);
+        if (dirtyFields != null && dirtyFields.isEmpty()) {
+            return entity; // Nothing has changed
+        }
 
         try {
-            operationHandler.executeUpdate(dbms, updateStatement, values);
-            return entity;
+            operationHandler.executeUpdate(dbms, 
+                updateStatement(dirtyFields), 
+                updateValues(entity, dirtyFields)
+            );
         } catch (final SQLException ex) {
+            invalidateCached(entity);
             throw new SpeedmentException(ex);
         }
+        afterCommit(singletonList(entity), true);
+        return entity;
     }
 
     @Override
     public ENTITY remove(ENTITY entity) throws SpeedmentException {
         assertHasPrimaryKeyColumns();
-        
-        final List<Object> values = primaryKeyFields.get()
-            .map(f -> toDatabaseType(f, entity))
-            .collect(toList());
 
         try {
-            operationHandler.executeDelete(dbms, deleteStatement, values);
-            return entity;
+            operationHandler.executeDelete(dbms, deleteStatement, deleteValues(entity));
+        } catch (final SQLException ex) {
+            invalidateCached(entity);
+            throw new SpeedmentException(ex);
+        }
+        afterCommit(singletonList(entity), false);
+        return entity;
+    }
+
+    @Override
+    public ENTITY upsert(ENTITY entity) throws SpeedmentException {
+        assertHasPrimaryKeyColumns();
+        assertSupportsUpsert();
+
+        try {
+            operationHandler.executeUpdate(dbms, upsertStatement, upsertValues(entity));
+        } catch (final SQLException ex) {
+            invalidateCached(entity);
+            throw new SpeedmentException(ex);
+        }
+        afterCommit(singletonList(entity), true);
+        return entity;
+    }
+
+    @Override
+    public void persistAll(Stream<? extends ENTITY> entities) throws SpeedmentException {
+        final List<ENTITY> written = new ArrayList<>();
+        executeBatch(written, entities.peek(written::add).map(entity -> new SqlInsertStatement<>(
+            insertStatement, 
+            insertValues(entity), 
+            generatedFields, 
+            newGeneratedKeyConsumer(entity)
+        )));
+        afterCommit(written, true);
+    }
+
+    @Override
+    public void updateAll(Stream<? extends ENTITY> entities) throws SpeedmentException {
+        assertHasPrimaryKeyColumns();
+        final List<ENTITY> written = new ArrayList<>();
+        executeBatch(written, entities
+            .map(entity -> {
+                final BitSet dirtyFields = dirtyFields(entity);
+                if (dirtyFields != null && dirtyFields.isEmpty()) {
+                    return null; // Nothing has changed
+                }
+                written.add(entity);
+                return new SqlUpdateStatement(
+                    updateStatement(dirtyFields), 
+                    updateValues(entity, dirtyFields)
+                );
+            })
+            .filter(Objects::nonNull)
+        );
+        afterCommit(written, true);
+    }
+
+    @Override
+    public void removeAll(Stream<? extends ENTITY> entities) throws SpeedmentException {
+        assertHasPrimaryKeyColumns();
+        final List<ENTITY> written = new ArrayList<>();
+        executeBatch(written, entities.peek(written::add).map(entity -> 
+            new SqlDeleteStatement(deleteStatement, deleteValues(entity))
+        ));
+        afterCommit(written, false);
+    }
+
+    @Override
+    public void upsertAll(Stream<? extends ENTITY> entities) throws SpeedmentException {
+        assertHasPrimaryKeyColumns();
+        assertSupportsUpsert();
+        final List<ENTITY> written = new ArrayList<>();
+        executeBatch(written, entities.peek(written::add).map(entity -> 
+            new SqlUpdateStatement(upsertStatement, upsertValues(entity))
+        ));
+        afterCommit(written, true);
+    }
+
+    /**
+     * Executes the specified statements in batches. If that fails, some of
+     * the batches might already have been committed, so all the entities
+     * that have been written so far are removed from the entity cache.
+     * 
+     * @param written        the entities written, filled as the statements
+     *                       are consumed
+     * @param sqlStatements  the statements to execute
+     */
+    private void executeBatch(List<ENTITY> written, Stream<? extends SqlStatement> sqlStatements) {
+        try {
+            operationHandler.executeBatch(dbms, sqlStatements, batchSize);
         } catch (final SQLException ex) {
+            written.forEach(this::invalidateCached);
             throw new SpeedmentException(ex);
+        } catch (final RuntimeException ex) {
+            written.forEach(this::invalidateCached);
+            throw ex;
         }
     }
+
+    private List<Object> insertValues(ENTITY entity) {
+        return fields.get()
+            .filter(f -> !columnHandler.excludedInInsertStatement().test(columnsByFields.get(f)))
+            .map(f -> toDatabaseType(f, entity))
+            .collect(toList());
+    }
+
+    private List<Object> upsertValues(ENTITY entity) {
+        return fields.get()
+            .map(f -> toDatabaseType(f, entity))
+            .collect(toList());
+    }
+
+    private List<Object> updateValues(ENTITY entity, BitSet dirtyFields) {
+        if (dirtyFields == null) {
+            return Stream.concat(
+                fields.get(), 
+                primaryKeyFields.get()
+            )
+                .map(f -> toDatabaseType(f, entity))
+                .collect(Collectors.toList());
+        }
+
+        final List<Object> values = new ArrayList<>();
+        for (int i = dirtyFields.nextSetBit(0); i >= 0; i = dirtyFields.nextSetBit(i + 1)) {
+            values.add(toDatabaseType(fieldList.get(i), entity));
+        }
+        primaryKeyFields.get()
+            .map(f -> toDatabaseType(f, entity))
+            .forEachOrdered(values::add);
+        return values;
+    }
+
+    /**
+     * Returns the UPDATE statement that sets the specified fields, or the
+     * statement that sets all fields if {@code dirtyFields} is {@code null}.
+     * 
+     * @param dirtyFields  the fields to set or {@code null}
+     * @return             the UPDATE statement
+     */
+    private String updateStatement(BitSet dirtyFields) {
+        if (dirtyFields == null) {
+            return updateStatement;
+        }
+
+        final String cached = dirtyUpdateStatements.get(dirtyFields);
+        if (cached != null) {
+            return cached;
+        }
+
+        final String sql = "UPDATE " + sqlTableReference + " SET " +
+            dirtyFields.stream()
+                .mapToObj(fieldList::get)
+                .map(columnsByFields::get)
+                .map(Column::getName)
+                .map(naming::encloseField)
+                .map(n -> n + " = ?")
+                .collect(joining(",")) + " WHERE " +
+            sqlPrimaryKeyColumnList(pk -> pk + " = ?");
+
+        if (dirtyUpdateStatements.size() < MAX_UPDATE_STATEMENTS) {
+            dirtyUpdateStatements.putIfAbsent(dirtyFields, sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Renders the statement that inserts a row with all the columns of the 
+     * table or updates the non-primary key columns of the existing row, using
+     * the syntax of the specified dialect. If the dialect does not support
+     * upserts, {@code null} is returned.
+     * <p>
+     * The statement is executed as an update, so unlike the insert statement,
+     * no generated keys are requested. Auto increment columns are written with
+     * the value of the entity like any other column.
+     * 
+     * @param upsertSupport  the upsert dialect of the database
+     * @return               the upsert statement or {@code null}
+     */
+    private String upsertStatement(DbmsType.UpsertSupport upsertSupport) {
+        final Set<String> primaryKeys = table.primaryKeyColumns()
+            .map(PrimaryKeyColumn::getName)
+            .collect(toSet());
+
+        final Predicate<Column> isPrimaryKey = c -> primaryKeys.contains(c.getName());
+        final String columns = sqlColumnList(c -> true, identity());
+        final String values  = sqlColumnList(c -> true, c -> "?");
+        final String keys    = table.primaryKeyColumns()
+            .sorted(comparing(PrimaryKeyColumn::getOrdinalPosition))
+            .map(PrimaryKeyColumn::getName)
+            .map(naming::encloseField)
+            .collect(joining(","));
+
+        switch (upsertSupport) {
+            case ON_DUPLICATE_KEY_UPDATE: {
+                // If every column is part of the key, there is nothing to
+                // update but MySQL still requires at least one assignment
+                final Predicate<Column> assigned = 
+                    table.columns().filter(Column::isEnabled).allMatch(isPrimaryKey)
+                        ? c -> true : isPrimaryKey.negate();
+
+                return "INSERT INTO " + sqlTableReference + " (" + columns + 
+                    ") VALUES (" + values + ") ON DUPLICATE KEY UPDATE " +
+                    sqlColumnList(assigned, n -> n + " = VALUES(" + n + ")");
+            }
+
+            case ON_CONFLICT: {
+                final String assignments = sqlColumnList(
+                    isPrimaryKey.negate(), n -> n + " = EXCLUDED." + n
+                );
+
+                return "INSERT INTO " + sqlTableReference + " (" + columns + 
+                    ") VALUES (" + values + ") ON CONFLICT (" + keys + ") " + 
+                    (assignments.isEmpty() 
+                        ? "DO NOTHING" 
+                        : "DO UPDATE SET " + assignments);
+            }
+
+            case MERGE: {
+                return "MERGE INTO " + sqlTableReference + " (" + columns + 
+                    ") KEY (" + keys + ") VALUES (" + values + ")";
+            }
+
+            case NONE: return null;
+
+            default: throw new UnsupportedOperationException(
+                "Unknown upsert support '" + upsertSupport + "'."
+            );
+        }
+    }
+
+    /**
+     * Returns the fields of the specified entity that have changed, or 
+     * {@code null} if the entity does not keep track of that. The returned
+     * bitset only includes the fields handled by this persistence.
+     * 
+     * @param entity  the entity
+     * @return        the dirty fields or {@code null}
+     */
+    private BitSet dirtyFields(ENTITY entity) {
+        if (entity instanceof HasDirtyFields) {
+            final BitSet dirtyFields = BitSet.valueOf(
+                ((HasDirtyFields) entity).getDirtyFields()
+            );
+            if (dirtyFields.length() > fieldList.size()) {
+                // The entity does not agree with the manager on the fields
+                return null;
+            }
+            return dirtyFields;
+        }
+        return null;
+    }
+
+    private void clearDirtyFields(ENTITY entity) {
+        if (entity instanceof HasDirtyFields) {
+            ((HasDirtyFields) entity).clearDirtyFields();
+        }
+    }
+
+    /**
+     * Marks the written entities as clean and removes them from the entity
+     * cache once the write has been committed. If the current thread is
+     * running a transaction, that is not until the transaction commits.
+     * Otherwise it is done immediately.
+     * 
+     * @param written           the written entities
+     * @param clearDirtyFields  if the dirty fields of the entities should be
+     *                          cleared
+     */
+    private void afterCommit(List<? extends ENTITY> written, boolean clearDirtyFields) {
+        if (written.isEmpty()) {
+            return;
+        }
+        operationHandler.afterCommit(dbms, () -> written.forEach(entity -> {
+            if (clearDirtyFields) {
+                clearDirtyFields(entity);
+            }
+            invalidateCached(entity);
+        }));
+    }
+
+    /**
+     * Removes the specified entity from the entity cache of the table, if
+     * caching is enabled. The cached instance might no longer reflect the
+     * database after a write, so it is always invalidated rather than updated.
+     * 
+     * @param entity  the written entity
+     */
+    private void invalidateCached(ENTITY entity) {
+        if (cachedPrimaryKeyField != null) {
+            entityCacheComponent.get(tableId).ifPresent(cache -> 
+                cache.invalidate(cachedPrimaryKeyField.getter().apply(entity))
+            );
+        }
+    }
+
+    private List<Object> deleteValues(ENTITY entity) {
+        return primaryKeyFields.get()
+            .map(f -> toDatabaseType(f, entity))
+            .collect(toList());
+    }
     
     private Consumer<List<Long>> newGeneratedKeyConsumer(ENTITY entity) {
         return l -> {
@@ -271,6 +604,15 @@ final class SqlPersistenceImpl<ENTITY> implements SqlPersistence<ENTITY> {
         }
     }
     
+    private void assertSupportsUpsert() {
+        if (upsertStatement == null) {
+            throw new UnsupportedOperationException(
+                "The database type " + dbmsType.getName() + 
+                " does not support upserts."
+            );
+        }
+    }
+    
     private final static class GeneratedFieldSupport<ENTITY, T> {
 
         private final Field<ENTITY> field;
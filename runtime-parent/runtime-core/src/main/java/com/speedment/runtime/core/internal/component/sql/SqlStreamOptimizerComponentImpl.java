@@ -25,6 +25,7 @@ import com.speedment.runtime.core.db.AsynchronousQueryResult;
 import com.speedment.runtime.core.db.DbmsType;
 import com.speedment.runtime.core.internal.component.sql.optimizer.FilterSortedSkipOptimizer;
 import com.speedment.runtime.core.internal.component.sql.optimizer.InitialFilterOptimizer;
+import com.speedment.runtime.core.internal.component.sql.optimizer.ProjectionOptimizer;
 import com.speedment.runtime.core.stream.Pipeline;
 import java.util.Comparator;
 import static java.util.Comparator.comparingInt;
@@ -48,6 +49,7 @@ public final class SqlStreamOptimizerComponentImpl implements SqlStreamOptimizer
         this.optimizers = new CopyOnWriteArrayList<>();
         install(new InitialFilterOptimizer<>());
         install(new FilterSortedSkipOptimizer<>());
+        install(new ProjectionOptimizer<>());
     }
 
     @Override
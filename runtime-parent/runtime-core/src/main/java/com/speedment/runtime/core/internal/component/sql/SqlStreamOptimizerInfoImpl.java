@@ -18,8 +18,11 @@ package com.speedment.runtime.core.internal.component.sql;
 
 import com.speedment.runtime.core.component.sql.SqlStreamOptimizerInfo;
 import com.speedment.runtime.core.db.DbmsType;
+import com.speedment.runtime.core.db.SqlFunction;
 import com.speedment.runtime.field.Field;
+import java.sql.ResultSet;
 import java.util.List;
+import java.util.Optional;
 import static java.util.Objects.requireNonNull;
 import java.util.function.BiFunction;
 import java.util.function.Function;
@@ -36,6 +39,8 @@ public final class SqlStreamOptimizerInfoImpl<ENTITY> implements SqlStreamOptimi
     private final BiFunction<String, List<Object>, Long> counter;
     private final Function<Field<ENTITY>, String> sqlColumnNamer;
     private final Function<Field<ENTITY>, Class<?>> sqlDatabaseTypeFunction;
+    private final String sqlTableReference; // Nullable
+    private final Function<Field<ENTITY>, Optional<SqlFunction<ResultSet, Object>>> sqlColumnReader;
 
     public SqlStreamOptimizerInfoImpl(
         final DbmsType dbmsType,
@@ -44,6 +49,28 @@ public final class SqlStreamOptimizerInfoImpl<ENTITY> implements SqlStreamOptimi
         final BiFunction<String, List<Object>, Long> counter,
         final Function<Field<ENTITY>, String> sqlColumnNamer,
         final Function<Field<ENTITY>, Class<?>> sqlDatabaseTypeFunction
+    ) {
+        this(
+            dbmsType,
+            sqlSelect,
+            sqlSelectCount,
+            counter,
+            sqlColumnNamer,
+            sqlDatabaseTypeFunction,
+            null,
+            f -> Optional.empty()
+        );
+    }
+
+    public SqlStreamOptimizerInfoImpl(
+        final DbmsType dbmsType,
+        final String sqlSelect,
+        final String sqlSelectCount,
+        final BiFunction<String, List<Object>, Long> counter,
+        final Function<Field<ENTITY>, String> sqlColumnNamer,
+        final Function<Field<ENTITY>, Class<?>> sqlDatabaseTypeFunction,
+        final String sqlTableReference, // Nullable
+        final Function<Field<ENTITY>, Optional<SqlFunction<ResultSet, Object>>> sqlColumnReader
     ) {
         this.dbmsType = requireNonNull(dbmsType);
         this.sqlSelect = requireNonNull(sqlSelect);
@@ -51,6 +78,8 @@ public final class SqlStreamOptimizerInfoImpl<ENTITY> implements SqlStreamOptimi
         this.counter = requireNonNull(counter);
         this.sqlColumnNamer = requireNonNull(sqlColumnNamer);
         this.sqlDatabaseTypeFunction = requireNonNull(sqlDatabaseTypeFunction);
+        this.sqlTableReference = sqlTableReference;
+        this.sqlColumnReader = requireNonNull(sqlColumnReader);
     }
 
     @Override
@@ -83,4 +112,14 @@ public final class SqlStreamOptimizerInfoImpl<ENTITY> implements SqlStreamOptimi
         return sqlDatabaseTypeFunction;
     }
 
+    @Override
+    public Optional<String> getSqlTableReference() {
+        return Optional.ofNullable(sqlTableReference);
+    }
+
+    @Override
+    public Function<Field<ENTITY>, Optional<SqlFunction<ResultSet, Object>>> getSqlColumnReader() {
+        return sqlColumnReader;
+    }
+
 }
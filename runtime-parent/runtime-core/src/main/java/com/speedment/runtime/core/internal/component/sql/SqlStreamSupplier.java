@@ -18,9 +18,12 @@ package com.speedment.runtime.core.internal.component.sql;
 
 import com.speedment.runtime.core.component.sql.SqlStreamSupplierComponent;
 import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import com.speedment.runtime.core.stream.reactive.Publisher;
 import com.speedment.runtime.field.trait.HasComparableOperators;
 
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 /**
@@ -42,6 +45,27 @@ interface SqlStreamSupplier<ENTITY> {
      * @return                  the entity stream
      */
     Stream<ENTITY> stream(ParallelStrategy parallelStrategy);
+
+    /**
+     * Returns a supplier of streams over the entities in the managed table.
+     * The streams share a cache of how pipelines of a particular shape were
+     * translated into SQL, so that a pipeline that has been seen before only
+     * needs to bind its new values.
+     *
+     * @param parallelStrategy  the parallel strategy to use
+     * @return                  the entity stream supplier
+     */
+    Supplier<Stream<ENTITY>> prepare(ParallelStrategy parallelStrategy);
+
+    /**
+     * Returns a publisher of the entities in the managed table. Every
+     * subscription executes the query anew and then reads rows from the open
+     * {@code ResultSet} only as they are requested.
+     *
+     * @param executor  the executor to deliver entities with
+     * @return          the entity publisher
+     */
+    Publisher<ENTITY> publisher(Executor executor);
     
     /**
      * Finds a particular entity based on an ordinary key-value search. This is
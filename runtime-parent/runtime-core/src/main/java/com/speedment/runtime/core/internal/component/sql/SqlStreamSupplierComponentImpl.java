@@ -23,15 +23,20 @@ import com.speedment.runtime.config.identifier.TableIdentifier;
 import com.speedment.runtime.core.component.DbmsHandlerComponent;
 import com.speedment.runtime.core.component.ManagerComponent;
 import com.speedment.runtime.core.component.ProjectComponent;
+import com.speedment.runtime.core.component.cache.EntityCacheComponent;
+import com.speedment.runtime.core.component.resultset.ResultSetMapperComponent;
 import com.speedment.runtime.core.component.sql.SqlStreamOptimizerComponent;
 import com.speedment.runtime.core.component.sql.SqlStreamSupplierComponent;
 import com.speedment.runtime.core.component.sql.override.SqlStreamTerminatorComponent;
 import com.speedment.runtime.core.db.SqlFunction;
 import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import com.speedment.runtime.core.stream.reactive.Publisher;
 import java.sql.ResultSet;
 import java.util.Map;
 import static java.util.Objects.requireNonNull;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 /**
@@ -64,7 +69,9 @@ public final class SqlStreamSupplierComponentImpl implements SqlStreamSupplierCo
         final DbmsHandlerComponent dbmsHandlerComponent,
         final ManagerComponent managerComponent,
         final SqlStreamOptimizerComponent sqlStreamOptimizerComponent,
-        final SqlStreamTerminatorComponent sqlStreamTerminatorComponent
+        final SqlStreamTerminatorComponent sqlStreamTerminatorComponent,
+        final ResultSetMapperComponent resultSetMapperComponent,
+        final EntityCacheComponent entityCacheComponent
     ) {
 
         prestart.forEach((tableIdentifier, entityMapper) -> {
@@ -76,6 +83,8 @@ public final class SqlStreamSupplierComponentImpl implements SqlStreamSupplierCo
                 managerComponent,
                 sqlStreamOptimizerComponent,
                 sqlStreamTerminatorComponent,
+                resultSetMapperComponent,
+                entityCacheComponent,
                 allowStreamIteratorAndSpliterator
             );
 
@@ -89,6 +98,18 @@ public final class SqlStreamSupplierComponentImpl implements SqlStreamSupplierCo
         return supplier.stream(parallelStrategy);
     }
 
+    @Override
+    public <ENTITY> Supplier<Stream<ENTITY>> prepare(TableIdentifier<ENTITY> tableIdentifier, ParallelStrategy parallelStrategy) {
+        final SqlStreamSupplier<ENTITY> supplier = getStreamSupplier(tableIdentifier);
+        return supplier.prepare(parallelStrategy);
+    }
+
+    @Override
+    public <ENTITY> Publisher<ENTITY> publisher(TableIdentifier<ENTITY> tableIdentifier, Executor executor) {
+        final SqlStreamSupplier<ENTITY> supplier = getStreamSupplier(tableIdentifier);
+        return supplier.publisher(executor);
+    }
+
     private <ENTITY> SqlStreamSupplier<ENTITY> getStreamSupplier(TableIdentifier<ENTITY> tableIdentifier) {
         @SuppressWarnings("unchecked")
         final SqlStreamSupplier<ENTITY> streamSupplier = (SqlStreamSupplier<ENTITY>) supportMap.get(tableIdentifier);
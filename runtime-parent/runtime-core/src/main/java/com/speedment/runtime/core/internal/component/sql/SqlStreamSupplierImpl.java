@@ -30,8 +30,12 @@ import com.speedment.runtime.core.ApplicationBuilder;
 import com.speedment.runtime.core.component.DbmsHandlerComponent;
 import com.speedment.runtime.core.component.ManagerComponent;
 import com.speedment.runtime.core.component.ProjectComponent;
+import com.speedment.runtime.core.component.cache.EntityCacheComponent;
+import com.speedment.runtime.core.component.resultset.ResultSetMapperComponent;
+import com.speedment.runtime.core.component.resultset.ResultSetMapping;
 import com.speedment.runtime.core.component.sql.SqlStreamOptimizerComponent;
 import com.speedment.runtime.core.component.sql.SqlStreamOptimizerInfo;
+import com.speedment.runtime.core.internal.component.sql.KeyRangeSqlStreamOptimizerComponent.KeyRangeQuery;
 import com.speedment.runtime.core.component.sql.override.SqlStreamTerminatorComponent;
 import com.speedment.runtime.core.db.AsynchronousQueryResult;
 import com.speedment.runtime.core.db.DatabaseNamingConvention;
@@ -41,23 +45,33 @@ import com.speedment.runtime.core.exception.SpeedmentException;
 import com.speedment.runtime.core.internal.manager.sql.SqlStreamTerminator;
 import com.speedment.runtime.core.internal.stream.builder.ReferenceStreamBuilder;
 import com.speedment.runtime.core.internal.stream.builder.pipeline.PipelineImpl;
+import com.speedment.runtime.core.internal.stream.parallel.KeyRangeSpliterator;
+import com.speedment.runtime.core.internal.util.sql.ResultSetUtil;
+import com.speedment.runtime.core.manager.HasDirtyFields;
 import com.speedment.runtime.core.manager.Manager;
+import com.speedment.runtime.core.stream.parallel.KeyRangeParallelStrategy;
 import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import com.speedment.runtime.core.stream.reactive.Publisher;
 import com.speedment.runtime.core.util.DatabaseUtil;
 import com.speedment.runtime.field.Field;
 import com.speedment.runtime.field.trait.HasComparableOperators;
+import com.speedment.runtime.typemapper.TypeMapper;
 
+import java.lang.reflect.Type;
 import java.sql.ResultSet;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
-import java.util.stream.BaseStream;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static com.speedment.runtime.config.util.DocumentDbUtil.isSame;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
 import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 
 /**
@@ -69,17 +83,67 @@ import static java.util.stream.Collectors.toMap;
 final class SqlStreamSupplierImpl<ENTITY> implements SqlStreamSupplier<ENTITY> {
 
     private static final Logger LOGGER_SELECT = LoggerManager.getLogger(ApplicationBuilder.LogType.STREAM.getLoggerName()); // Hold an extra reference to this logger
+    private static final Map<Class<?>, Class<?>> KEY_RANGE_TYPES = new HashMap<>();
 
+    static {
+        // The database types that can be split into ranges and their
+        // primitive Java counterparts
+        KEY_RANGE_TYPES.put(Long.class, long.class);
+        KEY_RANGE_TYPES.put(Integer.class, int.class);
+        KEY_RANGE_TYPES.put(Short.class, short.class);
+        KEY_RANGE_TYPES.put(Byte.class, byte.class);
+    }
+    private static final Map<String, SqlFunction<ResultSet, Object>> COLUMN_READERS;
+
+    static {
+        // ResultSetUtil has null safe getters with the same names as the ResultSet getters
+        final Map<String, SqlFunction<ResultSet, Object>> readers = new HashMap<>();
+        readers.put("Object", rs -> ResultSetUtil.getObject(rs, 1));
+        readers.put("Boolean", rs -> ResultSetUtil.getBoolean(rs, 1));
+        readers.put("Byte", rs -> ResultSetUtil.getByte(rs, 1));
+        readers.put("Short", rs -> ResultSetUtil.getShort(rs, 1));
+        readers.put("Int", rs -> ResultSetUtil.getInt(rs, 1));
+        readers.put("Long", rs -> ResultSetUtil.getLong(rs, 1));
+        readers.put("Float", rs -> ResultSetUtil.getFloat(rs, 1));
+        readers.put("Double", rs -> ResultSetUtil.getDouble(rs, 1));
+        readers.put("String", rs -> ResultSetUtil.getString(rs, 1));
+        readers.put("Date", rs -> ResultSetUtil.getDate(rs, 1));
+        readers.put("Time", rs -> ResultSetUtil.getTime(rs, 1));
+        readers.put("Timestamp", rs -> ResultSetUtil.getTimestamp(rs, 1));
+        readers.put("BigDecimal", rs -> ResultSetUtil.getBigDecimal(rs, 1));
+        readers.put("BigInteger", rs -> ResultSetUtil.getBigInteger(rs, 1));
+        readers.put("Blob", rs -> ResultSetUtil.getBlob(rs, 1));
+        readers.put("Clob", rs -> ResultSetUtil.getClob(rs, 1));
+        readers.put("Array", rs -> ResultSetUtil.getArray(rs, 1));
+        readers.put("Ref", rs -> ResultSetUtil.getRef(rs, 1));
+        readers.put("URL", rs -> ResultSetUtil.getURL(rs, 1));
+        readers.put("RowId", rs -> ResultSetUtil.getRowId(rs, 1));
+        readers.put("NClob", rs -> ResultSetUtil.getNClob(rs, 1));
+        readers.put("SQLXML", rs -> ResultSetUtil.getSQLXML(rs, 1));
+        readers.put("UUID", rs -> ResultSetUtil.getUUID(rs, 1));
+        COLUMN_READERS = Collections.unmodifiableMap(readers);
+    }
+
+
+    private final TableIdentifier<ENTITY> tableId;
     private final SqlFunction<ResultSet, ENTITY> entityMapper;
     private final Dbms dbms;
     private final DbmsType dbmsType;
     private final Map<ColumnIdentifier<ENTITY>, String> columnNameMap;
     private final Map<ColumnIdentifier<ENTITY>, Class<?>> columnDatabaseTypeMap;
+    private final Map<ColumnIdentifier<ENTITY>, Column> columnMap;
+    private final Map<ColumnIdentifier<ENTITY>, Optional<SqlFunction<ResultSet, Object>>> columnReaderMap;
+    private final Class<ENTITY> entityClass;
+    private final ResultSetMapperComponent resultSetMapperComponent;
     private final String sqlSelect;
     private final String sqlSelectCount;
     private final String sqlTableReference;
+    private final HasComparableOperators<ENTITY, ?> keyRangeField; // Nullable
+    private final Class<?> keyRangeType; // Nullable
     private final SqlStreamOptimizerComponent sqlStreamOptimizerComponent;
     private final SqlStreamTerminatorComponent sqlStreamTerminatorComponent;
+    private final EntityCacheComponent entityCacheComponent;
+    private final Field<ENTITY> primaryKeyField; // Nullable
     private final boolean allowIteratorAndSpliterator;
 
     SqlStreamSupplierImpl(
@@ -90,16 +154,28 @@ final class SqlStreamSupplierImpl<ENTITY> implements SqlStreamSupplier<ENTITY> {
         final ManagerComponent managerComponent,
         final SqlStreamOptimizerComponent sqlStreamOptimizerComponent,
         final SqlStreamTerminatorComponent sqlStreamTerminatorComponent,
+        final ResultSetMapperComponent resultSetMapperComponent,
+        final EntityCacheComponent entityCacheComponent,
         final boolean allowIteratorAndSpliterator
     ) {
-        requireNonNull(tableId);
+        this.tableId = requireNonNull(tableId);
         requireNonNull(projectComponent);
         requireNonNull(dbmsHandlerComponent);
         requireNonNull(managerComponent);
 
-        this.entityMapper = requireNonNull(entityMapper);
+        requireNonNull(entityMapper);
+        this.entityMapper = rs -> {
+            final ENTITY entity = entityMapper.apply(rs);
+            if (entity instanceof HasDirtyFields) {
+                // The entity was just loaded so it is in sync with the database
+                ((HasDirtyFields) entity).clearDirtyFields();
+            }
+            return entity;
+        };
         this.sqlStreamOptimizerComponent = requireNonNull(sqlStreamOptimizerComponent);
         this.sqlStreamTerminatorComponent = requireNonNull(sqlStreamTerminatorComponent);
+        this.resultSetMapperComponent = requireNonNull(resultSetMapperComponent);
+        this.entityCacheComponent = requireNonNull(entityCacheComponent);
         this.allowIteratorAndSpliterator = allowIteratorAndSpliterator;
 
         final Project project = projectComponent.getProject();
@@ -136,24 +212,52 @@ final class SqlStreamSupplierImpl<ENTITY> implements SqlStreamSupplier<ENTITY> {
             .collect(toMap(identity(), naming::fullNameOf));
 
         this.columnDatabaseTypeMap = new HashMap<>();
+        this.columnMap = new HashMap<>();
 
         manager.fields()
             .forEach(f -> {
                 final Optional<? extends Column> c = f.findColumn(project);
-                final Class<?> javaClass = c.orElseThrow(() ->
+                final Column column = c.orElseThrow(() ->
                     new SpeedmentException(format("Field '%s' in manager '%s'" +
                         " referred to a column that couldn't be found " +
                         "in config model.",
                         f.identifier().toString(),
                         manager
                     ))
-                ).findDatabaseType();
-                columnDatabaseTypeMap.put(f.identifier(), javaClass);
+                );
+                columnDatabaseTypeMap.put(f.identifier(), column.findDatabaseType());
+                columnMap.put(f.identifier(), column);
             });
+
+        this.entityClass = manager.getEntityClass();
+        this.columnReaderMap = new ConcurrentHashMap<>();
+
+        // Only tables with a single primary key column can be cached
+        final List<Field<ENTITY>> primaryKeyFields = manager.primaryKeyFields().collect(toList());
+        this.primaryKeyField = primaryKeyFields.size() == 1 ? primaryKeyFields.get(0) : null;
+
+        // Only a single integral primary key column can be split into ranges
+        this.keyRangeType = primaryKeyField == null ? null : keyRangeType(primaryKeyField, columnMap.get(primaryKeyField.identifier()));
+        this.keyRangeField = keyRangeType == null ? null : (HasComparableOperators<ENTITY, ?>) primaryKeyField;
     }
 
     @Override
     public Stream<ENTITY> stream(ParallelStrategy parallelStrategy) {
+        return stream(parallelStrategy, sqlStreamOptimizerComponent);
+    }
+
+    @Override
+    public Supplier<Stream<ENTITY>> prepare(ParallelStrategy parallelStrategy) {
+        requireNonNull(parallelStrategy);
+        final SqlStreamOptimizerComponent preparedOptimizerComponent
+            = new PreparedSqlStreamOptimizerComponent(sqlStreamOptimizerComponent);
+        return () -> stream(parallelStrategy, preparedOptimizerComponent);
+    }
+
+    private Stream<ENTITY> stream(
+        final ParallelStrategy parallelStrategy,
+        final SqlStreamOptimizerComponent optimizerComponent
+    ) {
         final AsynchronousQueryResult<ENTITY> asynchronousQueryResult
             = dbmsType.getOperationHandler().executeQueryAsync(
                 dbms,
@@ -169,31 +273,47 @@ final class SqlStreamSupplierImpl<ENTITY> implements SqlStreamSupplier<ENTITY> {
             sqlSelectCount,
             this::executeAndGetLong,
             this::sqlColumnNamer,
-            this::sqlDatabaseTypeFunction
+            this::sqlDatabaseTypeFunction,
+            sqlTableReference,
+            this::sqlColumnReader
         );
 
+        final Set<AsynchronousQueryResult<?>> rangeResults = ConcurrentHashMap.newKeySet();
         final SqlStreamTerminator<ENTITY> terminator = new SqlStreamTerminator<>(
             info,
             asynchronousQueryResult,
-            sqlStreamOptimizerComponent,
+            withEntityCache(withKeyRanges(optimizerComponent, parallelStrategy, rangeResults)),
             sqlStreamTerminatorComponent,
             allowIteratorAndSpliterator
         );
 
-        final Supplier<BaseStream<?, ?>> initialSupplier
-            = () -> asynchronousQueryResult.stream();
-
         final Stream<ENTITY> result = new ReferenceStreamBuilder<>(
-            new PipelineImpl<>(initialSupplier),
+            new PipelineImpl<>(() -> asynchronousQueryResult.stream()),
             terminator
         );
 
         // Make sure we are closing the ResultSet, Statement and Connection later
         result.onClose(asynchronousQueryResult::close);
+        result.onClose(() -> rangeResults.forEach(r -> closeRange(r, rangeResults)));
 
         return result;
     }
 
+    @Override
+    public Publisher<ENTITY> publisher(Executor executor) {
+        requireNonNull(executor);
+        return subscriber -> dbmsType.getOperationHandler()
+            .executeQueryAsync(
+                dbms,
+                sqlSelect,
+                Collections.emptyList(),
+                entityMapper,
+                ParallelStrategy.computeIntensityDefault()
+            )
+            .publisher(executor)
+            .subscribe(subscriber);
+    }
+
     @Override
     public <V extends Comparable<? super V>> Optional<ENTITY> findAny(HasComparableOperators<ENTITY, V> field, V value) {
         return stream(ParallelStrategy.computeIntensityDefault())
@@ -201,19 +321,114 @@ final class SqlStreamSupplierImpl<ENTITY> implements SqlStreamSupplier<ENTITY> {
             .findAny();
     }
 
+    private SqlStreamOptimizerComponent withKeyRanges(
+        final SqlStreamOptimizerComponent optimizerComponent,
+        final ParallelStrategy parallelStrategy,
+        final Set<AsynchronousQueryResult<?>> rangeResults
+    ) {
+        if (keyRangeField == null || !(parallelStrategy instanceof KeyRangeParallelStrategy)) {
+            return optimizerComponent;
+        }
+        final int partitions = ((KeyRangeParallelStrategy) parallelStrategy).getPartitions();
+        return new KeyRangeSqlStreamOptimizerComponent<>(
+            optimizerComponent,
+            keyRangeField,
+            keyRangeType,
+            (query, keyRangeQuery) -> keyRangeStream(query, keyRangeQuery, partitions, rangeResults)
+        );
+    }
+
+    private SqlStreamOptimizerComponent withEntityCache(SqlStreamOptimizerComponent optimizerComponent) {
+        if (primaryKeyField == null) {
+            return optimizerComponent;
+        }
+        return entityCacheComponent.get(tableId)
+            .<SqlStreamOptimizerComponent>map(cache -> 
+                new CachingSqlStreamOptimizerComponent<>(optimizerComponent, cache, primaryKeyField)
+            )
+            .orElse(optimizerComponent);
+    }
+
     public String getSqlTableReference() {
         return sqlTableReference;
     }
 
     public long executeAndGetLong(String sql, List<Object> values) {
         LOGGER_SELECT.debug("%s, values:%s", sql, values);
-        return dbmsType.getOperationHandler().executeQuery(dbms,
+        return dbmsType.getOperationHandler().executeQueryLazily(dbms,
             sql,
             values,
             rs -> rs.getLong(1)
         ).findAny().get();
     }
 
+    private <T> Stream<T> keyRangeStream(
+        final AsynchronousQueryResult<T> query,
+        final KeyRangeQuery keyRangeQuery,
+        final int partitions,
+        final Set<AsynchronousQueryResult<?>> rangeResults
+    ) {
+        final String probeSql = keyRangeQuery.getProbeSql();
+        final List<Object> probeValues = keyRangeQuery.getProbeValues();
+        LOGGER_SELECT.debug("%s, values:%s", probeSql, probeValues);
+        final long[] minMax = dbmsType.getOperationHandler().executeQueryLazily(dbms, probeSql, probeValues,
+            rs -> {
+                final long min = rs.getLong(1);
+                return rs.wasNull() ? new long[0] : new long[]{min, rs.getLong(2)};
+            }
+        ).findAny().orElse(new long[0]);
+
+        if (minMax.length == 0) {
+            return Stream.empty(); // There are no rows
+        }
+
+        final long minRangeSize = Math.max(1, (minMax[1] - minMax[0]) / partitions + 1);
+
+        return StreamSupport.stream(
+            new KeyRangeSpliterator<>(minMax[0], minMax[1], minRangeSize, (from, to) -> {
+                // Each range gets a connection of its own
+                final AsynchronousQueryResult<T> rangeResult = dbmsType.getOperationHandler()
+                    .executeQueryAsync(
+                        dbms,
+                        keyRangeQuery.getSql(),
+                        keyRangeQuery.getValues(from, to),
+                        query.getRsMapper(),
+                        ParallelStrategy.computeIntensityDefault()
+                    );
+                rangeResults.add(rangeResult);
+                return rangeResult.stream().onClose(() -> closeRange(rangeResult, rangeResults));
+            }),
+            false
+        );
+    }
+
+    private static void closeRange(
+        final AsynchronousQueryResult<?> rangeResult,
+        final Set<AsynchronousQueryResult<?>> rangeResults
+    ) {
+        // A connection must only be returned to the pool once
+        if (rangeResults.remove(rangeResult)) {
+            rangeResult.close();
+        }
+    }
+
+    private static Class<?> keyRangeType(Field<?> field, Column column) {
+        if (!(field instanceof HasComparableOperators) || column == null) {
+            return null;
+        }
+        try {
+            final Class<?> databaseType = column.findDatabaseType();
+            final Type javaType = field.typeMapper().getJavaType(column);
+            // The key values are bound as they are read from the database
+            return KEY_RANGE_TYPES.containsKey(databaseType)
+                && (databaseType.equals(javaType) || KEY_RANGE_TYPES.get(databaseType).equals(javaType))
+                ? databaseType : null;
+        } catch (final RuntimeException ex) {
+            // The database type is not available
+            return null;
+        }
+    }
+
     private String sqlColumnNamer(Field<ENTITY> field) {
         return columnNameMap.get(field.identifier());
     }
@@ -221,4 +436,33 @@ final class SqlStreamSupplierImpl<ENTITY> implements SqlStreamSupplier<ENTITY> {
     private Class<?> sqlDatabaseTypeFunction(Field<ENTITY> field) {
         return columnDatabaseTypeMap.get(field.identifier());
     }
+
+    private Optional<SqlFunction<ResultSet, Object>> sqlColumnReader(Field<ENTITY> field) {
+        if (!columnNameMap.containsKey(field.identifier())) {
+            return Optional.empty();
+        }
+        return columnReaderMap.computeIfAbsent(field.identifier(), $ -> createColumnReader(field));
+    }
+
+    private Optional<SqlFunction<ResultSet, Object>> createColumnReader(Field<ENTITY> field) {
+        final Column column = columnMap.get(field.identifier());
+        final SqlFunction<ResultSet, Object> reader;
+        try {
+            final ResultSetMapping<?> mapping = resultSetMapperComponent.apply(dbmsType, column.findDatabaseType());
+            reader = COLUMN_READERS.get(mapping.getResultSetMethodName(dbms));
+        } catch (final RuntimeException ex) {
+            LOGGER_SELECT.debug("Unable to read column %s directly: %s", column.getName(), ex.getMessage());
+            return Optional.empty();
+        }
+
+        if (reader == null) {
+            LOGGER_SELECT.debug("Unable to read column %s directly.", column.getName());
+            return Optional.empty();
+        }
+
+        @SuppressWarnings("unchecked")
+        final TypeMapper<Object, Object> typeMapper = (TypeMapper<Object, Object>) field.typeMapper();
+
+        return Optional.of(rs -> typeMapper.toJavaType(column, entityClass, reader.apply(rs)));
+    }
 }
@@ -0,0 +1,202 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.sql.optimizer;
+
+import com.speedment.runtime.core.component.sql.Metrics;
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizer;
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizerInfo;
+import com.speedment.runtime.core.db.AsynchronousQueryResult;
+import com.speedment.runtime.core.db.DbmsType;
+import com.speedment.runtime.core.db.SqlFunction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapToDoubleAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapToIntAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapToLongAction;
+import com.speedment.runtime.core.internal.stream.builder.pipeline.PipelineImpl;
+import com.speedment.runtime.core.internal.stream.builder.streamterminator.StreamTerminatorUtil;
+import com.speedment.runtime.core.stream.Pipeline;
+import com.speedment.runtime.core.stream.action.Action;
+import com.speedment.runtime.field.Field;
+
+import java.sql.ResultSet;
+import java.util.Optional;
+
+import static java.util.Collections.emptyList;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * This Optimizer takes care of the case where a stream is mapped to the values
+ * of a single field using one of the field getters, for example
+ * {@code films.stream().filter(Film.RATING.equal("PG")).mapToInt(Film.LENGTH.getter())}.
+ * <p>
+ * The actions before the mapping must all be handled by the
+ * {@link FilterSortedSkipOptimizer}. The query is then rewritten to only
+ * select the mapped column and the values are read directly from the
+ * {@code ResultSet} without creating any entities.
+ *
+ * @param <ENTITY> entity type
+ * @since 3.0.12
+ */
+public final class ProjectionOptimizer<ENTITY> implements SqlStreamOptimizer<ENTITY> {
+
+    private final FilterSortedSkipOptimizer<ENTITY> prefixOptimizer = new FilterSortedSkipOptimizer<>();
+
+    @Override
+    public <P extends Pipeline> Metrics metrics(P initialPipeline, DbmsType dbmsType) {
+        requireNonNull(initialPipeline);
+        requireNonNull(dbmsType);
+        final int index = projectionIndex(initialPipeline);
+        if (index < 0) {
+            return Metrics.empty();
+        }
+        if (index == 0) {
+            return Metrics.of(1, 0, 0, 0, 0);
+        }
+
+        // All actions before the projection must be moved into the SQL query
+        final Metrics prefixMetrics = prefixOptimizer.metrics(prefixOf(initialPipeline, index), dbmsType);
+        if (prefixMetrics.getPipelineReductions() != index) {
+            return Metrics.empty();
+        }
+
+        return Metrics.of(
+            index + 1,
+            prefixMetrics.getSqlWhileCount(),
+            prefixMetrics.getSqlOrderCount(),
+            prefixMetrics.getSqlSkipCount(),
+            prefixMetrics.getSqlLimitCount()
+        );
+    }
+
+    @Override
+    public <P extends Pipeline> P optimize(
+        final P initialPipeline,
+        final SqlStreamOptimizerInfo<ENTITY> info,
+        final AsynchronousQueryResult<ENTITY> query
+    ) {
+        requireNonNull(initialPipeline);
+        requireNonNull(info);
+        requireNonNull(query);
+
+        final int index = projectionIndex(initialPipeline);
+        if (index < 0) {
+            return initialPipeline;
+        }
+
+        final Action<?, ?> projection = initialPipeline.get(index);
+        final Field<ENTITY> field = StreamTerminatorUtil.<ENTITY>projectedField(projection)
+            .orElseThrow(IllegalStateException::new);
+        final Optional<SqlFunction<ResultSet, Object>> reader = info.getSqlColumnReader().apply(field);
+        final Optional<String> tableReference = info.getSqlTableReference();
+
+        if (!reader.isPresent() || !tableReference.isPresent()) {
+            // The column can not be read directly so we can only move the
+            // actions before the projection into the SQL query
+            return index == 0
+                ? initialPipeline
+                : prefixOptimizer.optimize(initialPipeline, info, query);
+        }
+
+        final String sqlSelect = "SELECT " + info.getSqlColumnNamer().apply(field)
+            + " FROM " + tableReference.get();
+
+        if (index == 0) {
+            query.setSql(sqlSelect);
+            query.setValues(emptyList());
+        } else {
+            prefixOptimizer.optimize(initialPipeline, projectedInfo(info, sqlSelect), query);
+        }
+
+        @SuppressWarnings("unchecked")
+        final SqlFunction<ResultSet, ENTITY> rsMapper
+            = (SqlFunction<ResultSet, ENTITY>) (SqlFunction<ResultSet, ?>) reader.get();
+        query.setRsMapper(rsMapper);
+
+        // The stream now contains the field values so the mapping itself can
+        // be removed. Primitive mappings are replaced by an unboxing operation.
+        initialPipeline.removeIf(a -> a == projection);
+        if (projection instanceof MapToIntAction) {
+            initialPipeline.addFirst(new MapToIntAction<>(ProjectionOptimizer::toInt));
+        } else if (projection instanceof MapToLongAction) {
+            initialPipeline.addFirst(new MapToLongAction<>(ProjectionOptimizer::toLong));
+        } else if (projection instanceof MapToDoubleAction) {
+            initialPipeline.addFirst(new MapToDoubleAction<>(ProjectionOptimizer::toDouble));
+        }
+
+        return initialPipeline;
+    }
+
+    private int projectionIndex(Pipeline pipeline) {
+        int index = 0;
+        for (final Action<?, ?> action : pipeline) {
+            if (StreamTerminatorUtil.projectedField(action).isPresent()) {
+                return index;
+            }
+            if (!isPrefixCandidate(action)) {
+                return -1;
+            }
+            index++;
+        }
+        return -1;
+    }
+
+    private boolean isPrefixCandidate(Action<?, ?> action) {
+        // Only actions that operate on whole entities may precede the
+        // projection. The FilterSortedSkipOptimizer decides the rest.
+        return !(action instanceof MapAction
+            || action instanceof MapToIntAction
+            || action instanceof MapToLongAction
+            || action instanceof MapToDoubleAction);
+    }
+
+    private Pipeline prefixOf(Pipeline pipeline, int size) {
+        final Pipeline prefix = new PipelineImpl<>(pipeline.getInitialSupplier());
+        for (int i = 0; i < size; i++) {
+            prefix.add(pipeline.get(i));
+        }
+        return prefix;
+    }
+
+    private SqlStreamOptimizerInfo<ENTITY> projectedInfo(
+        final SqlStreamOptimizerInfo<ENTITY> info,
+        final String sqlSelect
+    ) {
+        return SqlStreamOptimizerInfo.of(
+            info.getDbmsType(),
+            sqlSelect,
+            info.getSqlSelectCount(),
+            info.getCounter(),
+            info.getSqlColumnNamer(),
+            info.getSqlDatabaseTypeFunction(),
+            info.getSqlTableReference().orElse(null),
+            info.getSqlColumnReader()
+        );
+    }
+
+    private static int toInt(Object value) {
+        return ((Number) value).intValue();
+    }
+
+    private static long toLong(Object value) {
+        return ((Number) value).longValue();
+    }
+
+    private static double toDouble(Object value) {
+        return ((Number) value).doubleValue();
+    }
+
+}
@@ -0,0 +1,67 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.sql.override.optimized.doubles;
+
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizerInfo;
+import com.speedment.runtime.core.component.sql.override.doubles.DoubleSumTerminator;
+import static com.speedment.runtime.core.internal.component.sql.override.optimized.util.AggregateUtil.SUM;
+import static com.speedment.runtime.core.internal.component.sql.override.optimized.util.AggregateUtil.aggregateHelper;
+import static com.speedment.runtime.core.internal.component.sql.override.optimized.util.AggregateUtil.getNumber;
+import com.speedment.runtime.core.internal.manager.sql.SqlStreamTerminator;
+import com.speedment.runtime.core.internal.stream.builder.pipeline.DoublePipeline;
+import static java.util.Objects.requireNonNull;
+
+/**
+ *
+ * @param <ENTITY> the original stream entity source type 
+ * @since 3.0.12
+ */
+public final class OptimizedDoubleSumTerminator<ENTITY> implements DoubleSumTerminator<ENTITY> {
+
+    private OptimizedDoubleSumTerminator() {
+    }
+
+    @Override
+    public double apply(
+        final SqlStreamOptimizerInfo<ENTITY> info,
+        final SqlStreamTerminator<ENTITY> sqlStreamTerminator,
+        final DoublePipeline pipeline
+    ) {
+        requireNonNull(info);
+        requireNonNull(sqlStreamTerminator);
+        requireNonNull(pipeline);
+        return aggregateHelper(
+            info,
+            sqlStreamTerminator,
+            pipeline,
+            SUM,
+            rs -> {
+                final Number sum = getNumber(rs, 1);
+                return sum == null ? 0d : sum.doubleValue();
+            },
+            () -> DoubleSumTerminator.<ENTITY>defaultTerminator().apply(info, sqlStreamTerminator, pipeline)
+        );
+    }
+
+    public static final DoubleSumTerminator<?> INSTANCE = new OptimizedDoubleSumTerminator<>();
+
+    @SuppressWarnings("unchecked")
+    public static <ENTITY> DoubleSumTerminator<ENTITY> create() {
+        return (DoubleSumTerminator<ENTITY>) INSTANCE;
+    }
+
+}
@@ -0,0 +1,64 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.sql.override.optimized.reference;
+
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizerInfo;
+import com.speedment.runtime.core.component.sql.override.reference.CollectTerminator;
+import static com.speedment.runtime.core.internal.component.sql.override.optimized.util.AggregateUtil.groupingHelper;
+import com.speedment.runtime.core.internal.manager.sql.SqlStreamTerminator;
+import com.speedment.runtime.core.internal.stream.builder.pipeline.ReferencePipeline;
+import static java.util.Objects.requireNonNull;
+import java.util.stream.Collector;
+
+/**
+ *
+ * @param <ENTITY> the original stream entity source type 
+ * @since 3.0.12
+ */
+public final class OptimizedCollectTerminator<ENTITY> implements CollectTerminator<ENTITY> {
+
+    private OptimizedCollectTerminator() {
+    }
+
+    @Override
+    public <T, R, A> R apply(
+        final SqlStreamOptimizerInfo<ENTITY> info,
+        final SqlStreamTerminator<ENTITY> sqlStreamTerminator,
+        final ReferencePipeline<T> pipeline,
+        final Collector<? super T, A, R> collector
+    ) {
+        requireNonNull(info);
+        requireNonNull(sqlStreamTerminator);
+        requireNonNull(pipeline);
+        requireNonNull(collector);
+        return groupingHelper(
+            info,
+            sqlStreamTerminator,
+            pipeline,
+            collector,
+            () -> CollectTerminator.<ENTITY>defaultTerminator().apply(info, sqlStreamTerminator, pipeline, collector)
+        );
+    }
+
+    public static final CollectTerminator<?> INSTANCE = new OptimizedCollectTerminator<>();
+
+    @SuppressWarnings("unchecked")
+    public static <ENTITY> CollectTerminator<ENTITY> create() {
+        return (CollectTerminator<ENTITY>) INSTANCE;
+    }
+
+}
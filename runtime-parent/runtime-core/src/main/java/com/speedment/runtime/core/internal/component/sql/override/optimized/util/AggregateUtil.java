@@ -0,0 +1,363 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.sql.override.optimized.util;
+
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizerInfo;
+import com.speedment.runtime.core.db.AsynchronousQueryResult;
+import com.speedment.runtime.core.db.SqlFunction;
+import com.speedment.runtime.core.internal.manager.sql.SqlStreamTerminator;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.FilterAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.LimitAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.SortedComparatorAction;
+import com.speedment.runtime.core.internal.stream.builder.pipeline.ReferencePipeline;
+import com.speedment.runtime.core.internal.stream.builder.streamterminator.StreamTerminatorUtil;
+import com.speedment.runtime.core.internal.stream.builder.streamterminator.StreamTerminatorUtil.RenderResult;
+import com.speedment.runtime.core.stream.Pipeline;
+import com.speedment.runtime.core.stream.action.Action;
+import com.speedment.runtime.field.DoubleField;
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.field.IntField;
+import com.speedment.runtime.field.collector.AggregateCollector;
+import com.speedment.runtime.field.collector.GroupingFieldCollector;
+import com.speedment.runtime.typemapper.TypeMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+
+import static com.speedment.runtime.core.internal.stream.builder.streamterminator.StreamTerminatorUtil.isContainingOnlyFieldPredicate;
+import static com.speedment.runtime.core.internal.stream.builder.streamterminator.StreamTerminatorUtil.isSortedActionWithFieldPredicate;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Optimizer for aggregate operations like {@code sum()}, {@code min()},
+ * {@code max()} and {@code average()} on primitive streams that were created
+ * by mapping entities to one of their fields, for {@code min()} and
+ * {@code max()} on entity streams using a field comparator and for grouping
+ * collectors with an aggregating downstream collector.
+ *
+ * @since 3.0.12
+ */
+public final class AggregateUtil {
+
+    public static final String SUM = "SUM(%1$s)";
+    public static final String MIN = "MIN(%1$s)";
+    public static final String MAX = "MAX(%1$s)";
+    public static final String SUM_AND_COUNT = "SUM(%1$s), COUNT(%1$s)";
+
+    /**
+     * Optimizer for aggregate operations. If the pipeline only consists of
+     * field filters and sorts followed by a mapping to the value of a field,
+     * the aggregate is computed by the database using a single query.
+     * Otherwise, the fallback supplier is used.
+     *
+     * @param <ENTITY> the entity type
+     * @param <T> the result type
+     * @param info about the stream optimizer
+     * @param sqlStreamTerminator that called us
+     * @param pipeline the pipeline
+     * @param aggregateFormat a format string for the selected aggregate
+     * expressions where {@code %1$s} is replaced by the column name
+     * @param resultMapper that maps the single result row to a result
+     * @param fallbackSupplier a fallback supplier should the pipeline not be
+     * possible to render as an aggregate query
+     * @return the result of the aggregate operation
+     */
+    public static <ENTITY, T> T aggregateHelper(
+        final SqlStreamOptimizerInfo<ENTITY> info,
+        final SqlStreamTerminator<ENTITY> sqlStreamTerminator,
+        final Pipeline pipeline,
+        final String aggregateFormat,
+        final SqlFunction<ResultSet, T> resultMapper,
+        final Supplier<T> fallbackSupplier
+    ) {
+        requireNonNull(info);
+        requireNonNull(sqlStreamTerminator);
+        requireNonNull(pipeline);
+        requireNonNull(aggregateFormat);
+        requireNonNull(resultMapper);
+        requireNonNull(fallbackSupplier);
+
+        if (pipeline.isEmpty()) {
+            return fallbackSupplier.get();
+        }
+
+        final Optional<Field<ENTITY>> field = StreamTerminatorUtil.projectedField(pipeline.getLast());
+        final Optional<String> tableReference = info.getSqlTableReference();
+        if (!field.isPresent() || !isUnmapped(field.get()) || !tableReference.isPresent()) {
+            return fallbackSupplier.get();
+        }
+
+        // Sorting does not affect the aggregate but any other action might
+        final Optional<List<Predicate<ENTITY>>> predicates = fieldPredicates(pipeline, pipeline.size() - 1);
+        if (!predicates.isPresent()) {
+            return fallbackSupplier.get();
+        }
+
+        final StringBuilder sql = new StringBuilder()
+            .append("SELECT ")
+            .append(String.format(aggregateFormat, info.getSqlColumnNamer().apply(field.get())))
+            .append(" FROM ")
+            .append(tableReference.get());
+        final List<Object> values = renderWhere(info, sql, predicates.get());
+
+        return query(sqlStreamTerminator, sql.toString(), values, resultMapper)
+            .findFirst()
+            .orElseThrow(() -> new IllegalStateException(
+                "Aggregate query did not return any row: " + sql
+            ));
+    }
+
+    /**
+     * Optimizer for {@code collect()} operations using one of the field
+     * specific {@code FieldCollectors.groupingBy}-methods with a downstream
+     * {@link AggregateCollector}. If the pipeline only consists of field
+     * filters and sorts, the groups are computed by the database using a
+     * {@code GROUP BY} clause. Otherwise, the fallback supplier is used.
+     *
+     * @param <ENTITY> the entity type
+     * @param <R> the result type
+     * @param info about the stream optimizer
+     * @param sqlStreamTerminator that called us
+     * @param pipeline the pipeline
+     * @param collector the collector
+     * @param fallbackSupplier a fallback supplier should the collector or the
+     * pipeline not be possible to render as a grouping query
+     * @return the map of groups
+     */
+    public static <ENTITY, R> R groupingHelper(
+        final SqlStreamOptimizerInfo<ENTITY> info,
+        final SqlStreamTerminator<ENTITY> sqlStreamTerminator,
+        final Pipeline pipeline,
+        final Collector<?, ?, R> collector,
+        final Supplier<R> fallbackSupplier
+    ) {
+        requireNonNull(info);
+        requireNonNull(sqlStreamTerminator);
+        requireNonNull(pipeline);
+        requireNonNull(collector);
+        requireNonNull(fallbackSupplier);
+
+        if (!(collector instanceof GroupingFieldCollector)
+            || !(((GroupingFieldCollector<?, ?, R>) collector).getDownstream() instanceof AggregateCollector)) {
+            return fallbackSupplier.get();
+        }
+
+        @SuppressWarnings("unchecked")
+        final GroupingFieldCollector<ENTITY, ?, R> grouping = (GroupingFieldCollector<ENTITY, ?, R>) collector;
+        @SuppressWarnings("unchecked")
+        final AggregateCollector<ENTITY, ?, ?> aggregate = (AggregateCollector<ENTITY, ?, ?>) grouping.getDownstream();
+
+        final Optional<SqlFunction<ResultSet, Object>> keyReader = info.getSqlColumnReader().apply(grouping.getField());
+        final Optional<String> aggregateSql = aggregateSql(info, aggregate);
+        final Optional<List<Predicate<ENTITY>>> predicates = fieldPredicates(pipeline, pipeline.size());
+        final Optional<String> tableReference = info.getSqlTableReference();
+        if (!keyReader.isPresent() || !aggregateSql.isPresent() || !predicates.isPresent() || !tableReference.isPresent()) {
+            return fallbackSupplier.get();
+        }
+
+        final String column = info.getSqlColumnNamer().apply(grouping.getField());
+        final StringBuilder sql = new StringBuilder()
+            .append("SELECT ").append(column).append(", ").append(aggregateSql.get())
+            .append(" FROM ")
+            .append(tableReference.get());
+        final List<Object> values = renderWhere(info, sql, predicates.get());
+        sql.append(" GROUP BY ").append(column);
+
+        final Function<Number, Object> valueMapper = aggregateValueMapper(aggregate);
+        final SqlFunction<ResultSet, Map.Entry<Object, Object>> resultMapper = rs -> new AbstractMap.SimpleImmutableEntry<>(
+            keyReader.get().apply(rs),
+            valueMapper.apply(getNumber(rs, 2))
+        );
+
+        @SuppressWarnings("unchecked")
+        final Map<Object, Object> result = (Map<Object, Object>) grouping.getMapFactory().get();
+        query(sqlStreamTerminator, sql.toString(), values, resultMapper).forEachOrdered(e
+            -> result.put(requireNonNull(e.getKey(), "element cannot be mapped to a null key"), e.getValue())
+        );
+
+        @SuppressWarnings("unchecked")
+        final R castResult = (R) result;
+        return castResult;
+    }
+
+    /**
+     * Optimizer for {@code min()} and {@code max()} operations on entity
+     * streams. If the pipeline only consists of field filters and sorts and the
+     * comparator is a field comparator, the first element is selected by the
+     * database using an {@code ORDER BY} and a {@code LIMIT}. Otherwise, the
+     * fallback supplier is used.
+     *
+     * @param <ENTITY> the entity type
+     * @param <T> the stream element type
+     * @param sqlStreamTerminator that called us
+     * @param pipeline the pipeline
+     * @param comparator that determines the order ({@code reversed()} for max)
+     * @param fallbackSupplier a fallback supplier should the pipeline not be
+     * possible to render using an {@code ORDER BY}
+     * @return the first element in the order of the comparator
+     */
+    public static <ENTITY, T> Optional<T> firstHelper(
+        final SqlStreamTerminator<ENTITY> sqlStreamTerminator,
+        final ReferencePipeline<T> pipeline,
+        final Comparator<? super T> comparator,
+        final Supplier<Optional<T>> fallbackSupplier
+    ) {
+        requireNonNull(sqlStreamTerminator);
+        requireNonNull(pipeline);
+        requireNonNull(comparator);
+        requireNonNull(fallbackSupplier);
+
+        final SortedComparatorAction<T> sortedAction = new SortedComparatorAction<>(comparator);
+        if (!isSortedActionWithFieldPredicate(sortedAction)) {
+            return fallbackSupplier.get();
+        }
+
+        if (!fieldPredicates(pipeline, pipeline.size()).isPresent()) {
+            return fallbackSupplier.get();
+        }
+
+        // Stream::min and Stream::max return the first of several equal
+        // elements and so does a stable sort followed by a limit
+        pipeline.add(sortedAction);
+        pipeline.add(new LimitAction<>(1));
+        return sqlStreamTerminator.optimize(pipeline).getAsReferenceStream().findFirst();
+    }
+
+    /**
+     * Returns the numeric value of the designated column or {@code null} if
+     * the value was SQL {@code NULL}.
+     *
+     * @param resultSet to read from
+     * @param index of the column (first column is 1)
+     * @return the numeric value or {@code null}
+     * @throws SQLException if the value could not be read
+     */
+    public static Number getNumber(ResultSet resultSet, int index) throws SQLException {
+        return (Number) resultSet.getObject(index);
+    }
+
+    private static <ENTITY> Optional<String> aggregateSql(
+        final SqlStreamOptimizerInfo<ENTITY> info,
+        final AggregateCollector<ENTITY, ?, ?> aggregate
+    ) {
+        switch (aggregate.getAggregate()) {
+            case COUNT:
+                return Optional.of("COUNT(*)");
+            case SUM:
+                return aggregate.getField()
+                    .filter(AggregateUtil::isUnmapped)
+                    .map(f -> String.format(SUM, info.getSqlColumnNamer().apply(f)));
+            default:
+                return Optional.empty();
+        }
+    }
+
+    private static Function<Number, Object> aggregateValueMapper(AggregateCollector<?, ?, ?> aggregate) {
+        // The result must have the same type as the downstream collector would
+        // have produced. A sum of only NULL values is NULL in SQL.
+        final Field<?> field = aggregate.getField().orElse(null);
+        if (field instanceof IntField) {
+            return n -> n == null ? 0 : n.intValue();
+        } else if (field instanceof DoubleField) {
+            return n -> n == null ? 0d : n.doubleValue();
+        } else {
+            return n -> n == null ? 0L : n.longValue();
+        }
+    }
+
+    private static <ENTITY> Optional<List<Predicate<ENTITY>>> fieldPredicates(
+        final Pipeline pipeline,
+        final int size
+    ) {
+        final List<Predicate<ENTITY>> predicates = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            final Action<?, ?> action = pipeline.get(i);
+            if (action instanceof FilterAction) {
+                @SuppressWarnings("unchecked")
+                final Predicate<ENTITY> predicate = (Predicate<ENTITY>) ((FilterAction<?>) action).getPredicate();
+                if (!isContainingOnlyFieldPredicate(predicate)) {
+                    return Optional.empty();
+                }
+                predicates.add(predicate);
+            } else if (!isSortedActionWithFieldPredicate(action)) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(predicates);
+    }
+
+    private static <ENTITY> List<Object> renderWhere(
+        final SqlStreamOptimizerInfo<ENTITY> info,
+        final StringBuilder sql,
+        final List<Predicate<ENTITY>> predicates
+    ) {
+        final List<Object> values = new ArrayList<>();
+        if (!predicates.isEmpty()) {
+            final RenderResult renderResult = StreamTerminatorUtil.renderSqlWhere(
+                info.getDbmsType(),
+                info.getSqlColumnNamer(),
+                info.getSqlDatabaseTypeFunction(),
+                predicates
+            );
+            sql.append(" WHERE ").append(renderResult.getSql());
+            values.addAll(renderResult.getValues());
+        }
+        return values;
+    }
+
+    private static <ENTITY, T> Stream<T> query(
+        final SqlStreamTerminator<ENTITY> sqlStreamTerminator,
+        final String sql,
+        final List<Object> values,
+        final SqlFunction<ResultSet, T> resultMapper
+    ) {
+        final AsynchronousQueryResult<ENTITY> asynchronousQueryResult = sqlStreamTerminator.getAsynchronousQueryResult();
+        asynchronousQueryResult.setSql(sql);
+        asynchronousQueryResult.setValues(values);
+        @SuppressWarnings("unchecked")
+        final SqlFunction<ResultSet, ENTITY> rsMapper
+            = (SqlFunction<ResultSet, ENTITY>) (SqlFunction<ResultSet, ?>) resultMapper;
+        asynchronousQueryResult.setRsMapper(rsMapper);
+        @SuppressWarnings("unchecked")
+        final Stream<T> result = (Stream<T>) asynchronousQueryResult.stream();
+        return result;
+    }
+
+    private static boolean isUnmapped(Field<?> field) {
+        // The database can only aggregate values that are not converted by a
+        // custom type mapper
+        final Class<?> typeMapperClass = field.typeMapper().getClass();
+        return TypeMapper.identity().getClass().isAssignableFrom(typeMapperClass)
+            || TypeMapper.primitive().getClass().isAssignableFrom(typeMapperClass);
+    }
+
+    private AggregateUtil() {
+        throw new UnsupportedOperationException();
+    }
+
+}
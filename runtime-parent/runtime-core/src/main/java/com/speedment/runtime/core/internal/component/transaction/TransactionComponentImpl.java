@@ -0,0 +1,46 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.transaction;
+
+import com.speedment.common.injector.annotation.Inject;
+import com.speedment.runtime.config.Dbms;
+import com.speedment.runtime.core.component.DbmsHandlerComponent;
+import com.speedment.runtime.core.component.transaction.TransactionComponent;
+import com.speedment.runtime.core.component.transaction.TransactionHandler;
+import static com.speedment.runtime.core.util.DatabaseUtil.dbmsTypeOf;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Default implementation of the {@link TransactionComponent} interface. The
+ * connection of a transaction is held by the 
+ * {@link com.speedment.runtime.core.db.DbmsOperationHandler} of the dbms.
+ *
+ * @since 3.0.12
+ */
+public final class TransactionComponentImpl implements TransactionComponent {
+
+    private @Inject DbmsHandlerComponent dbmsHandlerComponent;
+
+    @Override
+    public TransactionHandler createTransactionHandler(Dbms dbms) {
+        requireNonNull(dbms);
+        return new TransactionHandlerImpl(
+            dbms, 
+            dbmsTypeOf(dbmsHandlerComponent, dbms).getOperationHandler()
+        );
+    }
+}
@@ -0,0 +1,153 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.transaction;
+
+import com.speedment.runtime.config.Dbms;
+import com.speedment.runtime.core.component.transaction.Transaction;
+import com.speedment.runtime.core.component.transaction.TransactionHandler;
+import com.speedment.runtime.core.db.DbmsOperationHandler;
+import com.speedment.runtime.core.exception.SpeedmentException;
+import java.sql.SQLException;
+import java.util.function.Function;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Default implementation of the {@link TransactionHandler} interface.
+ *
+ * @since 3.0.12
+ */
+final class TransactionHandlerImpl implements TransactionHandler {
+
+    private final Dbms dbms;
+    private final DbmsOperationHandler operationHandler;
+
+    TransactionHandlerImpl(Dbms dbms, DbmsOperationHandler operationHandler) {
+        this.dbms             = requireNonNull(dbms);
+        this.operationHandler = requireNonNull(operationHandler);
+    }
+
+    @Override
+    public <R> R apply(Function<? super Transaction, ? extends R> action) {
+        requireNonNull(action);
+        
+        final TransactionImpl tx = new TransactionImpl();
+        begin();
+        
+        final R result;
+        try {
+            result = action.apply(tx);
+        } catch (final RuntimeException | Error ex) {
+            tx.end();
+            try {
+                operationHandler.rollbackTransaction(dbms);
+            } catch (final SQLException rollbackEx) {
+                ex.addSuppressed(rollbackEx);
+            }
+            throw ex;
+        }
+        
+        tx.end();
+        commit();
+        return result;
+    }
+
+    private void begin() {
+        try {
+            operationHandler.beginTransaction(dbms);
+        } catch (final SQLException ex) {
+            throw new SpeedmentException(
+                "Unable to begin transaction on dbms '" + dbms.getId() + "'.", 
+                ex
+            );
+        }
+    }
+    
+    private void commit() {
+        try {
+            operationHandler.commitTransaction(dbms);
+        } catch (final SQLException ex) {
+            throw new SpeedmentException(
+                "Unable to commit transaction on dbms '" + dbms.getId() + "'.", 
+                ex
+            );
+        }
+    }
+
+    private void rollback() {
+        try {
+            operationHandler.rollbackTransaction(dbms);
+        } catch (final SQLException ex) {
+            throw new SpeedmentException(
+                "Unable to roll back transaction on dbms '" + dbms.getId() + "'.", 
+                ex
+            );
+        }
+    }
+
+    /**
+     * The transaction that is given to the action. Ending the transaction 
+     * from within the action begins a new one immediately, so that the 
+     * remainder of the action is also part of a transaction.
+     */
+    private final class TransactionImpl implements Transaction {
+        
+        private final Thread owner;
+        private boolean ended;
+
+        private TransactionImpl() {
+            this.owner = Thread.currentThread();
+        }
+
+        @Override
+        public void commit() {
+            assertRunning();
+            try {
+                TransactionHandlerImpl.this.commit();
+            } finally {
+                begin();
+            }
+        }
+
+        @Override
+        public void rollback() {
+            assertRunning();
+            try {
+                TransactionHandlerImpl.this.rollback();
+            } finally {
+                begin();
+            }
+        }
+        
+        private void end() {
+            ended = true;
+        }
+        
+        private void assertRunning() {
+            if (ended) {
+                throw new IllegalStateException(
+                    "The transaction has already ended."
+                );
+            } else if (Thread.currentThread() != owner) {
+                throw new IllegalStateException(
+                    "The transaction belongs to thread '" + owner.getName() + 
+                    "' and can not be ended from thread '" + 
+                    Thread.currentThread().getName() + "'."
+                );
+            }
+        }
+    }
+}
@@ -25,16 +25,19 @@ import com.speedment.runtime.core.component.DbmsHandlerComponent;
 import com.speedment.runtime.core.component.connectionpool.ConnectionPoolComponent;
 import com.speedment.runtime.core.db.AsynchronousQueryResult;
 import com.speedment.runtime.core.db.DbmsOperationHandler;
+import com.speedment.runtime.core.db.SqlConsumer;
 import com.speedment.runtime.core.db.SqlFunction;
 import com.speedment.runtime.core.exception.SpeedmentException;
 import com.speedment.runtime.core.internal.manager.sql.SqlDeleteStatement;
 import com.speedment.runtime.core.internal.manager.sql.SqlInsertStatement;
 import com.speedment.runtime.core.internal.manager.sql.SqlStatement;
 import com.speedment.runtime.core.internal.manager.sql.SqlUpdateStatement;
+import com.speedment.runtime.core.internal.stream.autoclose.AutoClosingReferenceStream;
 import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
 import com.speedment.runtime.field.Field;
 
 import java.sql.*;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
@@ -65,6 +68,8 @@ public abstract class AbstractDbmsOperationHandler implements DbmsOperationHandl
     @Inject
     private DbmsHandlerComponent dbmsHandlerComponent;
 
+    private final ThreadLocal<ActiveTransaction> activeTransaction = new ThreadLocal<>();
+
     protected AbstractDbmsOperationHandler() {
     }
 
@@ -101,6 +106,33 @@ public abstract class AbstractDbmsOperationHandler implements DbmsOperationHandl
         }
     }
 
+    @Override
+    public <T> Stream<T> executeQueryLazily(Dbms dbms, String sql, List<?> values, SqlFunction<ResultSet, T> rsMapper) {
+        requireNonNulls(sql, values, rsMapper);
+
+        final AsynchronousQueryResult<T> asynchronousQueryResult = executeQueryAsync(
+            dbms,
+            sql,
+            values,
+            rsMapper,
+            ParallelStrategy.computeIntensityDefault()
+        );
+
+        final Stream<T> stream;
+        try {
+            stream = asynchronousQueryResult.stream();
+        } catch (final SpeedmentException se) {
+            asynchronousQueryResult.close();
+            throw se;
+        }
+
+        // Make sure we are closing the ResultSet, Statement and Connection
+        // as soon as the terminal operation has completed
+        return new AutoClosingReferenceStream<>(
+            stream.onClose(asynchronousQueryResult::close)
+        );
+    }
+
     @Override
     public <T> AsynchronousQueryResult<T> executeQueryAsync(
         Dbms dbms,
@@ -141,23 +173,140 @@ public abstract class AbstractDbmsOperationHandler implements DbmsOperationHandl
         execute(dbms, singletonList(sqlDeleteStatement));
     }
 
+    @Override
+    public void beginTransaction(Dbms dbms) throws SQLException {
+        requireNonNull(dbms);
+        if (activeTransaction.get() != null) {
+            throw new IllegalStateException(
+                "A transaction is already running on the current thread."
+            );
+        }
+
+        final Connection connection = connectionPoolComponent.getConnection(dbms);
+        try {
+            connection.setAutoCommit(false);
+        } catch (final SQLException ex) {
+            connection.close();
+            throw ex;
+        }
+        activeTransaction.set(new ActiveTransaction(dbms, connection));
+    }
+
+    @Override
+    public void commitTransaction(Dbms dbms) throws SQLException {
+        final ActiveTransaction tx = endTransaction(dbms);
+        try (final Connection connection = tx.connection) {
+            try {
+                connection.commit();
+            } catch (final SQLException ex) {
+                try {
+                    connection.rollback();
+                } catch (final SQLException rollbackEx) {
+                    ex.addSuppressed(rollbackEx);
+                }
+                throw ex;
+            }
+        }
+        tx.afterCommit.forEach(Runnable::run);
+    }
+
+    @Override
+    public void rollbackTransaction(Dbms dbms) throws SQLException {
+        final ActiveTransaction tx = endTransaction(dbms);
+        try (final Connection connection = tx.connection) {
+            connection.rollback();
+        }
+    }
+
+    @Override
+    public void afterCommit(Dbms dbms, Runnable action) {
+        requireNonNull(action);
+        final ActiveTransaction tx = activeTransaction(dbms);
+        if (tx == null) {
+            action.run();
+        } else {
+            tx.afterCommit.add(action);
+        }
+    }
+
+    private ActiveTransaction endTransaction(Dbms dbms) {
+        final ActiveTransaction tx = activeTransaction(dbms);
+        if (tx == null) {
+            throw new IllegalStateException(
+                "No transaction is running for dbms '" + dbms.getId() + 
+                "' on the current thread."
+            );
+        }
+        activeTransaction.remove();
+        return tx;
+    }
+
+    /**
+     * Returns the transaction that the current thread is running on the
+     * specified dbms, or {@code null} if there is no such transaction.
+     *
+     * @param dbms  the dbms
+     * @return      the running transaction or {@code null}
+     */
+    private ActiveTransaction activeTransaction(Dbms dbms) {
+        requireNonNull(dbms);
+        final ActiveTransaction tx = activeTransaction.get();
+        return tx != null && tx.isFor(dbms) ? tx : null;
+    }
+
     protected void logOperation(Logger logger, final String sql, final List<?> values) {
         logger.debug("%s, values:%s", sql, values);
     }
 
-    protected void execute(Dbms dbms, List<? extends SqlStatement> sqlStatementList) throws SQLException {
-        requireNonNull(sqlStatementList);
-        int retryCount = 5;
-        boolean transactionCompleted = false;
+    protected void logOperation(Logger logger, final String sql, final int batchSize) {
+        logger.debug("%s, batch size:%d", sql, batchSize);
+    }
 
-        do {
-            SqlStatement lastSqlStatement = null;
-            Connection conn = null;
+    @Override
+    public void executeBatch(Dbms dbms, Stream<? extends SqlStatement> sqlStatements, int batchSize) throws SQLException {
+        requireNonNull(sqlStatements);
+        if (batchSize < 1) {
+            throw new IllegalArgumentException(
+                "The batch size must be at least 1, was " + batchSize + "."
+            );
+        }
+
+        // The statements are consumed using forEachOrdered rather than an 
+        // iterator since they are often mapped from a manager stream, which
+        // might not support iteration.
+        try (final Stream<? extends SqlStatement> statements = sqlStatements) {
+            final List<SqlStatement> batch = new ArrayList<>(batchSize);
             try {
-                conn = connectionPoolComponent.getConnection(dbms);
-                conn.setAutoCommit(false);
-                for (final SqlStatement sqlStatement : sqlStatementList) {
-                    lastSqlStatement = sqlStatement;
+                statements.forEachOrdered(sqlStatement -> {
+                    try {
+                        if (!batch.isEmpty() && !isSameBatch(batch.get(0), sqlStatement)) {
+                            executeBatchHelper(dbms, batch);
+                            batch.clear();
+                        }
+                        batch.add(sqlStatement);
+                        if (batch.size() >= batchSize) {
+                            executeBatchHelper(dbms, batch);
+                            batch.clear();
+                        }
+                    } catch (final SQLException ex) {
+                        throw new BatchException(ex);
+                    }
+                });
+            } catch (final BatchException ex) {
+                throw ex.getCause();
+            }
+
+            if (!batch.isEmpty()) {
+                executeBatchHelper(dbms, batch);
+            }
+        }
+    }
+
+    protected void execute(Dbms dbms, List<? extends SqlStatement> sqlStatementList) throws SQLException {
+        requireNonNull(sqlStatementList);
+        executeInTransaction(dbms, sqlStatementList, conn -> {
+            for (final SqlStatement sqlStatement : sqlStatementList) {
+                try {
                     switch (sqlStatement.getType()) {
                         case INSERT: {
                             final SqlInsertStatement<?> s = (SqlInsertStatement<?>) sqlStatement;
@@ -175,15 +324,89 @@ public abstract class AbstractDbmsOperationHandler implements DbmsOperationHandl
                             break;
                         }
                     }
+                } catch (final SQLException sqlEx) {
+                    LOGGER.error("SQL: " + sqlStatement);
+                    throw sqlEx;
+                }
+            }
+        });
+    }
+
+    protected void executeBatchHelper(Dbms dbms, List<? extends SqlStatement> batch) throws SQLException {
+        requireNonNull(batch);
+        final SqlStatement first = batch.get(0);
+        logOperation(loggerFor(first.getType()), first.getSql(), batch.size());
+
+        executeInTransaction(dbms, batch, conn -> {
+            final int autoGeneratedKeys = first.getType() == SqlStatement.Type.INSERT
+                ? Statement.RETURN_GENERATED_KEYS
+                : Statement.NO_GENERATED_KEYS;
+
+            try (final PreparedStatement ps = conn.prepareStatement(first.getSql(), autoGeneratedKeys)) {
+                for (final SqlStatement sqlStatement : batch) {
+                    int i = 1;
+                    for (final Object o : sqlStatement.getValues()) {
+                        ps.setObject(i++, o);
+                    }
+                    ps.addBatch();
+                }
+                ps.executeBatch();
 
+                if (first.getType() == SqlStatement.Type.INSERT) {
+                    @SuppressWarnings("unchecked")
+                    final List<SqlInsertStatement<Object>> inserts
+                        = (List<SqlInsertStatement<Object>>) batch;
+                    handleGeneratedKeys(ps, inserts);
                 }
+            }
+        });
+    }
+
+    /**
+     * Executes the specified action in a new transaction, retrying the action
+     * if the transaction is aborted by the database due to a communication
+     * error or a serialization failure. If the transaction is completed, the
+     * generated keys (if any) of the specified statements will be accepted.
+     * <p>
+     * If the current thread is running a transaction on the specified dbms,
+     * the action is instead invoked once on the connection of that
+     * transaction and is neither committed nor retried. The generated keys
+     * are then accepted as soon as the action has completed.
+     *
+     * @param dbms              the dbms to send it to
+     * @param sqlStatementList  the statements handled by the action
+     * @param action            the action to invoke on the connection
+     * @throws SQLException  if the transaction could not be completed
+     */
+    private void executeInTransaction(
+            final Dbms dbms,
+            final List<? extends SqlStatement> sqlStatementList,
+            final SqlConsumer<Connection> action) throws SQLException {
+
+        final ActiveTransaction tx = activeTransaction(dbms);
+        if (tx != null) {
+            clearGeneratedKeys(sqlStatementList);
+            action.accept(tx.connection);
+            postSuccessfulTransaction(sqlStatementList);
+            return;
+        }
+
+        int retryCount = 5;
+        boolean transactionCompleted = false;
+
+        do {
+            Connection conn = null;
+            try {
+                clearGeneratedKeys(sqlStatementList);
+                conn = connectionPoolComponent.getConnection(dbms);
+                conn.setAutoCommit(false);
+                action.accept(conn);
                 conn.commit();
                 conn.close();
                 transactionCompleted = true;
                 conn = null;
             } catch (SQLException sqlEx) {
                 LOGGER.error("SqlStatementList: " + sqlStatementList);
-                LOGGER.error("SQL: " + lastSqlStatement);
                 LOGGER.error(sqlEx, sqlEx.getMessage());
                 final String sqlState = sqlEx.getSQLState();
 
@@ -225,6 +448,22 @@ public abstract class AbstractDbmsOperationHandler implements DbmsOperationHandl
         }
     }
 
+    private boolean isSameBatch(SqlStatement first, SqlStatement other) {
+        return first.getType() == other.getType()
+            && first.getSql().equals(other.getSql());
+    }
+
+    private Logger loggerFor(SqlStatement.Type type) {
+        switch (type) {
+            case INSERT : return LOGGER_PERSIST;
+            case UPDATE : return LOGGER_UPDATE;
+            case DELETE : return LOGGER_REMOVE;
+            default : throw new IllegalStateException(
+                "Unknown statement type '" + type + "'."
+            );
+        }
+    }
+
     protected <ENTITY> void handleSqlStatement(Dbms dbms, Connection conn, SqlInsertStatement<ENTITY> sqlStatement) throws SQLException {
         try (final PreparedStatement ps = conn.prepareStatement(sqlStatement.getSql(), Statement.RETURN_GENERATED_KEYS)) {
             int i = 1;
@@ -246,6 +485,51 @@ public abstract class AbstractDbmsOperationHandler implements DbmsOperationHandl
         }
     }
 
+    /**
+     * Reads the keys generated by a batch of insert statements and feeds them
+     * to the respective statement. The generated keys are assumed to be
+     * returned in the same order as the statements were added to the batch.
+     * Since a key can't be attributed to the right statement otherwise, an 
+     * exception is thrown if the number of generated keys differs from the 
+     * number of statements that has generated columns.
+     *
+     * @param <ENTITY>       the entity type
+     * @param ps             the executed statement
+     * @param sqlStatements  the statements in the batch
+     * @throws SQLException  if the generated keys could not be read or if 
+     *                       the number of keys is wrong
+     */
+    protected <ENTITY> void handleGeneratedKeys(PreparedStatement ps, List<SqlInsertStatement<ENTITY>> sqlStatements) throws SQLException {
+        final List<SqlInsertStatement<ENTITY>> expecting = new ArrayList<>(sqlStatements.size());
+        for (final SqlInsertStatement<ENTITY> sqlStatement : sqlStatements) {
+            if (!sqlStatement.getGeneratedColumnFields().isEmpty()) {
+                expecting.add(sqlStatement);
+            }
+        }
+
+        if (expecting.isEmpty()) {
+            return;
+        }
+
+        final List<Long> keys = new ArrayList<>(expecting.size());
+        try (final ResultSet generatedKeys = ps.getGeneratedKeys()) {
+            while (generatedKeys.next()) {
+                keys.add(generatedKeys.getLong(1));
+            }
+        }
+
+        if (keys.size() != expecting.size()) {
+            throw new SQLException(
+                "Expected " + expecting.size() + " generated keys from the " +
+                "batch but the driver returned " + keys.size() + "."
+            );
+        }
+
+        for (int i = 0; i < keys.size(); i++) {
+            expecting.get(i).addGeneratedKey(keys.get(i));
+        }
+    }
+
     protected void handleSqlStatement(Dbms dbms, Connection conn, SqlUpdateStatement sqlStatement) throws SQLException {
         handleSqlStatementHelper(conn, sqlStatement);
     }
@@ -264,6 +548,14 @@ public abstract class AbstractDbmsOperationHandler implements DbmsOperationHandl
         }
     }
 
+    private void clearGeneratedKeys(List<? extends SqlStatement> sqlStatementList) {
+        for (final SqlStatement sqlStatement : sqlStatementList) {
+            if (sqlStatement instanceof SqlInsertStatement) {
+                ((SqlInsertStatement<?>) sqlStatement).clearGeneratedKeys();
+            }
+        }
+    }
+
     protected void postSuccessfulTransaction(List<? extends SqlStatement> sqlStatementList) {
         sqlStatementList.stream()
             .filter(SqlInsertStatement.class::isInstance)
@@ -271,6 +563,45 @@ public abstract class AbstractDbmsOperationHandler implements DbmsOperationHandl
             .forEach(SqlInsertStatement::acceptGeneratedKeys);
     }
 
+    /**
+     * The connection of a thread that has begun a transaction, and the
+     * actions to run once the transaction has been committed.
+     */
+    private static final class ActiveTransaction {
+
+        private final String dbmsId;
+        private final Connection connection;
+        private final List<Runnable> afterCommit;
+
+        private ActiveTransaction(Dbms dbms, Connection connection) {
+            this.dbmsId      = dbms.getId();
+            this.connection  = connection;
+            this.afterCommit = new ArrayList<>();
+        }
+
+        private boolean isFor(Dbms dbms) {
+            return Objects.equals(dbmsId, dbms.getId());
+        }
+    }
+
+    /**
+     * Carries an {@code SQLException} out of the stream that the statements
+     * of a batch are consumed from.
+     */
+    private static final class BatchException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private BatchException(SQLException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized SQLException getCause() {
+            return (SQLException) super.getCause();
+        }
+    }
+
     @FunctionalInterface
     protected interface TableChildMutator<T, U> {
 
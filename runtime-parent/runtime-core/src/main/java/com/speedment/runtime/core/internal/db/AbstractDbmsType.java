@@ -155,4 +155,9 @@ public abstract class AbstractDbmsType implements DbmsType {
         return SortByNullOrderInsertion.PRE;
     }
 
+    @Override
+    public UpsertSupport getUpsertSupport() {
+        return UpsertSupport.NONE;
+    }
+
 }
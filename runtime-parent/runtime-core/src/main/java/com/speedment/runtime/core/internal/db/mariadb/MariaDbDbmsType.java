@@ -122,6 +122,11 @@ public final class MariaDbDbmsType extends AbstractDbmsType {
         return "select version() as `MariaDB version`";
     }
 
+    @Override
+    public UpsertSupport getUpsertSupport() {
+        return UpsertSupport.ON_DUPLICATE_KEY_UPDATE;
+    }
+
     @Override
     public DbmsColumnHandler getColumnHandler() {
         return new DbmsColumnHandler() {
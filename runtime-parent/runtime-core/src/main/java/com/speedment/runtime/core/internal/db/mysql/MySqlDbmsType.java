@@ -127,6 +127,11 @@ public final class MySqlDbmsType extends AbstractDbmsType {
         return "select version() as `MySQL version`";
     }
 
+    @Override
+    public UpsertSupport getUpsertSupport() {
+        return UpsertSupport.ON_DUPLICATE_KEY_UPDATE;
+    }
+
     @Override
     public DbmsColumnHandler getColumnHandler() {
         return new DbmsColumnHandler() {
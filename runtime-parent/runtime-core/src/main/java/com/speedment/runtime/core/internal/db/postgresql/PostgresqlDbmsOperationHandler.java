@@ -24,6 +24,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -65,4 +66,20 @@ public final class PostgresqlDbmsOperationHandler extends AbstractDbmsOperationH
             }
         }
     }
+
+    @Override
+    protected <ENTITY> void handleGeneratedKeys(PreparedStatement ps, List<SqlInsertStatement<ENTITY>> sqlStatements) throws SQLException {
+        // See comment above. The rows are returned in the same order as the 
+        // statements were added to the batch.
+        try (final ResultSet generatedKeys = ps.getGeneratedKeys()) {
+            final Iterator<SqlInsertStatement<ENTITY>> iterator = sqlStatements.iterator();
+            while (iterator.hasNext() && generatedKeys.next()) {
+                final SqlInsertStatement<ENTITY> sqlStatement = iterator.next();
+                final int columnType = generatedKeys.getMetaData().getColumnType(1);
+                if (generatedKeys.getMetaData().isAutoIncrement(1) && LONG_GETTABLE_TYPES.contains(columnType)) {
+                    sqlStatement.addGeneratedKey(generatedKeys.getLong(1));
+                }
+            }
+        }
+    }
 }
\ No newline at end of file
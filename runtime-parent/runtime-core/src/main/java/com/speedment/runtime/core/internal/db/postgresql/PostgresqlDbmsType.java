@@ -121,6 +121,11 @@ public final class PostgresqlDbmsType extends AbstractDbmsType {
         return "select version() as \"PostgreSQL version\"";
     }
 
+    @Override
+    public UpsertSupport getUpsertSupport() {
+        return UpsertSupport.ON_CONFLICT;
+    }
+
     @Override
     public Set<TypeInfoMetaData> getDataTypes() {
         return Stream.concat(
@@ -17,14 +17,21 @@
 package com.speedment.runtime.core.internal.manager;
 
 import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.core.component.AsyncExecutorComponent;
 import com.speedment.runtime.core.component.StreamSupplierComponent;
 import com.speedment.runtime.core.manager.Manager;
 import com.speedment.runtime.core.manager.Persister;
 import com.speedment.runtime.core.manager.Remover;
 import com.speedment.runtime.core.manager.Updater;
+import com.speedment.runtime.core.manager.Upserter;
 import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import com.speedment.runtime.core.stream.reactive.Publisher;
 import com.speedment.runtime.field.Field;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import static java.util.Objects.requireNonNull;
@@ -41,14 +48,17 @@ import static java.util.Objects.requireNonNull;
 public final class ConfiguredManager<ENTITY> implements Manager<ENTITY> {
 
     private final StreamSupplierComponent streamSupplierComponent;
+    private final AsyncExecutorComponent asyncExecutorComponent;
     private final Manager<ENTITY> manager;
     private final ParallelStrategy parallelStrategy;
 
     ConfiguredManager(StreamSupplierComponent streamSupplierComponent,
+                      AsyncExecutorComponent asyncExecutorComponent,
                       Manager<ENTITY> manager,
                       ParallelStrategy parallelStrategy) {
 
         this.streamSupplierComponent = requireNonNull(streamSupplierComponent);
+        this.asyncExecutorComponent  = requireNonNull(asyncExecutorComponent);
         this.manager                 = requireNonNull(manager);
         this.parallelStrategy        = requireNonNull(parallelStrategy);
     }
@@ -81,6 +91,31 @@ public final class ConfiguredManager<ENTITY> implements Manager<ENTITY> {
         );
     }
 
+    @Override
+    public <T, R> Function<T, R> prepare(BiFunction<Stream<ENTITY>, T, R> template) {
+        requireNonNull(template);
+        final Supplier<Stream<ENTITY>> streams = streamSupplierComponent.prepare(
+            getTableIdentifier(),
+            parallelStrategy
+        );
+        return parameter -> template.apply(streams.get(), parameter);
+    }
+
+    @Override
+    public <R> CompletableFuture<R> queryAsync(Function<Stream<ENTITY>, R> query) {
+        requireNonNull(query);
+        return asyncExecutorComponent.supplyAsync(() -> {
+            try (final Stream<ENTITY> stream = stream()) {
+                return query.apply(stream);
+            }
+        });
+    }
+
+    @Override
+    public Publisher<ENTITY> publisher() {
+        return streamSupplierComponent.publisher(getTableIdentifier(), asyncExecutorComponent.getExecutor());
+    }
+
     @Override
     public Persister<ENTITY> persister() {
         return manager.persister();
@@ -96,6 +131,11 @@ public final class ConfiguredManager<ENTITY> implements Manager<ENTITY> {
         return manager.remover();
     }
 
+    @Override
+    public Upserter<ENTITY> upserter() {
+        return manager.upserter();
+    }
+
     @Override
     public String toString() {
         return "ConfiguredManager{" +
@@ -16,6 +16,7 @@
  */
 package com.speedment.runtime.core.internal.manager;
 
+import com.speedment.runtime.core.component.AsyncExecutorComponent;
 import com.speedment.runtime.core.component.StreamSupplierComponent;
 import com.speedment.runtime.core.manager.Manager;
 import com.speedment.runtime.core.manager.ManagerConfigurator;
@@ -37,14 +38,17 @@ public final class ManagerConfiguratorImpl<ENTITY>
 implements ManagerConfigurator<ENTITY> {
 
     private final StreamSupplierComponent streams;
+    private final AsyncExecutorComponent executor;
     private final Manager<ENTITY> manager;
 
     private ParallelStrategy strategy;
 
     public ManagerConfiguratorImpl(StreamSupplierComponent streams,
+                                   AsyncExecutorComponent executor,
                                    Manager<ENTITY> manager) {
 
         this.streams  = requireNonNull(streams);
+        this.executor = requireNonNull(executor);
         this.manager  = requireNonNull(manager);
         this.strategy = computeIntensityDefault();
     }
@@ -62,6 +66,6 @@ implements ManagerConfigurator<ENTITY> {
             ".withParallelStrategy(...) has not been called!"
         );
 
-        return new ConfiguredManager<>(streams, manager, strategy);
+        return new ConfiguredManager<>(streams, executor, manager, strategy);
     }
 }
@@ -29,7 +29,6 @@ import java.util.function.Function;
 
 import static com.speedment.runtime.field.util.PredicateOperandUtil.*;
 import static java.util.Objects.requireNonNull;
-import static java.util.stream.Collectors.joining;
 
 /**
  *
@@ -272,6 +271,24 @@ public abstract class AbstractFieldPredicateView implements FieldPredicateView {
         return SqlPredicateFragment.of(sql, objects);
     }
 
+    /**
+     * Returns a comma separated list of the specified number of parameter
+     * markers, like {@code "?,?,?"}.
+     *
+     * @param count  the number of parameters
+     * @return       the parameter list
+     */
+    protected static String parameters(int count) {
+        if (count == 0) {
+            return "";
+        }
+        final StringBuilder sb = new StringBuilder(2 * count - 1).append('?');
+        for (int i = 1; i < count; i++) {
+            sb.append(",?");
+        }
+        return sb.toString();
+    }
+
     protected static SqlPredicateFragment of(String sql, boolean negated) {
         if (negated) {
             return of("(NOT(" + sql + "))");
@@ -353,7 +370,7 @@ public abstract class AbstractFieldPredicateView implements FieldPredicateView {
                 : equalHelper(cn, arg);
         } else {
             return of("(" + cn + " IN (" +
-                set.stream().map($ -> "?").collect(joining(",")) +
+                parameters(set.size()) +
                 "))", negated
             ).addAll(set);
         }
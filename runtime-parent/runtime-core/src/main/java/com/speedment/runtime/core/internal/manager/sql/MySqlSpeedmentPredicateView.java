@@ -25,7 +25,6 @@ import com.speedment.runtime.field.predicate.Inclusion;
 import java.util.Set;
 
 import static com.speedment.runtime.field.util.PredicateOperandUtil.*;
-import static java.util.stream.Collectors.joining;
 
 /**
  *
@@ -223,7 +222,7 @@ implements FieldPredicateView {
         }
 
         return of("(" + cn + " IN (" +
-            set.stream().map($ -> "?").collect(joining(",")) +
+            parameters(set.size()) +
             " COLLATE "+ binaryCollationName +"))", negated
         ).addAll(set);
     }
@@ -60,6 +60,17 @@ public final class SqlInsertStatement<ENTITY> extends SqlStatement {
         generatedKeys.add(generatedKey);
     }
 
+    /**
+     * Discards any generated keys added so far. This is called before a 
+     * transaction is retried so that keys from a transaction that was 
+     * rolled back are never given to the consumer.
+     * 
+     * @since 3.0.12
+     */
+    public void clearGeneratedKeys() {
+        generatedKeys.clear();
+    }
+
     public void acceptGeneratedKeys() {
         generatedKeysConsumer.accept(generatedKeys);
     }
@@ -32,6 +32,9 @@ import java.util.Comparator;
 import java.util.Iterator;
 import static java.util.Objects.requireNonNull;
 import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
 import java.util.PrimitiveIterator;
 import java.util.Spliterator;
 import java.util.function.BiConsumer;
@@ -204,6 +207,26 @@ public final class SqlStreamTerminator<ENTITY> implements StreamTerminator {
         return sqlStreamTerminatorComponent.<ENTITY>getDoubleCountTerminator().apply(info, this, pipeline);
     }
 
+    @Override
+    public double sum(DoublePipeline pipeline) {
+        return sqlStreamTerminatorComponent.<ENTITY>getDoubleSumTerminator().apply(info, this, pipeline);
+    }
+
+    @Override
+    public OptionalDouble min(DoublePipeline pipeline) {
+        return sqlStreamTerminatorComponent.<ENTITY>getDoubleMinTerminator().apply(info, this, pipeline);
+    }
+
+    @Override
+    public OptionalDouble max(DoublePipeline pipeline) {
+        return sqlStreamTerminatorComponent.<ENTITY>getDoubleMaxTerminator().apply(info, this, pipeline);
+    }
+
+    @Override
+    public OptionalDouble average(DoublePipeline pipeline) {
+        return sqlStreamTerminatorComponent.<ENTITY>getDoubleAverageTerminator().apply(info, this, pipeline);
+    }
+
     // Todo: Introduce delegator
     @Override
     public PrimitiveIterator.OfDouble iterator(DoublePipeline pipeline) {
@@ -228,6 +251,26 @@ public final class SqlStreamTerminator<ENTITY> implements StreamTerminator {
         return sqlStreamTerminatorComponent.<ENTITY>getIntCountTerminator().apply(info, this, pipeline);
     }
 
+    @Override
+    public int sum(IntPipeline pipeline) {
+        return sqlStreamTerminatorComponent.<ENTITY>getIntSumTerminator().apply(info, this, pipeline);
+    }
+
+    @Override
+    public OptionalInt min(IntPipeline pipeline) {
+        return sqlStreamTerminatorComponent.<ENTITY>getIntMinTerminator().apply(info, this, pipeline);
+    }
+
+    @Override
+    public OptionalInt max(IntPipeline pipeline) {
+        return sqlStreamTerminatorComponent.<ENTITY>getIntMaxTerminator().apply(info, this, pipeline);
+    }
+
+    @Override
+    public OptionalDouble average(IntPipeline pipeline) {
+        return sqlStreamTerminatorComponent.<ENTITY>getIntAverageTerminator().apply(info, this, pipeline);
+    }
+
     // Todo: Introduce delegator
     @Override
     public PrimitiveIterator.OfInt iterator(IntPipeline pipeline) {
@@ -252,6 +295,26 @@ public final class SqlStreamTerminator<ENTITY> implements StreamTerminator {
         return sqlStreamTerminatorComponent.<ENTITY>getLongCountTerminator().apply(info, this, pipeline);
     }
 
+    @Override
+    public long sum(LongPipeline pipeline) {
+        return sqlStreamTerminatorComponent.<ENTITY>getLongSumTerminator().apply(info, this, pipeline);
+    }
+
+    @Override
+    public OptionalLong min(LongPipeline pipeline) {
+        return sqlStreamTerminatorComponent.<ENTITY>getLongMinTerminator().apply(info, this, pipeline);
+    }
+
+    @Override
+    public OptionalLong max(LongPipeline pipeline) {
+        return sqlStreamTerminatorComponent.<ENTITY>getLongMaxTerminator().apply(info, this, pipeline);
+    }
+
+    @Override
+    public OptionalDouble average(LongPipeline pipeline) {
+        return sqlStreamTerminatorComponent.<ENTITY>getLongAverageTerminator().apply(info, this, pipeline);
+    }
+
     // Todo: Introduce delegator
     @Override
     public PrimitiveIterator.OfLong iterator(LongPipeline pipeline) {
@@ -20,6 +20,7 @@ import java.sql.*;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
 
 import static java.util.Objects.requireNonNull;
 
@@ -30,9 +31,25 @@ import static java.util.Objects.requireNonNull;
 abstract class PoolableConnectionDelegator implements Connection {
 
     protected final Connection connection;
+    protected final PreparedStatementCache statementCache;
 
     PoolableConnectionDelegator(Connection connection) {
-        this.connection = requireNonNull(connection);
+        this(connection, 0, new LongAdder(), new LongAdder());
+    }
+
+    PoolableConnectionDelegator(
+            Connection connection, 
+            int statementCacheSize, 
+            LongAdder statementCacheHits, 
+            LongAdder statementCacheMisses) {
+        
+        this.connection     = requireNonNull(connection);
+        this.statementCache = new PreparedStatementCache(
+            connection, 
+            statementCacheSize, 
+            statementCacheHits, 
+            statementCacheMisses
+        );
     }
 
     @Override
@@ -137,7 +154,7 @@ abstract class PoolableConnectionDelegator implements Connection {
 
     @Override
     public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
-        return connection.prepareStatement(sql, resultSetType, resultSetConcurrency);
+        return statementCache.prepareStatement(sql, resultSetType, resultSetConcurrency);
     }
 
     @Override
@@ -202,7 +219,7 @@ abstract class PoolableConnectionDelegator implements Connection {
 
     @Override
     public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
-        return connection.prepareStatement(sql, autoGeneratedKeys);
+        return statementCache.prepareStatement(sql, autoGeneratedKeys);
     }
 
     @Override
@@ -24,6 +24,7 @@ import com.speedment.runtime.core.component.connectionpool.PoolableConnection;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import static java.util.Objects.requireNonNull;
 
@@ -47,7 +48,20 @@ public final class PoolableConnectionImpl extends PoolableConnectionDelegator im
     private Runnable onClose;
 
     public PoolableConnectionImpl(String uri, String username, char[] password, Connection connection, long expires) {
-        super(connection);
+        this(uri, username, password, connection, expires, 0, new LongAdder(), new LongAdder());
+    }
+
+    public PoolableConnectionImpl(
+            String uri, 
+            String username, 
+            char[] password, 
+            Connection connection, 
+            long expires, 
+            int statementCacheSize, 
+            LongAdder statementCacheHits, 
+            LongAdder statementCacheMisses) {
+        
+        super(connection, statementCacheSize, statementCacheHits, statementCacheMisses);
         this.id = ID_GENERATOR.getAndIncrement();
         this.uri = requireNonNull(uri);
         this.username = username; // Nullable
@@ -69,6 +83,7 @@ public final class PoolableConnectionImpl extends PoolableConnectionDelegator im
     @Override
     public void rawClose() throws SQLException {
         LOGGER_CONNECTION.debug("Closed external connection: %s", connection);
+        statementCache.clear();
         connection.close();
     }
 
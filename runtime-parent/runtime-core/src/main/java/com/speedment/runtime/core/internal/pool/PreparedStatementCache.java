@@ -0,0 +1,249 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.pool;
+
+import com.speedment.common.logger.Logger;
+import com.speedment.common.logger.LoggerManager;
+import com.speedment.runtime.core.ApplicationBuilder;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A least-recently-used cache of {@link PreparedStatement PreparedStatements}
+ * belonging to a single {@link Connection}. Statements are keyed by their SQL
+ * text together with the result set type and concurrency (or the generated
+ * keys flag) that they were prepared with.
+ * <p>
+ * A statement is taken out of the cache while it is in use. When the caller
+ * closes the returned statement, its parameters are cleared and the underlying
+ * statement is returned to the cache instead of being closed. Statements that
+ * are evicted from the cache are closed.
+ *
+ * @since 3.0.12
+ */
+final class PreparedStatementCache {
+
+    private static final Logger LOGGER_CONNECTION = LoggerManager.getLogger(
+        ApplicationBuilder.LogType.CONNECTION.getLoggerName()
+    );
+
+    private final Connection connection;
+    private final int capacity;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final Map<Key, PreparedStatement> cache;
+
+    PreparedStatementCache(
+            final Connection connection,
+            final int capacity,
+            final LongAdder hits,
+            final LongAdder misses) {
+
+        this.connection = requireNonNull(connection);
+        this.capacity   = capacity;
+        this.hits       = requireNonNull(hits);
+        this.misses     = requireNonNull(misses);
+        this.cache      = new LinkedHashMap<Key, PreparedStatement>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, PreparedStatement> eldest) {
+                if (size() > PreparedStatementCache.this.capacity) {
+                    closeSilently(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+        if (capacity <= 0) {
+            return connection.prepareStatement(sql, resultSetType, resultSetConcurrency);
+        }
+
+        final Key key = new Key(sql, resultSetType, resultSetConcurrency);
+        final PreparedStatement cached = take(key);
+        if (cached == null) {
+            return new CachedPreparedStatement(key, connection.prepareStatement(sql, resultSetType, resultSetConcurrency));
+        } else {
+            return new CachedPreparedStatement(key, cached);
+        }
+    }
+
+    PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+        if (capacity <= 0) {
+            return connection.prepareStatement(sql, autoGeneratedKeys);
+        }
+
+        final Key key = new Key(sql, autoGeneratedKeys);
+        final PreparedStatement cached = take(key);
+        if (cached == null) {
+            return new CachedPreparedStatement(key, connection.prepareStatement(sql, autoGeneratedKeys));
+        } else {
+            return new CachedPreparedStatement(key, cached);
+        }
+    }
+
+    /**
+     * Closes all the statements that are currently held by this cache.
+     */
+    void clear() {
+        final List<PreparedStatement> statements;
+        synchronized (cache) {
+            statements = new ArrayList<>(cache.values());
+            cache.clear();
+        }
+        statements.forEach(PreparedStatementCache::closeSilently);
+    }
+
+    int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    private PreparedStatement take(Key key) throws SQLException {
+        final PreparedStatement statement;
+        synchronized (cache) {
+            statement = cache.remove(key);
+        }
+
+        if (statement == null || statement.isClosed()) {
+            misses.increment();
+            return null;
+        } else {
+            hits.increment();
+            return statement;
+        }
+    }
+
+    private void release(Key key, PreparedStatement statement) {
+        try {
+            if (statement.isClosed()) {
+                return;
+            }
+            statement.clearParameters();
+            statement.clearBatch();
+            statement.clearWarnings();
+        } catch (final SQLException ex) {
+            closeSilently(statement);
+            return;
+        }
+
+        final PreparedStatement previous;
+        synchronized (cache) {
+            previous = cache.put(key, statement);
+        }
+
+        // The same SQL might have been prepared twice while this statement
+        // was in use. In that case, only one of them is retained.
+        if (previous != null && previous != statement) {
+            closeSilently(previous);
+        }
+    }
+
+    private static void closeSilently(Statement statement) {
+        try {
+            statement.close();
+        } catch (final SQLException ex) {
+            LOGGER_CONNECTION.error(ex, "Error closing a cached statement.");
+        }
+    }
+
+    /**
+     * A statement that is handed out to the caller. Closing it returns the
+     * underlying statement to the cache.
+     */
+    private final class CachedPreparedStatement extends PreparedStatementDelegator {
+
+        private final Key key;
+        private boolean closed;
+
+        private CachedPreparedStatement(Key key, PreparedStatement statement) {
+            super(statement);
+            this.key = requireNonNull(key);
+        }
+
+        @Override
+        public void close() throws SQLException {
+            if (!closed) {
+                closed = true;
+                release(key, statement);
+            }
+        }
+
+        @Override
+        public boolean isClosed() throws SQLException {
+            return closed || statement.isClosed();
+        }
+    }
+
+    private static final class Key {
+
+        private final String sql;
+        private final int resultSetType;
+        private final int resultSetConcurrency;
+        private final int autoGeneratedKeys;
+
+        private Key(String sql, int resultSetType, int resultSetConcurrency) {
+            this.sql                  = requireNonNull(sql);
+            this.resultSetType        = resultSetType;
+            this.resultSetConcurrency = resultSetConcurrency;
+            this.autoGeneratedKeys    = -1;
+        }
+
+        private Key(String sql, int autoGeneratedKeys) {
+            this.sql                  = requireNonNull(sql);
+            this.resultSetType        = -1;
+            this.resultSetConcurrency = -1;
+            this.autoGeneratedKeys    = autoGeneratedKeys;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = sql.hashCode();
+            hash = 31 * hash + resultSetType;
+            hash = 31 * hash + resultSetConcurrency;
+            hash = 31 * hash + autoGeneratedKeys;
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Key)) return false;
+
+            final Key that = (Key) obj;
+            return resultSetType == that.resultSetType
+                && resultSetConcurrency == that.resultSetConcurrency
+                && autoGeneratedKeys == that.autoGeneratedKeys
+                && sql.equals(that.sql);
+        }
+    }
+}
@@ -22,6 +22,10 @@ import com.speedment.runtime.core.db.DbmsType;
 import com.speedment.runtime.core.db.FieldPredicateView;
 import com.speedment.runtime.core.db.SqlPredicateFragment;
 import com.speedment.runtime.core.internal.stream.builder.action.reference.FilterAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapToDoubleAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapToIntAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapToLongAction;
 import com.speedment.runtime.core.internal.stream.builder.action.reference.SortedComparatorAction;
 import com.speedment.runtime.core.internal.util.Cast;
 import com.speedment.runtime.core.stream.Pipeline;
@@ -30,6 +34,10 @@ import com.speedment.runtime.field.Field;
 import com.speedment.runtime.field.comparator.CombinedComparator;
 import com.speedment.runtime.field.comparator.FieldComparator;
 import com.speedment.runtime.field.internal.predicate.AbstractCombinedPredicate;
+import com.speedment.runtime.field.method.GetDouble;
+import com.speedment.runtime.field.method.GetInt;
+import com.speedment.runtime.field.method.GetLong;
+import com.speedment.runtime.field.method.GetReference;
 import com.speedment.runtime.field.predicate.CombinedPredicate;
 import com.speedment.runtime.field.predicate.FieldPredicate;
 import com.speedment.runtime.field.predicate.PredicateType;
@@ -140,6 +148,48 @@ public final class StreamTerminatorUtil {
         return false;
     }
 
+    /**
+     * Returns the field of the getter that the given action maps with, if
+     * the action is a {@code map}, {@code mapToInt}, {@code mapToLong} or
+     * {@code mapToDouble} operation that uses a field getter. Otherwise an
+     * empty Optional is returned.
+     *
+     * @param <ENTITY> the entity type
+     * @param action   the action to examine
+     * @return the field that the action maps to, if any
+     */
+    public static <ENTITY> Optional<Field<ENTITY>> projectedField(Action<?, ?> action) {
+        final Object mapper;
+        if (action instanceof MapAction) {
+            mapper = ((MapAction<?, ?>) action).getMapper();
+        } else if (action instanceof MapToIntAction) {
+            mapper = ((MapToIntAction<?>) action).getMapper();
+        } else if (action instanceof MapToLongAction) {
+            mapper = ((MapToLongAction<?>) action).getMapper();
+        } else if (action instanceof MapToDoubleAction) {
+            mapper = ((MapToDoubleAction<?>) action).getMapper();
+        } else {
+            return Optional.empty();
+        }
+
+        final Field<?> field;
+        if (mapper instanceof GetReference) {
+            field = ((GetReference<?, ?, ?>) mapper).getField();
+        } else if (mapper instanceof GetInt) {
+            field = ((GetInt<?, ?>) mapper).getField();
+        } else if (mapper instanceof GetLong) {
+            field = ((GetLong<?, ?>) mapper).getField();
+        } else if (mapper instanceof GetDouble) {
+            field = ((GetDouble<?, ?>) mapper).getField();
+        } else {
+            return Optional.empty();
+        }
+
+        @SuppressWarnings("unchecked")
+        final Field<ENTITY> result = (Field<ENTITY>) field;
+        return Optional.ofNullable(result);
+    }
+
     public static <ENTITY> void modifySource(
         final List<FieldPredicate<ENTITY>> predicateBuilders,
         final SqlStreamOptimizerInfo<ENTITY> info,
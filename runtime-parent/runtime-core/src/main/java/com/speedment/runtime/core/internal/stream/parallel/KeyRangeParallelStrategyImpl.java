@@ -0,0 +1,53 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.stream.parallel;
+
+import com.speedment.runtime.core.stream.parallel.KeyRangeParallelStrategy;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ *
+ * @since 3.0.12
+ */
+public final class KeyRangeParallelStrategyImpl implements KeyRangeParallelStrategy {
+
+    private final int partitions;
+
+    public KeyRangeParallelStrategyImpl(int partitions) {
+        if (partitions < 1) {
+            throw new IllegalArgumentException(
+                "The number of partitions must be positive, was " + partitions + "."
+            );
+        }
+        this.partitions = partitions;
+    }
+
+    @Override
+    public int getPartitions() {
+        return partitions;
+    }
+
+    @Override
+    public <T> Spliterator<T> spliteratorUnknownSize(Iterator<? extends T> iterator, int characteristics) {
+        // Used for sources that can not be partitioned on a key
+        return Spliterators.spliteratorUnknownSize(iterator, characteristics);
+    }
+
+}
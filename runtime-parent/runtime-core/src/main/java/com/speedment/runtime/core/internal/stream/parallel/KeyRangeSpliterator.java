@@ -0,0 +1,140 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.stream.parallel;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link Spliterator} over an inclusive range of keys. Splitting divides the
+ * range in two halves. The elements of a range are not read until the range
+ * is traversed, at which point a stream is obtained for the remaining range
+ * from the {@link RangeStreamer}. That stream is closed as soon as it has been
+ * fully consumed.
+ *
+ * @param <T> the element type
+ * @since 3.0.12
+ */
+public final class KeyRangeSpliterator<T> implements Spliterator<T> {
+
+    /**
+     * Creates a stream of the elements with keys in a range.
+     *
+     * @param <T> the element type
+     */
+    @FunctionalInterface
+    public interface RangeStreamer<T> {
+
+        /**
+         * Returns a stream of the elements with keys from {@code from} to
+         * {@code to}, both inclusive.
+         *
+         * @param from the lowest key
+         * @param to the highest key
+         * @return a stream of the elements in the range
+         */
+        Stream<T> stream(long from, long to);
+    }
+
+    private final RangeStreamer<T> rangeStreamer;
+    private final long minRangeSize;
+    private final long to;
+    private long from;
+    private Stream<T> stream;
+    private Spliterator<T> spliterator;
+
+    public KeyRangeSpliterator(long from, long to, long minRangeSize, RangeStreamer<T> rangeStreamer) {
+        if (from > to) {
+            throw new IllegalArgumentException(
+                "The range must not be empty, was [" + from + ", " + to + "]."
+            );
+        }
+        if (minRangeSize < 1) {
+            throw new IllegalArgumentException(
+                "The minimum range size must be positive, was " + minRangeSize + "."
+            );
+        }
+        this.from = from;
+        this.to = to;
+        this.minRangeSize = minRangeSize;
+        this.rangeStreamer = requireNonNull(rangeStreamer);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        requireNonNull(action);
+        if (open().tryAdvance(action)) {
+            return true;
+        }
+        close();
+        return false;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        requireNonNull(action);
+        open().forEachRemaining(action);
+        close();
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        if (spliterator != null || rangeSize() < 2 * minRangeSize) {
+            // A range that has been started can not be split
+            return null;
+        }
+        final long mid = from + rangeSize() / 2 - 1;
+        final KeyRangeSpliterator<T> prefix = new KeyRangeSpliterator<>(from, mid, minRangeSize, rangeStreamer);
+        from = mid + 1;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        // Keys are typically dense so the range size is a decent estimate
+        return spliterator == null ? rangeSize() : spliterator.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+        return NONNULL | IMMUTABLE;
+    }
+
+    private long rangeSize() {
+        final long size = to - from + 1;
+        return size <= 0 ? Long.MAX_VALUE : size; // Overflow
+    }
+
+    private Spliterator<T> open() {
+        if (spliterator == null) {
+            stream = rangeStreamer.stream(from, to);
+            spliterator = stream.spliterator();
+        }
+        return spliterator;
+    }
+
+    private void close() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+}
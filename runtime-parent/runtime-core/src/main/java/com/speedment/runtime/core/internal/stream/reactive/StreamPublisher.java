@@ -0,0 +1,207 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.stream.reactive;
+
+import com.speedment.common.logger.Logger;
+import com.speedment.common.logger.LoggerManager;
+import com.speedment.runtime.core.stream.reactive.Publisher;
+import com.speedment.runtime.core.stream.reactive.Subscriber;
+import com.speedment.runtime.core.stream.reactive.Subscription;
+
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link Publisher} that publishes the elements of a {@link Stream}. A new
+ * stream is obtained from the supplier for every subscription, but not until
+ * the first element has been requested. Elements are then pulled from the 
+ * stream's iterator only as they are requested so that a stream backed by an 
+ * open {@code ResultSet} never holds more rows in memory than has been asked
+ * for. The stream is closed when it has been exhausted, when it fails and when
+ * the subscription is cancelled.
+ * <p>
+ * All interaction with the stream of a subscription takes place in a single
+ * drain loop at a time, invoked using the specified executor. 
+ *
+ * @param <T>  the element type
+ *
+ * @since 3.0.12
+ */
+public final class StreamPublisher<T> implements Publisher<T> {
+
+    private static final Logger LOGGER = LoggerManager.getLogger(StreamPublisher.class);
+
+    private final Supplier<? extends Stream<? extends T>> streamSupplier;
+    private final Executor executor;
+
+    public StreamPublisher(
+            final Supplier<? extends Stream<? extends T>> streamSupplier,
+            final Executor executor) {
+
+        this.streamSupplier = requireNonNull(streamSupplier);
+        this.executor       = requireNonNull(executor);
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        requireNonNull(subscriber);
+        subscriber.onSubscribe(new StreamSubscription<>(
+            subscriber, streamSupplier, executor
+        ));
+    }
+
+    private static final class StreamSubscription<T> implements Subscription {
+
+        private final Subscriber<? super T> subscriber;
+        private final Supplier<? extends Stream<? extends T>> streamSupplier;
+        private final Executor executor;
+
+        private final AtomicLong requested;
+        private final AtomicInteger wip;
+        private volatile boolean cancelled;
+        private volatile long invalidRequest; // Positive if no invalid request has been made
+
+        // Only accessed from within the drain loop
+        private Stream<? extends T> stream;
+        private Iterator<? extends T> iterator;
+
+        private StreamSubscription(
+                final Subscriber<? super T> subscriber,
+                final Supplier<? extends Stream<? extends T>> streamSupplier,
+                final Executor executor) {
+
+            this.subscriber     = subscriber;
+            this.streamSupplier = streamSupplier;
+            this.executor       = executor;
+            this.requested      = new AtomicLong();
+            this.wip            = new AtomicInteger();
+            this.invalidRequest = 1;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = n;
+            } else {
+                requested.getAndUpdate(r -> {
+                    final long sum = r + n;
+                    return sum < 0 ? Long.MAX_VALUE : sum;
+                });
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this::drain);
+                } catch (final RejectedExecutionException ex) {
+                    // The drain loop is not running so it is safe to finish here
+                    terminate(ex);
+                }
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            while (true) {
+                if (cancelled) {
+                    close();
+                    return;
+                }
+
+                if (invalidRequest <= 0) {
+                    terminate(new IllegalArgumentException(
+                        "Rule 3.9: The number of requested elements must be " +
+                        "positive, but was " + invalidRequest + "."
+                    ));
+                    return;
+                }
+
+                final long r = requested.get();
+                long emitted = 0;
+
+                try {
+                    if (iterator == null) {
+                        stream   = streamSupplier.get();
+                        iterator = stream.iterator();
+                    }
+
+                    while (emitted != r && !cancelled && iterator.hasNext()) {
+                        subscriber.onNext(iterator.next());
+                        emitted++;
+                    }
+
+                    if (!cancelled && !iterator.hasNext()) {
+                        cancelled = true;
+                        close();
+                        subscriber.onComplete();
+                        return;
+                    }
+                } catch (final Throwable thrown) {
+                    terminate(thrown);
+                    return;
+                }
+
+                if (r != Long.MAX_VALUE && emitted != 0) {
+                    requested.addAndGet(-emitted);
+                }
+
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private void terminate(Throwable thrown) {
+            if (!cancelled) {
+                cancelled = true;
+                close();
+                subscriber.onError(thrown);
+            } else {
+                close();
+            }
+        }
+
+        private void close() {
+            final Stream<? extends T> s = stream;
+            if (s != null) {
+                stream   = null;
+                iterator = null;
+                try {
+                    s.close();
+                } catch (final RuntimeException ex) {
+                    LOGGER.error(ex, "Error closing the stream of a subscription.");
+                }
+            }
+        }
+    }
+}
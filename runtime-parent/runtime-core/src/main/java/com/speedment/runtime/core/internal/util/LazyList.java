@@ -0,0 +1,98 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.util;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@code List} that delegates to a list created by a {@code Supplier} the
+ * first time any of its methods are invoked. This is used to defer the
+ * materialization of large document trees, like the columns of the tables in
+ * a precompiled project, until they are actually needed.
+ * 
+ * @param <E>  the element type
+ * 
+ * @author  Speedment
+ * @since   3.0.12
+ */
+public final class LazyList<E> extends AbstractList<E> {
+
+    public static <E> List<E> of(Supplier<List<E>> supplier) {
+        return new LazyList<>(supplier);
+    }
+
+    private final Supplier<List<E>> supplier;
+    private volatile List<E> delegate;
+
+    private LazyList(Supplier<List<E>> supplier) {
+        this.supplier = requireNonNull(supplier);
+    }
+
+    /**
+     * Returns {@code true} if the underlying list has been created.
+     * 
+     * @return  if the list has been materialized
+     */
+    public boolean isMaterialized() {
+        return delegate != null;
+    }
+
+    @Override
+    public E get(int index) {
+        return delegate().get(index);
+    }
+
+    @Override
+    public int size() {
+        return delegate().size();
+    }
+
+    @Override
+    public E set(int index, E element) {
+        return delegate().set(index, element);
+    }
+
+    @Override
+    public void add(int index, E element) {
+        delegate().add(index, element);
+        modCount++;
+    }
+
+    @Override
+    public E remove(int index) {
+        final E removed = delegate().remove(index);
+        modCount++;
+        return removed;
+    }
+
+    private List<E> delegate() {
+        List<E> result = delegate;
+        if (result == null) {
+            synchronized (this) {
+                result = delegate;
+                if (result == null) {
+                    delegate = result = requireNonNull(supplier.get());
+                }
+            }
+        }
+        return result;
+    }
+}
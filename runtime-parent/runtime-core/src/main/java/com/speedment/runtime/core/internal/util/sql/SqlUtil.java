@@ -150,7 +150,7 @@ public final class SqlUtil {
      * @return the number of elements in the table
      */
     public static long sqlCount(DbmsOperationHandler dbmsOperationHandler, DatabaseNamingConvention naming, Dbms dbms, Table table) {
-        return dbmsOperationHandler.executeQuery(dbms,
+        return dbmsOperationHandler.executeQueryLazily(dbms,
             "SELECT COUNT(*) FROM " + sqlTableReference(naming, table),
             Collections.emptyList(),
             rs -> rs.getLong(1)
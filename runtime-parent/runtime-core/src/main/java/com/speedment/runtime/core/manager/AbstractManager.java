@@ -21,12 +21,18 @@ import com.speedment.common.injector.annotation.ExecuteBefore;
 import com.speedment.common.injector.annotation.Inject;
 import com.speedment.common.injector.annotation.WithState;
 import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.core.component.AsyncExecutorComponent;
 import com.speedment.runtime.core.component.ManagerComponent;
 import com.speedment.runtime.core.component.PersistenceComponent;
 import com.speedment.runtime.core.component.ProjectComponent;
 import com.speedment.runtime.core.component.StreamSupplierComponent;
 import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import com.speedment.runtime.core.stream.reactive.Publisher;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import static com.speedment.common.injector.State.INITIALIZED;
@@ -52,17 +58,19 @@ import static java.util.Objects.requireNonNull;
 public abstract class AbstractManager<ENTITY> implements Manager<ENTITY> {
 
     private @Inject StreamSupplierComponent streamSupplierComponent;
+    private @Inject AsyncExecutorComponent asyncExecutorComponent;
 
     private Persister<ENTITY> persister;
     private Updater<ENTITY> updater;
     private Remover<ENTITY> remover;
+    private Upserter<ENTITY> upserter;
 
     protected AbstractManager() {}
 
     /**
      * In the {@link State#INITIALIZED}-phase, create an instance of each of the
-     * three interfaces {@link Persister}, {@link Updater} and {@link Remover} 
-     * to use when making changes to the data store.
+     * interfaces {@link Persister}, {@link Updater}, {@link Remover} and 
+     * {@link Upserter} to use when making changes to the data store.
      * <p>
      * THIS METHOD IS INTENDED TO BE INVOKED AUTOMATICALLY BY THE DEPENDENCY
      * INJECTOR. IT SHOULD THEREFORE NEVER BE CALLED DIRECTLY!
@@ -78,6 +86,7 @@ public abstract class AbstractManager<ENTITY> implements Manager<ENTITY> {
         this.persister = persistenceComponent.persister(tableId);
         this.updater   = persistenceComponent.updater(tableId);
         this.remover   = persistenceComponent.remover(tableId);
+        this.upserter  = persistenceComponent.upserter(tableId);
     }
 
     /**
@@ -108,6 +117,31 @@ public abstract class AbstractManager<ENTITY> implements Manager<ENTITY> {
         );
     }
 
+    @Override
+    public <T, R> Function<T, R> prepare(BiFunction<Stream<ENTITY>, T, R> template) {
+        requireNonNull(template);
+        final Supplier<Stream<ENTITY>> streams = streamSupplierComponent.prepare(
+            getTableIdentifier(),
+            ParallelStrategy.computeIntensityDefault()
+        );
+        return parameter -> template.apply(streams.get(), parameter);
+    }
+
+    @Override
+    public <R> CompletableFuture<R> queryAsync(Function<Stream<ENTITY>, R> query) {
+        requireNonNull(query);
+        return asyncExecutorComponent.supplyAsync(() -> {
+            try (final Stream<ENTITY> stream = stream()) {
+                return query.apply(stream);
+            }
+        });
+    }
+
+    @Override
+    public Publisher<ENTITY> publisher() {
+        return streamSupplierComponent.publisher(getTableIdentifier(), asyncExecutorComponent.getExecutor());
+    }
+
     @Override
     public Persister<ENTITY> persister() {
         return persister;
@@ -122,4 +156,9 @@ public abstract class AbstractManager<ENTITY> implements Manager<ENTITY> {
     public Remover<ENTITY> remover() {
         return remover;
     }
+
+    @Override
+    public Upserter<ENTITY> upserter() {
+        return upserter;
+    }
 }
\ No newline at end of file
@@ -20,11 +20,17 @@ import com.speedment.common.injector.State;
 import com.speedment.common.injector.annotation.ExecuteBefore;
 import com.speedment.common.injector.annotation.Inject;
 import com.speedment.common.injector.annotation.WithState;
+import com.speedment.runtime.core.component.AsyncExecutorComponent;
 import com.speedment.runtime.core.component.ManagerComponent;
 import com.speedment.runtime.core.component.ProjectComponent;
 import com.speedment.runtime.core.component.StreamSupplierComponent;
 import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import com.speedment.runtime.core.stream.reactive.Publisher;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import static com.speedment.common.injector.State.INITIALIZED;
@@ -44,6 +50,7 @@ import static java.util.Objects.requireNonNull;
 public abstract class AbstractViewManager<ENTITY> implements Manager<ENTITY> {
 
     private @Inject StreamSupplierComponent streamSupplierComponent;
+    private @Inject AsyncExecutorComponent asyncExecutorComponent;
 
     protected AbstractViewManager() {}
 
@@ -75,6 +82,31 @@ public abstract class AbstractViewManager<ENTITY> implements Manager<ENTITY> {
         );
     }
 
+    @Override
+    public <T, R> Function<T, R> prepare(BiFunction<Stream<ENTITY>, T, R> template) {
+        requireNonNull(template);
+        final Supplier<Stream<ENTITY>> streams = streamSupplierComponent.prepare(
+            getTableIdentifier(),
+            ParallelStrategy.computeIntensityDefault()
+        );
+        return parameter -> template.apply(streams.get(), parameter);
+    }
+
+    @Override
+    public <R> CompletableFuture<R> queryAsync(Function<Stream<ENTITY>, R> query) {
+        requireNonNull(query);
+        return asyncExecutorComponent.supplyAsync(() -> {
+            try (final Stream<ENTITY> stream = stream()) {
+                return query.apply(stream);
+            }
+        });
+    }
+
+    @Override
+    public Publisher<ENTITY> publisher() {
+        return streamSupplierComponent.publisher(getTableIdentifier(), asyncExecutorComponent.getExecutor());
+    }
+
     @Override
     public Persister<ENTITY> persister() {
         throw readonlyException();
@@ -90,6 +122,11 @@ public abstract class AbstractViewManager<ENTITY> implements Manager<ENTITY> {
         throw readonlyException();
     }
 
+    @Override
+    public Upserter<ENTITY> upserter() {
+        throw readonlyException();
+    }
+
     private RuntimeException readonlyException() {
         return new UnsupportedOperationException(format(
             "Manager %s is based on a VIEW Table and is therefore read-only.",
@@ -0,0 +1,47 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.manager;
+
+/**
+ * Trait for entities that keep track of which fields have been set since the
+ * entity was loaded from or last written to the data store. An 
+ * {@link Updater} can use this to only write the columns that have actually 
+ * changed, or to skip the update altogether if nothing has changed.
+ * <p>
+ * The dirty fields are represented as a bitset where bit {@code i} (that is 
+ * bit {@code i % 64} of word {@code i / 64}) corresponds to the {@code i}:th 
+ * field returned by {@link Manager#fields()}.
+ * 
+ * @since   3.0.12
+ */
+public interface HasDirtyFields {
+
+    /**
+     * Returns a bitset of the fields that have been set since the entity was
+     * loaded or last written. Modifying the returned array does not affect the
+     * entity.
+     * 
+     * @return  the dirty fields bitset
+     */
+    long[] getDirtyFields();
+
+    /**
+     * Marks all fields of this entity as clean. This is invoked when the state
+     * of the entity is known to be the same as in the data store.
+     */
+    void clearDirtyFields();
+}
@@ -18,15 +18,22 @@ package com.speedment.runtime.core.manager;
 
 import com.speedment.runtime.config.identifier.TableIdentifier;
 import com.speedment.runtime.core.exception.SpeedmentException;
+import com.speedment.runtime.core.internal.stream.reactive.StreamPublisher;
+import com.speedment.runtime.core.stream.reactive.Publisher;
 import com.speedment.runtime.field.Field;
 import com.speedment.runtime.field.method.BackwardFinder;
 import com.speedment.runtime.field.method.FindFrom;
 import com.speedment.runtime.field.trait.HasFinder;
 import com.speedment.runtime.field.trait.HasNullableFinder;
 
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
+import static java.util.Objects.requireNonNull;
+
 /**
  * A Manager is responsible for abstracting away an Entity's data source CRUD
  * operations. Entity sources can be RDBMSes, files or other data sources.
@@ -168,6 +175,97 @@ public interface Manager<ENTITY> {
      */
     Stream<ENTITY> stream();
 
+    /**
+     * Creates and returns a prepared query that applies the specified template
+     * to a new {@link #stream()} every time it is invoked. The template
+     * receives the stream and the parameter passed to the prepared query and
+     * should build the same pipeline every time, only with different values.
+     * <p>
+     * Implementations may then remember how the pipeline was translated the
+     * first time and only bind the new values on subsequent invocations,
+     * saving the cost of optimizing the pipeline and rendering the SQL. A
+     * pipeline that does not have the same shape as before is simply
+     * optimized again.
+     * <p>
+     * Example:
+     * <pre>{@code
+     * Function<String, List<Hare>> byName = hares.prepare(
+     *     (stream, name) -> stream
+     *         .filter(Hare.NAME.equal(name))
+     *         .sorted(Hare.AGE.comparator())
+     *         .collect(toList())
+     * );
+     *
+     * List<Hare> henries = byName.apply("Henry");
+     * }</pre>
+     *
+     * @param <T>       the parameter type
+     * @param <R>       the result type
+     * @param template  the template that builds and terminates the pipeline
+     * @return          the prepared query
+     *
+     * @since 3.0.12
+     */
+    default <T, R> Function<T, R> prepare(BiFunction<Stream<ENTITY>, T, R> template) {
+        requireNonNull(template);
+        return parameter -> template.apply(stream(), parameter);
+    }
+
+    /**
+     * Applies the specified query to a new {@link #stream()} without blocking
+     * the calling thread and returns a future that is completed with the
+     * result. The stream is closed once the query has been applied, so the
+     * query must terminate the stream and not return it.
+     * <p>
+     * Example:
+     * <pre>{@code
+     * CompletableFuture<Long> count = hares.queryAsync(
+     *     stream -> stream.filter(Hare.AGE.greaterThan(5)).count()
+     * );
+     * }</pre>
+     * <p>
+     * The default implementation uses the common {@code ForkJoinPool}.
+     * Managers that are backed by a database use a bounded executor sized
+     * after the connection pool instead.
+     *
+     * @param <R>    the result type
+     * @param query  the query that terminates the stream
+     * @return       the future result
+     *
+     * @since 3.0.12
+     */
+    default <R> CompletableFuture<R> queryAsync(Function<Stream<ENTITY>, R> query) {
+        requireNonNull(query);
+        return CompletableFuture.supplyAsync(() -> {
+            try (final Stream<ENTITY> stream = stream()) {
+                return query.apply(stream);
+            }
+        });
+    }
+
+    /**
+     * Returns a {@link Publisher} that publishes all the entities of this
+     * manager with backpressure. Every subscription reads the entities anew,
+     * but not until the subscriber requests its first entity. Entities are
+     * then read only as they are requested, so that very large tables can be
+     * consumed with bounded memory. Any resources are released when all
+     * entities have been published or when the subscription is cancelled.
+     * <p>
+     * The default implementation pulls the entities from the iterator of a
+     * new {@link #stream()} in the thread that requests them. Managers that
+     * are backed by a database instead execute the query for every
+     * subscription and read rows from the open {@code ResultSet}. They
+     * publish them using the same bounded executor as
+     * {@link #queryAsync(Function)}.
+     *
+     * @return  a publisher of all the entities of this manager
+     *
+     * @since 3.0.12
+     */
+    default Publisher<ENTITY> publisher() {
+        return new StreamPublisher<>(this::stream, Runnable::run);
+    }
+
     /**
      * Persists the provided entity to the underlying database and returns a
      * potentially updated entity. If the persistence fails for any reason, an
@@ -194,6 +292,20 @@ public interface Manager<ENTITY> {
         return persister().apply(entity);
     }
 
+    /**
+     * Asynchronous version of {@link #persist(Object)}. The returned future is
+     * completed with the same entity as {@link #persist(Object)} would return or
+     * exceptionally with the exception it would throw.
+     *
+     * @param entity to persist
+     * @return       the future result
+     *
+     * @since 3.0.12
+     */
+    default CompletableFuture<ENTITY> persistAsync(ENTITY entity) {
+        return persister().applyAsync(entity);
+    }
+
     /**
      * Returns a {@link Persister} that when its
      * {@link Persister#apply(java.lang.Object) } method is called, will produce
@@ -203,6 +315,52 @@ public interface Manager<ENTITY> {
      */
     Persister<ENTITY> persister();
 
+    /**
+     * Persists all the entities of the provided stream to the underlying 
+     * database. If the operation fails for any reason, an unchecked 
+     * {@link SpeedmentException} is thrown.
+     * <p>
+     * In contrast to calling {@link #persist(Object)} once for every entity, 
+     * the entities are sent to the database in batches, reusing the same 
+     * statement and committing once per batch. The batch size is controlled 
+     * by the {@code persistence.batchSize} configuration parameter.
+     * Auto generated column(s) are written back to each provided entity 
+     * instance once the batch it belongs to has been committed.
+     * <p>
+     * Each batch is committed in a transaction of its own, so the operation 
+     * as a whole is not atomic. If an exception is thrown, the failing batch 
+     * is rolled back but batches that have already been committed will remain
+     * in the database. The provided stream is closed once all its entities 
+     * have been sent.
+     *
+     * @param entities  to persist
+     *
+     * @throws SpeedmentException if the underlying database throws an exception
+     *                            (e.g. SQLException)
+     * 
+     * @since 3.0.12
+     */
+    default void persistAll(Stream<? extends ENTITY> entities) throws SpeedmentException {
+        persister().acceptAll(entities);
+    }
+
+    /**
+     * Persists all the entities of the provided collection to the 
+     * underlying database. This is equivalent to calling 
+     * {@link #persistAll(Stream)} with a stream of the collection.
+     *
+     * @param entities  to persist
+     *
+     * @throws SpeedmentException if the underlying database throws an exception
+     *                            (e.g. SQLException)
+     * 
+     * @see #persistAll(Stream)
+     * @since 3.0.12
+     */
+    default void persistAll(Collection<? extends ENTITY> entities) throws SpeedmentException {
+        persistAll(entities.stream());
+    }
+
     /**
      * Updates the provided entity in the underlying database and returns a
      * potentially updated entity. If the update fails for any reason, an
@@ -231,6 +389,20 @@ public interface Manager<ENTITY> {
         return updater().apply(entity);
     }
 
+    /**
+     * Asynchronous version of {@link #update(Object)}. The returned future is
+     * completed with the same entity as {@link #update(Object)} would return or
+     * exceptionally with the exception it would throw.
+     *
+     * @param entity to update
+     * @return       the future result
+     *
+     * @since 3.0.12
+     */
+    default CompletableFuture<ENTITY> updateAsync(ENTITY entity) {
+        return updater().applyAsync(entity);
+    }
+
     /**
      * Returns an {@link Updater} that when its {@link Persister#apply(Object)}
      * method is called, will produce the same result as {@link #update(Object)}
@@ -239,6 +411,148 @@ public interface Manager<ENTITY> {
      */
     Updater<ENTITY> updater();
 
+    /**
+     * Updates all the entities of the provided stream in the underlying 
+     * database. If the operation fails for any reason, an unchecked 
+     * {@link SpeedmentException} is thrown.
+     * <p>
+     * In contrast to calling {@link #update(Object)} once for every entity, 
+     * the entities are sent to the database in batches, reusing the same 
+     * statement and committing once per batch. The batch size is controlled 
+     * by the {@code persistence.batchSize} configuration parameter.
+     * Entities are uniquely identified by their primary key(s).
+     * <p>
+     * Each batch is committed in a transaction of its own, so the operation 
+     * as a whole is not atomic. If an exception is thrown, the failing batch 
+     * is rolled back but batches that have already been committed will remain
+     * in the database. The provided stream is closed once all its entities 
+     * have been sent.
+     *
+     * @param entities  to update
+     *
+     * @throws SpeedmentException if the underlying database throws an exception
+     *                            (e.g. SQLException)
+     * 
+     * @since 3.0.12
+     */
+    default void updateAll(Stream<? extends ENTITY> entities) throws SpeedmentException {
+        updater().acceptAll(entities);
+    }
+
+    /**
+     * Updates all the entities of the provided collection in the 
+     * underlying database. This is equivalent to calling 
+     * {@link #updateAll(Stream)} with a stream of the collection.
+     *
+     * @param entities  to update
+     *
+     * @throws SpeedmentException if the underlying database throws an exception
+     *                            (e.g. SQLException)
+     * 
+     * @see #updateAll(Stream)
+     * @since 3.0.12
+     */
+    default void updateAll(Collection<? extends ENTITY> entities) throws SpeedmentException {
+        updateAll(entities.stream());
+    }
+
+    /**
+     * Inserts the provided entity into the underlying database, or updates 
+     * the existing row if there already is one with the same primary key. 
+     * This is done using a single statement, so it is both faster and safer
+     * than first looking up the entity and then calling either 
+     * {@link #persist(Object)} or {@link #update(Object)}. If the operation 
+     * fails for any reason, an unchecked {@link SpeedmentException} is 
+     * thrown.
+     * <p>
+     * All columns, including the primary key, are written. Auto generated 
+     * columns are therefore not generated by the database, so the primary key
+     * of the entity must be set. Unlike {@link #persist(Object)}, no 
+     * generated keys are read back from the database, so the returned entity
+     * only holds the values that it was given. If the database generates a
+     * value anyway, for an example because the primary key is {@code null} or
+     * zero, that value is not set in the entity.
+     *
+     * @param entity to insert or update
+     * @return       an entity reflecting the result of the upserted entity
+     *
+     * @throws SpeedmentException if the underlying database throws an exception
+     *                            (e.g. SQLException)
+     * @throws UnsupportedOperationException if the underlying database type 
+     *                            does not support upserts
+     * 
+     * @since 3.0.12
+     */
+    default ENTITY upsert(ENTITY entity) throws SpeedmentException {
+        return upserter().apply(entity);
+    }
+
+    /**
+     * Returns an {@link Upserter} that when its {@link Upserter#apply(Object)}
+     * method is called, will produce the same result as 
+     * {@link #upsert(Object)}.
+     * <p>
+     * The default implementation throws an 
+     * {@code UnsupportedOperationException}.
+     *
+     * @return an Upserter
+     * 
+     * @since 3.0.12
+     */
+    default Upserter<ENTITY> upserter() {
+        throw new UnsupportedOperationException(
+            getClass().getSimpleName() + " does not support upserts."
+        );
+    }
+
+    /**
+     * Inserts or updates all the entities of the provided stream in the 
+     * underlying database. If the operation fails for any reason, an 
+     * unchecked {@link SpeedmentException} is thrown.
+     * <p>
+     * In contrast to calling {@link #upsert(Object)} once for every entity, 
+     * the entities are sent to the database in batches, reusing the same 
+     * statement and committing once per batch. The batch size is controlled 
+     * by the {@code persistence.batchSize} configuration parameter.
+     * <p>
+     * Each batch is committed in a transaction of its own, so the operation 
+     * as a whole is not atomic. If an exception is thrown, the failing batch 
+     * is rolled back but batches that have already been committed will remain
+     * in the database. The provided stream is closed once all its entities 
+     * have been sent.
+     * <p>
+     * As with {@link #upsert(Object)}, the primary key of every entity must 
+     * be set since no generated keys are read back from the database.
+     *
+     * @param entities  to insert or update
+     *
+     * @throws SpeedmentException if the underlying database throws an exception
+     *                            (e.g. SQLException)
+     * 
+     * @see #upsert(Object)
+     * @since 3.0.12
+     */
+    default void upsertAll(Stream<? extends ENTITY> entities) throws SpeedmentException {
+        upserter().acceptAll(entities);
+    }
+
+    /**
+     * Inserts or updates all the entities of the provided collection in the 
+     * underlying database. This is equivalent to calling 
+     * {@link #upsertAll(Stream)} with a stream of the collection.
+     *
+     * @param entities  to insert or update
+     *
+     * @throws SpeedmentException if the underlying database throws an exception
+     *                            (e.g. SQLException)
+     * 
+     * @see #upsertAll(Stream)
+     * @since 3.0.12
+     */
+    default void upsertAll(Collection<? extends ENTITY> entities) throws SpeedmentException {
+        upsertAll(entities.stream());
+    }
+
     /**
      * Removes the provided entity from the underlying database and returns the
      * provided entity instance. If the deletion fails for any reason, an
@@ -256,6 +570,20 @@ public interface Manager<ENTITY> {
         return remover().apply(entity);
     }
 
+    /**
+     * Asynchronous version of {@link #remove(Object)}. The returned future is
+     * completed with the same entity as {@link #remove(Object)} would return or
+     * exceptionally with the exception it would throw.
+     *
+     * @param entity to remove
+     * @return       the future result
+     *
+     * @since 3.0.12
+     */
+    default CompletableFuture<ENTITY> removeAsync(ENTITY entity) {
+        return remover().applyAsync(entity);
+    }
+
     /**
      * Returns a {@link Remover} that when its {@link Persister#apply(Object)}
      * method is called, will produce the same result as {@link #remove(Object)}
@@ -264,6 +592,51 @@ public interface Manager<ENTITY> {
      */
     Remover<ENTITY> remover();
 
+    /**
+     * Removes all the entities of the provided stream from the underlying 
+     * database. If the operation fails for any reason, an unchecked 
+     * {@link SpeedmentException} is thrown.
+     * <p>
+     * In contrast to calling {@link #remove(Object)} once for every entity, 
+     * the entities are sent to the database in batches, reusing the same 
+     * statement and committing once per batch. The batch size is controlled 
+     * by the {@code persistence.batchSize} configuration parameter.
+     * Entities are uniquely identified by their primary key(s).
+     * <p>
+     * Each batch is committed in a transaction of its own, so the operation 
+     * as a whole is not atomic. If an exception is thrown, the failing batch 
+     * is rolled back but batches that have already been committed will remain
+     * in the database. The provided stream is closed once all its entities 
+     * have been sent.
+     *
+     * @param entities  to remove
+     *
+     * @throws SpeedmentException if the underlying database throws an exception
+     *                            (e.g. SQLException)
+     * 
+     * @since 3.0.12
+     */
+    default void removeAll(Stream<? extends ENTITY> entities) throws SpeedmentException {
+        remover().acceptAll(entities);
+    }
+
+    /**
+     * Removes all the entities of the provided collection from the 
+     * underlying database. This is equivalent to calling 
+     * {@link #removeAll(Stream)} with a stream of the collection.
+     *
+     * @param entities  to remove
+     *
+     * @throws SpeedmentException if the underlying database throws an exception
+     *                            (e.g. SQLException)
+     * 
+     * @see #removeAll(Stream)
+     * @since 3.0.12
+     */
+    default void removeAll(Collection<? extends ENTITY> entities) throws SpeedmentException {
+        removeAll(entities.stream());
+    }
+
     /**
      * Returns a Function that, when it is applied, will produce an equivalent
      * result as if {@link #finderByNullable(HasNullableFinder)} was called.
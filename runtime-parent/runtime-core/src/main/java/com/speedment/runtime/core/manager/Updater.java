@@ -18,8 +18,10 @@ package com.speedment.runtime.core.manager;
 
 import com.speedment.runtime.core.exception.SpeedmentException;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
 
 /**
  * An action that takes an entity and updates it in a data store. This 
@@ -59,4 +61,41 @@ public interface Updater<ENTITY> extends UnaryOperator<ENTITY>, Consumer<ENTITY>
         apply(entity);
     }
 
+    /**
+     * Updates all the entities of the specified stream in the data store. 
+     * Implementations are encouraged to send the entities in batches so that 
+     * the number of round trips to the data store is minimized. The specified 
+     * instances might be modified by this method in some implementations.
+     * <p>
+     * The default implementation simply invokes {@link #accept(Object)} 
+     * for each entity.
+     * 
+     * @param entities  the entities to update
+     * 
+     * @throws SpeedmentException  if updating the entities failed
+     * 
+     * @since 3.0.12
+     */
+    default void acceptAll(Stream<? extends ENTITY> entities) {
+        entities.forEach(this::accept);
+    }
+
+    /**
+     * Updates the entity in the data store without blocking the calling thread.
+     * The returned future is completed with the same result as 
+     * {@link #apply(Object)} or exceptionally if updating the entity failed.
+     * <p>
+     * The default implementation invokes {@link #apply(Object)} using the
+     * common {@code ForkJoinPool}. Implementations backed by a database are
+     * encouraged to use a bounded executor that matches the number of 
+     * available connections instead.
+     * 
+     * @param entity  the entity to update
+     * @return        the future result
+     * 
+     * @since 3.0.12
+     */
+    default CompletableFuture<ENTITY> applyAsync(ENTITY entity) {
+        return CompletableFuture.supplyAsync(() -> apply(entity));
+    }
 }
@@ -0,0 +1,99 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.manager;
+
+import com.speedment.runtime.core.exception.SpeedmentException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * An action that takes an entity and inserts it into a data store, or updates
+ * the existing entity with the same primary key if there is one. This 
+ * interface extends the standard {@code UnaryOperator}- and 
+ * {@code Consumer}-interfaces so that it can be used inside a {@code Stream}.
+ * 
+ * @param <ENTITY>  the entity type
+ * 
+ * @since   3.0.12
+ */
+@FunctionalInterface
+public interface Upserter<ENTITY> extends UnaryOperator<ENTITY>, Consumer<ENTITY> {
+
+    /**
+     * Inserts or updates the entity in the data store, returning the same or a
+     * different entity. The primary key of the entity must be set, since keys
+     * generated by the data store are not read back.
+     * 
+     * @param entity  the entity to insert or update
+     * @return        the upserted entity (same instance or new is not defined)
+     * 
+     * @throws SpeedmentException  if upserting the entity failed
+     */
+    @Override
+    ENTITY apply(ENTITY entity) throws SpeedmentException;
+
+    /**
+     * Inserts or updates the entity in the data store. The specified instance
+     * might be modified by this method in some implementations.
+     * 
+     * @param entity  the entity to insert or update
+     * 
+     * @throws SpeedmentException  if upserting the entity failed
+     */
+    @Override
+    default void accept(ENTITY entity) {
+        apply(entity);
+    }
+
+    /**
+     * Inserts or updates all the entities of the specified stream in the data
+     * store. Implementations are encouraged to send the entities in batches so
+     * that the number of round trips to the data store is minimized. The 
+     * specified instances might be modified by this method in some 
+     * implementations.
+     * <p>
+     * The default implementation simply invokes {@link #accept(Object)} 
+     * for each entity.
+     * 
+     * @param entities  the entities to insert or update
+     * 
+     * @throws SpeedmentException  if upserting the entities failed
+     */
+    default void acceptAll(Stream<? extends ENTITY> entities) {
+        entities.forEach(this::accept);
+    }
+
+    /**
+     * Inserts or updates the entity in the data store without blocking the 
+     * calling thread. The returned future is completed with the same result as
+     * {@link #apply(Object)} or exceptionally if upserting the entity failed.
+     * <p>
+     * The default implementation invokes {@link #apply(Object)} using the
+     * common {@code ForkJoinPool}. Implementations backed by a database are
+     * encouraged to use a bounded executor that matches the number of 
+     * available connections instead.
+     * 
+     * @param entity  the entity to insert or update
+     * @return        the future result
+     */
+    default CompletableFuture<ENTITY> applyAsync(ENTITY entity) {
+        return CompletableFuture.supplyAsync(() -> apply(entity));
+    }
+}
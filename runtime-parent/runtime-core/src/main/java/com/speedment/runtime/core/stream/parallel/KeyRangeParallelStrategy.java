@@ -0,0 +1,44 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.stream.parallel;
+
+/**
+ * A {@link ParallelStrategy} that partitions a table on its primary key.
+ * <p>
+ * If the table has a single primary key column of an integral type and the
+ * stream is parallel, the minimum and maximum key of the rows to stream are
+ * first queried. The key
+ * space between them is then split into ranges and each range is read using
+ * its own {@code WHERE pk >= ? AND pk <= ?} query on a separate connection
+ * when the stream is split, so that the rows are fetched in parallel.
+ * <p>
+ * Queries that are sorted, skipped or limited by the database can not be
+ * split this way and are read from a single result set as usual.
+ *
+ * @since 3.0.12
+ */
+public interface KeyRangeParallelStrategy extends ParallelStrategy {
+
+    /**
+     * Returns the number of key ranges that the key space is split into. The
+     * stream may be split into fewer ranges if the key space is smaller.
+     *
+     * @return the number of key ranges
+     */
+    int getPartitions();
+
+}
@@ -19,6 +19,7 @@ package com.speedment.runtime.core.stream.parallel;
 import com.speedment.runtime.core.internal.stream.parallel.ComputeIntensityExtremeParallelStrategy;
 import com.speedment.runtime.core.internal.stream.parallel.ComputeIntensityHighParallelStrategy;
 import com.speedment.runtime.core.internal.stream.parallel.ComputeIntensityMediumParallelStrategy;
+import com.speedment.runtime.core.internal.stream.parallel.KeyRangeParallelStrategyImpl;
 
 import java.util.Iterator;
 import java.util.Spliterator;
@@ -73,6 +74,37 @@ public interface ParallelStrategy {
         return Hidden.COMPUTE_INTENSITY_EXTREME;
     }
 
+    /**
+     * A Parallel Strategy that splits the rows of a table with a single
+     * integral primary key column into key ranges that are fetched using
+     * separate queries and connections, one for each available processor. This
+     * way, both the database fetch and the mapping of rows to entities can be
+     * performed in parallel. For other sources, the strategy behaves like
+     * {@link #computeIntensityDefault()}.
+     *
+     * @return a ParallelStrategy
+     * @see KeyRangeParallelStrategy
+     * @since 3.0.12
+     */
+    static ParallelStrategy keyRange() {
+        return keyRange(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * A Parallel Strategy that splits the rows of a table with a single
+     * integral primary key column into at least the given number of key ranges
+     * that are fetched using separate queries and connections. For other
+     * sources, the strategy behaves like {@link #computeIntensityDefault()}.
+     *
+     * @param partitions the number of key ranges to split the key space into
+     * @return a ParallelStrategy
+     * @see KeyRangeParallelStrategy
+     * @since 3.0.12
+     */
+    static ParallelStrategy keyRange(int partitions) {
+        return new KeyRangeParallelStrategyImpl(partitions);
+    }
+
     <T> Spliterator<T> spliteratorUnknownSize(Iterator<? extends T> iterator, int characteristics);
 
     static ParallelStrategy of(final int... batchSizes) {
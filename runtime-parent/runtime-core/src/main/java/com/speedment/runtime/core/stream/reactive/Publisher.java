@@ -0,0 +1,49 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.stream.reactive;
+
+/**
+ * A provider of a potentially unbounded number of elements that are published
+ * to a {@link Subscriber} according to the demand it has signalled.
+ * <p>
+ * This interface has the same methods and semantics as
+ * {@code org.reactivestreams.Publisher} and 
+ * {@code java.util.concurrent.Flow.Publisher} so that it can be adapted to any
+ * Reactive Streams library by delegating method by method. It is declared 
+ * here so that the runtime does not depend on a particular library.
+ *
+ * @param <T>  the type of element signalled
+ *
+ * @since 3.0.12
+ */
+@FunctionalInterface
+public interface Publisher<T> {
+
+    /**
+     * Requests the publisher to start streaming elements to the specified
+     * subscriber. The subscriber is first given a {@link Subscription} using
+     * {@link Subscriber#onSubscribe(Subscription)}. No elements are sent 
+     * before the subscriber has requested them using 
+     * {@link Subscription#request(long)}.
+     * <p>
+     * Each invocation starts a new independent subscription.
+     *
+     * @param subscriber  the subscriber that will consume the elements
+     */
+    void subscribe(Subscriber<? super T> subscriber);
+
+}
@@ -0,0 +1,64 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.stream.reactive;
+
+/**
+ * A consumer of elements from a {@link Publisher}. Elements are only received
+ * after they have been requested from the {@link Subscription} given in
+ * {@link #onSubscribe(Subscription)}.
+ * <p>
+ * This interface has the same methods and semantics as
+ * {@code org.reactivestreams.Subscriber} and 
+ * {@code java.util.concurrent.Flow.Subscriber}.
+ *
+ * @param <T>  the type of element signalled
+ *
+ * @since 3.0.12
+ */
+public interface Subscriber<T> {
+
+    /**
+     * Invoked once before any other method when the subscriber has been
+     * passed to {@link Publisher#subscribe(Subscriber)}.
+     *
+     * @param subscription  the subscription to request elements from
+     */
+    void onSubscribe(Subscription subscription);
+
+    /**
+     * Invoked with the next element. This is never invoked more times than
+     * the total number of elements that has been requested.
+     *
+     * @param item  the element
+     */
+    void onNext(T item);
+
+    /**
+     * Invoked if the publisher failed. No other methods will be invoked after
+     * this one.
+     *
+     * @param throwable  the reason for the failure
+     */
+    void onError(Throwable throwable);
+
+    /**
+     * Invoked when there are no more elements to publish. No other methods
+     * will be invoked after this one.
+     */
+    void onComplete();
+
+}
@@ -0,0 +1,49 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.stream.reactive;
+
+/**
+ * The link between a {@link Publisher} and a {@link Subscriber} through which
+ * the subscriber controls how many elements it is prepared to receive.
+ * <p>
+ * This interface has the same methods and semantics as
+ * {@code org.reactivestreams.Subscription} and 
+ * {@code java.util.concurrent.Flow.Subscription}.
+ *
+ * @since 3.0.12
+ */
+public interface Subscription {
+
+    /**
+     * Adds the specified number of elements to the demand of the subscriber.
+     * A value of {@code Long.MAX_VALUE} is treated as an unbounded demand. If
+     * the value is not positive, the subscriber is signalled an 
+     * {@code IllegalArgumentException} using 
+     * {@link Subscriber#onError(Throwable)}.
+     *
+     * @param n  the number of additional elements to receive
+     */
+    void request(long n);
+
+    /**
+     * Requests the publisher to stop sending elements and release any
+     * resources held by the subscription. Elements that are already in flight
+     * may still be received.
+     */
+    void cancel();
+
+}
@@ -0,0 +1,101 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component;
+
+import com.speedment.runtime.core.ApplicationBuilder;
+import com.speedment.runtime.core.Speedment;
+import com.speedment.runtime.core.component.AsyncExecutorComponent;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import static org.junit.Assert.*;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ *
+ * @since 3.0.12
+ */
+public class AsyncExecutorComponentImplTest {
+
+    private Speedment speedment;
+    private AsyncExecutorComponent instance;
+
+    @Before
+    public void setUp() {
+        speedment = ApplicationBuilder.empty()
+            .withParam("async.threads", "1")
+            .withParam("async.queueSize", "1")
+            .build();
+        instance = speedment.getOrThrow(AsyncExecutorComponent.class);
+    }
+
+    @After
+    public void tearDown() {
+        speedment.stop();
+    }
+
+    @Test
+    public void testSupplyAsync() throws Exception {
+        assertEquals("Olle", instance.supplyAsync(() -> "Olle").get(10, TimeUnit.SECONDS));
+        assertEquals(1, instance.getMaxThreads());
+        assertEquals(1, instance.getQueueCapacity());
+    }
+
+    @Test
+    public void testRejectWhenQueueIsFull() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final CompletableFuture<Integer> running = instance.supplyAsync(() -> {
+            started.countDown();
+            await(release);
+            return 1;
+        });
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        final CompletableFuture<Integer> queued = instance.supplyAsync(() -> 2);
+        assertEquals(1, instance.getQueueSize());
+        assertEquals(1, instance.getActiveCount());
+
+        final CompletableFuture<Integer> rejected = instance.supplyAsync(() -> 3);
+        assertTrue(rejected.isCompletedExceptionally());
+        assertEquals(1, instance.getRejectedTaskCount());
+        try {
+            rejected.get();
+            fail("Expected the task to be rejected");
+        } catch (final ExecutionException ex) {
+            assertTrue(ex.getCause() instanceof RejectedExecutionException);
+        }
+
+        release.countDown();
+        assertEquals(1, (int) running.get(10, TimeUnit.SECONDS));
+        assertEquals(2, (int) queued.get(10, TimeUnit.SECONDS));
+        assertEquals(0, instance.getQueueSize());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.cache;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @since 3.0.12
+ */
+public class EntityCacheImplTest {
+
+    private long now;
+
+    @Before
+    public void setUp() {
+        now = 1_000;
+    }
+
+    @Test
+    public void testHitAndMiss() {
+        final EntityCacheImpl<String> instance = new EntityCacheImpl<>(10, EntityCacheImpl.NO_EXPIRY, () -> now);
+        instance.put(1, "one");
+
+        assertEquals(Optional.of("one"), instance.get(1));
+        assertEquals(Optional.empty(), instance.get(2));
+        assertEquals(Optional.empty(), instance.get(null));
+        assertEquals(1, instance.getHits());
+        assertEquals(2, instance.getMisses());
+        assertEquals(0, instance.getEvictions());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        final EntityCacheImpl<String> instance = new EntityCacheImpl<>(2, EntityCacheImpl.NO_EXPIRY, () -> now);
+        instance.put(1, "one");
+        instance.put(2, "two");
+        instance.get(1);
+        instance.put(3, "three");
+
+        assertEquals(2, instance.size());
+        assertEquals(1, instance.getEvictions());
+        assertTrue(instance.get(1).isPresent());
+        assertFalse(instance.get(2).isPresent());
+        assertTrue(instance.get(3).isPresent());
+    }
+
+    @Test
+    public void testExpires() {
+        final EntityCacheImpl<String> instance = new EntityCacheImpl<>(10, 100, () -> now);
+        instance.put(1, "one");
+
+        now += 99;
+        assertTrue(instance.get(1).isPresent());
+
+        now += 1;
+        assertFalse(instance.get(1).isPresent());
+        assertEquals(0, instance.size());
+        assertEquals(1, instance.getEvictions());
+        assertEquals(1, instance.getMisses());
+    }
+
+    @Test
+    public void testInvalidate() {
+        final EntityCacheImpl<String> instance = new EntityCacheImpl<>(10, EntityCacheImpl.NO_EXPIRY, () -> now);
+        instance.put(1, "one");
+        instance.put(2, "two");
+
+        instance.invalidate(1);
+        assertFalse(instance.get(1).isPresent());
+        assertTrue(instance.get(2).isPresent());
+
+        instance.invalidateAll();
+        assertEquals(0, instance.size());
+        assertEquals("Invalidations are not evictions", 0, instance.getEvictions());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIllegalSize() {
+        new EntityCacheImpl<>(0, EntityCacheImpl.NO_EXPIRY, () -> now);
+    }
+}
@@ -0,0 +1,179 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.snapshot;
+
+import com.speedment.runtime.core.internal.stream.builder.ReferenceStreamBuilder;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.FilterAction;
+import com.speedment.runtime.core.internal.stream.builder.pipeline.PipelineImpl;
+import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.field.predicate.Inclusion;
+import com.speedment.runtime.test_support.MockEntity;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @since 3.0.12
+ */
+public class SnapshotTest {
+
+    private List<MockEntity> rows;
+    private Snapshot<MockEntity> snapshot;
+
+    @Before
+    public void setUp() {
+        rows = IntStream.range(0, 100)
+            .mapToObj(i -> new MockEntity(i).setName(i % 3 == 0 ? null : "Name" + (i % 7)))
+            .collect(toList());
+        final List<Field<MockEntity>> fields = Arrays.asList(MockEntity.ID, MockEntity.NAME);
+        snapshot = Snapshot.of(fields, rows);
+    }
+
+    @Test
+    public void testIntPredicates() {
+        final List<Predicate<MockEntity>> predicates = Arrays.asList(
+            MockEntity.ID.equal(42),
+            MockEntity.ID.notEqual(42),
+            MockEntity.ID.greaterThan(90),
+            MockEntity.ID.greaterOrEqual(90),
+            MockEntity.ID.lessThan(10),
+            MockEntity.ID.lessOrEqual(10),
+            MockEntity.ID.between(10, 20, Inclusion.START_EXCLUSIVE_END_EXCLUSIVE),
+            MockEntity.ID.between(10, 20, Inclusion.START_EXCLUSIVE_END_INCLUSIVE),
+            MockEntity.ID.between(10, 20, Inclusion.START_INCLUSIVE_END_EXCLUSIVE),
+            MockEntity.ID.between(10, 20, Inclusion.START_INCLUSIVE_END_INCLUSIVE),
+            MockEntity.ID.notBetween(10, 20, Inclusion.START_INCLUSIVE_END_EXCLUSIVE),
+            MockEntity.ID.in(1, 5, 99, 1000),
+            MockEntity.ID.notIn(1, 5, 99, 1000)
+        );
+        predicates.forEach(this::assertSameAsRows);
+    }
+
+    @Test
+    public void testDictionaryPredicates() {
+        final List<Predicate<MockEntity>> predicates = Arrays.asList(
+            MockEntity.NAME.equal("Name3"),
+            MockEntity.NAME.notEqual("Name3"),
+            MockEntity.NAME.isNull(),
+            MockEntity.NAME.isNotNull(),
+            MockEntity.NAME.startsWith("Name"),
+            MockEntity.NAME.in("Name1", "Name2"),
+            MockEntity.NAME.greaterThan("Name4")
+        );
+        predicates.forEach(this::assertSameAsRows);
+
+        final DictionarySnapshotColumn<?> column = new DictionarySnapshotColumn<>(
+            MockEntity.NAME, rows, MockEntity::new
+        );
+        assertEquals("Seven names and null", 8, column.getDictionarySize());
+    }
+
+    @Test
+    public void testCombinedWithOtherOperations() {
+        final List<Integer> expected = rows.stream()
+            .filter(MockEntity.ID.greaterThan(50))
+            .filter(e -> e.getId() % 2 == 0)
+            .filter(MockEntity.NAME.isNotNull())
+            .map(MockEntity::getId)
+            .limit(5)
+            .collect(toList());
+
+        final List<Integer> actual = stream()
+            .filter(MockEntity.ID.greaterThan(50))
+            .filter(e -> e.getId() % 2 == 0)
+            .filter(MockEntity.NAME.isNotNull())
+            .map(MockEntity::getId)
+            .limit(5)
+            .collect(toList());
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testOptimizeRemovesFieldPredicates() {
+        final PipelineImpl<MockEntity> pipeline = new PipelineImpl<>(() -> Stream.empty());
+        pipeline.add(new FilterAction<>(MockEntity.NAME.isNotNull()));
+        pipeline.add(new FilterAction<MockEntity>(e -> e.getId() > 1));
+        pipeline.add(new FilterAction<>(MockEntity.ID.lessThan(10)));
+
+        final PipelineImpl<MockEntity> optimized = new SnapshotStreamTerminator<>(
+            snapshot, ParallelStrategy.computeIntensityDefault()
+        ).optimize(pipeline);
+
+        assertEquals("Only the lambda filter should remain", 1, optimized.size());
+        assertEquals(Arrays.asList(2, 4, 5, 7, 8), optimized.getAsReferenceStream()
+            .map(MockEntity::getId)
+            .collect(toList())
+        );
+    }
+
+    @Test
+    public void testCount() {
+        assertEquals(100, stream().count());
+        assertEquals(11, stream().filter(MockEntity.ID.between(0, 10, Inclusion.START_INCLUSIVE_END_INCLUSIVE)).count());
+        assertEquals(5, stream().filter(MockEntity.ID.lessThan(10)).filter(e -> e.getId() % 2 == 0).count());
+    }
+
+    @Test
+    public void testCreatesNewEntities() {
+        final MockEntity entity = stream().filter(MockEntity.ID.equal(7)).findAny().get();
+        assertNotSame(rows.get(7), entity);
+        assertEquals(7, entity.getId());
+        assertEquals(rows.get(7).getName(), entity.getName());
+    }
+
+    @Test
+    public void testEmpty() {
+        final Snapshot<MockEntity> empty = Snapshot.of(Arrays.asList(MockEntity.ID, MockEntity.NAME), Arrays.asList());
+        final Stream<MockEntity> stream = new ReferenceStreamBuilder<>(
+            new PipelineImpl<>(() -> empty.stream(empty.allRows(), ParallelStrategy.computeIntensityDefault())),
+            new SnapshotStreamTerminator<>(empty, ParallelStrategy.computeIntensityDefault())
+        );
+        assertEquals(0, stream.filter(MockEntity.NAME.equal("Name1")).count());
+    }
+
+    private void assertSameAsRows(Predicate<MockEntity> predicate) {
+        final List<Integer> expected = rows.stream()
+            .filter(predicate)
+            .map(MockEntity::getId)
+            .collect(toList());
+
+        final List<Integer> actual = stream()
+            .filter(predicate)
+            .map(MockEntity::getId)
+            .collect(toList());
+
+        assertEquals(predicate.toString(), expected, actual);
+    }
+
+    private Stream<MockEntity> stream() {
+        return new ReferenceStreamBuilder<>(
+            new PipelineImpl<>(() -> snapshot.stream(snapshot.allRows(), ParallelStrategy.computeIntensityDefault())),
+            new SnapshotStreamTerminator<>(snapshot, ParallelStrategy.computeIntensityDefault())
+        );
+    }
+}
@@ -0,0 +1,194 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.sql;
+
+import com.speedment.runtime.core.component.cache.EntityCache;
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizerComponent;
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizerInfo;
+import com.speedment.runtime.core.db.AsynchronousQueryResult;
+import com.speedment.runtime.core.db.DbmsType;
+import com.speedment.runtime.core.db.SqlFunction;
+import com.speedment.runtime.core.internal.component.cache.EntityCacheComponentImpl;
+import com.speedment.runtime.core.internal.db.AsynchronousQueryResultImpl;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.FilterAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.LimitAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapAction;
+import com.speedment.runtime.core.internal.stream.builder.pipeline.PipelineImpl;
+import com.speedment.runtime.core.stream.action.Action;
+import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import com.speedment.runtime.test_support.MockDbmsType;
+import com.speedment.runtime.test_support.MockEntity;
+import com.speedment.runtime.test_support.MockEntityUtil;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @since 3.0.12
+ */
+public class CachingSqlStreamOptimizerComponentTest {
+
+    private static final DbmsType DBMS_TYPE = new MockDbmsType();
+    private static final String SELECT_SQL = "SELECT id, name FROM mock_entity";
+
+    private EntityCache<MockEntity> cache;
+    private CachingSqlStreamOptimizerComponent<MockEntity> instance;
+    private SqlStreamOptimizerInfo<MockEntity> info;
+
+    @Before
+    public void setUp() {
+        final SqlStreamOptimizerComponent inner = new SqlStreamOptimizerComponentImpl();
+        cache = new EntityCacheComponentImpl().enable(MockEntity.ID.identifier().asTableIdentifier(), 10);
+        instance = new CachingSqlStreamOptimizerComponent<>(inner, cache, MockEntity.ID);
+        info = SqlStreamOptimizerInfo.of(
+            DBMS_TYPE,
+            SELECT_SQL,
+            "SELECT COUNT(*) FROM mock_entity",
+            (sql, values) -> 0L,
+            f -> f.identifier().getColumnName(),
+            f -> Object.class,
+            "mock_entity",
+            f -> Optional.empty()
+        );
+    }
+
+    @Test
+    public void testMissPopulatesCache() throws SQLException {
+        final AsynchronousQueryResult<MockEntity> query = query();
+        optimize(query, new FilterAction<>(MockEntity.ID.equal(1)));
+
+        assertNotEquals("The database should be queried", SELECT_SQL, query.getSql());
+        assertEquals(0, cache.size());
+        final MockEntity loaded = query.getRsMapper().apply(null);
+        assertEquals(1, cache.getMisses());
+        assertEquals(loaded.getName(), cache.get(1).map(MockEntity::getName).orElse(null));
+
+        loaded.setName("Changed");
+        assertEquals("Loaded", cache.get(1).map(MockEntity::getName).orElse(null));
+    }
+
+    @Test
+    public void testHitBypassesDatabase() {
+        cache.put(1, new MockEntity(1).setName("Cached"));
+
+        final AsynchronousQueryResult<MockEntity> query = query();
+        final PipelineImpl<MockEntity> pipeline = optimize(query,
+            new FilterAction<>(MockEntity.NAME.equal("Cached")),
+            new FilterAction<>(MockEntity.ID.equal(1))
+        );
+
+        assertEquals("The database should not be queried", SELECT_SQL, query.getSql());
+        final List<MockEntity> result = pipeline.getAsReferenceStream().collect(toList());
+        assertEquals(1, result.size());
+        assertEquals(1, result.get(0).getId());
+        assertEquals("Cached", result.get(0).getName());
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    public void testHitReturnsCopy() {
+        cache.put(1, new MockEntity(1).setName("Cached"));
+
+        final MockEntity first = optimize(query(), new FilterAction<>(MockEntity.ID.equal(1)))
+            .getAsReferenceStream().findAny().get();
+        first.setName("Changed");
+
+        final MockEntity second = optimize(query(), new FilterAction<>(MockEntity.ID.equal(1)))
+            .getAsReferenceStream().findAny().get();
+        assertNotSame(first, second);
+        assertEquals("Cached", second.getName());
+        assertEquals("Cached", cache.get(1).map(MockEntity::getName).orElse(null));
+    }
+
+    @Test
+    public void testProjectionIsNotCached() throws SQLException {
+        final SqlStreamOptimizerInfo<MockEntity> projectionInfo = SqlStreamOptimizerInfo.of(
+            DBMS_TYPE,
+            SELECT_SQL,
+            "SELECT COUNT(*) FROM mock_entity",
+            (sql, values) -> 0L,
+            f -> f.identifier().getColumnName(),
+            f -> Object.class,
+            "mock_entity",
+            f -> Optional.of(rs -> "Projected")
+        );
+        final AsynchronousQueryResult<MockEntity> query = query();
+        final PipelineImpl<MockEntity> pipeline = new PipelineImpl<>(() -> MockEntityUtil.stream(2));
+        pipeline.addLast(new FilterAction<>(MockEntity.ID.equal(1)));
+        pipeline.addLast(new MapAction<>(MockEntity.NAME.getter()));
+        instance.<MockEntity>get(pipeline, DBMS_TYPE).optimize(pipeline, projectionInfo, query);
+
+        assertEquals("Projected", ((SqlFunction<ResultSet, ?>) query.getRsMapper()).apply(null));
+        assertEquals(1, cache.getMisses());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testHitStillAppliesFilters() {
+        cache.put(1, new MockEntity(1));
+
+        final PipelineImpl<MockEntity> pipeline = optimize(query(),
+            new FilterAction<>(MockEntity.ID.equal(1)),
+            new FilterAction<>(MockEntity.NAME.equal("Other"))
+        );
+
+        assertEquals(0, pipeline.getAsReferenceStream().count());
+    }
+
+    @Test
+    public void testNotPrimaryKeyLookup() {
+        cache.put(1, new MockEntity(1));
+
+        final AsynchronousQueryResult<MockEntity> query = query();
+        optimize(query,
+            new LimitAction<>(1),
+            new FilterAction<>(MockEntity.ID.equal(1))
+        );
+
+        assertEquals(0, cache.getHits());
+        assertEquals(0, cache.getMisses());
+        assertNotEquals(SELECT_SQL, query.getSql());
+    }
+
+    private PipelineImpl<MockEntity> optimize(AsynchronousQueryResult<MockEntity> query, Action<?, ?>... actions) {
+        final PipelineImpl<MockEntity> pipeline = new PipelineImpl<>(() -> MockEntityUtil.stream(2));
+        Stream.of(actions).forEachOrdered(pipeline::addLast);
+        return instance.<MockEntity>get(pipeline, DBMS_TYPE).optimize(pipeline, info, query);
+    }
+
+    private static AsynchronousQueryResult<MockEntity> query() {
+        return new AsynchronousQueryResultImpl<>(
+            SELECT_SQL,
+            new ArrayList<>(),
+            rs -> new MockEntity(1).setName("Loaded"),
+            () -> null,
+            ParallelStrategy.computeIntensityDefault(),
+            ps -> {},
+            rs -> {}
+        );
+    }
+}
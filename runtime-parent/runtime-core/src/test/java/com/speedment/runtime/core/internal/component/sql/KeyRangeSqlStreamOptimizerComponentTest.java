@@ -0,0 +1,169 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.sql;
+
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizerInfo;
+import com.speedment.runtime.core.db.AsynchronousQueryResult;
+import com.speedment.runtime.core.db.DbmsType;
+import com.speedment.runtime.core.internal.component.sql.KeyRangeSqlStreamOptimizerComponent.KeyRangeQuery;
+import com.speedment.runtime.core.internal.db.AsynchronousQueryResultImpl;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.FilterAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.LimitAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.SortedComparatorAction;
+import com.speedment.runtime.core.internal.stream.builder.pipeline.PipelineImpl;
+import com.speedment.runtime.core.stream.action.Action;
+import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import com.speedment.runtime.test_support.MockDbmsType;
+import com.speedment.runtime.test_support.MockEntity;
+import com.speedment.runtime.test_support.MockEntityUtil;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @since 3.0.12
+ */
+public class KeyRangeSqlStreamOptimizerComponentTest {
+
+    private static final DbmsType DBMS_TYPE = new MockDbmsType();
+    private static final String SELECT_SQL = "SELECT id, name FROM mock_entity";
+
+    private List<KeyRangeQuery> splits;
+    private KeyRangeSqlStreamOptimizerComponent<MockEntity> instance;
+    private SqlStreamOptimizerInfo<MockEntity> info;
+
+    @Before
+    public void setUp() {
+        splits = new ArrayList<>();
+        instance = new KeyRangeSqlStreamOptimizerComponent<>(
+            new SqlStreamOptimizerComponentImpl(),
+            MockEntity.ID,
+            Integer.class,
+            (query, keyRangeQuery) -> {
+                splits.add(keyRangeQuery);
+                return Stream.empty();
+            }
+        );
+        info = SqlStreamOptimizerInfo.of(
+            DBMS_TYPE,
+            SELECT_SQL,
+            "SELECT COUNT(*) FROM mock_entity",
+            (sql, values) -> 0L,
+            f -> f.identifier().getColumnName(),
+            f -> Object.class,
+            "mock_entity",
+            f -> Optional.empty()
+        );
+    }
+
+    @Test
+    public void testSequentialIsNotSplit() {
+        final AsynchronousQueryResult<MockEntity> query = query();
+        final PipelineImpl<MockEntity> pipeline = optimize(false, query,
+            new FilterAction<>(MockEntity.NAME.equal("Olle"))
+        );
+
+        assertEquals(2, pipeline.getAsReferenceStream().count());
+        assertTrue("The keys should not be probed", splits.isEmpty());
+        assertTrue(query.getSql().startsWith(SELECT_SQL + " WHERE "));
+    }
+
+    @Test
+    public void testParallelIsSplit() {
+        final AsynchronousQueryResult<MockEntity> query = query();
+        final PipelineImpl<MockEntity> pipeline = optimize(true, query,
+            new FilterAction<>(MockEntity.NAME.equal("Olle"))
+        );
+
+        assertEquals(0, pipeline.getAsReferenceStream().count());
+        assertEquals(1, splits.size());
+
+        final KeyRangeQuery keyRangeQuery = splits.get(0);
+        assertTrue(keyRangeQuery.getSql().startsWith(SELECT_SQL + " WHERE "));
+        assertEquals(Arrays.asList(5, 9, "Olle"), keyRangeQuery.getValues(5, 9));
+        assertTrue(keyRangeQuery.getProbeSql().startsWith(
+            "SELECT MIN(id), MAX(id) FROM mock_entity WHERE "
+        ));
+        assertEquals(Collections.singletonList("Olle"), keyRangeQuery.getProbeValues());
+
+        // The query used when the stream is not split is left as it is
+        assertEquals(Collections.singletonList("Olle"), query.getValues());
+    }
+
+    @Test
+    public void testParallelWithoutFiltersIsSplit() {
+        final PipelineImpl<MockEntity> pipeline = optimize(true, query());
+
+        assertEquals(0, pipeline.getAsReferenceStream().count());
+        assertEquals(1, splits.size());
+        assertEquals("SELECT MIN(id), MAX(id) FROM mock_entity", splits.get(0).getProbeSql());
+        assertEquals(Arrays.asList(1, 3), splits.get(0).getValues(1, 3));
+    }
+
+    @Test
+    public void testSortedIsNotSplit() {
+        final PipelineImpl<MockEntity> pipeline = optimize(true, query(),
+            new FilterAction<>(MockEntity.NAME.equal("Olle")),
+            new SortedComparatorAction<>(MockEntity.NAME.comparator())
+        );
+
+        pipeline.getAsReferenceStream().count();
+        assertTrue(splits.isEmpty());
+    }
+
+    @Test
+    public void testLimitIsNotSplit() {
+        final PipelineImpl<MockEntity> pipeline = optimize(true, query(),
+            new LimitAction<>(1)
+        );
+
+        pipeline.getAsReferenceStream().count();
+        assertTrue(splits.isEmpty());
+    }
+
+    private PipelineImpl<MockEntity> optimize(
+        final boolean parallel,
+        final AsynchronousQueryResult<MockEntity> query,
+        final Action<?, ?>... actions
+    ) {
+        final PipelineImpl<MockEntity> pipeline = new PipelineImpl<>(() -> MockEntityUtil.stream(2));
+        pipeline.setParallel(parallel);
+        Stream.of(actions).forEachOrdered(pipeline::addLast);
+        return instance.<MockEntity>get(pipeline, DBMS_TYPE).optimize(pipeline, info, query);
+    }
+
+    private static AsynchronousQueryResult<MockEntity> query() {
+        return new AsynchronousQueryResultImpl<>(
+            SELECT_SQL,
+            new ArrayList<>(),
+            rs -> new MockEntity(1),
+            () -> null,
+            ParallelStrategy.computeIntensityDefault(),
+            ps -> {},
+            rs -> {}
+        );
+    }
+}
@@ -0,0 +1,192 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.sql;
+
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizer;
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizerComponent;
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizerInfo;
+import com.speedment.runtime.core.db.AsynchronousQueryResult;
+import com.speedment.runtime.core.db.DbmsType;
+import com.speedment.runtime.core.internal.db.AsynchronousQueryResultImpl;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.FilterAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.LimitAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.PeekAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.SkipAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.SortedComparatorAction;
+import com.speedment.runtime.core.internal.stream.builder.pipeline.PipelineImpl;
+import com.speedment.runtime.core.stream.Pipeline;
+import com.speedment.runtime.core.stream.action.Action;
+import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import com.speedment.runtime.test_support.MockDbmsType;
+import com.speedment.runtime.test_support.MockEntity;
+import com.speedment.runtime.test_support.MockEntityUtil;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @since 3.0.12
+ */
+public class PreparedSqlStreamOptimizerComponentTest {
+
+    private static final DbmsType DBMS_TYPE = new MockDbmsType();
+    private static final String SELECT_SQL = "SELECT id, name FROM mock_entity";
+
+    private SqlStreamOptimizerComponent direct;
+    private AtomicInteger innerCalls;
+    private PreparedSqlStreamOptimizerComponent instance;
+    private SqlStreamOptimizerInfo<MockEntity> info;
+
+    @Before
+    public void setUp() {
+        direct = new SqlStreamOptimizerComponentImpl();
+        innerCalls = new AtomicInteger();
+        instance = new PreparedSqlStreamOptimizerComponent(new SqlStreamOptimizerComponent() {
+            @Override
+            public <ENTITY> SqlStreamOptimizer<ENTITY> get(Pipeline initialPipeline, DbmsType dbmsType) {
+                innerCalls.incrementAndGet();
+                return direct.get(initialPipeline, dbmsType);
+            }
+
+            @Override
+            public <ENTITY> void install(SqlStreamOptimizer<ENTITY> sqlStreamOptimizer) {
+                direct.install(sqlStreamOptimizer);
+            }
+        });
+
+        info = SqlStreamOptimizerInfo.of(
+            DBMS_TYPE,
+            SELECT_SQL,
+            "SELECT COUNT(*) FROM mock_entity",
+            (sql, values) -> 0L,
+            f -> f.identifier().getColumnName(),
+            f -> Object.class,
+            "mock_entity",
+            f -> Optional.empty()
+        );
+    }
+
+    @Test
+    public void testBindsSameShape() {
+        final AsynchronousQueryResult<MockEntity> first = query();
+        final Pipeline firstPipeline = instance.<MockEntity>get(pipeline(1, 2, 3), DBMS_TYPE)
+            .optimize(pipeline(1, 2, 3), info, first);
+        assertEquals(1, innerCalls.get());
+        assertTrue(firstPipeline.isEmpty());
+
+        final AsynchronousQueryResult<MockEntity> second = query();
+        final Pipeline secondPipeline = instance.<MockEntity>get(pipeline(7, 8, 9), DBMS_TYPE)
+            .optimize(pipeline(7, 8, 9), info, second);
+        assertEquals("Prepared shape should not be optimized again", 1, innerCalls.get());
+        assertTrue(secondPipeline.isEmpty());
+
+        final AsynchronousQueryResult<MockEntity> expected = query();
+        final Pipeline expectedPipeline = direct.<MockEntity>get(pipeline(7, 8, 9), DBMS_TYPE)
+            .optimize(pipeline(7, 8, 9), info, expected);
+        assertTrue(expectedPipeline.isEmpty());
+
+        assertEquals(expected.getSql(), second.getSql());
+        assertEquals(expected.getValues(), second.getValues());
+        assertEquals(Arrays.asList(7, 9L, 8L), second.getValues());
+    }
+
+    @Test
+    public void testDifferentShape() {
+        instance.<MockEntity>get(pipeline(1, 2, 3), DBMS_TYPE)
+            .optimize(pipeline(1, 2, 3), info, query());
+
+        final AsynchronousQueryResult<MockEntity> unlimited = query();
+        final Pipeline pipeline = pipelineOf(
+            new FilterAction<>(MockEntity.ID.equal(4)),
+            new SortedComparatorAction<>(MockEntity.NAME.comparator()),
+            new SkipAction<>(5)
+        );
+        instance.<MockEntity>get(pipeline, DBMS_TYPE).optimize(pipeline, info, unlimited);
+
+        assertEquals(2, innerCalls.get());
+        assertEquals(Arrays.asList(4, 5L), unlimited.getValues());
+    }
+
+    @Test
+    public void testInSetSize() {
+        final AsynchronousQueryResult<MockEntity> two = query();
+        final Pipeline twoPipeline = pipelineOf(new FilterAction<>(MockEntity.ID.in(1, 2)));
+        instance.<MockEntity>get(twoPipeline, DBMS_TYPE).optimize(twoPipeline, info, two);
+
+        final AsynchronousQueryResult<MockEntity> three = query();
+        final Pipeline threePipeline = pipelineOf(new FilterAction<>(MockEntity.ID.in(1, 2, 3)));
+        instance.<MockEntity>get(threePipeline, DBMS_TYPE).optimize(threePipeline, info, three);
+
+        assertEquals(2, innerCalls.get());
+        assertEquals(2, two.getValues().size());
+        assertEquals(3, three.getValues().size());
+    }
+
+    @Test
+    public void testUnknownActionIsNotPrepared() {
+        for (int i = 0; i < 2; i++) {
+            final AsynchronousQueryResult<MockEntity> result = query();
+            final Pipeline pipeline = pipelineOf(
+                new FilterAction<>(MockEntity.ID.equal(i)),
+                new PeekAction<>(e -> {})
+            );
+            final Pipeline optimized = instance.<MockEntity>get(pipeline, DBMS_TYPE)
+                .optimize(pipeline, info, result);
+            assertEquals(1, optimized.size());
+            assertEquals(Arrays.asList(i), result.getValues());
+        }
+        assertEquals(2, innerCalls.get());
+    }
+
+    private static Pipeline pipeline(int id, long skip, long limit) {
+        return pipelineOf(
+            new FilterAction<>(MockEntity.ID.equal(id)),
+            new SortedComparatorAction<>(MockEntity.NAME.comparator()),
+            new SkipAction<>(skip),
+            new LimitAction<>(limit)
+        );
+    }
+
+    private static Pipeline pipelineOf(Action<?, ?>... actions) {
+        return Stream.of(actions)
+            .collect(
+                () -> new PipelineImpl<>(() -> MockEntityUtil.stream(2)),
+                PipelineImpl::addLast,
+                (a, b) -> b.stream().forEachOrdered(a::add)
+            );
+    }
+
+    private static AsynchronousQueryResult<MockEntity> query() {
+        return new AsynchronousQueryResultImpl<>(
+            SELECT_SQL,
+            new ArrayList<>(),
+            rs -> new MockEntity(1),
+            () -> null,
+            ParallelStrategy.computeIntensityDefault(),
+            ps -> {},
+            rs -> {}
+        );
+    }
+}
@@ -0,0 +1,389 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.sql;
+
+import com.speedment.runtime.config.Dbms;
+import com.speedment.runtime.core.component.DbmsHandlerComponent;
+import com.speedment.runtime.core.component.ManagerComponent;
+import com.speedment.runtime.core.component.ProjectComponent;
+import com.speedment.runtime.core.component.cache.EntityCache;
+import com.speedment.runtime.core.component.cache.EntityCacheComponent;
+import com.speedment.runtime.core.component.connectionpool.ConnectionPoolComponent;
+import com.speedment.runtime.core.component.connectionpool.PoolableConnection;
+import com.speedment.runtime.core.component.resultset.ResultSetMapperComponent;
+import com.speedment.runtime.core.db.DbmsOperationHandler;
+import com.speedment.runtime.core.db.DbmsType.UpsertSupport;
+import com.speedment.runtime.core.exception.SpeedmentException;
+import com.speedment.runtime.core.internal.component.cache.EntityCacheComponentImpl;
+import com.speedment.runtime.core.internal.component.sql.override.SqlStreamTerminatorComponentImpl;
+import com.speedment.runtime.core.internal.db.AbstractDbmsOperationHandler;
+import com.speedment.runtime.core.internal.manager.sql.SqlStatement;
+import com.speedment.runtime.core.manager.HasDirtyFields;
+import com.speedment.runtime.core.manager.Manager;
+import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import com.speedment.runtime.test_support.MockDbmsType;
+import com.speedment.runtime.test_support.MockEntity;
+import com.speedment.runtime.test_support.MockProjectUtil;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.lang.reflect.Field;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ *
+ * @since 3.0.12
+ */
+public class SqlPersistenceImplTest {
+
+    private static final String DBMS_TYPE_NAME = "Mock";
+
+    private DbmsOperationHandler operationHandler;
+    private ProjectComponent projectComponent;
+    private ManagerComponent managerComponent;
+    private EntityCacheComponent entityCacheComponent;
+    private SqlPersistenceImpl<MockEntity> instance;
+
+    @Before
+    public void setUp() {
+        operationHandler = mock(DbmsOperationHandler.class);
+        doAnswer(i -> {
+            ((Runnable) i.getArgument(1)).run();
+            return null;
+        }).when(operationHandler).afterCommit(any(), any());
+
+        projectComponent = mock(ProjectComponent.class);
+        when(projectComponent.getProject()).thenReturn(MockProjectUtil.project(DBMS_TYPE_NAME));
+
+        @SuppressWarnings("unchecked")
+        final Manager<MockEntity> manager = mock(Manager.class);
+        when(manager.getTableIdentifier()).thenReturn(MockEntity.ID.identifier().asTableIdentifier());
+        when(manager.getEntityClass()).thenReturn(MockEntity.class);
+        when(manager.fields()).thenAnswer(i -> Stream.of(MockEntity.ID, MockEntity.NAME));
+        when(manager.primaryKeyFields()).thenAnswer(i -> Stream.of(MockEntity.ID));
+
+        managerComponent = mock(ManagerComponent.class);
+        when(managerComponent.stream()).thenAnswer(i -> Stream.of(manager));
+
+        entityCacheComponent = new EntityCacheComponentImpl();
+        instance = newInstance(UpsertSupport.NONE);
+    }
+
+    @Test
+    public void testUpdateAllFromManagerStream() throws Exception {
+        // The query returns the rows 1, 2 and 3
+        final ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.next()).thenReturn(true, true, true, false);
+        when(resultSet.getInt(1)).thenReturn(1, 2, 3);
+
+        final PreparedStatement query = mock(PreparedStatement.class);
+        when(query.executeQuery()).thenReturn(resultSet);
+
+        final PoolableConnection queryConnection = mock(PoolableConnection.class);
+        when(queryConnection.prepareStatement(anyString(), anyInt(), anyInt())).thenReturn(query);
+
+        final PreparedStatement update = mock(PreparedStatement.class);
+        final PoolableConnection connection = mock(PoolableConnection.class);
+        when(connection.prepareStatement(anyString(), anyInt())).thenReturn(update);
+
+        // The query is started before the first batch is executed
+        final ConnectionPoolComponent connectionPoolComponent = mock(ConnectionPoolComponent.class);
+        when(connectionPoolComponent.getConnection(any())).thenReturn(queryConnection, connection);
+
+        final AbstractDbmsOperationHandler handler = new AbstractDbmsOperationHandler() {};
+        final Field field = AbstractDbmsOperationHandler.class
+            .getDeclaredField("connectionPoolComponent");
+        field.setAccessible(true);
+        field.set(handler, connectionPoolComponent);
+
+        final DbmsHandlerComponent dbmsHandlerComponent = 
+            dbmsHandlerComponent(handler, UpsertSupport.NONE);
+
+        // Streams from the supplier do not allow iterator() by default
+        final SqlStreamSupplierImpl<MockEntity> supplier = new SqlStreamSupplierImpl<>(
+            MockEntity.ID.identifier().asTableIdentifier(),
+            rs -> new MockEntity(rs.getInt(1)),
+            projectComponent,
+            dbmsHandlerComponent,
+            managerComponent,
+            new SqlStreamOptimizerComponentImpl(),
+            new SqlStreamTerminatorComponentImpl(),
+            mock(ResultSetMapperComponent.class),
+            entityCacheComponent,
+            false
+        );
+
+        newInstance(dbmsHandlerComponent).updateAll(
+            supplier.stream(ParallelStrategy.computeIntensityDefault())
+                .filter(e -> e.getId() != 2)
+                .map(e -> e.setName("Olle"))
+        );
+
+        verify(connection).prepareStatement(
+            "UPDATE `speedment_test`.`mock_entity` SET `id` = ?,`name` = ? WHERE `id` = ?",
+            Statement.NO_GENERATED_KEYS
+        );
+        verify(update, times(2)).setObject(2, "Olle");
+        verify(update).setObject(3, 1);
+        verify(update).setObject(3, 3);
+        verify(update, times(2)).addBatch();
+        verify(update, times(1)).executeBatch();
+        verify(connection, times(1)).commit();
+        verify(resultSet).close();
+    }
+
+    @Test
+    public void testUpsertOnDuplicateKeyUpdate() throws Exception {
+        newInstance(UpsertSupport.ON_DUPLICATE_KEY_UPDATE).upsert(new MockEntity(1));
+
+        verify(operationHandler).executeUpdate(
+            any(Dbms.class),
+            eq("INSERT INTO `speedment_test`.`mock_entity` (`id`,`name`) VALUES (?,?) " + 
+                "ON DUPLICATE KEY UPDATE `name` = VALUES(`name`)"),
+            eq(asList(1, "Name1"))
+        );
+    }
+
+    @Test
+    public void testUpsertOnConflict() throws Exception {
+        newInstance(UpsertSupport.ON_CONFLICT).upsert(new MockEntity(1));
+
+        verify(operationHandler).executeUpdate(
+            any(Dbms.class),
+            eq("INSERT INTO `speedment_test`.`mock_entity` (`id`,`name`) VALUES (?,?) " + 
+                "ON CONFLICT (`id`) DO UPDATE SET `name` = EXCLUDED.`name`"),
+            eq(asList(1, "Name1"))
+        );
+    }
+
+    @Test
+    public void testUpsertMerge() throws Exception {
+        newInstance(UpsertSupport.MERGE).upsert(new MockEntity(1));
+
+        verify(operationHandler).executeUpdate(
+            any(Dbms.class),
+            eq("MERGE INTO `speedment_test`.`mock_entity` (`id`,`name`) KEY (`id`) VALUES (?,?)"),
+            eq(asList(1, "Name1"))
+        );
+    }
+
+    @Test
+    public void testUpsertAllUsesBatch() throws Exception {
+        newInstance(UpsertSupport.MERGE).upsertAll(Stream.of(new MockEntity(1), new MockEntity(2)));
+
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<Stream<SqlStatement>> captor = ArgumentCaptor.forClass(Stream.class);
+        verify(operationHandler).executeBatch(any(Dbms.class), captor.capture(), eq(10));
+
+        final List<SqlStatement> statements = captor.getValue().collect(toList());
+        assertEquals(2, statements.size());
+        assertEquals(
+            "MERGE INTO `speedment_test`.`mock_entity` (`id`,`name`) KEY (`id`) VALUES (?,?)",
+            statements.get(0).getSql()
+        );
+        assertEquals(asList(2, "Name2"), statements.get(1).getValues());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testUpsertNotSupported() {
+        instance.upsert(new MockEntity(1));
+    }
+
+    @Test
+    public void testUpdateOnlyDirtyFields() throws Exception {
+        final DirtyMockEntity entity = new DirtyMockEntity(1);
+        entity.setName("Olle");
+
+        instance.update(entity);
+
+        verify(operationHandler).executeUpdate(
+            any(Dbms.class),
+            eq("UPDATE `speedment_test`.`mock_entity` SET `name` = ? WHERE `id` = ?"),
+            eq(asList("Olle", 1))
+        );
+        assertArrayEquals(new long[0], entity.getDirtyFields());
+    }
+
+    @Test
+    public void testUpdateAllDirtyFields() throws Exception {
+        final DirtyMockEntity entity = new DirtyMockEntity(1);
+        entity.setName("Olle");
+        entity.setId(2);
+
+        instance.update(entity);
+
+        verify(operationHandler).executeUpdate(
+            any(Dbms.class),
+            eq("UPDATE `speedment_test`.`mock_entity` SET `id` = ?,`name` = ? WHERE `id` = ?"),
+            eq(asList(2, "Olle", 2))
+        );
+    }
+
+    @Test
+    public void testUpdateWithoutDirtyFields() throws Exception {
+        instance.update(new DirtyMockEntity(1));
+        verify(operationHandler, never()).executeUpdate(any(), anyString(), anyList());
+    }
+
+    @Test
+    public void testUpdateWithoutTracking() throws Exception {
+        instance.update(new MockEntity(1));
+
+        verify(operationHandler).executeUpdate(
+            any(Dbms.class),
+            eq("UPDATE `speedment_test`.`mock_entity` SET `id` = ?,`name` = ? WHERE `id` = ?"),
+            eq(asList(1, "Name1", 1))
+        );
+    }
+
+    @Test
+    public void testUpdateDefersBookkeepingToCommit() throws Exception {
+        final List<Runnable> afterCommit = new ArrayList<>();
+        doAnswer(i -> afterCommit.add(i.getArgument(1)))
+            .when(operationHandler).afterCommit(any(), any());
+
+        final EntityCache<MockEntity> cache = entityCacheComponent
+            .enable(MockEntity.ID.identifier().asTableIdentifier(), 10);
+        final DirtyMockEntity entity = new DirtyMockEntity(1);
+        cache.put(1, entity);
+        entity.setName("Olle");
+
+        instance.update(entity);
+
+        verify(operationHandler).executeUpdate(any(Dbms.class), anyString(), anyList());
+        assertEquals(1, afterCommit.size());
+        assertEquals(1, entity.getDirtyFields().length);
+        assertEquals(1, cache.size());
+
+        afterCommit.forEach(Runnable::run);
+
+        assertArrayEquals(new long[0], entity.getDirtyFields());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testFailedUpdateInvalidatesCache() throws Exception {
+        doThrow(new SQLException("Failed")).when(operationHandler)
+            .executeUpdate(any(Dbms.class), anyString(), anyList());
+
+        final EntityCache<MockEntity> cache = entityCacheComponent
+            .enable(MockEntity.ID.identifier().asTableIdentifier(), 10);
+        final DirtyMockEntity entity = new DirtyMockEntity(1);
+        cache.put(1, entity);
+        entity.setName("Olle");
+
+        try {
+            instance.update(entity);
+            fail("Expected the update to fail");
+        } catch (final SpeedmentException expected) {
+            // Expected
+        }
+
+        verify(operationHandler, never()).afterCommit(any(), any());
+        assertEquals(1, entity.getDirtyFields().length);
+        assertEquals(0, cache.size());
+    }
+
+    private SqlPersistenceImpl<MockEntity> newInstance(UpsertSupport upsertSupport) {
+        return newInstance(dbmsHandlerComponent(operationHandler, upsertSupport));
+    }
+
+    private SqlPersistenceImpl<MockEntity> newInstance(DbmsHandlerComponent dbmsHandlerComponent) {
+        return new SqlPersistenceImpl<>(
+            MockEntity.ID.identifier().asTableIdentifier(),
+            projectComponent,
+            dbmsHandlerComponent,
+            managerComponent,
+            mock(ResultSetMapperComponent.class),
+            entityCacheComponent,
+            10
+        );
+    }
+
+    private static DbmsHandlerComponent dbmsHandlerComponent(
+            DbmsOperationHandler operationHandler, 
+            UpsertSupport upsertSupport) {
+
+        final MockDbmsType dbmsType = new MockDbmsType() {
+            @Override
+            public DbmsOperationHandler getOperationHandler() {
+                return operationHandler;
+            }
+
+            @Override
+            public UpsertSupport getUpsertSupport() {
+                return upsertSupport;
+            }
+        };
+
+        final DbmsHandlerComponent dbmsHandlerComponent = mock(DbmsHandlerComponent.class);
+        when(dbmsHandlerComponent.findByName(DBMS_TYPE_NAME)).thenReturn(Optional.of(dbmsType));
+        return dbmsHandlerComponent;
+    }
+
+    /**
+     * An entity that keeps track of its dirty fields the same way as the
+     * generated entities do. The bit index is the position of the field in
+     * {@code Manager.fields()}.
+     */
+    private static final class DirtyMockEntity extends MockEntity implements HasDirtyFields {
+
+        private long dirtyFields;
+
+        private DirtyMockEntity(int id) {
+            super(id);
+        }
+
+        @Override
+        public DirtyMockEntity setId(int id) {
+            super.setId(id);
+            dirtyFields |= 1L << 0;
+            return this;
+        }
+
+        @Override
+        public DirtyMockEntity setName(String name) {
+            super.setName(name);
+            dirtyFields |= 1L << 1;
+            return this;
+        }
+
+        @Override
+        public long[] getDirtyFields() {
+            return dirtyFields == 0 ? new long[0] : new long[] {dirtyFields};
+        }
+
+        @Override
+        public void clearDirtyFields() {
+            dirtyFields = 0;
+        }
+    }
+}
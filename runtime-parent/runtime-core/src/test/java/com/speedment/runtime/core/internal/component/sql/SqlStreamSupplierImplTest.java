@@ -0,0 +1,226 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.sql;
+
+import com.speedment.runtime.config.Dbms;
+import com.speedment.runtime.core.component.DbmsHandlerComponent;
+import com.speedment.runtime.core.component.ManagerComponent;
+import com.speedment.runtime.core.component.ProjectComponent;
+import com.speedment.runtime.core.component.resultset.ResultSetMapperComponent;
+import com.speedment.runtime.core.component.sql.override.SqlStreamTerminatorComponent;
+import com.speedment.runtime.core.db.DbmsOperationHandler;
+import com.speedment.runtime.core.db.SqlFunction;
+import com.speedment.runtime.core.internal.component.cache.EntityCacheComponentImpl;
+import com.speedment.runtime.core.internal.db.AsynchronousQueryResultImpl;
+import com.speedment.runtime.core.manager.Manager;
+import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import com.speedment.runtime.core.stream.reactive.Publisher;
+import com.speedment.runtime.core.stream.reactive.Subscriber;
+import com.speedment.runtime.core.stream.reactive.Subscription;
+import com.speedment.runtime.test_support.MockDbmsType;
+import com.speedment.runtime.test_support.MockEntity;
+import com.speedment.runtime.test_support.MockProjectUtil;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ *
+ * @since 3.0.12
+ */
+public class SqlStreamSupplierImplTest {
+
+    private static final String DBMS_TYPE_NAME = "Mock";
+
+    private Connection connection;
+    private PreparedStatement statement;
+    private ResultSet resultSet;
+    private SqlStreamSupplierImpl<MockEntity> instance;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        // Three rows with the ids 1, 2 and 3
+        resultSet = mock(ResultSet.class);
+        when(resultSet.next()).thenReturn(true, true, true, false);
+        when(resultSet.getInt(1)).thenReturn(1, 2, 3);
+
+        statement = mock(PreparedStatement.class);
+        when(statement.executeQuery()).thenReturn(resultSet);
+
+        connection = mock(Connection.class);
+        when(connection.prepareStatement(anyString(), anyInt(), anyInt())).thenReturn(statement);
+
+        final DbmsOperationHandler operationHandler = mock(DbmsOperationHandler.class);
+        when(operationHandler.executeQueryAsync(any(Dbms.class), anyString(), anyList(), any(), any()))
+            .thenAnswer(i -> new AsynchronousQueryResultImpl<>(
+                i.getArgument(1),
+                i.getArgument(2),
+                (SqlFunction<ResultSet, Object>) i.getArgument(3),
+                () -> connection,
+                i.getArgument(4),
+                ps -> {},
+                rs -> {}
+            ));
+
+        final MockDbmsType dbmsType = new MockDbmsType() {
+            @Override
+            public DbmsOperationHandler getOperationHandler() {
+                return operationHandler;
+            }
+        };
+
+        final ProjectComponent projectComponent = mock(ProjectComponent.class);
+        when(projectComponent.getProject()).thenReturn(MockProjectUtil.project(DBMS_TYPE_NAME));
+
+        final DbmsHandlerComponent dbmsHandlerComponent = mock(DbmsHandlerComponent.class);
+        when(dbmsHandlerComponent.findByName(DBMS_TYPE_NAME)).thenReturn(Optional.of(dbmsType));
+
+        final Manager<MockEntity> manager = mock(Manager.class);
+        when(manager.getTableIdentifier()).thenReturn(MockEntity.ID.identifier().asTableIdentifier());
+        when(manager.getEntityClass()).thenReturn(MockEntity.class);
+        when(manager.fields()).thenAnswer(i -> Stream.of(MockEntity.ID, MockEntity.NAME));
+        when(manager.primaryKeyFields()).thenAnswer(i -> Stream.of(MockEntity.ID));
+
+        final ManagerComponent managerComponent = mock(ManagerComponent.class);
+        when(managerComponent.stream()).thenAnswer(i -> Stream.of(manager));
+
+        instance = new SqlStreamSupplierImpl<>(
+            MockEntity.ID.identifier().asTableIdentifier(),
+            rs -> new MockEntity(rs.getInt(1)),
+            projectComponent,
+            dbmsHandlerComponent,
+            managerComponent,
+            new SqlStreamOptimizerComponentImpl(),
+            mock(SqlStreamTerminatorComponent.class),
+            mock(ResultSetMapperComponent.class),
+            new EntityCacheComponentImpl(),
+            false
+        );
+    }
+
+    @Test
+    public void testPublisherReadsRowsOnDemand() throws Exception {
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        instance.publisher(Runnable::run).subscribe(subscriber);
+        verify(connection, never()).prepareStatement(anyString(), anyInt(), anyInt());
+
+        subscriber.subscription.request(2);
+        assertEquals(asList(1, 2), subscriber.ids);
+        // At most one row is read ahead to detect the end of the result
+        verify(resultSet, atMost(3)).next();
+        verify(connection, never()).close();
+
+        subscriber.subscription.request(5);
+        assertEquals(asList(1, 2, 3), subscriber.ids);
+        assertTrue(subscriber.completed);
+        assertNull(subscriber.error);
+        verify(resultSet).close();
+        verify(statement).close();
+        verify(connection).close();
+    }
+
+    @Test
+    public void testPublisherCancel() throws Exception {
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        instance.publisher(Runnable::run).subscribe(subscriber);
+
+        subscriber.subscription.request(1);
+        subscriber.subscription.cancel();
+
+        assertEquals(asList(1), subscriber.ids);
+        assertFalse(subscriber.completed);
+        verify(resultSet, atMost(2)).next();
+        verify(resultSet).close();
+        verify(statement).close();
+        verify(connection).close();
+    }
+
+    @Test
+    public void testPublisherExecutesQueryPerSubscription() throws Exception {
+        final Publisher<MockEntity> publisher = instance.publisher(Runnable::run);
+        final RecordingSubscriber first = new RecordingSubscriber();
+        final RecordingSubscriber second = new RecordingSubscriber();
+        publisher.subscribe(first);
+        publisher.subscribe(second);
+
+        first.subscription.request(1);
+        second.subscription.request(1);
+
+        verify(statement, times(2)).executeQuery();
+        assertEquals(1, first.ids.size());
+        assertEquals(1, second.ids.size());
+    }
+
+    @Test
+    public void testPublisherWithoutIteratorSupport() {
+        // Streams from the supplier do not allow iterator() by default
+        try (final Stream<MockEntity> stream = instance.stream(ParallelStrategy.computeIntensityDefault())) {
+            stream.iterator();
+            fail("Expected the stream to reject iterator()");
+        } catch (final UnsupportedOperationException ex) {
+            // The publisher must therefore not be built on the stream
+        }
+
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        instance.publisher(Runnable::run).subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertNull(subscriber.error);
+        assertEquals(asList(1, 2, 3), subscriber.ids);
+    }
+
+    private static final class RecordingSubscriber implements Subscriber<MockEntity> {
+
+        private final List<Integer> ids = new ArrayList<>();
+        private Subscription subscription;
+        private Throwable error;
+        private boolean completed;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(MockEntity item) {
+            ids.add(item.getId());
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
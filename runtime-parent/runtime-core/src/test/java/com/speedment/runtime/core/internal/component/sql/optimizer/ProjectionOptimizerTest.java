@@ -0,0 +1,157 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.sql.optimizer;
+
+import com.speedment.runtime.core.component.sql.Metrics;
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizerInfo;
+import com.speedment.runtime.core.db.AsynchronousQueryResult;
+import com.speedment.runtime.core.db.DbmsType;
+import com.speedment.runtime.core.internal.db.AsynchronousQueryResultImpl;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.FilterAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapToIntAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.PeekAction;
+import com.speedment.runtime.core.internal.stream.builder.pipeline.PipelineImpl;
+import com.speedment.runtime.core.stream.Pipeline;
+import com.speedment.runtime.core.stream.action.Action;
+import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import com.speedment.runtime.test_support.MockDbmsType;
+import com.speedment.runtime.test_support.MockEntity;
+import com.speedment.runtime.test_support.MockEntityUtil;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.BaseStream;
+import java.util.stream.Stream;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @since 3.0.12
+ */
+public class ProjectionOptimizerTest {
+
+    private static final DbmsType DBMS_TYPE = new MockDbmsType();
+    private static final Supplier<BaseStream<?, ?>> STREAM_SUPPLIER = () -> MockEntityUtil.stream(2);
+    private static final String SQL_SELECT = "SELECT id, name FROM mock_entity";
+
+    private ProjectionOptimizer<MockEntity> instance;
+    private AsynchronousQueryResult<MockEntity> asynchronousQueryResult;
+    private SqlStreamOptimizerInfo<MockEntity> sqlStreamOptimizerInfo;
+
+    @Before
+    public void setUp() {
+        instance = new ProjectionOptimizer<>();
+        asynchronousQueryResult = new AsynchronousQueryResultImpl<>(
+            SQL_SELECT,
+            new ArrayList<>(),
+            (rs) -> new MockEntity(1),
+            () -> null,
+            ParallelStrategy.computeIntensityDefault(),
+            (st) -> {
+            },
+            (rs) -> {
+            }
+        );
+
+        sqlStreamOptimizerInfo = SqlStreamOptimizerInfo.of(
+            DBMS_TYPE,
+            SQL_SELECT,
+            "SELECT COUNT(*) FROM mock_entity",
+            (sql, l) -> 1L,
+            f -> f.identifier().getColumnName(),
+            f -> Object.class,
+            "mock_entity",
+            f -> Optional.of(rs -> 42)
+        );
+    }
+
+    @Test
+    public void testMetrics() {
+        assertEquals(1, instance.metrics(pipelineOf(mapToId()), DBMS_TYPE).getPipelineReductions());
+        assertEquals(2, instance.metrics(pipelineOf(filter(), mapToId()), DBMS_TYPE).getPipelineReductions());
+        assertEquals(Metrics.empty(), instance.metrics(pipelineOf(peek(), mapToId()), DBMS_TYPE));
+        assertEquals(Metrics.empty(), instance.metrics(pipelineOf(new MapToIntAction<MockEntity>(MockEntity::getId)), DBMS_TYPE));
+        assertEquals(Metrics.empty(), instance.metrics(pipelineOf(filter()), DBMS_TYPE));
+    }
+
+    @Test
+    public void testMapToInt() throws Exception {
+        final Action<?, ?> projection = mapToId();
+        final Pipeline pipeline = pipelineOf(projection);
+        final Pipeline newPipeline = instance.optimize(pipeline, sqlStreamOptimizerInfo, asynchronousQueryResult);
+
+        assertEquals("SELECT id FROM mock_entity", asynchronousQueryResult.getSql());
+        assertEquals(1, newPipeline.size());
+        assertTrue(newPipeline.getFirst() instanceof MapToIntAction);
+        assertNotSame(projection, newPipeline.getFirst());
+        assertEquals((Object) 42, asynchronousQueryResult.getRsMapper().apply(null));
+    }
+
+    @Test
+    public void testFilterAndMap() {
+        final Pipeline pipeline = pipelineOf(filter(), new MapAction<>(MockEntity.NAME.getter()));
+        final Pipeline newPipeline = instance.optimize(pipeline, sqlStreamOptimizerInfo, asynchronousQueryResult);
+
+        assertTrue(asynchronousQueryResult.getSql().startsWith("SELECT name FROM mock_entity WHERE "));
+        assertEquals(1, asynchronousQueryResult.getValues().size());
+        assertTrue(newPipeline.isEmpty());
+    }
+
+    @Test
+    public void testNoColumnReader() {
+        sqlStreamOptimizerInfo = SqlStreamOptimizerInfo.of(
+            DBMS_TYPE,
+            SQL_SELECT,
+            "SELECT COUNT(*) FROM mock_entity",
+            (sql, l) -> 1L,
+            f -> f.identifier().getColumnName(),
+            f -> Object.class
+        );
+        final Action<?, ?> projection = mapToId();
+        final Pipeline newPipeline = instance.optimize(pipelineOf(filter(), projection), sqlStreamOptimizerInfo, asynchronousQueryResult);
+
+        assertTrue(asynchronousQueryResult.getSql().startsWith(SQL_SELECT + " WHERE "));
+        assertEquals(1, newPipeline.size());
+        assertSame(projection, newPipeline.getFirst());
+    }
+
+    private FilterAction<MockEntity> filter() {
+        return new FilterAction<>(MockEntity.ID.equal(1));
+    }
+
+    private PeekAction<MockEntity> peek() {
+        return new PeekAction<>(e -> {});
+    }
+
+    private MapToIntAction<MockEntity> mapToId() {
+        return new MapToIntAction<>(MockEntity.ID.getter());
+    }
+
+    private Pipeline pipelineOf(Action<?, ?>... actions) {
+        return Stream.of(actions)
+            .collect(
+                () -> new PipelineImpl<>(STREAM_SUPPLIER),
+                PipelineImpl::addLast,
+                (a, b) -> b.stream().forEachOrdered(a::add)
+            );
+    }
+
+}
@@ -36,7 +36,10 @@ import com.speedment.runtime.core.component.sql.override.reference.ReferenceTerm
 import com.speedment.runtime.core.component.sql.override.reference.SpliteratorTerminator;
 import com.speedment.runtime.core.component.sql.override.reference.ToArrayGeneratorTerminator;
 import com.speedment.runtime.core.component.sql.override.reference.ToArrayTerminator;
+import com.speedment.runtime.core.internal.component.sql.override.optimized.reference.OptimizedCollectTerminator;
 import com.speedment.runtime.core.internal.component.sql.override.optimized.reference.OptimizedCountTerminator;
+import com.speedment.runtime.core.internal.component.sql.override.optimized.reference.OptimizedMaxTerminator;
+import com.speedment.runtime.core.internal.component.sql.override.optimized.reference.OptimizedMinTerminator;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.stream.Stream;
@@ -62,6 +65,9 @@ public class SqlStreamTerminatorComponentImplTest {
     public void testGetters() {
         referenceTerminators()
             .filter(c -> !CountTerminator.class.equals(c)) // Count is optimized by default. Test separately
+            .filter(c -> !CollectTerminator.class.equals(c)) // Collect is optimized by default. Test separately
+            .filter(c -> !MinTerminator.class.equals(c)) // Min is optimized by default. Test separately
+            .filter(c -> !MaxTerminator.class.equals(c)) // Max is optimized by default. Test separately
             .forEach(this::testGetter);
     }
 
@@ -73,6 +79,26 @@ public class SqlStreamTerminatorComponentImplTest {
         );
     }
 
+    @Test
+    public void testGetCollectTerminator() {
+        assertEquals(
+            OptimizedCollectTerminator.create().getClass().getName(),
+            instance.getCollectTerminator().getClass().getName()
+        );
+    }
+
+    @Test
+    public void testGetMinMaxTerminators() {
+        assertEquals(
+            OptimizedMinTerminator.create().getClass().getName(),
+            instance.getMinTerminator().getClass().getName()
+        );
+        assertEquals(
+            OptimizedMaxTerminator.create().getClass().getName(),
+            instance.getMaxTerminator().getClass().getName()
+        );
+    }
+
     @Test
     public void testSetters() {
         referenceTerminators()
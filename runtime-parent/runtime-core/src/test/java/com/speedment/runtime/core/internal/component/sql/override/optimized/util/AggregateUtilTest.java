@@ -0,0 +1,283 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.sql.override.optimized.util;
+
+import com.speedment.runtime.core.component.sql.SqlStreamOptimizerInfo;
+import com.speedment.runtime.core.db.AsynchronousQueryResult;
+import com.speedment.runtime.core.internal.component.sql.SqlStreamOptimizerComponentImpl;
+import com.speedment.runtime.core.internal.component.sql.override.SqlStreamTerminatorComponentImpl;
+import com.speedment.runtime.core.internal.db.AsynchronousQueryResultImpl;
+import com.speedment.runtime.core.internal.manager.sql.SqlStreamTerminator;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.FilterAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapToDoubleAction;
+import com.speedment.runtime.core.internal.stream.builder.action.reference.MapToIntAction;
+import com.speedment.runtime.core.internal.stream.builder.pipeline.DoublePipeline;
+import com.speedment.runtime.core.internal.stream.builder.pipeline.IntPipeline;
+import com.speedment.runtime.core.internal.stream.builder.pipeline.PipelineImpl;
+import com.speedment.runtime.core.stream.action.Action;
+import com.speedment.runtime.core.stream.parallel.ParallelStrategy;
+import com.speedment.runtime.field.collector.FieldCollectors;
+import com.speedment.runtime.test_support.MockDbmsType;
+import com.speedment.runtime.test_support.MockEntity;
+import com.speedment.runtime.test_support.MockEntityUtil;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.function.Supplier;
+import java.util.stream.BaseStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.Before;
+import org.junit.Test;
+
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ *
+ * @since 3.0.12
+ */
+public class AggregateUtilTest {
+
+    private static final String SELECT_SQL = "SELECT id, name FROM table";
+    private static final String SELECT_COUNT_SQL = "SELECT COUNT(*) FROM table";
+    private static final int ROWS = 10;
+
+    private Connection connection;
+    private ResultSet resultSet;
+    private AsynchronousQueryResult<MockEntity> asynchronousQueryResult;
+    private SqlStreamTerminator<MockEntity> terminator;
+
+    @Before
+    public void setUp() throws Exception {
+        connection = mock(Connection.class);
+        final PreparedStatement ps = mock(PreparedStatement.class);
+        resultSet = mock(ResultSet.class);
+        when(connection.prepareStatement(anyString(), anyInt(), anyInt())).thenReturn(ps);
+        when(ps.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, false);
+
+        asynchronousQueryResult = new AsynchronousQueryResultImpl<>(
+            SELECT_SQL,
+            new ArrayList<>(),
+            rs -> new MockEntity(1),
+            () -> connection,
+            ParallelStrategy.computeIntensityDefault(),
+            ps2 -> {
+            },
+            rs -> {
+            }
+        );
+
+        final SqlStreamOptimizerInfo<MockEntity> info = SqlStreamOptimizerInfo.of(
+            new MockDbmsType(),
+            SELECT_SQL,
+            SELECT_COUNT_SQL,
+            (sql, l) -> (long) ROWS,
+            f -> f.identifier().getColumnName(),
+            f -> Object.class,
+            "table",
+            f -> Optional.of(rs -> rs.getObject(1))
+        );
+
+        terminator = new SqlStreamTerminator<>(
+            info,
+            asynchronousQueryResult,
+            new SqlStreamOptimizerComponentImpl(),
+            new SqlStreamTerminatorComponentImpl(),
+            true
+        );
+    }
+
+    @Test
+    public void testSum() throws Exception {
+        when(resultSet.getObject(1)).thenReturn(45L);
+        assertEquals(45, terminator.sum(intPipelineOf(mapToId())));
+        assertEquals("SELECT SUM(id) FROM table", asynchronousQueryResult.getSql());
+    }
+
+    @Test
+    public void testSumOfNothing() throws Exception {
+        when(resultSet.getObject(1)).thenReturn(null);
+        assertEquals(0, terminator.sum(intPipelineOf(filterName(), mapToId())));
+        assertTrue(asynchronousQueryResult.getSql().startsWith("SELECT SUM(id) FROM table WHERE "));
+        assertEquals(singletonList("Name3"), asynchronousQueryResult.getValues());
+    }
+
+    @Test
+    public void testMin() throws Exception {
+        when(resultSet.getObject(1)).thenReturn(2);
+        assertEquals(OptionalInt.of(2), terminator.min(intPipelineOf(mapToId())));
+        assertEquals("SELECT MIN(id) FROM table", asynchronousQueryResult.getSql());
+    }
+
+    @Test
+    public void testMaxOfNothing() throws Exception {
+        when(resultSet.getObject(1)).thenReturn(null);
+        assertEquals(OptionalInt.empty(), terminator.max(intPipelineOf(mapToId())));
+        assertEquals("SELECT MAX(id) FROM table", asynchronousQueryResult.getSql());
+    }
+
+    @Test
+    public void testAverage() throws Exception {
+        when(resultSet.getObject(1)).thenReturn(45L);
+        when(resultSet.getObject(2)).thenReturn(10L);
+        assertEquals(OptionalDouble.of(4.5), terminator.average(intPipelineOf(mapToId())));
+        assertEquals("SELECT SUM(id), COUNT(id) FROM table", asynchronousQueryResult.getSql());
+    }
+
+    @Test
+    public void testAverageOfNothing() throws Exception {
+        when(resultSet.getObject(1)).thenReturn(null);
+        when(resultSet.getObject(2)).thenReturn(0L);
+        assertEquals(OptionalDouble.empty(), terminator.average(intPipelineOf(mapToId())));
+    }
+
+    @Test
+    public void testFallbackOnGeneralFilter() throws Exception {
+        final Action<?, ?> filter = new FilterAction<MockEntity>(e -> e.getId() < 5);
+        assertEquals(0 + 1 + 2 + 3 + 4, terminator.sum(intPipelineOf(filter, mapToId())));
+        verify(connection, never()).prepareStatement(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void testFallbackOnGeneralMapper() throws Exception {
+        final Action<?, ?> mapper = new MapToDoubleAction<MockEntity>(e -> e.getId() * 2);
+        assertEquals(OptionalDouble.of(9), terminator.average(doublePipelineOf(mapper)));
+        verify(connection, never()).prepareStatement(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void testFallbackWithoutTableReference() throws Exception {
+        final SqlStreamOptimizerInfo<MockEntity> info = SqlStreamOptimizerInfo.of(
+            new MockDbmsType(),
+            SELECT_SQL,
+            SELECT_COUNT_SQL,
+            (sql, l) -> (long) ROWS,
+            f -> f.identifier().getColumnName(),
+            f -> Object.class
+        );
+        assertFalse(info.getSqlTableReference().isPresent());
+
+        final SqlStreamTerminator<MockEntity> legacyTerminator = new SqlStreamTerminator<>(
+            info,
+            asynchronousQueryResult,
+            new SqlStreamOptimizerComponentImpl(),
+            new SqlStreamTerminatorComponentImpl(),
+            true
+        );
+        assertEquals(0 + 1 + 2 + 3 + 4 + 5 + 6 + 7 + 8 + 9, legacyTerminator.sum(intPipelineOf(mapToId())));
+        verify(connection, never()).prepareStatement(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void testReferenceMin() throws Exception {
+        final Optional<MockEntity> min = terminator.min(pipelineOf(filterName()), MockEntity.ID.comparator());
+        assertTrue(min.isPresent());
+        assertTrue(asynchronousQueryResult.getSql().startsWith(SELECT_SQL + " WHERE "));
+        assertTrue(asynchronousQueryResult.getSql().contains(" ORDER BY "));
+    }
+
+    @Test
+    public void testReferenceMaxFallback() throws Exception {
+        final Optional<MockEntity> max = terminator.max(pipelineOf(), (a, b) -> Integer.compare(a.getId(), b.getId()));
+        assertEquals(ROWS - 1, max.get().getId());
+        assertEquals(SELECT_SQL, asynchronousQueryResult.getSql());
+    }
+
+    @Test
+    public void testGroupingByCounting() throws Exception {
+        when(resultSet.next()).thenReturn(true, true, false);
+        when(resultSet.getObject(1)).thenReturn(1, 2);
+        when(resultSet.getObject(2)).thenReturn(3L, 4L);
+        final Map<Integer, Long> expected = new HashMap<>();
+        expected.put(1, 3L);
+        expected.put(2, 4L);
+
+        final Map<Integer, Long> actual = terminator.collect(
+            pipelineOf(filterName()),
+            FieldCollectors.groupingBy(MockEntity.ID, FieldCollectors.counting())
+        );
+
+        assertEquals(expected, actual);
+        assertTrue(asynchronousQueryResult.getSql().startsWith("SELECT id, COUNT(*) FROM table WHERE "));
+        assertTrue(asynchronousQueryResult.getSql().endsWith(" GROUP BY id"));
+        assertEquals(singletonList("Name3"), asynchronousQueryResult.getValues());
+    }
+
+    @Test
+    public void testGroupingBySumming() throws Exception {
+        when(resultSet.getObject(1)).thenReturn("Name3");
+        when(resultSet.getObject(2)).thenReturn(3L);
+
+        final Map<String, Integer> actual = terminator.collect(
+            pipelineOf(),
+            FieldCollectors.groupingBy(MockEntity.NAME, FieldCollectors.summingInt(MockEntity.ID))
+        );
+
+        assertEquals(singletonMap("Name3", 3), actual);
+        assertEquals("SELECT name, SUM(id) FROM table GROUP BY name", asynchronousQueryResult.getSql());
+    }
+
+    @Test
+    public void testGroupingByFallback() throws Exception {
+        final Map<Integer, Long> actual = terminator.collect(
+            pipelineOf(),
+            FieldCollectors.groupingBy(MockEntity.ID, Collectors.counting())
+        );
+
+        assertEquals(ROWS, actual.size());
+        verify(connection, never()).prepareStatement(anyString(), anyInt(), anyInt());
+    }
+
+    private FilterAction<MockEntity> filterName() {
+        return new FilterAction<>(MockEntity.NAME.equal("Name3"));
+    }
+
+    private MapToIntAction<MockEntity> mapToId() {
+        return new MapToIntAction<>(MockEntity.ID.getter());
+    }
+
+    private IntPipeline intPipelineOf(Action<?, ?>... actions) {
+        return pipelineOf(actions);
+    }
+
+    private DoublePipeline doublePipelineOf(Action<?, ?>... actions) {
+        return pipelineOf(actions);
+    }
+
+    private PipelineImpl<MockEntity> pipelineOf(Action<?, ?>... actions) {
+        final Supplier<BaseStream<?, ?>> supplier = () -> MockEntityUtil.stream(ROWS);
+        final PipelineImpl<MockEntity> pipeline = new PipelineImpl<>(supplier);
+        Stream.of(actions).forEachOrdered(pipeline::add);
+        return pipeline;
+    }
+
+}
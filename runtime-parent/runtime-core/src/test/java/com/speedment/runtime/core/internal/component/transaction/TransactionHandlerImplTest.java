@@ -0,0 +1,128 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.component.transaction;
+
+import com.speedment.runtime.config.Dbms;
+import com.speedment.runtime.core.component.transaction.Transaction;
+import com.speedment.runtime.core.db.DbmsOperationHandler;
+import com.speedment.runtime.core.exception.SpeedmentException;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @since 3.0.12
+ */
+public class TransactionHandlerImplTest {
+
+    private DbmsOperationHandler operationHandler;
+    private Dbms dbms;
+    private TransactionHandlerImpl instance;
+
+    @Before
+    public void setUp() {
+        operationHandler = mock(DbmsOperationHandler.class);
+        dbms = mock(Dbms.class);
+        instance = new TransactionHandlerImpl(dbms, operationHandler);
+    }
+
+    @Test
+    public void testApplyCommits() throws Exception {
+        assertEquals("result", instance.apply(tx -> "result"));
+
+        final InOrder inOrder = inOrder(operationHandler);
+        inOrder.verify(operationHandler).beginTransaction(dbms);
+        inOrder.verify(operationHandler).commitTransaction(dbms);
+        verify(operationHandler, never()).rollbackTransaction(dbms);
+    }
+
+    @Test
+    public void testApplyRollsBackOnException() throws Exception {
+        final IllegalArgumentException thrown = new IllegalArgumentException();
+        try {
+            instance.accept(tx -> { throw thrown; });
+            fail("Expected an exception");
+        } catch (final IllegalArgumentException ex) {
+            assertSame(thrown, ex);
+        }
+
+        verify(operationHandler).rollbackTransaction(dbms);
+        verify(operationHandler, never()).commitTransaction(dbms);
+    }
+
+    @Test
+    public void testCommitWithinAction() throws Exception {
+        instance.accept(Transaction::commit);
+
+        final InOrder inOrder = inOrder(operationHandler);
+        inOrder.verify(operationHandler).beginTransaction(dbms);
+        inOrder.verify(operationHandler).commitTransaction(dbms);
+        inOrder.verify(operationHandler).beginTransaction(dbms);
+        inOrder.verify(operationHandler).commitTransaction(dbms);
+    }
+
+    @Test
+    public void testRollbackWithinAction() throws Exception {
+        instance.accept(Transaction::rollback);
+
+        final InOrder inOrder = inOrder(operationHandler);
+        inOrder.verify(operationHandler).beginTransaction(dbms);
+        inOrder.verify(operationHandler).rollbackTransaction(dbms);
+        inOrder.verify(operationHandler).beginTransaction(dbms);
+        inOrder.verify(operationHandler).commitTransaction(dbms);
+    }
+
+    @Test
+    public void testRollbackFailureIsSuppressed() throws Exception {
+        final SQLException rollbackEx = new SQLException("Connection lost", "08S01");
+        doThrow(rollbackEx).when(operationHandler).rollbackTransaction(dbms);
+
+        final IllegalArgumentException thrown = new IllegalArgumentException();
+        try {
+            instance.accept(tx -> { throw thrown; });
+            fail("Expected an exception");
+        } catch (final IllegalArgumentException ex) {
+            assertSame(thrown, ex);
+            assertSame(rollbackEx, ex.getSuppressed()[0]);
+        }
+    }
+
+    @Test(expected = SpeedmentException.class)
+    public void testBeginFailure() throws Exception {
+        doThrow(new SQLException("No connection")).when(operationHandler).beginTransaction(dbms);
+        instance.accept(tx -> {});
+    }
+
+    @Test(expected = SpeedmentException.class)
+    public void testCommitFailure() throws Exception {
+        doThrow(new SQLException("Failed")).when(operationHandler).commitTransaction(dbms);
+        instance.accept(tx -> {});
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testTransactionEnded() {
+        final AtomicReference<Transaction> escaped = new AtomicReference<>();
+        instance.accept(escaped::set);
+        escaped.get().rollback();
+    }
+}
@@ -0,0 +1,365 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.db;
+
+import com.speedment.runtime.config.Dbms;
+import com.speedment.runtime.core.component.connectionpool.ConnectionPoolComponent;
+import com.speedment.runtime.core.component.connectionpool.PoolableConnection;
+import com.speedment.runtime.core.exception.SpeedmentException;
+import com.speedment.runtime.core.internal.manager.sql.SqlDeleteStatement;
+import com.speedment.runtime.core.internal.manager.sql.SqlInsertStatement;
+import com.speedment.runtime.core.internal.manager.sql.SqlStatement;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @since 3.0.12
+ */
+public class AbstractDbmsOperationHandlerTest {
+
+    private static final String INSERT = "INSERT INTO `user` (`name`) VALUES (?)";
+    private static final String DELETE = "DELETE FROM `user` WHERE `id` = ?";
+
+    private AbstractDbmsOperationHandler instance;
+    private ConnectionPoolComponent connectionPoolComponent;
+    private PoolableConnection connection;
+    private PreparedStatement ps;
+    private Dbms dbms;
+
+    @Before
+    public void setUp() throws Exception {
+        instance = new AbstractDbmsOperationHandler() {};
+        connection = mock(PoolableConnection.class);
+        ps = mock(PreparedStatement.class);
+        dbms = mock(Dbms.class);
+
+        connectionPoolComponent = mock(ConnectionPoolComponent.class);
+        when(connectionPoolComponent.getConnection(dbms)).thenReturn(connection);
+        when(connection.prepareStatement(anyString(), anyInt())).thenReturn(ps);
+
+        final Field field = AbstractDbmsOperationHandler.class.getDeclaredField("connectionPoolComponent");
+        field.setAccessible(true);
+        field.set(instance, connectionPoolComponent);
+    }
+
+    @Test
+    public void testExecuteBatchSplitsOnBatchSize() throws Exception {
+        when(ps.getGeneratedKeys()).thenAnswer(i -> generatedKeys(0));
+
+        instance.executeBatch(dbms, IntStream.range(0, 5)
+            .mapToObj(i -> new SqlDeleteStatement(DELETE, singletonList(i))), 2);
+
+        verify(connection, times(3)).prepareStatement(DELETE, Statement.NO_GENERATED_KEYS);
+        verify(ps, times(5)).addBatch();
+        verify(ps, times(3)).executeBatch();
+        verify(connection, times(3)).commit();
+    }
+
+    @Test
+    public void testExecuteBatchSplitsOnSql() throws Exception {
+        final List<SqlStatement> statements = new ArrayList<>();
+        statements.add(new SqlDeleteStatement(DELETE, singletonList(1)));
+        statements.add(new SqlDeleteStatement(DELETE, singletonList(2)));
+        statements.add(new SqlInsertStatement<>(INSERT, singletonList("a"), Collections.emptyList(), l -> {}));
+
+        when(ps.getGeneratedKeys()).thenAnswer(i -> generatedKeys(0));
+        instance.executeBatch(dbms, statements.stream(), 100);
+
+        verify(connection, times(1)).prepareStatement(DELETE, Statement.NO_GENERATED_KEYS);
+        verify(connection, times(1)).prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS);
+        verify(ps, times(2)).executeBatch();
+    }
+
+    @Test
+    public void testExecuteBatchGeneratedKeys() throws Exception {
+        final List<List<Long>> received = new ArrayList<>();
+        when(ps.getGeneratedKeys()).thenAnswer(i -> generatedKeys(3));
+
+        instance.executeBatch(dbms, Stream.of("a", "b", "c")
+            .map(name -> new SqlInsertStatement<>(
+                INSERT, singletonList(name), generatedFields(), received::add
+            )), 10);
+
+        assertEquals(3, received.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(singletonList((long) i + 1), received.get(i));
+        }
+    }
+
+    @Test
+    public void testExecuteBatchWrongNumberOfGeneratedKeys() throws Exception {
+        final List<List<Long>> received = new ArrayList<>();
+        when(ps.getGeneratedKeys()).thenAnswer(i -> generatedKeys(2));
+
+        try {
+            instance.executeBatch(dbms, Stream.of("a", "b", "c")
+                .map(name -> new SqlInsertStatement<>(
+                    INSERT, singletonList(name), generatedFields(), received::add
+                )), 10);
+            fail("Expected the missing key to be detected");
+        } catch (final SQLException expected) {
+            // Expected
+        }
+
+        verify(connection, never()).commit();
+        verify(connection).rollback();
+        assertTrue(received.isEmpty());
+    }
+
+    @Test
+    public void testExecuteBatchClosesStream() throws Exception {
+        final boolean[] closed = {false};
+        instance.executeBatch(dbms, Stream.of(1, 2)
+            .map(i -> new SqlDeleteStatement(DELETE, singletonList(i)))
+            .onClose(() -> closed[0] = true), 10);
+
+        assertTrue(closed[0]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExecuteBatchIllegalBatchSize() throws Exception {
+        instance.executeBatch(dbms, Stream.empty(), 0);
+    }
+
+    @Test
+    public void testTransactionExecutesImmediately() throws Exception {
+        final List<List<Long>> received = new ArrayList<>();
+        when(ps.getGeneratedKeys()).thenAnswer(i -> generatedKeys(1));
+
+        instance.beginTransaction(dbms);
+        verify(connection).setAutoCommit(false);
+
+        instance.executeInsert(dbms, INSERT, singletonList("a"), generatedFields(), received::add);
+        verify(ps, times(1)).executeUpdate();
+        assertEquals(singletonList(singletonList(1L)), received);
+
+        instance.executeDelete(dbms, DELETE, singletonList(1));
+        instance.executeUpdate(dbms, DELETE, singletonList(2));
+        verify(ps, times(3)).executeUpdate();
+        verify(connection, never()).commit();
+        verify(connection, never()).close();
+
+        instance.commitTransaction(dbms);
+
+        verify(connectionPoolComponent, times(1)).getConnection(dbms);
+        verify(connection, times(1)).commit();
+        verify(connection, times(1)).close();
+    }
+
+    @Test
+    public void testTransactionEnlistsBatch() throws Exception {
+        instance.beginTransaction(dbms);
+        instance.executeBatch(dbms, IntStream.range(0, 3)
+            .mapToObj(i -> new SqlDeleteStatement(DELETE, singletonList(i))), 2);
+
+        verify(ps, times(2)).executeBatch();
+        verify(connection, never()).commit();
+
+        instance.commitTransaction(dbms);
+
+        verify(connectionPoolComponent, times(1)).getConnection(dbms);
+        verify(connection, times(1)).commit();
+    }
+
+    @Test
+    public void testTransactionRollback() throws Exception {
+        final List<String> committed = new ArrayList<>();
+
+        instance.beginTransaction(dbms);
+        instance.executeDelete(dbms, DELETE, singletonList(1));
+        instance.afterCommit(dbms, () -> committed.add("delete"));
+        instance.rollbackTransaction(dbms);
+
+        verify(ps, times(1)).executeUpdate();
+        verify(connection, times(1)).rollback();
+        verify(connection, never()).commit();
+        verify(connection, times(1)).close();
+        assertTrue(committed.isEmpty());
+
+        // Without a transaction, the statement is committed by itself
+        instance.executeDelete(dbms, DELETE, singletonList(1));
+        verify(connection, times(1)).commit();
+    }
+
+    @Test
+    public void testAfterCommit() throws Exception {
+        final List<String> committed = new ArrayList<>();
+
+        instance.afterCommit(dbms, () -> committed.add("immediately"));
+        assertEquals(singletonList("immediately"), committed);
+
+        instance.beginTransaction(dbms);
+        instance.afterCommit(dbms, () -> committed.add("deferred"));
+        assertEquals(1, committed.size());
+
+        instance.commitTransaction(dbms);
+        assertEquals(asList("immediately", "deferred"), committed);
+    }
+
+    @Test
+    public void testTransactionCommitFailure() throws Exception {
+        final List<String> committed = new ArrayList<>();
+        doThrow(new SQLException("Deadlock", "40001")).when(connection).commit();
+
+        instance.beginTransaction(dbms);
+        instance.executeDelete(dbms, DELETE, singletonList(1));
+        instance.afterCommit(dbms, () -> committed.add("delete"));
+
+        try {
+            instance.commitTransaction(dbms);
+            fail("Expected the commit to fail");
+        } catch (final SQLException expected) {
+            // Expected
+        }
+
+        verify(ps, times(1)).executeUpdate();
+        verify(connection, times(1)).rollback();
+        verify(connection, times(1)).close();
+        assertTrue(committed.isEmpty());
+
+        // The transaction has ended
+        instance.beginTransaction(dbms);
+        instance.rollbackTransaction(dbms);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNestedTransaction() throws Exception {
+        instance.beginTransaction(dbms);
+        try {
+            instance.beginTransaction(dbms);
+        } finally {
+            instance.rollbackTransaction(dbms);
+        }
+    }
+
+    @Test
+    public void testExecuteQueryLazilyClosesAfterTerminal() throws Exception {
+        final ResultSet rs = rows(3);
+        final PreparedStatement query = mockQuery(rs);
+
+        final Stream<Long> stream = instance.executeQueryLazily(
+            dbms, "SELECT `id` FROM `user`", Collections.emptyList(), row -> row.getLong(1)
+        );
+
+        verify(connection, never()).close();
+        assertEquals(asList(1L, 2L, 3L), stream.collect(Collectors.toList()));
+        verifyClosed(query, rs);
+    }
+
+    @Test
+    public void testExecuteQueryLazilyClosesOnExplicitClose() throws Exception {
+        final ResultSet rs = rows(3);
+        final PreparedStatement query = mockQuery(rs);
+
+        final Stream<Long> stream = instance.executeQueryLazily(
+            dbms, "SELECT `id` FROM `user`", Collections.emptyList(), row -> row.getLong(1)
+        );
+
+        stream.close();
+        verifyClosed(query, rs);
+    }
+
+    @Test
+    public void testExecuteQueryLazilyClosesOnMapperError() throws Exception {
+        final ResultSet rs = rows(3);
+        final PreparedStatement query = mockQuery(rs);
+
+        final Stream<Long> stream = instance.executeQueryLazily(
+            dbms, "SELECT `id` FROM `user`", Collections.emptyList(), row -> {
+                throw new SQLException("Broken row");
+            }
+        );
+
+        try {
+            stream.count();
+            fail("Expected the mapper error to be thrown");
+        } catch (final RuntimeException expected) {
+            // Expected
+        }
+
+        verifyClosed(query, rs);
+    }
+
+    @Test
+    public void testExecuteQueryLazilyClosesOnQueryError() throws Exception {
+        final PreparedStatement query = mock(PreparedStatement.class);
+        when(connection.prepareStatement(anyString(), anyInt(), anyInt())).thenReturn(query);
+        when(query.executeQuery()).thenThrow(new SQLException("Broken query"));
+
+        try {
+            instance.executeQueryLazily(
+                dbms, "SELECT `id` FROM `user`", Collections.emptyList(), rs -> rs.getLong(1)
+            );
+            fail("Expected the query error to be thrown");
+        } catch (final SpeedmentException expected) {
+            // Expected
+        }
+
+        verify(query).close();
+        verify(connection).close();
+    }
+
+    private PreparedStatement mockQuery(ResultSet rs) throws Exception {
+        final PreparedStatement query = mock(PreparedStatement.class);
+        when(connection.prepareStatement(anyString(), anyInt(), anyInt())).thenReturn(query);
+        when(query.executeQuery()).thenReturn(rs);
+        return query;
+    }
+
+    private void verifyClosed(PreparedStatement query, ResultSet rs) throws Exception {
+        verify(rs).close();
+        verify(query).close();
+        verify(connection).close();
+    }
+
+    private ResultSet rows(int rows) throws Exception {
+        return generatedKeys(rows);
+    }
+
+    private static List<com.speedment.runtime.field.Field<Object>> generatedFields() {
+        @SuppressWarnings("unchecked")
+        final com.speedment.runtime.field.Field<Object> field = 
+            mock(com.speedment.runtime.field.Field.class);
+        return singletonList(field);
+    }
+
+    private ResultSet generatedKeys(int rows) throws Exception {
+        final ResultSet rs = mock(ResultSet.class);
+        final int[] row = {0};
+        when(rs.next()).thenAnswer(i -> ++row[0] <= rows);
+        when(rs.getLong(1)).thenAnswer(i -> (long) row[0]);
+        return rs;
+    }
+}
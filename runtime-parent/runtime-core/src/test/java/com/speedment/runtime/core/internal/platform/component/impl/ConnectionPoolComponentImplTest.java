@@ -22,11 +22,14 @@
 package com.speedment.runtime.core.internal.platform.component.impl;
 
 import com.speedment.runtime.core.component.connectionpool.PoolableConnection;
+import com.speedment.runtime.core.exception.SpeedmentException;
 import com.speedment.runtime.core.internal.component.ConnectionPoolComponentImpl;
 import org.junit.*;
 
 import java.sql.*;
 import java.util.*;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.util.concurrent.Executor;
 
 import static org.junit.Assert.*;
@@ -38,6 +41,7 @@ import static org.junit.Assert.*;
 public class ConnectionPoolComponentImplTest {
 
     ConnectionPoolComponentImpl instance;
+    boolean valid;
 
     public ConnectionPoolComponentImplTest() {
     }
@@ -52,6 +56,7 @@ public class ConnectionPoolComponentImplTest {
 
     @Before
     public void setUp() {
+        valid = true;
         instance = new ConnectionPoolComponentImpl() {
             @Override
             public Connection newConnection(String uri, String user, char[] password) {
@@ -179,6 +184,129 @@ public class ConnectionPoolComponentImplTest {
         }
     }
 
+    @Test(expected = SpeedmentException.class)
+    public void testMaxTotalTimesOut() throws Exception {
+        String uri = "thecooldatabase";
+        String user = "tryggve";
+        char[] password = "arne".toCharArray();
+        setConfig("maxTotal", 2);
+        setConfig("maxWait", 50L);
+        instance.getConnection(uri, user, password);
+        instance.getConnection(uri, user, password);
+        instance.getConnection(uri, user, password);
+    }
+
+    @Test
+    public void testMaxTotalReleasedOnReturn() throws Exception {
+        String uri = "thecooldatabase";
+        String user = "tryggve";
+        char[] password = "arne".toCharArray();
+        setConfig("maxTotal", 1);
+        setConfig("maxWait", 50L);
+        final PoolableConnection first = instance.getConnection(uri, user, password);
+        first.close();
+        final PoolableConnection second = instance.getConnection(uri, user, password);
+        assertEquals(1, instance.leaseSize());
+        second.close();
+        assertEquals(0, instance.leaseSize());
+
+        // Other credentials have their own limit
+        final PoolableConnection other = instance.getConnection(uri, "olle", password);
+        assertNotNull(other);
+    }
+
+    @Test
+    public void testMaxTotalCountsIdleConnections() throws Exception {
+        String uri = "thecooldatabase";
+        String user = "tryggve";
+        char[] password = "arne".toCharArray();
+        setConfig("maxTotal", 2);
+        setConfig("maxWait", 50L);
+        instance.setMaxAge(60 * 60_000);
+        instance.setMaxRetainSize(10);
+        final PoolableConnection first = instance.getConnection(uri, user, password);
+        final PoolableConnection second = instance.getConnection(uri, user, password);
+        first.close();
+        first.close(); // Closing twice must not recycle the connection twice
+        assertEquals(1, instance.poolSize());
+
+        final PoolableConnection reused = instance.getConnection(uri, user, password);
+        assertSame(first, reused);
+        assertEquals(2, instance.leaseSize());
+        assertEquals(0, instance.poolSize());
+        try {
+            instance.getConnection(uri, user, password);
+            fail("Expected the pool to be exhausted");
+        } catch (final SpeedmentException expected) {
+            // Expected
+        }
+        second.close();
+        reused.close();
+        assertEquals(0, instance.leaseSize());
+        assertEquals(2, instance.poolSize());
+    }
+
+    @Test
+    public void testMaxTotalReleasedOnDiscard() throws Exception {
+        String uri = "thecooldatabase";
+        String user = "tryggve";
+        char[] password = "arne".toCharArray();
+        setConfig("maxTotal", 1);
+        setConfig("maxWait", 50L);
+        instance.setMaxRetainSize(0);
+        final PoolableConnection first = instance.getConnection(uri, user, password);
+        first.close();
+        assertEquals(0, instance.poolSize());
+
+        final PoolableConnection second = instance.getConnection(uri, user, password);
+        assertNotSame(first, second);
+    }
+
+    @Test
+    public void testMaxTotalWaitsForReturn() throws Exception {
+        String uri = "thecooldatabase";
+        String user = "tryggve";
+        char[] password = "arne".toCharArray();
+        setConfig("maxTotal", 1);
+        setConfig("maxWait", 5_000L);
+        instance.setMaxAge(60 * 60_000);
+        instance.setMaxRetainSize(10);
+        final PoolableConnection first = instance.getConnection(uri, user, password);
+        final Thread returner = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+                first.close();
+            } catch (final Exception ex) {
+                throw new RuntimeException(ex);
+            }
+        });
+        returner.start();
+
+        final PoolableConnection second = instance.getConnection(uri, user, password);
+        returner.join();
+        assertSame(first, second);
+        assertEquals(1, instance.leaseSize());
+    }
+
+    @Test
+    public void testMaintainDiscardsInvalid() throws Exception {
+        String uri = "thecooldatabase";
+        String user = "tryggve";
+        char[] password = "arne".toCharArray();
+        setConfig("validationInterval", 1_000L);
+        instance.setMaxAge(60 * 60_000);
+        instance.setMaxRetainSize(10);
+        instance.getConnection(uri, user, password).close();
+        assertEquals(1, instance.poolSize());
+
+        maintain();
+        assertEquals(1, instance.poolSize());
+
+        valid = false;
+        maintain();
+        assertEquals(0, instance.poolSize());
+    }
+
     /**
      * Test of setPoolSize method, of class ConnectionPoolComponentImpl.
      */
@@ -409,7 +537,7 @@ public class ConnectionPoolComponentImplTest {
 
         @Override
         public boolean isValid(int timeout) throws SQLException {
-            throw new UnsupportedOperationException("Not supported yet."); //To change body of generated methods, choose Tools | Templates.
+            return valid && !closed;
         }
 
         @Override
@@ -479,6 +607,18 @@ public class ConnectionPoolComponentImplTest {
 
     }
 
+    private void setConfig(String name, Object value) throws Exception {
+        final Field field = ConnectionPoolComponentImpl.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(instance, value);
+    }
+
+    private void maintain() throws Exception {
+        final Method method = ConnectionPoolComponentImpl.class.getDeclaredMethod("maintain");
+        method.setAccessible(true);
+        method.invoke(instance);
+    }
+
     private void log(String msg) {
         //System.out.println(new Timestamp(System.currentTimeMillis()) + " " + msg);
     }
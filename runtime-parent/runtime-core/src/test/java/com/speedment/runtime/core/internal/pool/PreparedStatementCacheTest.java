@@ -0,0 +1,137 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.pool;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * @since 3.0.12
+ */
+public class PreparedStatementCacheTest {
+
+    private static final String SQL_A = "SELECT `a` FROM `t`";
+    private static final String SQL_B = "SELECT `b` FROM `t`";
+    private static final String SQL_C = "SELECT `c` FROM `t`";
+
+    private Connection connection;
+    private LongAdder hits;
+    private LongAdder misses;
+    private PreparedStatementCache instance;
+
+    @Before
+    public void setUp() throws Exception {
+        connection = mock(Connection.class);
+        when(connection.prepareStatement(anyString(), anyInt(), anyInt()))
+            .thenAnswer(i -> mock(PreparedStatement.class));
+        when(connection.prepareStatement(anyString(), anyInt()))
+            .thenAnswer(i -> mock(PreparedStatement.class));
+
+        hits     = new LongAdder();
+        misses   = new LongAdder();
+        instance = new PreparedStatementCache(connection, 2, hits, misses);
+    }
+
+    @Test
+    public void testReuse() throws Exception {
+        final PreparedStatement first = prepare(SQL_A);
+        final PreparedStatement raw = raw(first);
+        first.close();
+        assertTrue(first.isClosed());
+        verify(raw).clearParameters();
+        verify(raw, never()).close();
+
+        final PreparedStatement second = prepare(SQL_A);
+        assertFalse(second.isClosed());
+        second.close();
+
+        verify(connection, times(1)).prepareStatement(SQL_A, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        assertEquals(1, hits.sum());
+        assertEquals(1, misses.sum());
+        assertEquals(1, instance.size());
+    }
+
+    @Test
+    public void testKeyedByResultSetType() throws Exception {
+        prepare(SQL_A).close();
+        instance.prepareStatement(SQL_A, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY).close();
+        instance.prepareStatement(SQL_A, java.sql.Statement.RETURN_GENERATED_KEYS).close();
+
+        assertEquals(0, hits.sum());
+        assertEquals(3, misses.sum());
+    }
+
+    @Test
+    public void testInUseIsNotShared() throws Exception {
+        final PreparedStatement first = prepare(SQL_A);
+        final PreparedStatement second = prepare(SQL_A);
+        assertNotSame(raw(first), raw(second));
+        first.close();
+        second.close();
+        assertEquals(1, instance.size());
+        assertEquals(2, misses.sum());
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        final PreparedStatement a = prepare(SQL_A);
+        final PreparedStatement rawA = raw(a);
+        a.close();
+        prepare(SQL_B).close();
+        prepare(SQL_C).close();
+
+        assertEquals(2, instance.size());
+        verify(rawA).close();
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        final PreparedStatement a = prepare(SQL_A);
+        final PreparedStatement rawA = raw(a);
+        a.close();
+        instance.clear();
+        assertEquals(0, instance.size());
+        verify(rawA).close();
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        instance = new PreparedStatementCache(connection, 0, hits, misses);
+        final PreparedStatement ps = prepare(SQL_A);
+        ps.close();
+        verify(ps).close();
+        assertEquals(0, hits.sum() + misses.sum());
+    }
+
+    private static PreparedStatement raw(PreparedStatement ps) {
+        return ((PreparedStatementDelegator) ps).statement;
+    }
+
+    private PreparedStatement prepare(String sql) throws Exception {
+        return instance.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+    }
+}
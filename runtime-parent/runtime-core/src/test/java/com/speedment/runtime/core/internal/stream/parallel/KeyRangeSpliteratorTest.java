@@ -0,0 +1,130 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.stream.parallel;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @since 3.0.12
+ */
+public class KeyRangeSpliteratorTest {
+
+    private final AtomicInteger opened = new AtomicInteger();
+    private final AtomicInteger closed = new AtomicInteger();
+
+    @Test
+    public void testSequential() {
+        final List<Long> result = StreamSupport.stream(spliterator(1, 100, 10), false)
+            .collect(toList());
+
+        assertEquals(LongStream.rangeClosed(1, 100).boxed().collect(toList()), result);
+        assertEquals(1, opened.get());
+        assertEquals(1, closed.get());
+    }
+
+    @Test
+    public void testParallel() {
+        final long sum = StreamSupport.stream(spliterator(1, 10_000, 100), true)
+            .mapToLong(Long::longValue)
+            .sum();
+
+        assertEquals(LongStream.rangeClosed(1, 10_000).sum(), sum);
+        assertTrue(opened.get() >= 1);
+        assertEquals(opened.get(), closed.get());
+    }
+
+    @Test
+    public void testSplitCoversRange() {
+        final List<Spliterator<Long>> parts = new ArrayList<>();
+        final Spliterator<Long> spliterator = spliterator(-5, 26, 4);
+        split(spliterator, parts);
+
+        assertEquals(8, parts.size());
+        final List<Long> result = new ArrayList<>();
+        parts.forEach(s -> s.forEachRemaining(result::add));
+        assertEquals(LongStream.rangeClosed(-5, 26).boxed().collect(toList()), result);
+        assertEquals(8, opened.get());
+        assertEquals(8, closed.get());
+    }
+
+    @Test
+    public void testSplitIsLazy() {
+        final Spliterator<Long> spliterator = spliterator(1, 100, 10);
+        final Spliterator<Long> prefix = spliterator.trySplit();
+
+        assertNotNull(prefix);
+        assertEquals(50, prefix.estimateSize());
+        assertEquals(50, spliterator.estimateSize());
+        assertEquals(0, opened.get());
+    }
+
+    @Test
+    public void testNoSplitBelowMinRangeSize() {
+        assertNull(spliterator(1, 19, 10).trySplit());
+        assertNotNull(spliterator(1, 20, 10).trySplit());
+    }
+
+    @Test
+    public void testNoSplitAfterStart() {
+        final Spliterator<Long> spliterator = spliterator(1, 100, 10);
+        assertTrue(spliterator.tryAdvance(l -> assertEquals(1L, l.longValue())));
+        assertNull(spliterator.trySplit());
+        assertEquals(0, closed.get());
+
+        final AtomicInteger count = new AtomicInteger();
+        while (spliterator.tryAdvance(l -> count.incrementAndGet())) {}
+        assertEquals(99, count.get());
+        assertEquals(1, closed.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmptyRange() {
+        spliterator(2, 1, 1);
+    }
+
+    private Spliterator<Long> spliterator(long from, long to, long minRangeSize) {
+        return new KeyRangeSpliterator<>(from, to, minRangeSize, this::range);
+    }
+
+    private Stream<Long> range(long from, long to) {
+        opened.incrementAndGet();
+        return LongStream.rangeClosed(from, to).boxed()
+            .onClose(closed::incrementAndGet);
+    }
+
+    private static void split(Spliterator<Long> spliterator, List<Spliterator<Long>> parts) {
+        final Spliterator<Long> prefix = spliterator.trySplit();
+        if (prefix == null) {
+            parts.add(spliterator);
+        } else {
+            split(prefix, parts);
+            split(spliterator, parts);
+        }
+    }
+}
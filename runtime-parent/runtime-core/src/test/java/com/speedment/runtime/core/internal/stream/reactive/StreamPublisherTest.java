@@ -0,0 +1,166 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.stream.reactive;
+
+import com.speedment.runtime.core.stream.reactive.Publisher;
+import com.speedment.runtime.core.stream.reactive.Subscriber;
+import com.speedment.runtime.core.stream.reactive.Subscription;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import static java.util.stream.Collectors.toList;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @since 3.0.12
+ */
+public class StreamPublisherTest {
+
+    private AtomicInteger opened;
+    private AtomicBoolean closed;
+    private Publisher<Integer> instance;
+
+    @Before
+    public void setUp() {
+        opened = new AtomicInteger();
+        closed = new AtomicBoolean();
+        instance = new StreamPublisher<>(() -> {
+            opened.incrementAndGet();
+            return IntStream.range(0, 10).boxed().onClose(() -> closed.set(true));
+        }, Runnable::run);
+    }
+
+    @Test
+    public void testRequestChunks() {
+        final TestSubscriber<Integer> subscriber = new TestSubscriber<>();
+        instance.subscribe(subscriber);
+        assertEquals("Stream must not be opened before a request", 0, opened.get());
+
+        subscriber.subscription.request(3);
+        assertEquals(asList(0, 3), subscriber.items);
+        assertFalse(subscriber.completed);
+        assertFalse(closed.get());
+
+        subscriber.subscription.request(4);
+        assertEquals(asList(0, 7), subscriber.items);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        assertEquals(asList(0, 10), subscriber.items);
+        assertTrue(subscriber.completed);
+        assertTrue(closed.get());
+        assertEquals(1, opened.get());
+    }
+
+    @Test
+    public void testCancel() {
+        final TestSubscriber<Integer> subscriber = new TestSubscriber<>();
+        instance.subscribe(subscriber);
+        subscriber.subscription.request(2);
+        subscriber.subscription.cancel();
+        assertTrue(closed.get());
+
+        subscriber.subscription.request(2);
+        assertEquals(asList(0, 2), subscriber.items);
+        assertFalse(subscriber.completed);
+        assertNull(subscriber.error);
+    }
+
+    @Test
+    public void testInvalidRequest() {
+        final TestSubscriber<Integer> subscriber = new TestSubscriber<>();
+        instance.subscribe(subscriber);
+        subscriber.subscription.request(1);
+        subscriber.subscription.request(0);
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+        assertTrue(closed.get());
+    }
+
+    @Test
+    public void testRequestFromOnNext() {
+        final int size = 100_000;
+        final Publisher<Integer> publisher = new StreamPublisher<>(
+            () -> IntStream.range(0, size).boxed(), Runnable::run
+        );
+
+        final TestSubscriber<Integer> subscriber = new TestSubscriber<Integer>() {
+            @Override
+            public void onNext(Integer item) {
+                super.onNext(item);
+                subscription.request(1);
+            }
+        };
+
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(1);
+        assertEquals(size, subscriber.items.size());
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    public void testError() {
+        final RuntimeException failure = new RuntimeException("Olle");
+        final Publisher<Integer> publisher = new StreamPublisher<>(
+            () -> Stream.<Integer>of(1, 2).peek(i -> { if (i == 2) throw failure; }),
+            Runnable::run
+        );
+
+        final TestSubscriber<Integer> subscriber = new TestSubscriber<>();
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(5);
+        assertEquals(asList(1, 2), subscriber.items);
+        assertSame(failure, subscriber.error);
+        assertFalse(subscriber.completed);
+    }
+
+    private static List<Integer> asList(int from, int to) {
+        return IntStream.range(from, to).boxed().collect(toList());
+    }
+
+    private static class TestSubscriber<T> implements Subscriber<T> {
+
+        protected Subscription subscription;
+        private final List<T> items = new ArrayList<>();
+        private Throwable error;
+        private boolean completed;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(T item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
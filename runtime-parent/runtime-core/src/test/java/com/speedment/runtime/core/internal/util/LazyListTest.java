@@ -0,0 +1,53 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.core.internal.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author Speedment
+ */
+public class LazyListTest {
+
+    @Test
+    public void testMaterializedOnce() {
+        final AtomicInteger calls = new AtomicInteger();
+        final List<Object> list = LazyList.of(() -> {
+            calls.incrementAndGet();
+            return new ArrayList<>(asList("id", "name"));
+        });
+
+        assertFalse(((LazyList<Object>) list).isMaterialized());
+        assertEquals(0, calls.get());
+
+        assertEquals("name", list.get(1));
+        assertTrue(((LazyList<Object>) list).isMaterialized());
+
+        list.add("age");
+        list.remove("id");
+        assertEquals(asList("name", "age"), list);
+        assertEquals(1, calls.get());
+    }
+}
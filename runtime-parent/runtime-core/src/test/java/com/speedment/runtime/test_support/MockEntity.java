@@ -51,6 +51,8 @@ public class MockEntity {
     private int id;
     private String name;
 
+    public MockEntity() {}
+
     public MockEntity(int id) {
         this.id = id;
         this.name = "Name" + id;
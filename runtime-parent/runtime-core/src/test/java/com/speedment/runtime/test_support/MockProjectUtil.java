@@ -0,0 +1,84 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.test_support;
+
+import com.speedment.runtime.config.Column;
+import com.speedment.runtime.config.Dbms;
+import com.speedment.runtime.config.Project;
+import com.speedment.runtime.config.Schema;
+import com.speedment.runtime.config.Table;
+import com.speedment.runtime.config.internal.ProjectImpl;
+import com.speedment.runtime.config.trait.HasName;
+import com.speedment.runtime.config.trait.HasOrdinalPosition;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+
+/**
+ * Builds a {@link Project} with the table that {@link MockEntity} maps to,
+ * {@code db0.speedment_test.mock_entity}.
+ *
+ * @since 3.0.12
+ */
+public final class MockProjectUtil {
+
+    public static Project project(String dbmsTypeName) {
+        // The columns are not listed in ordinal position order
+        final Map<String, Object> table = document(
+            HasName.NAME, "mock_entity",
+            Table.COLUMNS, asList(
+                column("name", 2, String.class),
+                column("id", 1, Integer.class)
+            ),
+            Table.PRIMARY_KEY_COLUMNS, singletonList(document(HasName.NAME, "id"))
+        );
+        final Map<String, Object> schema = document(
+            HasName.NAME, "speedment_test",
+            Schema.TABLES, singletonList(table)
+        );
+        final Map<String, Object> dbms = document(
+            HasName.NAME, "db0",
+            Dbms.TYPE_NAME, dbmsTypeName,
+            Dbms.SCHEMAS, singletonList(schema)
+        );
+        return new ProjectImpl(document(
+            HasName.NAME, "project",
+            Project.DBMSES, singletonList(dbms)
+        ));
+    }
+
+    private static Map<String, Object> column(String name, int ordinalPosition, Class<?> databaseType) {
+        return document(
+            HasName.NAME, name,
+            HasOrdinalPosition.ORDINAL_POSITION, ordinalPosition,
+            Column.DATABASE_TYPE, databaseType.getName()
+        );
+    }
+
+    private static Map<String, Object> document(Object... keyValues) {
+        final Map<String, Object> document = new HashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            document.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return document;
+    }
+
+    private MockProjectUtil() {}
+}
@@ -0,0 +1,60 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.field.collector;
+
+import com.speedment.runtime.field.Field;
+import java.util.Optional;
+import java.util.stream.Collector;
+
+/**
+ * A {@link Collector} that computes an aggregate that has a direct counterpart
+ * in SQL. If it is used as the downstream collector of one of the field
+ * specific {@code groupingBy}-methods in {@link FieldCollectors}, the grouping
+ * may be performed by the database instead of in the JVM.
+ *
+ * @param <T>  the entity type to be collected
+ * @param <A>  the intermediate accumulation type
+ * @param <R>  the collected result
+ * 
+ * @since  3.0.12
+ */
+public interface AggregateCollector<T, A, R> extends Collector<T, A, R> {
+
+    /**
+     * The aggregate functions that can be computed by the database.
+     */
+    enum Aggregate {
+        COUNT, SUM
+    }
+
+    /**
+     * Returns the aggregate function that this collector computes.
+     * 
+     * @return  the aggregate function
+     */
+    Aggregate getAggregate();
+
+    /**
+     * Returns the field that is aggregated or an empty {@code Optional} if the
+     * aggregate does not depend on any particular field (like
+     * {@link Aggregate#COUNT}).
+     * 
+     * @return  the aggregated field
+     */
+    Optional<Field<T>> getField();
+
+}
@@ -27,7 +27,10 @@ import com.speedment.runtime.field.LongField;
 import com.speedment.runtime.field.ReferenceField;
 import com.speedment.runtime.field.ShortField;
 import com.speedment.runtime.field.StringField;
+import com.speedment.runtime.field.collector.AggregateCollector.Aggregate;
+import com.speedment.runtime.field.internal.collector.AggregateCollectorImpl;
 import com.speedment.runtime.field.internal.collector.FieldCollectorImpl;
+import com.speedment.runtime.field.internal.collector.GroupingFieldCollectorImpl;
 import static java.util.Collections.emptySet;
 import static java.util.Collections.unmodifiableSet;
 import java.util.EnumSet;
@@ -41,6 +44,7 @@ import java.util.function.BinaryOperator;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collector;
+import java.util.stream.Collectors;
 import static java.util.stream.Collectors.toList;
 
 /**
@@ -104,52 +108,52 @@ public final class FieldCollectors {
     
     public static <ENTITY, D, A, R> Collector<ENTITY, ?, Map<Long, R>>
     groupingBy(LongField<ENTITY, D> field, Collector<ENTITY, A, R> downstream) {
-        return groupingBy(field, field.getter()::apply, HashMap::new, downstream);
+        return groupingByField(field, field.getter()::apply, HashMap::new, downstream);
     }
     
     public static <ENTITY, D, A, R> Collector<ENTITY, ?, Map<Integer, R>>
     groupingBy(IntField<ENTITY, D> field, Collector<ENTITY, A, R> downstream) {
-        return groupingBy(field, field.getter()::apply, HashMap::new, downstream);
+        return groupingByField(field, field.getter()::apply, HashMap::new, downstream);
     }
     
     public static <ENTITY, D, A, R> Collector<ENTITY, ?, Map<Short, R>>
     groupingBy(ShortField<ENTITY, D> field, Collector<ENTITY, A, R> downstream) {
-        return groupingBy(field, field.getter()::apply, HashMap::new, downstream);
+        return groupingByField(field, field.getter()::apply, HashMap::new, downstream);
     }
     
     public static <ENTITY, D, A, R> Collector<ENTITY, ?, Map<Byte, R>>
     groupingBy(ByteField<ENTITY, D> field, Collector<ENTITY, A, R> downstream) {
-        return groupingBy(field, field.getter()::apply, HashMap::new, downstream);
+        return groupingByField(field, field.getter()::apply, HashMap::new, downstream);
     }
     
     public static <ENTITY, D, A, R> Collector<ENTITY, ?, Map<Double, R>>
     groupingBy(DoubleField<ENTITY, D> field, Collector<ENTITY, A, R> downstream) {
-        return groupingBy(field, field.getter()::apply, HashMap::new, downstream);
+        return groupingByField(field, field.getter()::apply, HashMap::new, downstream);
     }
     
     public static <ENTITY, D, A, R> Collector<ENTITY, ?, Map<Float, R>>
     groupingBy(FloatField<ENTITY, D> field, Collector<ENTITY, A, R> downstream) {
-        return groupingBy(field, field.getter()::apply, HashMap::new, downstream);
+        return groupingByField(field, field.getter()::apply, HashMap::new, downstream);
     }
     
     public static <ENTITY, D, A, R> Collector<ENTITY, ?, Map<Boolean, R>>
     groupingBy(BooleanField<ENTITY, D> field, Collector<ENTITY, A, R> downstream) {
-        return groupingBy(field, field.getter()::apply, HashMap::new, downstream);
+        return groupingByField(field, field.getter()::apply, HashMap::new, downstream);
     }
     
     public static <ENTITY, D, A, R> Collector<ENTITY, ?, Map<Character, R>>
     groupingBy(CharField<ENTITY, D> field, Collector<ENTITY, A, R> downstream) {
-        return groupingBy(field, field.getter()::apply, HashMap::new, downstream);
+        return groupingByField(field, field.getter()::apply, HashMap::new, downstream);
     }
     
     public static <ENTITY, D, A, R> Collector<ENTITY, ?, Map<String, R>>
     groupingBy(StringField<ENTITY, D> field, Collector<ENTITY, A, R> downstream) {
-        return groupingBy(field, field.getter()::apply, HashMap::new, downstream);
+        return groupingByField(field, field.getter()::apply, HashMap::new, downstream);
     }
     
     public static <ENTITY, T, D, A, R> Collector<ENTITY, ?, Map<T, R>>
     groupingBy(ReferenceField<ENTITY, D, T> field, Collector<ENTITY, A, R> downstream) {
-        return groupingBy(field, field.getter()::apply, HashMap::new, downstream);
+        return groupingByField(field, field.getter()::apply, HashMap::new, downstream);
     }
     
     public static <T, K, D, A, M extends Map<K, D>>
@@ -186,6 +190,101 @@ public final class FieldCollectors {
         }
     }
 
+    /**
+     * Returns a {@code Collector} that counts the number of input elements.
+     * If it is used as the downstream collector of one of the field specific
+     * {@code groupingBy}-methods on a stream from the database, the elements
+     * may be counted by the database using a {@code GROUP BY} clause.
+     * 
+     * @param <ENTITY>  the entity type
+     * @return  a collector that counts the input elements
+     * 
+     * @since  3.0.12
+     */
+    public static <ENTITY> AggregateCollector<ENTITY, ?, Long> counting() {
+        return aggregate(Collectors.counting(), Aggregate.COUNT, null);
+    }
+    
+    /**
+     * Returns a {@code Collector} that produces the sum of the specified field.
+     * If it is used as the downstream collector of one of the field specific
+     * {@code groupingBy}-methods on a stream from the database, the sum may be
+     * computed by the database using a {@code GROUP BY} clause.
+     * 
+     * @param <ENTITY>  the entity type
+     * @param <D>       the database type
+     * @param field     the field to sum
+     * @return  a collector that sums the values of the field
+     * 
+     * @since  3.0.12
+     */
+    public static <ENTITY, D> AggregateCollector<ENTITY, ?, Integer>
+    summingInt(IntField<ENTITY, D> field) {
+        return aggregate(Collectors.summingInt(field.getter()::applyAsInt), Aggregate.SUM, field);
+    }
+    
+    /**
+     * Returns a {@code Collector} that produces the sum of the specified field.
+     * If it is used as the downstream collector of one of the field specific
+     * {@code groupingBy}-methods on a stream from the database, the sum may be
+     * computed by the database using a {@code GROUP BY} clause.
+     * 
+     * @param <ENTITY>  the entity type
+     * @param <D>       the database type
+     * @param field     the field to sum
+     * @return  a collector that sums the values of the field
+     * 
+     * @since  3.0.12
+     */
+    public static <ENTITY, D> AggregateCollector<ENTITY, ?, Long>
+    summingLong(LongField<ENTITY, D> field) {
+        return aggregate(Collectors.summingLong(field.getter()::applyAsLong), Aggregate.SUM, field);
+    }
+    
+    /**
+     * Returns a {@code Collector} that produces the sum of the specified field.
+     * If it is used as the downstream collector of one of the field specific
+     * {@code groupingBy}-methods on a stream from the database, the sum may be
+     * computed by the database using a {@code GROUP BY} clause.
+     * 
+     * @param <ENTITY>  the entity type
+     * @param <D>       the database type
+     * @param field     the field to sum
+     * @return  a collector that sums the values of the field
+     * 
+     * @since  3.0.12
+     */
+    public static <ENTITY, D> AggregateCollector<ENTITY, ?, Double>
+    summingDouble(DoubleField<ENTITY, D> field) {
+        return aggregate(Collectors.summingDouble(field.getter()::applyAsDouble), Aggregate.SUM, field);
+    }
+    
+    private static <T, K, D, A, M extends Map<K, D>>
+    FieldCollector<T, ?, M> groupingByField(
+            Field<T> field,
+            Function<T, K> classifier,
+            Supplier<M> mapFactory,
+            Collector<? super T, A, D> downstream) {
+        
+        return grouping(groupingBy(field, classifier, mapFactory, downstream), mapFactory, downstream);
+    }
+    
+    private static <T, A, M> FieldCollector<T, A, M> grouping(
+            FieldCollector<T, A, M> collector,
+            Supplier<M> mapFactory,
+            Collector<? super T, ?, ?> downstream) {
+        
+        return new GroupingFieldCollectorImpl<>(collector, mapFactory, downstream);
+    }
+    
+    private static <T, A, R> AggregateCollector<T, A, R> aggregate(
+            Collector<T, A, R> collector,
+            Aggregate aggregate,
+            Field<T> field) {
+        
+        return new AggregateCollectorImpl<>(collector, aggregate, field);
+    }
+
     private static <K, V, M extends Map<K,V>>
     BinaryOperator<M> mapMerger(BinaryOperator<V> mergeFunction) {
         return (m1, m2) -> {
@@ -0,0 +1,47 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.field.collector;
+
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+/**
+ * A {@link FieldCollector} that groups elements by the value of its field.
+ *
+ * @param <T>  the entity type to be collected
+ * @param <A>  the intermediate accumulation type of the downstream collector
+ * @param <R>  the resulting map
+ * 
+ * @since  3.0.12
+ */
+public interface GroupingFieldCollector<T, A, R> extends FieldCollector<T, A, R> {
+
+    /**
+     * Returns the factory used to create the resulting map.
+     * 
+     * @return  the map factory
+     */
+    Supplier<R> getMapFactory();
+
+    /**
+     * Returns the collector that is applied to the elements of each group.
+     * 
+     * @return  the downstream collector
+     */
+    Collector<? super T, ?, ?> getDownstream();
+
+}
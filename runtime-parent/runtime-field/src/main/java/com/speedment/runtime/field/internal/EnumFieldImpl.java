@@ -21,6 +21,7 @@ import com.speedment.runtime.field.EnumField;
 import com.speedment.runtime.field.comparator.FieldComparator;
 import com.speedment.runtime.field.comparator.NullOrder;
 import com.speedment.runtime.field.internal.comparator.ReferenceFieldComparatorImpl;
+import com.speedment.runtime.field.internal.method.GetReferenceImpl;
 import com.speedment.runtime.field.internal.predicate.AlwaysFalsePredicate;
 import com.speedment.runtime.field.internal.predicate.reference.ReferenceEqualPredicate;
 import com.speedment.runtime.field.internal.predicate.reference.ReferenceInPredicate;
@@ -65,7 +66,7 @@ implements EnumField<ENTITY, D, E> {
                          Class<E> enumClass) {
 
         this.identifier   = requireNonNull(identifier);
-        this.getter       = requireNonNull(getter);
+        this.getter       = new GetReferenceImpl<>(this, getter);
         this.setter       = requireNonNull(setter);
         this.typeMapper   = requireNonNull(typeMapper);
         this.enumToString = requireNonNull(enumToString);
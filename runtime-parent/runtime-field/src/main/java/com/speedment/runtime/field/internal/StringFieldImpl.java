@@ -21,6 +21,7 @@ import com.speedment.runtime.field.StringField;
 import com.speedment.runtime.field.comparator.FieldComparator;
 import com.speedment.runtime.field.comparator.NullOrder;
 import com.speedment.runtime.field.internal.comparator.ReferenceFieldComparatorImpl;
+import com.speedment.runtime.field.internal.method.GetReferenceImpl;
 import com.speedment.runtime.field.internal.predicate.reference.*;
 import com.speedment.runtime.field.internal.predicate.string.*;
 import com.speedment.runtime.field.method.ReferenceGetter;
@@ -59,7 +60,7 @@ public final class StringFieldImpl<ENTITY, D> implements StringField<ENTITY, D>
             boolean unique) {
         
         this.identifier = requireNonNull(identifier);
-        this.getter     = requireNonNull(getter);
+        this.getter     = new GetReferenceImpl<>(this, getter);
         this.setter     = requireNonNull(setter);
         this.typeMapper = requireNonNull(typeMapper);
         this.unique     = unique;
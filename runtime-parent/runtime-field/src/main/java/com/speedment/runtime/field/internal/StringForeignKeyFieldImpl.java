@@ -26,6 +26,7 @@ import com.speedment.runtime.field.internal.comparator.ReferenceFieldComparatorI
 import com.speedment.runtime.field.internal.method.BackwardFinderImpl;
 import com.speedment.runtime.field.internal.method.FindFromNullableReference;
 import com.speedment.runtime.field.internal.method.FindFromReference;
+import com.speedment.runtime.field.internal.method.GetReferenceImpl;
 import com.speedment.runtime.field.internal.predicate.reference.*;
 import com.speedment.runtime.field.internal.predicate.string.*;
 import com.speedment.runtime.field.method.*;
@@ -69,7 +70,7 @@ public final class StringForeignKeyFieldImpl<ENTITY, D, FK_ENTITY> implements
             boolean unique) {
 
         this.identifier = requireNonNull(identifier);
-        this.getter = requireNonNull(getter);
+        this.getter = new GetReferenceImpl<>(this, getter);
         this.setter = requireNonNull(setter);
         this.referenced = requireNonNull(referenced);
         this.typeMapper = requireNonNull(typeMapper);
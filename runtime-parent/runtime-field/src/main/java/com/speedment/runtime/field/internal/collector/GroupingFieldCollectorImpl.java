@@ -0,0 +1,94 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.field.internal.collector;
+
+import com.speedment.runtime.field.Field;
+import com.speedment.runtime.field.collector.FieldCollector;
+import com.speedment.runtime.field.collector.GroupingFieldCollector;
+import static java.util.Objects.requireNonNull;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+/**
+ *
+ * @param <T>  the entity type to be collected
+ * @param <A>  the intermediate accumulation type of the downstream collector
+ * @param <R>  the resulting map
+ * 
+ * @since  3.0.12
+ */
+public final class GroupingFieldCollectorImpl<T, A, R>
+implements GroupingFieldCollector<T, A, R> {
+
+    private final FieldCollector<T, A, R> collector;
+    private final Supplier<R> mapFactory;
+    private final Collector<? super T, ?, ?> downstream;
+
+    public GroupingFieldCollectorImpl(
+            FieldCollector<T, A, R> collector,
+            Supplier<R> mapFactory,
+            Collector<? super T, ?, ?> downstream) {
+        
+        this.collector  = requireNonNull(collector);
+        this.mapFactory = requireNonNull(mapFactory);
+        this.downstream = requireNonNull(downstream);
+    }
+
+    @Override
+    public Field<T> getField() {
+        return collector.getField();
+    }
+
+    @Override
+    public Supplier<R> getMapFactory() {
+        return mapFactory;
+    }
+
+    @Override
+    public Collector<? super T, ?, ?> getDownstream() {
+        return downstream;
+    }
+
+    @Override
+    public Supplier<A> supplier() {
+        return collector.supplier();
+    }
+
+    @Override
+    public BiConsumer<A, T> accumulator() {
+        return collector.accumulator();
+    }
+
+    @Override
+    public BinaryOperator<A> combiner() {
+        return collector.combiner();
+    }
+
+    @Override
+    public Function<A, R> finisher() {
+        return collector.finisher();
+    }
+
+    @Override
+    public Set<Collector.Characteristics> characteristics() {
+        return collector.characteristics();
+    }
+}
@@ -92,15 +92,8 @@ implements CombinedComparator<ENTITY> {
             final Function<? super ENTITY, ? extends U> keyExtractor,
             final Comparator<? super U> keyComparator) {
 
-        if (keyExtractor instanceof Getter) {
-            @SuppressWarnings("unchecked")
-            final Getter<ENTITY> getter = (Getter<ENTITY>) keyExtractor;
-            final Optional<Comparator<ENTITY>> result = then(getter);
-            if (result.isPresent()) {
-                return result.get();
-            }
-        }
-
+        // A field comparator can not express a custom key comparator, so the
+        // getter shortcut used by the other overloads does not apply here.
         return (a, b) -> {
             final int c = compare(a, b);
             if (c == 0) {
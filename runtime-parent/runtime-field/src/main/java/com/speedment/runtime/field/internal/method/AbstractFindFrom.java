@@ -18,11 +18,20 @@ package com.speedment.runtime.field.internal.method;
 
 import com.speedment.runtime.config.identifier.TableIdentifier;
 import com.speedment.runtime.field.Field;
+import com.speedment.runtime.field.exception.SpeedmentFieldException;
 import com.speedment.runtime.field.method.FindFrom;
 import com.speedment.runtime.field.trait.HasComparableOperators;
 import com.speedment.runtime.field.trait.HasFinder;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static java.util.Objects.requireNonNull;
@@ -76,7 +85,74 @@ abstract class AbstractFindFrom<
         return identifier;
     }
     
+    @Override
+    public final Function<Stream<ENTITY>, Stream<FK_ENTITY>> batched(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException(
+                "Batch size must be positive, was " + batchSize + "."
+            );
+        }
+        
+        // The source entities are consumed using forEachOrdered rather than
+        // an iterator since streams from a manager might not support 
+        // iteration. This is deferred until the returned stream is consumed.
+        return entities -> Stream.of(entities)
+            .map(this::sourceValues)
+            .flatMap(values -> IntStream
+                .range(0, (values.size() + batchSize - 1) / batchSize)
+                .mapToObj(i -> values.subList(
+                    i * batchSize, 
+                    Math.min(values.size(), (i + 1) * batchSize)
+                ))
+            )
+            .flatMap(batch -> findAll(batch).stream())
+            .onClose(entities::close);
+    }
+    
     protected final Stream<FK_ENTITY> stream() {
         return streamSupplier.get();
     }
+    
+    private List<V> sourceValues(Stream<ENTITY> entities) {
+        final List<V> values = new ArrayList<>();
+        try (final Stream<ENTITY> stream = entities) {
+            stream.forEachOrdered(entity -> values.add(sourceValue(entity)));
+        }
+        return values;
+    }
+    
+    private List<FK_ENTITY> findAll(List<V> batch) {
+        final Set<V> values = new HashSet<>(batch);
+        
+        final Map<V, FK_ENTITY> found = new HashMap<>();
+        try (final Stream<FK_ENTITY> stream = stream()) {
+            stream.filter(target.in(values))
+                .forEachOrdered(fk -> found.putIfAbsent(targetValue(fk), fk));
+        }
+        
+        final List<FK_ENTITY> result = new ArrayList<>(batch.size());
+        for (final V value : batch) {
+            final FK_ENTITY fk = found.get(value);
+            if (fk == null) {
+                throw new SpeedmentFieldException(
+                    "Error! Could not find any entities in table '" + 
+                    getTableIdentifier() + 
+                    "' with '" + target.identifier().getColumnName() + 
+                    "' = '" + value + "'."
+                );
+            }
+            result.add(fk);
+        }
+        return result;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private V sourceValue(ENTITY entity) {
+        return (V) source.getter().apply(entity);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private V targetValue(FK_ENTITY entity) {
+        return (V) target.getter().apply(entity);
+    }
 }
\ No newline at end of file
@@ -22,6 +22,8 @@ import com.speedment.runtime.field.internal.predicate.AbstractFieldPredicate;
 import com.speedment.runtime.field.predicate.PredicateType;
 import com.speedment.runtime.field.trait.HasByteValue;
 import java.util.Set;
+import static com.speedment.runtime.field.internal.util.PrimitiveSetUtil.contains;
+import static com.speedment.runtime.field.internal.util.PrimitiveSetUtil.toByteArray;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -39,10 +41,16 @@ extends AbstractFieldPredicate<ENTITY, HasByteValue<ENTITY, D>>
 implements Tuple1<Set<Byte>> {
     
     private final Set<Byte> set;
+    private final byte[] values;
     
     public ByteInPredicate(HasByteValue<ENTITY, D> field, Set<Byte> set) {
-        super(PredicateType.IN, field, entity -> set.contains(field.getAsByte(entity)));
-        this.set = requireNonNull(set);
+        this(field, requireNonNull(set), toByteArray(set));
+    }
+    
+    ByteInPredicate(HasByteValue<ENTITY, D> field, Set<Byte> set, byte[] values) {
+        super(PredicateType.IN, field, entity -> contains(values, field.getAsByte(entity)));
+        this.set = set;
+        this.values = values;
     }
     
     @Override
@@ -52,6 +60,6 @@ implements Tuple1<Set<Byte>> {
     
     @Override
     public ByteNotInPredicate<ENTITY, D> negate() {
-        return new ByteNotInPredicate<>(getField(), set);
+        return new ByteNotInPredicate<>(getField(), set, values);
     }
 }
\ No newline at end of file
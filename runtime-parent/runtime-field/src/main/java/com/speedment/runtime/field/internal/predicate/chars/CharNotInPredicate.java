@@ -22,6 +22,8 @@ import com.speedment.runtime.field.internal.predicate.AbstractFieldPredicate;
 import com.speedment.runtime.field.predicate.PredicateType;
 import com.speedment.runtime.field.trait.HasCharValue;
 import java.util.Set;
+import static com.speedment.runtime.field.internal.util.PrimitiveSetUtil.contains;
+import static com.speedment.runtime.field.internal.util.PrimitiveSetUtil.toCharArray;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -39,10 +41,16 @@ extends AbstractFieldPredicate<ENTITY, HasCharValue<ENTITY, D>>
 implements Tuple1<Set<Character>> {
     
     private final Set<Character> set;
+    private final char[] values;
     
     CharNotInPredicate(HasCharValue<ENTITY, D> field, Set<Character> set) {
-        super(PredicateType.NOT_IN, field, entity -> !set.contains(field.getAsChar(entity)));
-        this.set = requireNonNull(set);
+        this(field, requireNonNull(set), toCharArray(set));
+    }
+    
+    CharNotInPredicate(HasCharValue<ENTITY, D> field, Set<Character> set, char[] values) {
+        super(PredicateType.NOT_IN, field, entity -> !contains(values, field.getAsChar(entity)));
+        this.set = set;
+        this.values = values;
     }
     
     @Override
@@ -52,6 +60,6 @@ implements Tuple1<Set<Character>> {
     
     @Override
     public CharInPredicate<ENTITY, D> negate() {
-        return new CharInPredicate<>(getField(), set);
+        return new CharInPredicate<>(getField(), set, values);
     }
 }
\ No newline at end of file
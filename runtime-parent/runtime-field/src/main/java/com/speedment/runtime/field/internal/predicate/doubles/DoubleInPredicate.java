@@ -22,6 +22,8 @@ import com.speedment.runtime.field.internal.predicate.AbstractFieldPredicate;
 import com.speedment.runtime.field.predicate.PredicateType;
 import com.speedment.runtime.field.trait.HasDoubleValue;
 import java.util.Set;
+import static com.speedment.runtime.field.internal.util.PrimitiveSetUtil.contains;
+import static com.speedment.runtime.field.internal.util.PrimitiveSetUtil.toDoubleArray;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -39,10 +41,16 @@ extends AbstractFieldPredicate<ENTITY, HasDoubleValue<ENTITY, D>>
 implements Tuple1<Set<Double>> {
     
     private final Set<Double> set;
+    private final double[] values;
     
     public DoubleInPredicate(HasDoubleValue<ENTITY, D> field, Set<Double> set) {
-        super(PredicateType.IN, field, entity -> set.contains(field.getAsDouble(entity)));
-        this.set = requireNonNull(set);
+        this(field, requireNonNull(set), toDoubleArray(set));
+    }
+    
+    DoubleInPredicate(HasDoubleValue<ENTITY, D> field, Set<Double> set, double[] values) {
+        super(PredicateType.IN, field, entity -> contains(values, field.getAsDouble(entity)));
+        this.set = set;
+        this.values = values;
     }
     
     @Override
@@ -52,6 +60,6 @@ implements Tuple1<Set<Double>> {
     
     @Override
     public DoubleNotInPredicate<ENTITY, D> negate() {
-        return new DoubleNotInPredicate<>(getField(), set);
+        return new DoubleNotInPredicate<>(getField(), set, values);
     }
 }
\ No newline at end of file
@@ -22,6 +22,8 @@ import com.speedment.runtime.field.internal.predicate.AbstractFieldPredicate;
 import com.speedment.runtime.field.predicate.PredicateType;
 import com.speedment.runtime.field.trait.HasFloatValue;
 import java.util.Set;
+import static com.speedment.runtime.field.internal.util.PrimitiveSetUtil.contains;
+import static com.speedment.runtime.field.internal.util.PrimitiveSetUtil.toFloatArray;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -39,10 +41,16 @@ extends AbstractFieldPredicate<ENTITY, HasFloatValue<ENTITY, D>>
 implements Tuple1<Set<Float>> {
     
     private final Set<Float> set;
+    private final float[] values;
     
     FloatNotInPredicate(HasFloatValue<ENTITY, D> field, Set<Float> set) {
-        super(PredicateType.NOT_IN, field, entity -> !set.contains(field.getAsFloat(entity)));
-        this.set = requireNonNull(set);
+        this(field, requireNonNull(set), toFloatArray(set));
+    }
+    
+    FloatNotInPredicate(HasFloatValue<ENTITY, D> field, Set<Float> set, float[] values) {
+        super(PredicateType.NOT_IN, field, entity -> !contains(values, field.getAsFloat(entity)));
+        this.set = set;
+        this.values = values;
     }
     
     @Override
@@ -52,6 +60,6 @@ implements Tuple1<Set<Float>> {
     
     @Override
     public FloatInPredicate<ENTITY, D> negate() {
-        return new FloatInPredicate<>(getField(), set);
+        return new FloatInPredicate<>(getField(), set, values);
     }
 }
\ No newline at end of file
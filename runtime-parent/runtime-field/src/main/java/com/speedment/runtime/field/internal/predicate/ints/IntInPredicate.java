@@ -22,6 +22,8 @@ import com.speedment.runtime.field.internal.predicate.AbstractFieldPredicate;
 import com.speedment.runtime.field.predicate.PredicateType;
 import com.speedment.runtime.field.trait.HasIntValue;
 import java.util.Set;
+import static com.speedment.runtime.field.internal.util.PrimitiveSetUtil.contains;
+import static com.speedment.runtime.field.internal.util.PrimitiveSetUtil.toIntArray;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -39,10 +41,16 @@ extends AbstractFieldPredicate<ENTITY, HasIntValue<ENTITY, D>>
 implements Tuple1<Set<Integer>> {
     
     private final Set<Integer> set;
+    private final int[] values;
     
     public IntInPredicate(HasIntValue<ENTITY, D> field, Set<Integer> set) {
-        super(PredicateType.IN, field, entity -> set.contains(field.getAsInt(entity)));
-        this.set = requireNonNull(set);
+        this(field, requireNonNull(set), toIntArray(set));
+    }
+    
+    IntInPredicate(HasIntValue<ENTITY, D> field, Set<Integer> set, int[] values) {
+        super(PredicateType.IN, field, entity -> contains(values, field.getAsInt(entity)));
+        this.set = set;
+        this.values = values;
     }
     
     @Override
@@ -52,6 +60,6 @@ implements Tuple1<Set<Integer>> {
     
     @Override
     public IntNotInPredicate<ENTITY, D> negate() {
-        return new IntNotInPredicate<>(getField(), set);
+        return new IntNotInPredicate<>(getField(), set, values);
     }
 }
\ No newline at end of file
@@ -22,6 +22,8 @@ import com.speedment.runtime.field.internal.predicate.AbstractFieldPredicate;
 import com.speedment.runtime.field.predicate.PredicateType;
 import com.speedment.runtime.field.trait.HasLongValue;
 import java.util.Set;
+import static com.speedment.runtime.field.internal.util.PrimitiveSetUtil.contains;
+import static com.speedment.runtime.field.internal.util.PrimitiveSetUtil.toLongArray;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -39,10 +41,16 @@ extends AbstractFieldPredicate<ENTITY, HasLongValue<ENTITY, D>>
 implements Tuple1<Set<Long>> {
     
     private final Set<Long> set;
+    private final long[] values;
     
     LongNotInPredicate(HasLongValue<ENTITY, D> field, Set<Long> set) {
-        super(PredicateType.NOT_IN, field, entity -> !set.contains(field.getAsLong(entity)));
-        this.set = requireNonNull(set);
+        this(field, requireNonNull(set), toLongArray(set));
+    }
+    
+    LongNotInPredicate(HasLongValue<ENTITY, D> field, Set<Long> set, long[] values) {
+        super(PredicateType.NOT_IN, field, entity -> !contains(values, field.getAsLong(entity)));
+        this.set = set;
+        this.values = values;
     }
     
     @Override
@@ -52,6 +60,6 @@ implements Tuple1<Set<Long>> {
     
     @Override
     public LongInPredicate<ENTITY, D> negate() {
-        return new LongInPredicate<>(getField(), set);
+        return new LongInPredicate<>(getField(), set, values);
     }
 }
\ No newline at end of file
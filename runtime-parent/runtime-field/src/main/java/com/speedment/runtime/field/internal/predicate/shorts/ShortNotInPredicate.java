@@ -22,6 +22,8 @@ import com.speedment.runtime.field.internal.predicate.AbstractFieldPredicate;
 import com.speedment.runtime.field.predicate.PredicateType;
 import com.speedment.runtime.field.trait.HasShortValue;
 import java.util.Set;
+import static com.speedment.runtime.field.internal.util.PrimitiveSetUtil.contains;
+import static com.speedment.runtime.field.internal.util.PrimitiveSetUtil.toShortArray;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -39,10 +41,16 @@ extends AbstractFieldPredicate<ENTITY, HasShortValue<ENTITY, D>>
 implements Tuple1<Set<Short>> {
     
     private final Set<Short> set;
+    private final short[] values;
     
     ShortNotInPredicate(HasShortValue<ENTITY, D> field, Set<Short> set) {
-        super(PredicateType.NOT_IN, field, entity -> !set.contains(field.getAsShort(entity)));
-        this.set = requireNonNull(set);
+        this(field, requireNonNull(set), toShortArray(set));
+    }
+    
+    ShortNotInPredicate(HasShortValue<ENTITY, D> field, Set<Short> set, short[] values) {
+        super(PredicateType.NOT_IN, field, entity -> !contains(values, field.getAsShort(entity)));
+        this.set = set;
+        this.values = values;
     }
     
     @Override
@@ -52,6 +60,6 @@ implements Tuple1<Set<Short>> {
     
     @Override
     public ShortInPredicate<ENTITY, D> negate() {
-        return new ShortInPredicate<>(getField(), set);
+        return new ShortInPredicate<>(getField(), set, values);
     }
 }
\ No newline at end of file
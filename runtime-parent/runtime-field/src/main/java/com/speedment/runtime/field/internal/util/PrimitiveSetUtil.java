@@ -0,0 +1,322 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.field.internal.util;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Utility class for testing membership of primitive values without boxing.
+ * A set of boxed values is copied into a sorted primitive array once, after
+ * which {@code contains} can be invoked any number of times without
+ * allocating any objects.
+ *
+ * @since  3.0.12
+ */
+public final class PrimitiveSetUtil {
+
+    /**
+     * Arrays no longer than this are searched linearly since that is faster
+     * than a binary search for very small arrays.
+     */
+    private static final int LINEAR_SEARCH_LIMIT = 8;
+
+    /**
+     * Returns a sorted array with the non-null values of the specified set.
+     *
+     * @param set  the set of values
+     * @return     a new sorted array
+     */
+    public static int[] toIntArray(Set<Integer> set) {
+        final int[] array = new int[set.size()];
+        int size = 0;
+        for (final Integer value : set) {
+            if (value != null) {
+                array[size++] = value;
+            }
+        }
+        final int[] result = size == array.length ? array : Arrays.copyOf(array, size);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Returns {@code true} if the specified array contains the specified
+     * value. The array must be sorted as returned by
+     * {@link #toIntArray(Set)}.
+     *
+     * @param array  the sorted array
+     * @param value  the value to look for
+     * @return       {@code true} if the value is found, else {@code false}
+     */
+    public static boolean contains(int[] array, int value) {
+        if (array.length <= LINEAR_SEARCH_LIMIT) {
+            for (int i = 0; i < array.length; i++) {
+                if (array[i] == value) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return Arrays.binarySearch(array, value) >= 0;
+    }
+
+    /**
+     * Returns a sorted array with the non-null values of the specified set.
+     *
+     * @param set  the set of values
+     * @return     a new sorted array
+     */
+    public static long[] toLongArray(Set<Long> set) {
+        final long[] array = new long[set.size()];
+        int size = 0;
+        for (final Long value : set) {
+            if (value != null) {
+                array[size++] = value;
+            }
+        }
+        final long[] result = size == array.length ? array : Arrays.copyOf(array, size);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Returns {@code true} if the specified array contains the specified
+     * value. The array must be sorted as returned by
+     * {@link #toLongArray(Set)}.
+     *
+     * @param array  the sorted array
+     * @param value  the value to look for
+     * @return       {@code true} if the value is found, else {@code false}
+     */
+    public static boolean contains(long[] array, long value) {
+        if (array.length <= LINEAR_SEARCH_LIMIT) {
+            for (int i = 0; i < array.length; i++) {
+                if (array[i] == value) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return Arrays.binarySearch(array, value) >= 0;
+    }
+
+    /**
+     * Returns a sorted array with the non-null values of the specified set.
+     *
+     * @param set  the set of values
+     * @return     a new sorted array
+     */
+    public static short[] toShortArray(Set<Short> set) {
+        final short[] array = new short[set.size()];
+        int size = 0;
+        for (final Short value : set) {
+            if (value != null) {
+                array[size++] = value;
+            }
+        }
+        final short[] result = size == array.length ? array : Arrays.copyOf(array, size);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Returns {@code true} if the specified array contains the specified
+     * value. The array must be sorted as returned by
+     * {@link #toShortArray(Set)}.
+     *
+     * @param array  the sorted array
+     * @param value  the value to look for
+     * @return       {@code true} if the value is found, else {@code false}
+     */
+    public static boolean contains(short[] array, short value) {
+        if (array.length <= LINEAR_SEARCH_LIMIT) {
+            for (int i = 0; i < array.length; i++) {
+                if (array[i] == value) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return Arrays.binarySearch(array, value) >= 0;
+    }
+
+    /**
+     * Returns a sorted array with the non-null values of the specified set.
+     *
+     * @param set  the set of values
+     * @return     a new sorted array
+     */
+    public static byte[] toByteArray(Set<Byte> set) {
+        final byte[] array = new byte[set.size()];
+        int size = 0;
+        for (final Byte value : set) {
+            if (value != null) {
+                array[size++] = value;
+            }
+        }
+        final byte[] result = size == array.length ? array : Arrays.copyOf(array, size);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Returns {@code true} if the specified array contains the specified
+     * value. The array must be sorted as returned by
+     * {@link #toByteArray(Set)}.
+     *
+     * @param array  the sorted array
+     * @param value  the value to look for
+     * @return       {@code true} if the value is found, else {@code false}
+     */
+    public static boolean contains(byte[] array, byte value) {
+        if (array.length <= LINEAR_SEARCH_LIMIT) {
+            for (int i = 0; i < array.length; i++) {
+                if (array[i] == value) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return Arrays.binarySearch(array, value) >= 0;
+    }
+
+    /**
+     * Returns a sorted array with the non-null values of the specified set.
+     *
+     * @param set  the set of values
+     * @return     a new sorted array
+     */
+    public static char[] toCharArray(Set<Character> set) {
+        final char[] array = new char[set.size()];
+        int size = 0;
+        for (final Character value : set) {
+            if (value != null) {
+                array[size++] = value;
+            }
+        }
+        final char[] result = size == array.length ? array : Arrays.copyOf(array, size);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Returns {@code true} if the specified array contains the specified
+     * value. The array must be sorted as returned by
+     * {@link #toCharArray(Set)}.
+     *
+     * @param array  the sorted array
+     * @param value  the value to look for
+     * @return       {@code true} if the value is found, else {@code false}
+     */
+    public static boolean contains(char[] array, char value) {
+        if (array.length <= LINEAR_SEARCH_LIMIT) {
+            for (int i = 0; i < array.length; i++) {
+                if (array[i] == value) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return Arrays.binarySearch(array, value) >= 0;
+    }
+
+    /**
+     * Returns a sorted array with the non-null values of the specified set.
+     *
+     * @param set  the set of values
+     * @return     a new sorted array
+     */
+    public static double[] toDoubleArray(Set<Double> set) {
+        final double[] array = new double[set.size()];
+        int size = 0;
+        for (final Double value : set) {
+            if (value != null) {
+                array[size++] = value;
+            }
+        }
+        final double[] result = size == array.length ? array : Arrays.copyOf(array, size);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Returns {@code true} if the specified array contains the specified
+     * value. The array must be sorted as returned by
+     * {@link #toDoubleArray(Set)}.
+     *
+     * @param array  the sorted array
+     * @param value  the value to look for
+     * @return       {@code true} if the value is found, else {@code false}
+     */
+    public static boolean contains(double[] array, double value) {
+        if (array.length <= LINEAR_SEARCH_LIMIT) {
+            for (int i = 0; i < array.length; i++) {
+                if (Double.compare(array[i], value) == 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return Arrays.binarySearch(array, value) >= 0;
+    }
+
+    /**
+     * Returns a sorted array with the non-null values of the specified set.
+     *
+     * @param set  the set of values
+     * @return     a new sorted array
+     */
+    public static float[] toFloatArray(Set<Float> set) {
+        final float[] array = new float[set.size()];
+        int size = 0;
+        for (final Float value : set) {
+            if (value != null) {
+                array[size++] = value;
+            }
+        }
+        final float[] result = size == array.length ? array : Arrays.copyOf(array, size);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Returns {@code true} if the specified array contains the specified
+     * value. The array must be sorted as returned by
+     * {@link #toFloatArray(Set)}.
+     *
+     * @param array  the sorted array
+     * @param value  the value to look for
+     * @return       {@code true} if the value is found, else {@code false}
+     */
+    public static boolean contains(float[] array, float value) {
+        if (array.length <= LINEAR_SEARCH_LIMIT) {
+            for (int i = 0; i < array.length; i++) {
+                if (Float.compare(array[i], value) == 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return Arrays.binarySearch(array, value) >= 0;
+    }
+
+    /**
+     * Should not be instantiated.
+     */
+    private PrimitiveSetUtil() {}
+}
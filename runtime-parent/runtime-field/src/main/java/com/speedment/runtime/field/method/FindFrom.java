@@ -20,6 +20,7 @@ import com.speedment.runtime.config.identifier.TableIdentifier;
 import com.speedment.runtime.field.Field;
 
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * A handle for a find-operation that can be replaced runtime to optimize a 
@@ -73,5 +74,38 @@ public interface FindFrom<ENTITY, FK_ENTITY> extends Function<ENTITY, FK_ENTITY>
      * @return  target (foreign) table identifier
      */
     TableIdentifier<FK_ENTITY> getTableIdentifier();
+    
+    /**
+     * Returns an operator that finds the foreign entity of every entity in a
+     * stream, in the same order, but that looks up the foreign entities of 
+     * {@code batchSize} source entities at a time. 
+     * <p>
+     * In the following example, at most one query is sent to the database for
+     * every 100 films:
+     * {@code
+     *      Film.LANGUAGE_ID.finder(languages).batched(100)
+     *          .apply(films.stream())
+     *          .forEach(...);
+     * }
+     * <p>
+     * The source stream might be consumed in full before the first lookup is
+     * made, so this should not be used with infinite streams.
+     * <p>
+     * The default implementation applies this finder to each entity
+     * separately.
+     * 
+     * @param batchSize  the maximum number of source entities per lookup
+     * @return           the batching operator
+     * 
+     * @since 3.0.12
+     */
+    default Function<Stream<ENTITY>, Stream<FK_ENTITY>> batched(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException(
+                "Batch size must be positive, was " + batchSize + "."
+            );
+        }
+        return entities -> entities.map(this);
+    }
 
 }
@@ -0,0 +1,169 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.field.internal.method;
+
+import com.speedment.runtime.config.identifier.TableIdentifier;
+import com.speedment.runtime.field.BasicEntity;
+import com.speedment.runtime.field.IntField;
+import com.speedment.runtime.field.IntForeignKeyField;
+import com.speedment.runtime.field.exception.SpeedmentFieldException;
+import com.speedment.runtime.field.method.FindFrom;
+import com.speedment.runtime.typemapper.TypeMapper;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.Before;
+import org.junit.Test;
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ *
+ * @since  3.0.12
+ */
+public final class FindFromIntTest {
+
+    private List<BasicEntity> targets;
+    private AtomicInteger queries;
+    private FindFrom<BasicEntity, BasicEntity> finder;
+
+    @Before
+    public void setUp() {
+        final IntField<BasicEntity, Integer> target = IntField.create(
+            BasicEntity.Identifier.VAR_INT,
+            BasicEntity::getVarInt,
+            BasicEntity::setVarInt,
+            TypeMapper.primitive(),
+            true
+        );
+
+        final IntForeignKeyField<BasicEntity, Integer, BasicEntity> source = IntForeignKeyField.create(
+            BasicEntity.Identifier.VAR_SHORT,
+            BasicEntity::getVarShort,
+            (entity, value) -> entity.setVarShort((short) value),
+            target,
+            TypeMapper.primitive(),
+            false
+        );
+
+        targets = IntStream.range(0, 10)
+            .mapToObj(i -> new BasicEntity().setVarInt(i))
+            .collect(toList());
+        queries = new AtomicInteger();
+
+        finder = source.finder(
+            TableIdentifier.of("db", "schema", "basic_entity"),
+            () -> {
+                queries.incrementAndGet();
+                return targets.stream();
+            }
+        );
+    }
+
+    @Test
+    public void testBatched() {
+        final List<BasicEntity> sources = Stream.of(3, 1, 3, 7, 0, 9, 1)
+            .map(i -> new BasicEntity().setVarShort(i.shortValue()))
+            .collect(toList());
+
+        final List<BasicEntity> found = finder.batched(3)
+            .apply(sources.stream())
+            .collect(toList());
+
+        assertEquals(3, queries.get());
+        assertEquals(
+            asList(3, 1, 3, 7, 0, 9, 1),
+            found.stream().map(BasicEntity::getVarInt).collect(toList())
+        );
+        assertSame(targets.get(3), found.get(0));
+        assertSame(targets.get(3), found.get(2));
+    }
+
+    @Test
+    public void testBatchedWithoutIterator() {
+        final AtomicInteger closed = new AtomicInteger();
+
+        // Streams from a manager reject iterator() with the default settings
+        final Stream<BasicEntity> sources = nonIterable(
+            IntStream.range(0, 10)
+                .mapToObj(i -> new BasicEntity().setVarShort((short) (9 - i)))
+                .onClose(closed::incrementAndGet)
+        );
+
+        final List<BasicEntity> found;
+        try (final Stream<BasicEntity> stream = finder.batched(4).apply(sources)) {
+            assertEquals(0, queries.get());
+            found = stream.collect(toList());
+        }
+
+        assertEquals(3, queries.get());
+        assertEquals(1, closed.get());
+        assertEquals(
+            asList(9, 8, 7, 6, 5, 4, 3, 2, 1, 0),
+            found.stream().map(BasicEntity::getVarInt).collect(toList())
+        );
+    }
+
+    @Test
+    public void testBatchedEmpty() {
+        assertEquals(0, finder.batched(10).apply(Stream.empty()).count());
+        assertEquals(0, queries.get());
+    }
+
+    @Test(expected = SpeedmentFieldException.class)
+    public void testBatchedMissing() {
+        finder.batched(10)
+            .apply(Stream.of(new BasicEntity().setVarShort((short) 42)))
+            .forEach(e -> {});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBatchedIllegalSize() {
+        finder.batched(0);
+    }
+
+    /**
+     * Wraps the specified stream so that it can only be consumed using 
+     * terminal operations other than {@code iterator()} and 
+     * {@code spliterator()}, like a stream from a manager.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Stream<T> nonIterable(Stream<T> stream) {
+        return (Stream<T>) Proxy.newProxyInstance(
+            Stream.class.getClassLoader(),
+            new Class<?>[] {Stream.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "iterator" : case "spliterator" :
+                        throw new UnsupportedOperationException(method.getName());
+                    default : 
+                        try {
+                            return method.invoke(stream, args);
+                        } catch (final InvocationTargetException ex) {
+                            throw ex.getCause();
+                        }
+                }
+            }
+        );
+    }
+
+}
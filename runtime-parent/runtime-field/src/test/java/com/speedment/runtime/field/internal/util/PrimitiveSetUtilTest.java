@@ -0,0 +1,82 @@
+/**
+ *
+ * Copyright (c) 2006-2017, Speedment, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); You may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at:
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.speedment.runtime.field.internal.util;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toSet;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @since 3.0.12
+ */
+public class PrimitiveSetUtilTest {
+
+    @Test
+    public void testToIntArray() {
+        final Set<Integer> set = new HashSet<>(Arrays.asList(5, -3, null, 17, 0));
+        assertArrayEquals(new int[] {-3, 0, 5, 17}, PrimitiveSetUtil.toIntArray(set));
+    }
+
+    @Test
+    public void testContainsSmallInt() {
+        final int[] array = PrimitiveSetUtil.toIntArray(
+            new HashSet<>(Arrays.asList(3, 1, 2))
+        );
+        assertTrue(PrimitiveSetUtil.contains(array, 1));
+        assertTrue(PrimitiveSetUtil.contains(array, 3));
+        assertFalse(PrimitiveSetUtil.contains(array, 4));
+        assertFalse(PrimitiveSetUtil.contains(new int[0], 0));
+    }
+
+    @Test
+    public void testContainsLargeLong() {
+        final Set<Long> set = IntStream.range(0, 1000)
+            .mapToObj(i -> 3L * i)
+            .collect(toSet());
+        final long[] array = PrimitiveSetUtil.toLongArray(set);
+
+        for (long l = -10; l < 3010; l++) {
+            assertEquals(Long.toString(l), set.contains(l), PrimitiveSetUtil.contains(array, l));
+        }
+    }
+
+    @Test
+    public void testContainsDoubleMatchesBoxedEquality() {
+        final Set<Double> set = new HashSet<>(Arrays.asList(Double.NaN, 0.0, 1.5));
+        final double[] array = PrimitiveSetUtil.toDoubleArray(set);
+
+        for (double d : new double[] {Double.NaN, 0.0, -0.0, 1.5, 2.0}) {
+            assertEquals(Double.toString(d), set.contains(d), PrimitiveSetUtil.contains(array, d));
+        }
+    }
+
+    @Test
+    public void testContainsChar() {
+        final char[] array = PrimitiveSetUtil.toCharArray(
+            "speedment".chars().mapToObj(c -> (char) c).collect(toSet())
+        );
+        assertTrue(PrimitiveSetUtil.contains(array, 'd'));
+        assertFalse(PrimitiveSetUtil.contains(array, 'x'));
+    }
+}